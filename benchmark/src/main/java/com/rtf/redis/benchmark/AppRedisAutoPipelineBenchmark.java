@@ -0,0 +1,85 @@
+package com.rtf.redis.benchmark;
+
+import com.rtf.redis.client.AppRedisAutoPipelineConfig;
+import com.rtf.redis.client.AppRedisDynamicConnectionFactory;
+import com.rtf.redis.client.RespServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 自动管道对多线程单命令吞吐量的影响。
+ * 使用进程内的RESP服务端，127.0.0.1、127.0.0.2为主节点，每个线程每次获取连接并执行一次命令。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(32)
+public class AppRedisAutoPipelineBenchmark {
+
+    private static final byte[] KEY = "benchmark:key".getBytes() ;
+
+    private static final byte[] VALUE = "benchmark:value".getBytes() ;
+
+    @Param({"false", "true"})
+    private boolean autoPipeline ;
+
+    private RespServer respServer ;
+
+    private AppRedisDynamicConnectionFactory connectionFactory ;
+
+    @Setup
+    public void setup() throws Exception {
+        respServer = RespServer.start( 0 ) ;
+        respServer.put( KEY , VALUE ) ;
+
+        RedisProperties properties = new RedisProperties() ;
+        properties.setHost( "127.0.0.1,127.0.0.2" ) ;
+        properties.setPort( respServer.getPort() ) ;
+        properties.setTimeout( Duration.ofSeconds( 5 ) ) ;
+
+        connectionFactory = new AppRedisDynamicConnectionFactory( "redis" , properties ,
+                LettuceClientConfiguration.defaultConfiguration() , null ) ;
+        AppRedisAutoPipelineConfig autoPipelineConfig = new AppRedisAutoPipelineConfig() ;
+        autoPipelineConfig.setEnabled( autoPipeline ) ;
+        connectionFactory.setAutoPipelineConfig( autoPipelineConfig ) ;
+        connectionFactory.afterPropertiesSet() ;
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connectionFactory.destroy() ;
+        respServer.close() ;
+    }
+
+    @Benchmark
+    public byte[] get(){
+        RedisConnection connection = connectionFactory.getConnection() ;
+        try{
+            return connection.get( KEY ) ;
+        }finally {
+            connection.close() ;
+        }
+    }
+
+    @Benchmark
+    public Boolean set(){
+        RedisConnection connection = connectionFactory.getConnection() ;
+        try{
+            return connection.set( KEY , VALUE ) ;
+        }finally {
+            connection.close() ;
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.rtf.redis.benchmark;
+
+import com.rtf.redis.client.AppRedisCommandFamily;
+import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程更新断路器和主机负载统计的开销，每条命令执行后都会更新一次。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class AppRedisCircuitBreakerBenchmark {
+
+    private static final String HOST = "benchmark-breaker" ;
+
+    private AppRedisCircuitBreaker circuitBreaker ;
+
+    private AppRedisHostStats hostStats ;
+
+    @Setup
+    public void setup(){
+        circuitBreaker = AppRedisCircuitBreaker.getInstance( HOST ) ;
+        hostStats = AppRedisHostStats.getInstance( HOST ) ;
+    }
+
+    @TearDown
+    public void tearDown(){
+        AppRedisCircuitBreaker.remove( HOST ) ;
+        AppRedisHostStats.remove( HOST ) ;
+    }
+
+    /**
+     * 全部成功，对应正常运行时的更新
+     */
+    @Benchmark
+    public void onSuccess(){
+        circuitBreaker.onSuccess( 100_000 ) ;
+    }
+
+    /**
+     * 1%的调用失败，失败率不会达到熔断阀值
+     */
+    @Benchmark
+    public void onSuccessWithErrors(){
+        if( ThreadLocalRandom.current().nextInt( 100 )==0 ){
+            circuitBreaker.onError( 100_000 ) ;
+        }else{
+            circuitBreaker.onSuccess( 100_000 ) ;
+        }
+    }
+
+    /**
+     * 负载均衡规则选择节点时的检查
+     */
+    @Benchmark
+    public boolean tryAcquirePermission(){
+        return circuitBreaker.tryAcquirePermission() ;
+    }
+
+    /**
+     * 连接包装类每条命令的完整统计：负载统计、耗时直方图和断路器
+     */
+    @Benchmark
+    public void hostStatsAndCircuitBreaker(){
+        long startNanos = hostStats.start() ;
+        circuitBreaker.onSuccess( hostStats.complete( AppRedisCommandFamily.STRING , startNanos ) ) ;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.rtf.redis.benchmark;
+
+import com.rtf.redis.client.AppRedisConnectionFactory;
+import com.rtf.redis.client.AppRedisConnectionWrapper;
+import com.rtf.redis.client.RespServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 真实网络往返下每条命令的拦截开销。
+ * 使用进程内的RESP服务端，对比原始lettuce连接、连接包装类和ProxyFactory动态代理执行get命令的耗时。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppRedisCommandOverheadBenchmark {
+
+    private static final byte[] KEY = "benchmark:key".getBytes() ;
+
+    private static final byte[] VALUE = "benchmark:value".getBytes() ;
+
+    private RespServer respServer ;
+
+    private AppRedisConnectionFactory connectionFactory ;
+
+    private RedisConnection target ;
+
+    private RedisConnection wrapper ;
+
+    private RedisConnection proxy ;
+
+    @Setup
+    public void setup() throws Exception {
+        respServer = RespServer.start( 0 ) ;
+        respServer.put( KEY , VALUE ) ;
+
+        connectionFactory = new AppRedisConnectionFactory( "redis" ,
+                new RedisStandaloneConfiguration( "127.0.0.1" , respServer.getPort() ) ,
+                LettuceClientConfiguration.defaultConfiguration() ) ;
+        connectionFactory.afterPropertiesSet() ;
+
+        wrapper = connectionFactory.getConnection() ;
+        target = ( (AppRedisConnectionWrapper) wrapper ).getDelegate() ;
+        proxy = LegacyRedisConnectionProxy.create( connectionFactory , target ) ;
+    }
+
+    @TearDown
+    public void tearDown(){
+        target.close() ;
+        connectionFactory.destroy() ;
+        respServer.close() ;
+    }
+
+    @Benchmark
+    public byte[] baseline(){
+        return target.get( KEY ) ;
+    }
+
+    @Benchmark
+    public byte[] wrapper(){
+        return wrapper.get( KEY ) ;
+    }
+
+    @Benchmark
+    public byte[] proxy(){
+        return proxy.get( KEY ) ;
+    }
+
+}
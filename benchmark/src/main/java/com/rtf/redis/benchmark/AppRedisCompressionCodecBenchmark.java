@@ -0,0 +1,70 @@
+package com.rtf.redis.benchmark;
+
+import com.rtf.redis.client.codec.AppRedisCompressionCodec;
+import com.rtf.redis.client.codec.AppRedisCompressionConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 值压缩的编解码开销。值为重复字段较多的json，与缓存的对象列表类似。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppRedisCompressionCodecBenchmark {
+
+    @Param({"8192", "102400"})
+    private int valueSize ;
+
+    @Param({"1", "6"})
+    private int level ;
+
+    private AppRedisCompressionCodec codec ;
+
+    private byte[] value ;
+
+    private byte[] compressed ;
+
+    @Setup
+    public void setup(){
+        AppRedisCompressionConfig config = new AppRedisCompressionConfig() ;
+        config.setEnabled( true ) ;
+        config.setLevel( level ) ;
+        codec = AppRedisCompressionCodec.create( config , null ) ;
+        Random random = new Random( 1 ) ;
+        StringBuilder json = new StringBuilder( "[" ) ;
+        while (json.length() < valueSize) {
+            json.append( "{\"id\":" ).append( random.nextInt( 1000000 ) )
+                    .append( ",\"name\":\"item-" ).append( random.nextInt( 10000 ) )
+                    .append( "\",\"price\":" ).append( random.nextInt( 100000 ) / 100.0 )
+                    .append( ",\"tags\":[\"hot\",\"new\"]}," ) ;
+        }
+        value = json.substring( 0 , valueSize - 1 ).concat( "]" ).getBytes() ;
+        compressed = codec.encode( value ) ;
+    }
+
+    @Benchmark
+    public byte[] encode(){
+        return codec.encode( value ) ;
+    }
+
+    @Benchmark
+    public byte[] decode(){
+        return codec.decode( compressed ) ;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] encodeContended(){
+        return codec.encode( value ) ;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.rtf.redis.benchmark;
+
+import com.rtf.redis.client.AppRedisConnectionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 连接包装类与ProxyFactory动态代理的对比。
+ * baseline为直接调用目标连接的开销，其余结果减去baseline即为包装层自身的开销。
+ * 使用 -prof gc 查看每次操作的内存分配。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppRedisConnectionWrapperBenchmark {
+
+    private static final byte[] KEY = "benchmark:key".getBytes() ;
+
+    private AppRedisConnectionFactory connectionFactory ;
+
+    private RedisConnection target ;
+
+    private RedisConnection wrapper ;
+
+    private RedisConnection proxy ;
+
+    @Setup
+    public void setup(){
+        connectionFactory = new AppRedisConnectionFactory( "redis" ,
+                new RedisStandaloneConfiguration( "127.0.0.1" , 6379 ) , LettuceClientConfiguration.defaultConfiguration() ) ;
+        connectionFactory.afterPropertiesSet() ;
+
+        target = NoOpRedisConnection.create() ;
+        wrapper = connectionFactory.createRedisConnectionWrapper( target ) ;
+        proxy = LegacyRedisConnectionProxy.create( connectionFactory , target ) ;
+    }
+
+    @TearDown
+    public void tearDown(){
+        connectionFactory.destroy() ;
+    }
+
+    @Benchmark
+    public byte[] baseline(){
+        return target.get( KEY ) ;
+    }
+
+    /**
+     * 已创建的包装连接上执行一次命令
+     */
+    @Benchmark
+    public byte[] wrapperCommand(){
+        return wrapper.get( KEY ) ;
+    }
+
+    /**
+     * 已创建的代理连接上执行一次命令
+     */
+    @Benchmark
+    public byte[] proxyCommand(){
+        return proxy.get( KEY ) ;
+    }
+
+    /**
+     * 每次获取连接时创建包装类并执行一次命令，对应getConnection()的使用方式
+     */
+    @Benchmark
+    public byte[] wrapperGetConnection(){
+        return connectionFactory.createRedisConnectionWrapper( target ).get( KEY ) ;
+    }
+
+    /**
+     * 每次获取连接时创建代理并执行一次命令
+     */
+    @Benchmark
+    public byte[] proxyGetConnection(){
+        return LegacyRedisConnectionProxy.create( connectionFactory , target ).get( KEY ) ;
+    }
+
+}
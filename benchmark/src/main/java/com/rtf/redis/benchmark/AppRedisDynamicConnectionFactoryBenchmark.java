@@ -0,0 +1,102 @@
+package com.rtf.redis.benchmark;
+
+import com.rtf.redis.client.AppRedisDynamicConnectionFactory;
+import com.rtf.redis.client.RespServer;
+import com.rtf.redis.client.lb.AppRedisConsistentHashRule;
+import com.rtf.redis.client.lb.AppRedisPowerOfTwoChoicesRule;
+import com.rtf.redis.client.lb.AppRedisRoundRobinRule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 动态连接工厂获取连接的开销。
+ * 使用进程内的RESP服务端，127.0.0.1、127.0.0.2为主节点，127.0.0.3为备节点。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppRedisDynamicConnectionFactoryBenchmark {
+
+    private static final byte[] KEY = "benchmark:key".getBytes() ;
+
+    private static final byte[] VALUE = "benchmark:value".getBytes() ;
+
+    @Param({"round-robin", "p2c", "consistent-hash"})
+    private String rule ;
+
+    private RespServer respServer ;
+
+    private AppRedisDynamicConnectionFactory connectionFactory ;
+
+    @Setup
+    public void setup() throws Exception {
+        respServer = RespServer.start( 0 ) ;
+        respServer.put( KEY , VALUE ) ;
+
+        RedisProperties properties = new RedisProperties() ;
+        properties.setHost( "127.0.0.1,127.0.0.2;127.0.0.3" ) ;
+        properties.setPort( respServer.getPort() ) ;
+        properties.setTimeout( Duration.ofSeconds( 5 ) ) ;
+
+        connectionFactory = new AppRedisDynamicConnectionFactory( "redis" , properties ,
+                LettuceClientConfiguration.defaultConfiguration() , null ) ;
+        if( "p2c".equals( rule ) ){
+            connectionFactory.setAppRedisRule( new AppRedisPowerOfTwoChoicesRule() ) ;
+        }else if( "consistent-hash".equals( rule ) ){
+            connectionFactory.setAppRedisRule( new AppRedisConsistentHashRule() ) ;
+        }else{
+            connectionFactory.setAppRedisRule( new AppRedisRoundRobinRule() ) ;
+        }
+        connectionFactory.afterPropertiesSet() ;
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connectionFactory.destroy() ;
+        respServer.close() ;
+    }
+
+    /**
+     * 获取并关闭连接，不执行命令
+     */
+    @Benchmark
+    public void getConnection(){
+        RedisConnection connection = connectionFactory.getConnection() ;
+        connection.close() ;
+    }
+
+    /**
+     * 多线程获取并关闭连接
+     */
+    @Benchmark
+    @Threads(8)
+    public void getConnectionContended(){
+        RedisConnection connection = connectionFactory.getConnection() ;
+        connection.close() ;
+    }
+
+    /**
+     * 获取连接并执行一次get命令，对应RedisTemplate的一次调用
+     */
+    @Benchmark
+    public byte[] getConnectionAndGet(){
+        RedisConnection connection = connectionFactory.getConnection() ;
+        try{
+            return connection.get( KEY ) ;
+        }finally {
+            connection.close() ;
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.rtf.redis.benchmark;
+
+import com.rtf.redis.client.lb.AppRedisHotKeyConfig;
+import com.rtf.redis.client.lb.AppRedisHotKeyDetector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 热点key检测每条命令的开销。一半的访问集中在一个key上，其余访问分散在10万个key上。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppRedisHotKeyDetectorBenchmark {
+
+    private static final byte[] HOT_KEY = "benchmark:hot".getBytes() ;
+
+    @Param({"1", "16"})
+    private int sampleRate ;
+
+    private byte[][] keys ;
+
+    private AppRedisHotKeyDetector detector ;
+
+    @Setup
+    public void setup(){
+        keys = new byte[ 100_000 ][] ;
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ( "benchmark:key:" + i ).getBytes() ;
+        }
+        AppRedisHotKeyConfig config = new AppRedisHotKeyConfig() ;
+        config.setEnabled( true ) ;
+        config.setSampleRate( sampleRate ) ;
+        detector = new AppRedisHotKeyDetector( "benchmark-hot-key" ) ;
+        detector.setConfig( config ) ;
+    }
+
+    private byte[] nextKey(){
+        ThreadLocalRandom random = ThreadLocalRandom.current() ;
+        return random.nextBoolean() ? HOT_KEY : keys[ random.nextInt( keys.length ) ] ;
+    }
+
+    @Benchmark
+    public void record(){
+        detector.record( nextKey() ) ;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordContended(){
+        detector.record( nextKey() ) ;
+    }
+
+    /**
+     * 只选择key，作为对照
+     */
+    @Benchmark
+    public byte[] baseline(){
+        return nextKey() ;
+    }
+
+}
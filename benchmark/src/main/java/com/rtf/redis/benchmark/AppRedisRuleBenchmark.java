@@ -0,0 +1,101 @@
+package com.rtf.redis.benchmark;
+
+import com.google.common.collect.Lists;
+import com.rtf.redis.client.AppRedisConnectionFactory;
+import com.rtf.redis.client.lb.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 负载均衡规则选择连接工厂的开销，单线程与多线程竞争对比。
+ * 连接工厂只初始化不建立连接，选择过程包括断路器的检查。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppRedisRuleBenchmark {
+
+    private static final int KEY_COUNT = 1024 ;
+
+    @Param({"round-robin", "p2c", "consistent-hash"})
+    private String rule ;
+
+    @Param({"8"})
+    private int hosts ;
+
+    private List<AppRedisConnectionFactory> connectionFactories ;
+
+    private AppRedisRule appRedisRule ;
+
+    private byte[][] keys ;
+
+    @Setup
+    public void setup(){
+        connectionFactories = Lists.newArrayList() ;
+        for (int i = 0; i < hosts; i++) {
+            AppRedisConnectionFactory connectionFactory = new AppRedisConnectionFactory( "redis" ,
+                    new RedisStandaloneConfiguration( "127.0.0." + ( i + 1 ) , 6379 ) ,
+                    LettuceClientConfiguration.defaultConfiguration() ) ;
+            connectionFactory.afterPropertiesSet() ;
+            connectionFactories.add( connectionFactory ) ;
+        }
+        AppRedisRoutingTable routingTable = AppRedisRoutingTable.of( connectionFactories ) ;
+
+        if( "p2c".equals( rule ) ){
+            appRedisRule = new AppRedisPowerOfTwoChoicesRule() ;
+        }else if( "consistent-hash".equals( rule ) ){
+            appRedisRule = new AppRedisConsistentHashRule() ;
+        }else{
+            appRedisRule = new AppRedisRoundRobinRule() ;
+        }
+        appRedisRule.setRoutingTable( () -> routingTable ) ;
+
+        keys = new byte[ KEY_COUNT ][] ;
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = ( "benchmark:key:" + i ).getBytes() ;
+        }
+    }
+
+    @TearDown
+    public void tearDown(){
+        for (AppRedisConnectionFactory connectionFactory : connectionFactories) {
+            connectionFactory.destroy() ;
+        }
+    }
+
+    private byte[] nextKey(){
+        return keys[ ThreadLocalRandom.current().nextInt( KEY_COUNT ) ] ;
+    }
+
+    @Benchmark
+    public AppRedisConnectionFactory choose(){
+        return appRedisRule.choose( null ) ;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AppRedisConnectionFactory chooseContended(){
+        return appRedisRule.choose( null ) ;
+    }
+
+    /**
+     * 按key选择，只有一致性哈希规则会使用key
+     */
+    @Benchmark
+    @Threads(8)
+    public AppRedisConnectionFactory chooseByKeyContended(){
+        return appRedisRule.choose( nextKey() ) ;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.rtf.redis.benchmark;
+
+import com.rtf.redis.serializer.AppRedisBinarySerializer;
+import com.rtf.redis.serializer.AppRedisStringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * appRedisTemplate的序列化与spring-data-redis自带序列化的对比。
+ * key为带前缀的业务key，值为缓存中常见的对象列表
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppRedisSerializerBenchmark {
+
+    @Param({"1", "20"})
+    private int items ;
+
+    private final StringRedisSerializer stringSerializer = new StringRedisSerializer() ;
+
+    private final AppRedisStringSerializer appStringSerializer = new AppRedisStringSerializer( "app:" ) ;
+
+    private final GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer() ;
+
+    private final JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer() ;
+
+    private final AppRedisBinarySerializer binarySerializer = new AppRedisBinarySerializer() ;
+
+    private String key ;
+
+    private List<Map<String,Object>> value ;
+
+    private byte[] json ;
+
+    private byte[] jdk ;
+
+    private byte[] binary ;
+
+    @Setup
+    public void setup(){
+        key = "user:order:1234567" ;
+        value = new ArrayList<>() ;
+        for (int i = 0; i < items; i++) {
+            Map<String,Object> item = new HashMap<>() ;
+            item.put( "id" , 100000L + i ) ;
+            item.put( "name" , "item-" + i ) ;
+            item.put( "price" , 19.9 + i ) ;
+            item.put( "stock" , i * 3 ) ;
+            item.put( "onSale" , i % 2 == 0 ) ;
+            value.add( item ) ;
+        }
+        json = jsonSerializer.serialize( value ) ;
+        jdk = jdkSerializer.serialize( value ) ;
+        binary = binarySerializer.serialize( value ) ;
+    }
+
+    @Benchmark
+    public byte[] keyString(){
+        return stringSerializer.serialize( "app:" + key ) ;
+    }
+
+    @Benchmark
+    public byte[] keyApp(){
+        return appStringSerializer.serialize( key ) ;
+    }
+
+    @Benchmark
+    public byte[] serializeJson(){
+        return jsonSerializer.serialize( value ) ;
+    }
+
+    @Benchmark
+    public byte[] serializeJdk(){
+        return jdkSerializer.serialize( value ) ;
+    }
+
+    @Benchmark
+    public byte[] serializeBinary(){
+        return binarySerializer.serialize( value ) ;
+    }
+
+    @Benchmark
+    public Object deserializeJson(){
+        return jsonSerializer.deserialize( json ) ;
+    }
+
+    @Benchmark
+    public Object deserializeJdk(){
+        return jdkSerializer.deserialize( jdk ) ;
+    }
+
+    @Benchmark
+    public Object deserializeBinary(){
+        return binarySerializer.deserialize( binary ) ;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.rtf.redis.benchmark;
+
+import com.rtf.redis.client.AppRedisConnectionFactory;
+import com.rtf.redis.client.interceptor.AppCodisConnectionMethodInterceptor;
+import com.rtf.redis.client.interceptor.AppRedisConnectionMethodInterceptor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+
+/**
+ * 旧版本的ProxyFactory动态代理连接，只用于和连接包装类对比开销。
+ * 每次调用都会创建代理对象，连接工厂已改为使用 {@link AppRedisConnectionFactory#createRedisConnectionWrapper(RedisConnection)}
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@SuppressWarnings("deprecation")
+public final class LegacyRedisConnectionProxy {
+
+    private LegacyRedisConnectionProxy(){
+    }
+
+    /**
+     * 创建redis连接代理
+     * @param connectionFactory 目标连接所在主机的连接工厂
+     * @param targetRedisConnection
+     * @return
+     */
+    public static RedisConnection create(AppRedisConnectionFactory connectionFactory , RedisConnection targetRedisConnection){
+        ProxyFactory proxyFactory = new ProxyFactory() ;
+        proxyFactory.setTarget( targetRedisConnection ) ;
+        proxyFactory.setInterfaces( RedisConnection.class ) ;
+        proxyFactory.setProxyTargetClass( true ) ;
+        // 设置目标拦截器
+        proxyFactory.addAdvice( StringUtils.equalsIgnoreCase( connectionFactory.getRedisServerType() , "codis" ) ?
+                new AppCodisConnectionMethodInterceptor( connectionFactory.getHostName() ) :
+                new AppRedisConnectionMethodInterceptor( connectionFactory.getHostName() ) ) ;
+
+        return (RedisConnection) proxyFactory.getProxy() ;
+    }
+
+}
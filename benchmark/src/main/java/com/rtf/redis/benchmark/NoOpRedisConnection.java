@@ -0,0 +1,35 @@
+package com.rtf.redis.benchmark;
+
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * 不访问网络的redis连接，所有命令直接返回默认值。
+ * 用于单独度量连接包装层自身的开销。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public final class NoOpRedisConnection {
+
+    private static final byte[] VALUE = "value".getBytes() ;
+
+    private NoOpRedisConnection(){
+    }
+
+    public static RedisConnection create(){
+        return (RedisConnection) Proxy.newProxyInstance( RedisConnection.class.getClassLoader() ,
+                new Class[]{ RedisConnection.class } , (proxy , method , args)->{
+                    Class<?> returnType = method.getReturnType() ;
+                    if( returnType==boolean.class ){
+                        return false ;
+                    }
+                    if( returnType==byte[].class ){
+                        return VALUE ;
+                    }
+                    return null ;
+                } ) ;
+    }
+
+}
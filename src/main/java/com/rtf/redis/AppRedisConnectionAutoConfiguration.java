@@ -3,16 +3,30 @@ package com.rtf.redis;
 import com.rtf.redis.client.AppRedisConnectionFactory;
 import com.rtf.redis.client.AppRedisConnectionConfigurationAdaptor;
 import com.rtf.redis.client.AppRedisDynamicConnectionFactory;
+import com.rtf.redis.client.cluster.AppRedisClusterConnectionFactory;
+import com.rtf.redis.client.cluster.AppRedisClusterTopologyConfig;
+import com.rtf.redis.client.codec.AppRedisCompressionCodec;
+import com.rtf.redis.client.codec.AppRedisCompressor;
+import com.rtf.redis.client.lb.AppRedisConsistentHashRule;
 import com.rtf.redis.client.lb.AppRedisHostList;
+import com.rtf.redis.client.lb.AppRedisHostListEnvironment;
+import com.rtf.redis.client.lb.AppRedisHostListSentinel;
+import com.rtf.redis.client.lb.AppRedisPowerOfTwoChoicesRule;
+import com.rtf.redis.client.lb.AppRedisRoundRobinRule;
+import com.rtf.redis.client.lb.AppRedisRule;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
 import io.lettuce.core.resource.ClientResources;
 import io.lettuce.core.resource.DefaultClientResources;
 import io.lettuce.core.resource.Delay;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.*;
@@ -33,6 +47,7 @@ import java.util.List;
  */
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(AppRedisProperties.class)
 public class AppRedisConnectionAutoConfiguration extends AppRedisConnectionConfigurationAdaptor {
 
 	/**
@@ -42,6 +57,8 @@ public class AppRedisConnectionAutoConfiguration extends AppRedisConnectionConfi
 
 	private final RedisProperties properties;
 
+	private final AppRedisProperties appRedisProperties;
+
 	// 客户端类型
 	@Value("${spring.redis.type:redis}")
 	private String type = "redis" ;
@@ -50,16 +67,29 @@ public class AppRedisConnectionAutoConfiguration extends AppRedisConnectionConfi
 
 	private AppRedisHostList appRedisHostList ;
 
+	private AppRedisRule appRedisRule ;
+
+	/**
+	 * 自定义的压缩算法
+	 */
+	private List<AppRedisCompressor> appRedisCompressors ;
+
 	public AppRedisConnectionAutoConfiguration(RedisProperties properties,
+											   AppRedisProperties appRedisProperties,
 											   ObjectProvider<AppRedisHostList> appRedisHostListObjectProvider,
+											   ObjectProvider<AppRedisRule> appRedisRuleObjectProvider,
+											   ObjectProvider<List<AppRedisCompressor>> appRedisCompressorsObjectProvider,
 											   ObjectProvider<RedisSentinelConfiguration> sentinelConfigurationProvider,
 											   ObjectProvider<RedisClusterConfiguration> clusterConfigurationProvider,
 											   ObjectProvider<List<LettuceClientConfigurationBuilderCustomizer>> builderCustomizers) {
 		super(properties, sentinelConfigurationProvider, clusterConfigurationProvider);
 		this.properties = properties;
+		this.appRedisProperties = appRedisProperties;
 		this.builderCustomizers = builderCustomizers
 				.getIfAvailable(Collections::emptyList);
 		this.appRedisHostList = appRedisHostListObjectProvider.getIfAvailable() ;
+		this.appRedisRule = appRedisRuleObjectProvider.getIfAvailable() ;
+		this.appRedisCompressors = appRedisCompressorsObjectProvider.getIfAvailable(Collections::emptyList) ;
 	}
 
 	@Bean(destroyMethod = "shutdown")
@@ -85,37 +115,127 @@ public class AppRedisConnectionAutoConfiguration extends AppRedisConnectionConfi
 
 	private RedisConnectionFactory createLettuceConnectionFactory(
 			LettuceClientConfiguration clientConfiguration) {
-		if (getSentinelConfig() != null) {
-			throw new IllegalArgumentException("不支持 redis sentinel 配置") ;
+		if (getSentinelConfig() != null && !(appRedisHostList instanceof AppRedisHostListSentinel)) {
+			throw new IllegalArgumentException("redis sentinel 配置需要使用 AppRedisHostListSentinel 服务列表") ;
 		}
 		if (getClusterConfiguration() != null) {
-			throw new IllegalArgumentException("不支持 redis cluster 配置") ;
+			// redis集群使用单独的连接工厂，命令直接发送到key所在的节点
+			AppRedisClusterConnectionFactory clusterConnectionFactory = new AppRedisClusterConnectionFactory(
+					getClusterConfiguration() , clientConfiguration ) ;
+			clusterConnectionFactory.setCircuitBreakerConfig( appRedisProperties.getCircuitBreaker() ) ;
+			clusterConnectionFactory.setConcurrencyLimitConfig( appRedisProperties.getConcurrencyLimit() ) ;
+			clusterConnectionFactory.setCompressionCodec( createCompressionCodec() ) ;
+			return clusterConnectionFactory ;
 		}
 
 		RedisConnectionFactory redisConnectionFactory = null ;
 
-		// 使用","和";"进行检查，负载均衡和主备切换使用单独的连接库
-		if( properties.getHost().indexOf(",") != -1 || properties.getHost().indexOf(";") != -1 ){
-			redisConnectionFactory = new AppRedisDynamicConnectionFactory( type , properties ,
+		// 使用","和";"进行检查，负载均衡和主备切换使用单独的连接库；
+		// 使用其他来源的服务列表时主机可能变化，也使用动态连接库，Environment中的服务列表与spring.redis.host相同
+		boolean externalHostList = appRedisHostList!=null && !(appRedisHostList instanceof AppRedisHostListEnvironment) ;
+		if( properties.getHost().indexOf(",") != -1 || properties.getHost().indexOf(";") != -1 || externalHostList ){
+			AppRedisDynamicConnectionFactory dynamicConnectionFactory = new AppRedisDynamicConnectionFactory( type , properties ,
 					clientConfiguration ,
 					appRedisHostList ) ;
+			dynamicConnectionFactory.setCircuitBreakerConfig( appRedisProperties.getCircuitBreaker() ) ;
+			dynamicConnectionFactory.setHealthCheckConfig( appRedisProperties.getHealthCheck() ) ;
+			dynamicConnectionFactory.setAutoPipelineConfig( appRedisProperties.getAutoPipeline() ) ;
+			dynamicConnectionFactory.setHedgedReadConfig( appRedisProperties.getHedgedRead() ) ;
+			dynamicConnectionFactory.setFailoverConfig( appRedisProperties.getFailover() ) ;
+			dynamicConnectionFactory.setReadWriteSplitConfig( appRedisProperties.getReadWriteSplit() ) ;
+			dynamicConnectionFactory.setScatterGatherConfig( appRedisProperties.getScatterGather() ) ;
+			dynamicConnectionFactory.setWarmUpConfig( appRedisProperties.getWarmUp() ) ;
+			dynamicConnectionFactory.setDrainTimeout( appRedisProperties.getHostList().getDrainTimeout() ) ;
+			dynamicConnectionFactory.setHostListRefreshInterval( appRedisProperties.getHostList().getRefreshInterval() ) ;
+			dynamicConnectionFactory.setHostListDebounce( appRedisProperties.getHostList().getDebounce() ) ;
+			dynamicConnectionFactory.setNearCacheConfig( appRedisProperties.getNearCache() ) ;
+			dynamicConnectionFactory.setHotKeyConfig( appRedisProperties.getHotKey() ) ;
+			dynamicConnectionFactory.setConcurrencyLimitConfig( appRedisProperties.getConcurrencyLimit() ) ;
+			dynamicConnectionFactory.setCompressionCodec( createCompressionCodec() ) ;
+			configureLoadBalancer( dynamicConnectionFactory ) ;
+			redisConnectionFactory = dynamicConnectionFactory ;
 		}else{
-			redisConnectionFactory = new AppRedisConnectionFactory( type , getStandaloneConfig(),
+			AppRedisConnectionFactory appRedisConnectionFactory = new AppRedisConnectionFactory( type , getStandaloneConfig(),
 					clientConfiguration) ;
+			appRedisConnectionFactory.setCircuitBreakerConfig( appRedisProperties.getCircuitBreaker() ) ;
+			appRedisConnectionFactory.setAutoPipelineConfig( appRedisProperties.getAutoPipeline() ) ;
+			appRedisConnectionFactory.setNearCacheConfig( appRedisProperties.getNearCache() ) ;
+			appRedisConnectionFactory.setWarmUpConfig( appRedisProperties.getWarmUp() ) ;
+			appRedisConnectionFactory.getHostStats().getHotKeyDetector().setConfig( appRedisProperties.getHotKey() ) ;
+			appRedisConnectionFactory.setCompressionCodec( createCompressionCodec() ) ;
+			redisConnectionFactory = appRedisConnectionFactory ;
 		}
 
 		return redisConnectionFactory ;
 	}
 
+	/**
+	 * 创建值压缩，未开启时返回null
+	 * @return
+	 */
+	private AppRedisCompressionCodec createCompressionCodec(){
+		return AppRedisCompressionCodec.create( appRedisProperties.getCompression() , appRedisCompressors ) ;
+	}
+
+	/**
+	 * 配置负载均衡规则
+	 * @param dynamicConnectionFactory
+	 */
+	private void configureLoadBalancer(AppRedisDynamicConnectionFactory dynamicConnectionFactory){
+		AppRedisProperties.LoadBalancer loadBalancer = appRedisProperties.getLoadBalancer() ;
+		dynamicConnectionFactory.setHostWeights( loadBalancer.getWeights() ) ;
+		if( loadBalancer.getDecayTime()!=null ){
+			dynamicConnectionFactory.setHostStatsDecayTime( loadBalancer.getDecayTime().toMillis() ) ;
+		}
+		// 优先使用自定义的规则
+		if( appRedisRule!=null ){
+			dynamicConnectionFactory.setAppRedisRule( appRedisRule ) ;
+		}else if( StringUtils.equalsIgnoreCase( loadBalancer.getRule() , "p2c" ) ){
+			dynamicConnectionFactory.setAppRedisRule( new AppRedisPowerOfTwoChoicesRule() ) ;
+		}else if( StringUtils.equalsIgnoreCase( loadBalancer.getRule() , "consistent-hash" ) ){
+			dynamicConnectionFactory.setAppRedisRule( new AppRedisConsistentHashRule( loadBalancer.getVirtualNodes() ) ) ;
+		}else{
+			dynamicConnectionFactory.setAppRedisRule( new AppRedisRoundRobinRule() ) ;
+		}
+	}
+
 	private LettuceClientConfiguration getLettuceClientConfiguration(
 			ClientResources clientResources, RedisProperties.Pool pool) {
 		LettuceClientConfigurationBuilder builder = createBuilder(pool);
 		applyProperties(builder);
+		if (getClusterConfiguration() != null) {
+			builder.clientOptions(createClusterClientOptions(getClusterConfiguration()));
+		}
 		builder.clientResources(clientResources);
 		customize(builder);
 		return builder.build();
 	}
 
+	/**
+	 * 创建redis集群的客户端配置，收到MOVED、ASK重定向时立即刷新集群拓扑
+	 * @param clusterConfiguration
+	 * @return
+	 */
+	private ClusterClientOptions createClusterClientOptions(RedisClusterConfiguration clusterConfiguration) {
+		AppRedisClusterTopologyConfig topologyConfig = appRedisProperties.getClusterTopology() ;
+		ClusterTopologyRefreshOptions.Builder refreshOptions = ClusterTopologyRefreshOptions.builder() ;
+		if( topologyConfig.isAdaptiveRefresh() ){
+			refreshOptions.enableAdaptiveRefreshTrigger( ClusterTopologyRefreshOptions.RefreshTrigger.MOVED_REDIRECT ,
+					ClusterTopologyRefreshOptions.RefreshTrigger.ASK_REDIRECT ,
+					ClusterTopologyRefreshOptions.RefreshTrigger.PERSISTENT_RECONNECTS )
+					.adaptiveRefreshTriggersTimeout( topologyConfig.getAdaptiveRefreshTimeout() ) ;
+		}
+		if( topologyConfig.getRefreshPeriod()!=null && !topologyConfig.getRefreshPeriod().isZero() ){
+			refreshOptions.enablePeriodicRefresh( topologyConfig.getRefreshPeriod() ) ;
+		}
+		ClusterClientOptions.Builder clientOptions = ClusterClientOptions.builder()
+				.topologyRefreshOptions( refreshOptions.build() ) ;
+		if( clusterConfiguration.getMaxRedirects()!=null ){
+			clientOptions.maxRedirects( clusterConfiguration.getMaxRedirects() ) ;
+		}
+		return clientOptions.build() ;
+	}
+
 	private LettuceClientConfigurationBuilder createBuilder(RedisProperties.Pool pool) {
 		if (pool == null) {
 			return LettuceClientConfiguration.builder();
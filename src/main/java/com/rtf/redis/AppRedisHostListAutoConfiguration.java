@@ -0,0 +1,62 @@
+package com.rtf.redis;
+
+import com.rtf.redis.client.lb.AppRedisHostList;
+import com.rtf.redis.client.lb.AppRedisHostListEnvironment;
+import com.rtf.redis.client.lb.AppRedisHostListFile;
+import com.rtf.redis.client.lb.AppRedisHostListSentinel;
+import io.lettuce.core.resource.ClientResources;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+
+/**
+ * 主动推送的redis服务列表。配置了spring.redis.sentinel.master时从sentinel获取主备节点并订阅切换事件；
+ * 配置了spring.redis.host-list.file时从文件读取并监听文件变化；
+ * 否则在使用spring cloud时监听配置刷新事件。项目中定义了AppRedisHostList时不生效
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Configuration
+@AutoConfigureBefore(AppRedisConnectionAutoConfiguration.class)
+@EnableConfigurationProperties(AppRedisProperties.class)
+public class AppRedisHostListAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(AppRedisHostList.class)
+    @ConditionalOnProperty(prefix = "spring.redis.sentinel", name = "master")
+    public AppRedisHostListSentinel appRedisHostListSentinel(RedisProperties properties ,
+                                                             ObjectProvider<ClientResources> clientResourcesProvider){
+        RedisProperties.Sentinel sentinel = properties.getSentinel() ;
+        RedisSentinelConfiguration sentinelConfiguration = new RedisSentinelConfiguration( sentinel.getMaster() ,
+                new LinkedHashSet<>( sentinel.getNodes() ) ) ;
+        return new AppRedisHostListSentinel( sentinel.getMaster() , new ArrayList<>( sentinelConfiguration.getSentinels() ) ,
+                properties.getPort() , properties.getTimeout() , clientResourcesProvider.getIfAvailable() ) ;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AppRedisHostList.class)
+    @ConditionalOnProperty(prefix = "spring.redis.host-list", name = "file")
+    public AppRedisHostListFile appRedisHostListFile(AppRedisProperties appRedisProperties){
+        return new AppRedisHostListFile( appRedisProperties.getHostList().getFile() ) ;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AppRedisHostList.class)
+    @ConditionalOnClass(name = "org.springframework.cloud.context.environment.EnvironmentChangeEvent")
+    public AppRedisHostListEnvironment appRedisHostListEnvironment(Environment environment){
+        return new AppRedisHostListEnvironment( environment ) ;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.rtf.redis;
+
+import com.rtf.redis.client.metrics.AppRedisMeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * redis命令耗时统计导出到micrometer，micrometer在classpath中时生效
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Configuration
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+@ConditionalOnProperty(prefix = "spring.redis.metrics", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(AppRedisProperties.class)
+public class AppRedisMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AppRedisMeterBinder appRedisMeterBinder(AppRedisProperties appRedisProperties){
+        return new AppRedisMeterBinder( appRedisProperties.getMetrics().getStep() ) ;
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.rtf.redis;
+
+import com.rtf.redis.client.AppRedisAutoPipelineConfig;
+import com.rtf.redis.client.AppRedisFailoverConfig;
+import com.rtf.redis.client.AppRedisHedgedReadConfig;
+import com.rtf.redis.client.AppRedisReadWriteSplitConfig;
+import com.rtf.redis.client.AppRedisScatterGatherConfig;
+import com.rtf.redis.client.AppRedisWarmUpConfig;
+import com.rtf.redis.client.cache.AppRedisNearCacheConfig;
+import com.rtf.redis.client.cluster.AppRedisClusterTopologyConfig;
+import com.rtf.redis.client.codec.AppRedisCompressionConfig;
+import com.rtf.redis.client.lb.AppRedisCircuitBreakerConfig;
+import com.rtf.redis.client.lb.AppRedisConcurrencyLimitConfig;
+import com.rtf.redis.client.lb.AppRedisHealthCheckConfig;
+import com.rtf.redis.client.lb.AppRedisHotKeyConfig;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * redis-sdk-plus扩展配置，与spring-boot的redis配置使用相同的前缀
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "spring.redis")
+public class AppRedisProperties {
+
+    /**
+     * 负载均衡配置
+     */
+    private final LoadBalancer loadBalancer = new LoadBalancer() ;
+
+    /**
+     * 主机列表刷新配置
+     */
+    private final HostList hostList = new HostList() ;
+
+    /**
+     * redis集群拓扑刷新配置，配置spring.redis.cluster.nodes时生效
+     */
+    private final AppRedisClusterTopologyConfig clusterTopology = new AppRedisClusterTopologyConfig() ;
+
+    /**
+     * 断路器配置
+     */
+    private final AppRedisCircuitBreakerConfig circuitBreaker = new AppRedisCircuitBreakerConfig() ;
+
+    /**
+     * 健康检查配置
+     */
+    private final AppRedisHealthCheckConfig healthCheck = new AppRedisHealthCheckConfig() ;
+
+    /**
+     * 热点key检测配置
+     */
+    private final AppRedisHotKeyConfig hotKey = new AppRedisHotKeyConfig() ;
+
+    /**
+     * 自适应并发限制配置
+     */
+    private final AppRedisConcurrencyLimitConfig concurrencyLimit = new AppRedisConcurrencyLimitConfig() ;
+
+    /**
+     * 自动管道配置
+     */
+    private final AppRedisAutoPipelineConfig autoPipeline = new AppRedisAutoPipelineConfig() ;
+
+    /**
+     * 对冲读配置
+     */
+    private final AppRedisHedgedReadConfig hedgedRead = new AppRedisHedgedReadConfig() ;
+
+    /**
+     * 故障转移配置
+     */
+    private final AppRedisFailoverConfig failover = new AppRedisFailoverConfig() ;
+
+    /**
+     * 大批量多key命令并行拆分配置
+     */
+    private final AppRedisScatterGatherConfig scatterGather = new AppRedisScatterGatherConfig() ;
+
+    /**
+     * 读写分离配置
+     */
+    private final AppRedisReadWriteSplitConfig readWriteSplit = new AppRedisReadWriteSplitConfig() ;
+
+    /**
+     * 连接预热配置
+     */
+    private final AppRedisWarmUpConfig warmUp = new AppRedisWarmUpConfig() ;
+
+    /**
+     * 本地缓存配置
+     */
+    private final AppRedisNearCacheConfig nearCache = new AppRedisNearCacheConfig() ;
+
+    /**
+     * 值压缩配置
+     */
+    private final AppRedisCompressionConfig compression = new AppRedisCompressionConfig() ;
+
+    /**
+     * 命令耗时统计导出配置
+     */
+    private final Metrics metrics = new Metrics() ;
+
+    /**
+     * appRedisTemplate配置
+     */
+    private final Template template = new Template() ;
+
+    @Setter
+    @Getter
+    public static class LoadBalancer {
+
+        /**
+         * 负载均衡规则，可选值：round-robin、p2c、consistent-hash，默认为round-robin
+         */
+        private String rule = "round-robin" ;
+
+        /**
+         * 一致性哈希规则中每个节点的虚拟节点数量
+         */
+        private int virtualNodes = 160 ;
+
+        /**
+         * 主机的静态权重，未配置的主机权重为1
+         */
+        private Map<String,Integer> weights = new HashMap<>() ;
+
+        /**
+         * 主机命令耗时加权平均值的衰减时间
+         */
+        private Duration decayTime = Duration.ofSeconds( 10 ) ;
+
+    }
+
+    @Setter
+    @Getter
+    public static class HostList {
+
+        /**
+         * 服务列表文件，配置后从文件读取主机列表并监听文件变化，格式与spring.redis.host相同
+         */
+        private String file ;
+
+        /**
+         * 定时拉取服务列表的间隔
+         */
+        private Duration refreshInterval = Duration.ofSeconds( 120 ) ;
+
+        /**
+         * 服务列表变化通知的防抖时间，防抖时间内的多次变化合并为一次更新
+         */
+        private Duration debounce = Duration.ofSeconds( 1 ) ;
+
+        /**
+         * 移除主机时等待已获取的连接关闭的最长时间，超过后直接关闭
+         */
+        private Duration drainTimeout = Duration.ofSeconds( 30 ) ;
+
+    }
+
+    @Setter
+    @Getter
+    public static class Metrics {
+
+        /**
+         * 是否导出到micrometer，micrometer在classpath中时生效
+         */
+        private boolean enabled = true ;
+
+        /**
+         * 百分位耗时的统计周期
+         */
+        private Duration step = Duration.ofMinutes( 1 ) ;
+
+    }
+
+    @Setter
+    @Getter
+    public static class Template {
+
+        /**
+         * 是否创建appRedisTemplate
+         */
+        private boolean enabled = true ;
+
+        /**
+         * appRedisTemplate中所有key的前缀，hash的field不加前缀
+         */
+        private String keyPrefix ;
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.rtf.redis;
+
+import com.rtf.redis.serializer.AppRedisBinarySerializer;
+import com.rtf.redis.serializer.AppRedisStringSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * 创建名称为appRedisTemplate的RedisTemplate，key使用utf-8字符串序列化，值使用二进制对象序列化，
+ * 序列化时复用线程的缓冲区。不影响spring-boot创建的redisTemplate和stringRedisTemplate。
+ * 注册名称为appRedisKeySerializer或appRedisValueSerializer的bean可以替换对应的序列化
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Configuration
+@AutoConfigureAfter(AppRedisConnectionAutoConfiguration.class)
+@ConditionalOnProperty(prefix = "spring.redis.template", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(AppRedisProperties.class)
+public class AppRedisTemplateAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(name = "appRedisKeySerializer")
+    public RedisSerializer<String> appRedisKeySerializer(AppRedisProperties appRedisProperties){
+        return new AppRedisStringSerializer( appRedisProperties.getTemplate().getKeyPrefix() ) ;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "appRedisValueSerializer")
+    public RedisSerializer<Object> appRedisValueSerializer(){
+        return new AppRedisBinarySerializer() ;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "appRedisTemplate")
+    public RedisTemplate<String,Object> appRedisTemplate(RedisConnectionFactory redisConnectionFactory ,
+                                                         @Qualifier("appRedisKeySerializer") RedisSerializer<String> keySerializer ,
+                                                         @Qualifier("appRedisValueSerializer") RedisSerializer<Object> valueSerializer){
+        RedisTemplate<String,Object> redisTemplate = new RedisTemplate<>() ;
+        redisTemplate.setConnectionFactory( redisConnectionFactory ) ;
+        redisTemplate.setKeySerializer( keySerializer ) ;
+        // hash的field不加前缀
+        redisTemplate.setHashKeySerializer( new AppRedisStringSerializer() ) ;
+        redisTemplate.setValueSerializer( valueSerializer ) ;
+        redisTemplate.setHashValueSerializer( valueSerializer ) ;
+        return redisTemplate ;
+    }
+
+}
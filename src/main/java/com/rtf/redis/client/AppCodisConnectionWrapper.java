@@ -0,0 +1,91 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.Subscription;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * codis连接包装类，拦截codis不支持的redis命令。
+ * 不支持的命令与 {@link AppRedisCommandTable} 中codisUnsupported的命令一致，执行时直接抛出异常，不发送到codis
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppCodisConnectionWrapper extends AppRedisConnectionWrapper {
+
+    public AppCodisConnectionWrapper(RedisConnection delegate , String host , AppRedisCircuitBreaker circuitBreaker ,
+                                     AppRedisHostStats hostStats){
+        super( delegate , host , circuitBreaker , hostStats ) ;
+    }
+
+    /**
+     * codis不支持的命令的异常
+     * @param command
+     * @return
+     */
+    public static InvalidDataAccessApiUsageException unsupported(String command){
+        return new InvalidDataAccessApiUsageException( "codis不支持redis命令: " + command ) ;
+    }
+
+    @Override
+    public void rename(byte[] sourceKey, byte[] targetKey) {
+        throw unsupported( "rename" ) ;
+    }
+
+    @Override
+    public Boolean renameNX(byte[] sourceKey, byte[] targetKey) {
+        throw unsupported( "renameNX" ) ;
+    }
+
+    @Override
+    public List<byte[]> bLPop(int timeout, byte[]... keys) {
+        throw unsupported( "bLPop" ) ;
+    }
+
+    @Override
+    public List<byte[]> bRPop(int timeout, byte[]... keys) {
+        throw unsupported( "bRPop" ) ;
+    }
+
+    @Override
+    public byte[] bRPopLPush(int timeout, byte[] srcKey, byte[] dstKey) {
+        throw unsupported( "bRPopLPush" ) ;
+    }
+
+    @Override
+    public Subscription getSubscription() {
+        return null ;
+    }
+
+    @Override
+    public void pSubscribe(MessageListener listener, byte[]... patterns) {
+        throw unsupported( "pSubscribe" ) ;
+    }
+
+    @Override
+    public Long publish(byte[] channel, byte[] message) {
+        throw unsupported( "publish" ) ;
+    }
+
+    @Override
+    public void subscribe(MessageListener listener, byte[]... channels) {
+        throw unsupported( "subscribe" ) ;
+    }
+
+    @Override
+    public Properties getConfig(String pattern) {
+        throw unsupported( "getConfig" ) ;
+    }
+
+    @Override
+    public void setConfig(String param, String value) {
+        throw unsupported( "setConfig" ) ;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+
+/**
+ * codis响应式连接包装类，拦截codis不支持的redis命令
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppCodisReactiveConnectionWrapper extends AppRedisReactiveConnectionWrapper {
+
+    public AppCodisReactiveConnectionWrapper(ReactiveRedisConnection delegate , String host ,
+                                             AppRedisCircuitBreaker circuitBreaker , AppRedisHostStats hostStats){
+        super( delegate , host , circuitBreaker , hostStats ) ;
+    }
+
+    @Override
+    protected boolean isSupported(AppRedisCommandDescriptor command) {
+        return !command.isCodisUnsupported() ;
+    }
+
+    @Override
+    protected RuntimeException unsupported(AppRedisCommandDescriptor command) {
+        return AppCodisConnectionWrapper.unsupported( command.getName() ) ;
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.rtf.redis.client;
+
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.lettuce.LettuceConverters;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * redis主机的自动管道。
+ * 所有线程共享一个关闭了自动刷新的lettuce连接，命令写入后暂存在客户端，积累到最大数量或等待超过最大延迟时一次刷新，
+ * 多个线程的命令合并为一次网络写入。lettuce按发送顺序匹配响应，每条命令的结果返回给各自的调用线程。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisAutoPipeline {
+
+    /**
+     * 所有主机共享的刷新线程，只负责触发刷新，一个线程即可
+     */
+    private static volatile ScheduledThreadPoolExecutor FLUSH_EXECUTOR = null ;
+
+    private final AppRedisConnectionFactory connectionFactory ;
+
+    @Getter
+    private final AppRedisAutoPipelineConfig config ;
+
+    private final long maxDelayNanos ;
+
+    private final long timeoutNanos ;
+
+    private RedisClient redisClient ;
+
+    private RedisURI redisURI ;
+
+    private volatile StatefulRedisConnection<byte[],byte[]> connection ;
+
+    /**
+     * 已写入但未刷新的命令数
+     */
+    private final AtomicInteger pending = new AtomicInteger(0) ;
+
+    /**
+     * 是否已经安排了延迟刷新
+     */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false) ;
+
+    private volatile boolean destroyed = false ;
+
+    public AppRedisAutoPipeline(AppRedisConnectionFactory connectionFactory , AppRedisAutoPipelineConfig config){
+        this.connectionFactory = connectionFactory ;
+        this.config = config ;
+        this.maxDelayNanos = Math.max( 0 , config.getMaxDelay().toNanos() ) ;
+        this.timeoutNanos = connectionFactory.getClientConfiguration().getCommandTimeout().toNanos() ;
+    }
+
+    /**
+     * 获取共享的刷新线程
+     * @return
+     */
+    private static ScheduledThreadPoolExecutor getExecutor(){
+        if( FLUSH_EXECUTOR==null ){
+            synchronized ( AppRedisAutoPipeline.class ){
+                if( FLUSH_EXECUTOR==null ){
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor( 1 , runnable -> {
+                        Thread thread = new Thread( runnable , "RedisAutoPipeline" ) ;
+                        thread.setDaemon( true ) ;
+                        return thread ;
+                    } ) ;
+                    executor.setRemoveOnCancelPolicy( true ) ;
+                    FLUSH_EXECUTOR = executor ;
+                }
+            }
+        }
+        return FLUSH_EXECUTOR ;
+    }
+
+    public void start(){
+        redisURI = connectionFactory.createRedisURI( connectionFactory.getClientConfiguration().getCommandTimeout() ) ;
+        redisClient = connectionFactory.createRedisClient( redisURI ) ;
+    }
+
+    /**
+     * 获取共享连接，第一次使用时建立连接，连接断开后由lettuce自动重连
+     * @return
+     */
+    private StatefulRedisConnection<byte[],byte[]> connection(){
+        StatefulRedisConnection<byte[],byte[]> current = connection ;
+        if( current!=null ){
+            return current ;
+        }
+        synchronized ( this ){
+            if( connection==null ){
+                if( destroyed ){
+                    throw new RedisSystemException( "redis主机:" + connectionFactory.getHostName() + " 的自动管道已经关闭" , null ) ;
+                }
+                StatefulRedisConnection<byte[],byte[]> created = redisClient.connect( ByteArrayCodec.INSTANCE , redisURI ) ;
+                created.setAutoFlushCommands( false ) ;
+                connection = created ;
+            }
+            return connection ;
+        }
+    }
+
+    /**
+     * 在共享连接上执行命令，并等待命令的结果
+     * @param command 写入命令的函数，只能写入一条命令
+     * @param <T>
+     * @return
+     */
+    public <T> T execute(Function<RedisAsyncCommands<byte[],byte[]>,RedisFuture<T>> command){
+        try{
+            RedisFuture<T> future = command.apply( connection().async() ) ;
+            onWrite() ;
+            return LettuceFutures.awaitOrCancel( future , timeoutNanos , TimeUnit.NANOSECONDS ) ;
+        }catch( DataAccessException e ){
+            throw e ;
+        }catch( Exception e ){
+            DataAccessException exception = LettuceConverters.exceptionConverter().convert( e ) ;
+            throw exception!=null ? exception : new RedisSystemException( "Unknown Lettuce exception" , e ) ;
+        }
+    }
+
+    /**
+     * 命令写入后决定刷新时机：达到最大数量时由当前线程立即刷新，否则由批次中的第一条命令安排延迟刷新
+     */
+    private void onWrite(){
+        if( pending.incrementAndGet() >= config.getMaxBatchSize() || maxDelayNanos==0 ){
+            flush() ;
+            return;
+        }
+        if( flushScheduled.compareAndSet( false , true ) ){
+            getExecutor().schedule( this::scheduledFlush , maxDelayNanos , TimeUnit.NANOSECONDS ) ;
+        }
+    }
+
+    private void scheduledFlush(){
+        // 先重置标记，之后写入的命令会安排新的刷新，不会遗漏
+        flushScheduled.set( false ) ;
+        if( pending.get() > 0 ){
+            flush() ;
+        }
+    }
+
+    /**
+     * 刷新所有已写入的命令
+     */
+    private void flush(){
+        pending.set(0) ;
+        StatefulRedisConnection<byte[],byte[]> current = connection ;
+        if( current!=null ){
+            current.flushCommands() ;
+        }
+    }
+
+    /**
+     * 关闭自动管道
+     */
+    public void destroy(){
+        destroyed = true ;
+        try{
+            // 先刷新剩余的命令，关闭客户端时会关闭共享连接，共享的客户端资源不会被关闭
+            flush() ;
+            if( redisClient!=null ){
+                redisClient.shutdownAsync() ;
+            }
+        }catch( Exception e ){
+            log.error( "redis自动管道关闭异常 {} : {}" , connectionFactory.getHostName() , e.getMessage() ) ;
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.rtf.redis.client;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * redis自动管道配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisAutoPipelineConfig {
+
+    /**
+     * 是否开启自动管道，默认关闭
+     */
+    private boolean enabled = false ;
+
+    /**
+     * 一次刷新的最大命令数，积累到该数量时立即刷新
+     */
+    private int maxBatchSize = 64 ;
+
+    /**
+     * 命令等待刷新的最长时间
+     */
+    private Duration maxDelay = Duration.ofNanos( 200_000 ) ;
+
+}
@@ -0,0 +1,205 @@
+package com.rtf.redis.client;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.convert.Converters;
+import org.springframework.data.redis.connection.lettuce.LettuceConverters;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 自动管道连接。
+ * 常用的单key命令在主机共享的自动管道上执行，与其他线程的命令合并刷新，其他命令仍然委托至连接池中的连接。
+ * 连接处于事务或手动管道中时，所有命令都委托至原连接，保证命令的顺序和结果。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisAutoPipelineConnection extends AppRedisDelegatingConnection {
+
+    private final AppRedisAutoPipeline autoPipeline ;
+
+    public AppRedisAutoPipelineConnection(RedisConnection delegate , AppRedisAutoPipeline autoPipeline){
+        super( delegate ) ;
+        this.autoPipeline = autoPipeline ;
+    }
+
+    /**
+     * 是否可以使用自动管道
+     * @return
+     */
+    protected boolean isAutoPipelined(){
+        return !delegate.isPipelined() && !delegate.isQueueing() ;
+    }
+
+    // ---------------------------------------- RedisKeyCommands
+
+    @Override
+    public Long del(byte[]... keys) {
+        if( !isAutoPipelined() ){
+            return delegate.del( keys ) ;
+        }
+        return autoPipeline.execute( commands -> commands.del( keys ) ) ;
+    }
+
+    @Override
+    public Boolean exists(byte[] key) {
+        if( !isAutoPipelined() ){
+            return delegate.exists( key ) ;
+        }
+        return Converters.toBoolean( autoPipeline.execute( commands -> commands.exists( key ) ) ) ;
+    }
+
+    @Override
+    public Boolean expire(byte[] key, long seconds) {
+        if( !isAutoPipelined() ){
+            return delegate.expire( key , seconds ) ;
+        }
+        return autoPipeline.execute( commands -> commands.expire( key , seconds ) ) ;
+    }
+
+    @Override
+    public Boolean pExpire(byte[] key, long millis) {
+        if( !isAutoPipelined() ){
+            return delegate.pExpire( key , millis ) ;
+        }
+        return autoPipeline.execute( commands -> commands.pexpire( key , millis ) ) ;
+    }
+
+    @Override
+    public Long ttl(byte[] key) {
+        if( !isAutoPipelined() ){
+            return delegate.ttl( key ) ;
+        }
+        return autoPipeline.execute( commands -> commands.ttl( key ) ) ;
+    }
+
+    // ---------------------------------------- RedisStringCommands
+
+    @Override
+    public byte[] get(byte[] key) {
+        if( !isAutoPipelined() ){
+            return delegate.get( key ) ;
+        }
+        return autoPipeline.execute( commands -> commands.get( key ) ) ;
+    }
+
+    @Override
+    public List<byte[]> mGet(byte[]... keys) {
+        if( !isAutoPipelined() ){
+            return delegate.mGet( keys ) ;
+        }
+        return LettuceConverters.<byte[],byte[]>keyValueListUnwrapper().convert(
+                autoPipeline.execute( commands -> commands.mget( keys ) ) ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value) {
+        if( !isAutoPipelined() ){
+            return delegate.set( key , value ) ;
+        }
+        return Converters.stringToBoolean( autoPipeline.execute( commands -> commands.set( key , value ) ) ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value, Expiration expiration, SetOption option) {
+        if( !isAutoPipelined() ){
+            return delegate.set( key , value , expiration , option ) ;
+        }
+        return Converters.stringToBoolean( autoPipeline.execute( commands -> commands.set( key , value ,
+                LettuceConverters.toSetArgs( expiration , option ) ) ) ) ;
+    }
+
+    @Override
+    public Boolean setNX(byte[] key, byte[] value) {
+        if( !isAutoPipelined() ){
+            return delegate.setNX( key , value ) ;
+        }
+        return autoPipeline.execute( commands -> commands.setnx( key , value ) ) ;
+    }
+
+    @Override
+    public Boolean setEx(byte[] key, long seconds, byte[] value) {
+        if( !isAutoPipelined() ){
+            return delegate.setEx( key , seconds , value ) ;
+        }
+        return Converters.stringToBoolean( autoPipeline.execute( commands -> commands.setex( key , seconds , value ) ) ) ;
+    }
+
+    @Override
+    public Boolean pSetEx(byte[] key, long milliseconds, byte[] value) {
+        if( !isAutoPipelined() ){
+            return delegate.pSetEx( key , milliseconds , value ) ;
+        }
+        return Converters.stringToBoolean( autoPipeline.execute( commands -> commands.psetex( key , milliseconds , value ) ) ) ;
+    }
+
+    @Override
+    public Long incr(byte[] key) {
+        if( !isAutoPipelined() ){
+            return delegate.incr( key ) ;
+        }
+        return autoPipeline.execute( commands -> commands.incr( key ) ) ;
+    }
+
+    @Override
+    public Long incrBy(byte[] key, long value) {
+        if( !isAutoPipelined() ){
+            return delegate.incrBy( key , value ) ;
+        }
+        return autoPipeline.execute( commands -> commands.incrby( key , value ) ) ;
+    }
+
+    @Override
+    public Long decr(byte[] key) {
+        if( !isAutoPipelined() ){
+            return delegate.decr( key ) ;
+        }
+        return autoPipeline.execute( commands -> commands.decr( key ) ) ;
+    }
+
+    // ---------------------------------------- RedisHashCommands
+
+    @Override
+    public byte[] hGet(byte[] key, byte[] field) {
+        if( !isAutoPipelined() ){
+            return delegate.hGet( key , field ) ;
+        }
+        return autoPipeline.execute( commands -> commands.hget( key , field ) ) ;
+    }
+
+    @Override
+    public List<byte[]> hMGet(byte[] key, byte[]... fields) {
+        if( !isAutoPipelined() ){
+            return delegate.hMGet( key , fields ) ;
+        }
+        return LettuceConverters.<byte[],byte[]>keyValueListUnwrapper().convert(
+                autoPipeline.execute( commands -> commands.hmget( key , fields ) ) ) ;
+    }
+
+    @Override
+    public Map<byte[], byte[]> hGetAll(byte[] key) {
+        if( !isAutoPipelined() ){
+            return delegate.hGetAll( key ) ;
+        }
+        return autoPipeline.execute( commands -> commands.hgetall( key ) ) ;
+    }
+
+    @Override
+    public Boolean hSet(byte[] key, byte[] field, byte[] value) {
+        if( !isAutoPipelined() ){
+            return delegate.hSet( key , field , value ) ;
+        }
+        return autoPipeline.execute( commands -> commands.hset( key , field , value ) ) ;
+    }
+
+    @Override
+    public Long hDel(byte[] key, byte[]... fields) {
+        if( !isAutoPipelined() ){
+            return delegate.hDel( key , fields ) ;
+        }
+        return autoPipeline.execute( commands -> commands.hdel( key , fields ) ) ;
+    }
+
+}
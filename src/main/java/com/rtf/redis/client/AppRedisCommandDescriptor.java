@@ -0,0 +1,71 @@
+package com.rtf.redis.client;
+
+import lombok.Getter;
+
+/**
+ * redis命令描述，由 {@link AppRedisCommandTable} 在首次使用时按命令方法生成，
+ * 统计、路由和codis过滤等功能共用同一份命令分类
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Getter
+public class AppRedisCommandDescriptor {
+
+    /**
+     * 命令方法名
+     */
+    private final String name ;
+
+    /**
+     * 命令分类
+     */
+    private final AppRedisCommandFamily family ;
+
+    /**
+     * 是否修改数据，无法确定的命令视为写命令
+     */
+    private final boolean write ;
+
+    /**
+     * 是否为阻塞命令，阻塞命令会长时间占用连接
+     */
+    private final boolean blocking ;
+
+    /**
+     * 是否操作多个key
+     */
+    private final boolean multiKey ;
+
+    /**
+     * codis是否不支持该命令
+     */
+    private final boolean codisUnsupported ;
+
+    /**
+     * 是否幂等，重复执行不会改变执行后的数据，可以安全重试
+     */
+    private final boolean idempotent ;
+
+    AppRedisCommandDescriptor(String name , AppRedisCommandFamily family , boolean write , boolean blocking ,
+                              boolean multiKey , boolean codisUnsupported , boolean idempotent){
+        this.name = name ;
+        this.family = family ;
+        this.write = write ;
+        this.blocking = blocking ;
+        this.multiKey = multiKey ;
+        this.codisUnsupported = codisUnsupported ;
+        this.idempotent = idempotent ;
+    }
+
+    public boolean isRead(){
+        return !write ;
+    }
+
+    @Override
+    public String toString() {
+        return family + "." + name + "{write=" + write + ", blocking=" + blocking + ", multiKey=" + multiKey +
+                ", codisUnsupported=" + codisUnsupported + ", idempotent=" + idempotent + "}" ;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.rtf.redis.client;
+
+import org.springframework.data.redis.connection.*;
+
+/**
+ * redis命令分类，与spring-data-redis的命令接口对应，用于分类统计命令耗时
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public enum AppRedisCommandFamily {
+
+    KEY( RedisKeyCommands.class , ReactiveKeyCommands.class ) ,
+
+    STRING( RedisStringCommands.class , ReactiveStringCommands.class , ReactiveNumberCommands.class ) ,
+
+    LIST( RedisListCommands.class , ReactiveListCommands.class ) ,
+
+    SET( RedisSetCommands.class , ReactiveSetCommands.class ) ,
+
+    ZSET( RedisZSetCommands.class , ReactiveZSetCommands.class ) ,
+
+    HASH( RedisHashCommands.class , ReactiveHashCommands.class ) ,
+
+    TX( RedisTxCommands.class ) ,
+
+    PUBSUB( RedisPubSubCommands.class ) ,
+
+    CONNECTION( RedisConnectionCommands.class ) ,
+
+    SERVER( RedisServerCommands.class , ReactiveServerCommands.class ) ,
+
+    SCRIPTING( RedisScriptingCommands.class , ReactiveScriptingCommands.class ) ,
+
+    GEO( RedisGeoCommands.class , ReactiveGeoCommands.class ) ,
+
+    HYPERLOGLOG( RedisHyperLogLogCommands.class , ReactiveHyperLogLogCommands.class ) ,
+
+    OTHER( RedisCommands.class ) ;
+
+    private static final AppRedisCommandFamily[] FAMILIES = values() ;
+
+    private final Class<?> commandInterface ;
+
+    /**
+     * 对应的响应式命令接口
+     */
+    private final Class<?>[] reactiveCommandInterfaces ;
+
+    AppRedisCommandFamily(Class<?> commandInterface , Class<?>... reactiveCommandInterfaces){
+        this.commandInterface = commandInterface ;
+        this.reactiveCommandInterfaces = reactiveCommandInterfaces ;
+    }
+
+    public Class<?> getCommandInterface() {
+        return commandInterface;
+    }
+
+    Class<?>[] getReactiveCommandInterfaces() {
+        return reactiveCommandInterfaces;
+    }
+
+    /**
+     * 根据命令方法的声明接口获取命令分类，包括响应式命令接口，不是redis命令时返回null
+     * @param declaringClass
+     * @return
+     */
+    public static AppRedisCommandFamily of(Class<?> declaringClass){
+        for (AppRedisCommandFamily family : FAMILIES) {
+            if( family.commandInterface==declaringClass ){
+                return family ;
+            }
+            for (Class<?> reactiveCommandInterface : family.reactiveCommandInterfaces) {
+                if( reactiveCommandInterface==declaringClass ){
+                    return family ;
+                }
+            }
+        }
+        return null ;
+    }
+
+}
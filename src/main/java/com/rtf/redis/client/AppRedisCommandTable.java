@@ -0,0 +1,203 @@
+package com.rtf.redis.client;
+
+import com.google.common.collect.Sets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * redis命令分类表，命令方法到命令描述的映射。
+ * 首次使用时遍历 {@link AppRedisCommandFamily} 中各命令接口声明的方法生成，不扫描classpath。
+ * 命令方法在表中只需一次哈希查找；实现类或代理类的方法第一次出现时按方法签名解析到命令接口的方法，结果缓存在表中。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public final class AppRedisCommandTable {
+
+    /**
+     * 只读命令，其他命令均视为写命令
+     */
+    private static final Set<String> READ_COMMANDS = Sets.newHashSet(
+            // key
+            "dump" , "exists" , "keys" , "pTtl" , "randomKey" , "scan" , "ttl" , "type" ,
+            // string
+            "bitCount" , "get" , "getBit" , "getRange" , "mGet" , "strLen" ,
+            // list
+            "lIndex" , "lLen" , "lRange" ,
+            // set
+            "sCard" , "sDiff" , "sInter" , "sIsMember" , "sMembers" , "sRandMember" , "sScan" , "sUnion" ,
+            // zset
+            "zCard" , "zCount" , "zRange" , "zRangeByLex" , "zRangeByScore" , "zRangeByScoreWithScores" ,
+            "zRangeWithScores" , "zRank" , "zRevRange" , "zRevRangeByLex" , "zRevRangeByScore" ,
+            "zRevRangeByScoreWithScores" , "zRevRangeWithScores" , "zRevRank" , "zScan" , "zScore" ,
+            // hash
+            "hExists" , "hGet" , "hGetAll" , "hKeys" , "hLen" , "hMGet" , "hScan" , "hVals" ,
+            // geo
+            "geoDist" , "geoHash" , "geoPos" , "geoRadius" , "geoRadiusByMember" ,
+            // hyperloglog
+            "pfCount" ,
+            // connection
+            "echo" , "ping" , "isSubscribed" , "getSubscription" ,
+            // server
+            "dbSize" , "getClientList" , "getClientName" , "getConfig" , "info" , "lastSave" , "time" ,
+            // scripting
+            "scriptExists" ) ;
+
+    /**
+     * 阻塞命令
+     */
+    private static final Set<String> BLOCKING_COMMANDS = Sets.newHashSet(
+            "bLPop" , "bRPop" , "bRPopLPush" , "blPop" , "brPop" , "bPop" , "subscribe" , "pSubscribe" ) ;
+
+    /**
+     * 操作多个key的命令
+     */
+    private static final Set<String> MULTI_KEY_COMMANDS = Sets.newHashSet(
+            "del" , "mDel" , "rename" , "renameNX" , "watch" ,
+            "mGet" , "mSet" , "mSetNX" , "bitOp" ,
+            "bLPop" , "bRPop" , "blPop" , "brPop" , "bPop" , "rPopLPush" , "bRPopLPush" ,
+            "sMove" , "sDiff" , "sDiffStore" , "sInter" , "sInterStore" , "sUnion" , "sUnionStore" ,
+            "zInterStore" , "zUnionStore" ,
+            "pfCount" , "pfMerge" ,
+            "eval" , "evalSha" ) ;
+
+    /**
+     * 幂等的写命令，重复执行后的数据相同。set带NX或XX时是条件写入，按参数区分，见 {@link #isConditional(Method)}。
+     * lTrim的下标是相对的，重复执行会再次截断，不是幂等命令。
+     * 返回变更数量或是否变更的命令重试后返回值可能不同：del、mDel、sAdd、sRem、zAdd、zRem、hSet、hDel、geoAdd、geoRemove、
+     * pfAdd、persist、setBit在第一次执行已经生效时，重试返回0、false或写入后的值，调用方不能依赖这些命令的返回值判断是否是本次写入
+     */
+    private static final Set<String> IDEMPOTENT_WRITE_COMMANDS = Sets.newHashSet(
+            "del" , "mDel" , "expire" , "expireAt" , "pExpire" , "pExpireAt" , "persist" ,
+            "set" , "setEx" , "setEX" , "pSetEx" , "pSetEX" , "mSet" , "setRange" , "setBit" ,
+            "lSet" ,
+            "sAdd" , "sRem" , "sDiffStore" , "sInterStore" , "sUnionStore" ,
+            "zAdd" , "zRem" , "zInterStore" , "zUnionStore" ,
+            "hSet" , "hMSet" , "hDel" ,
+            "geoAdd" , "geoRemove" ,
+            "pfAdd" , "pfMerge" ) ;
+
+    /**
+     * codis不支持的命令
+     */
+    private static final Set<String> CODIS_UNSUPPORTED_COMMANDS = Sets.newHashSet(
+            "setConfig" , "getConfig" ,
+            "rename" , "renameNX" ,
+            "bLPop" , "bRPop" , "bRPopLPush" , "blPop" , "brPop" , "bPop" ,
+            "publish" , "subscribe" , "pSubscribe" ) ;
+
+    /**
+     * 不是redis命令的方法在表中的占位
+     */
+    private static final AppRedisCommandDescriptor NOT_COMMAND = new AppRedisCommandDescriptor( "" , null ,
+            false , false , false , false , false ) ;
+
+    /**
+     * 用于解析实现类方法的命令接口
+     */
+    private static final List<Class<?>> COMMAND_INTERFACES = new ArrayList<>() ;
+
+    private static final Map<Method,AppRedisCommandDescriptor> DESCRIPTORS = new ConcurrentHashMap<>( 1024 ) ;
+
+    static {
+        for (AppRedisCommandFamily family : AppRedisCommandFamily.values()) {
+            register( family , family.getCommandInterface() ) ;
+            for (Class<?> reactiveCommandInterface : family.getReactiveCommandInterfaces()) {
+                register( family , reactiveCommandInterface ) ;
+                COMMAND_INTERFACES.add( reactiveCommandInterface ) ;
+            }
+        }
+        COMMAND_INTERFACES.add( 0 , AppRedisCommandFamily.OTHER.getCommandInterface() ) ;
+        log.debug( "redis命令分类表初始化完成, 命令方法数:{}" , DESCRIPTORS.size() ) ;
+    }
+
+    private AppRedisCommandTable(){
+    }
+
+    private static void register(AppRedisCommandFamily family , Class<?> commandInterface){
+        for (Method method : commandInterface.getDeclaredMethods()) {
+            if( method.isSynthetic() || Modifier.isStatic( method.getModifiers() ) ){
+                continue;
+            }
+            String name = method.getName() ;
+            boolean write = !READ_COMMANDS.contains( name ) ;
+            DESCRIPTORS.put( method , new AppRedisCommandDescriptor( name , family , write ,
+                    BLOCKING_COMMANDS.contains( name ) ,
+                    MULTI_KEY_COMMANDS.contains( name ) ,
+                    CODIS_UNSUPPORTED_COMMANDS.contains( name ) ,
+                    isIdempotent( name ) && !isConditional( method ) ) ) ;
+        }
+    }
+
+    /**
+     * 带SetOption参数的set，NX和XX时结果取决于执行前的数据，重复执行返回不同的结果
+     * @param method
+     * @return
+     */
+    private static boolean isConditional(Method method){
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if( parameterType==RedisStringCommands.SetOption.class ){
+                return true ;
+            }
+        }
+        return false ;
+    }
+
+    /**
+     * 按命令方法名判断命令是否幂等，可以安全重试。阻塞命令不重试；
+     * 是否幂等取决于参数的命令(带NX或XX的set)按不带条件的命令判断，由调用方检查参数
+     * @param name 命令方法名
+     * @return
+     */
+    public static boolean isIdempotent(String name){
+        return !BLOCKING_COMMANDS.contains( name )
+                && ( READ_COMMANDS.contains( name ) || IDEMPOTENT_WRITE_COMMANDS.contains( name ) ) ;
+    }
+
+    /**
+     * 获取命令方法的描述
+     * @param method 命令接口或其实现类的方法
+     * @return 不是redis命令时返回null
+     */
+    public static AppRedisCommandDescriptor get(Method method){
+        AppRedisCommandDescriptor descriptor = DESCRIPTORS.get( method ) ;
+        if( descriptor==null ){
+            descriptor = resolve( method ) ;
+            DESCRIPTORS.putIfAbsent( method , descriptor ) ;
+        }
+        return descriptor==NOT_COMMAND ? null : descriptor ;
+    }
+
+    /**
+     * 按方法签名查找命令接口中对应的方法
+     * @param method
+     * @return
+     */
+    private static AppRedisCommandDescriptor resolve(Method method){
+        for (Class<?> commandInterface : COMMAND_INTERFACES) {
+            if( !commandInterface.isAssignableFrom( method.getDeclaringClass() ) ){
+                continue;
+            }
+            try{
+                AppRedisCommandDescriptor descriptor = DESCRIPTORS.get(
+                        commandInterface.getMethod( method.getName() , method.getParameterTypes() ) ) ;
+                if( descriptor!=null ){
+                    return descriptor ;
+                }
+            }catch( NoSuchMethodException e ){
+                // 不是命令接口的方法
+            }
+        }
+        return NOT_COMMAND ;
+    }
+
+}
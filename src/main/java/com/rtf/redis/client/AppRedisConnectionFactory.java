@@ -1,21 +1,43 @@
 package com.rtf.redis.client;
 
-import com.rtf.redis.client.interceptor.AppCodisConnectionMethodInterceptor;
-import com.rtf.redis.client.interceptor.AppRedisConnectionMethodInterceptor;
+import com.rtf.redis.client.cache.AppRedisNearCache;
+import com.rtf.redis.client.cache.AppRedisNearCacheConfig;
+import com.rtf.redis.client.cache.AppRedisNearCacheConnection;
+import com.rtf.redis.client.cache.AppRedisNearCacheTracking;
+import com.rtf.redis.client.codec.AppRedisCompressionCodec;
+import com.rtf.redis.client.codec.AppRedisCompressionConnection;
 import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisCircuitBreakerConfig;
+import com.rtf.redis.client.lb.AppRedisHealthCheckConfig;
 import com.rtf.redis.client.lb.AppRedisHealthStats;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.resource.ClientResources;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.aop.framework.ProxyFactory;
-import org.springframework.aop.support.AopUtils;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * redis连接工厂
@@ -26,12 +48,144 @@ import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactor
 @Slf4j
 public class AppRedisConnectionFactory extends LettuceConnectionFactory {
 
+    /**
+     * 后台重新预热的最大线程数
+     */
+    private static final int WARM_UP_THREADS = 4 ;
+
+    /**
+     * 所有连接工厂共享的后台预热线程，预热是阻塞的网络操作，不使用公共线程池
+     */
+    private static volatile ThreadPoolExecutor WARM_UP_EXECUTOR = null ;
+
     private AppRedisHealthStats appRedisHealthStats ;
 
+    /**
+     * 当前主机的断路器，在连接包装类中直接引用
+     */
+    @Getter
+    private AppRedisCircuitBreaker circuitBreaker ;
+
+    /**
+     * 断路器配置，为空时使用默认配置
+     */
+    @Setter
+    @Getter
+    private AppRedisCircuitBreakerConfig circuitBreakerConfig ;
+
+    /**
+     * 当前主机的负载统计，由连接包装类记录，供负载均衡规则使用
+     */
+    @Getter
+    private final AppRedisHostStats hostStats ;
+
     @Setter
     @Getter
     private boolean enableHealthCheck = false ;
 
+    /**
+     * 健康检查配置，为空时使用默认配置
+     */
+    @Setter
+    @Getter
+    private AppRedisHealthCheckConfig healthCheckConfig ;
+
+    /**
+     * 自动管道配置，为空或未开启时不使用自动管道
+     */
+    @Setter
+    @Getter
+    private AppRedisAutoPipelineConfig autoPipelineConfig ;
+
+    /**
+     * 当前主机的自动管道
+     */
+    @Getter
+    private AppRedisAutoPipeline autoPipeline ;
+
+    /**
+     * 对冲读，多节点时由动态连接工厂设置，所有节点共享
+     */
+    @Setter
+    @Getter
+    private AppRedisHedgedRead hedgedRead ;
+
+    /**
+     * 读写分离配置，备节点开启时由健康检查检查复制状态
+     */
+    @Setter
+    @Getter
+    private AppRedisReadWriteSplitConfig readWriteSplitConfig ;
+
+    /**
+     * 备节点是否可以读取，复制断开或者延迟过大时由健康检查设置为false
+     */
+    @Setter
+    @Getter
+    private volatile boolean readable = true ;
+
+    /**
+     * 本地缓存配置，为空或未开启时不使用本地缓存
+     */
+    @Setter
+    @Getter
+    private AppRedisNearCacheConfig nearCacheConfig ;
+
+    /**
+     * 本地缓存，多节点时由动态连接工厂设置，所有节点共享
+     */
+    @Setter
+    @Getter
+    private AppRedisNearCache nearCache ;
+
+    /**
+     * 本地缓存失效通知，本地缓存未开启跟踪时为空
+     */
+    @Getter
+    private AppRedisNearCacheTracking nearCacheTracking ;
+
+    /**
+     * 值压缩，为空时不压缩。多节点时由动态连接工厂在最外层压缩，节点的连接工厂不设置
+     */
+    @Setter
+    @Getter
+    private AppRedisCompressionCodec compressionCodec ;
+
+    /**
+     * 连接预热配置，为空或未开启时不预热
+     */
+    @Setter
+    @Getter
+    private AppRedisWarmUpConfig warmUpConfig ;
+
+    /**
+     * 连接是否已经预热完成，未开启预热时总是为true
+     */
+    private volatile boolean ready = false ;
+
+    /**
+     * 后台正在执行的预热
+     */
+    private final AtomicReference<CompletableFuture<Boolean>> pendingWarmUp = new AtomicReference<>() ;
+
+    /**
+     * 后台预热成功后的通知，动态连接工厂用于把预热完成的主机加入路由表
+     */
+    @Setter
+    private Runnable readyListener ;
+
+    private volatile boolean destroyed = false ;
+
+    /**
+     * 本地缓存是否由当前连接工厂创建，不与其他连接工厂共享
+     */
+    private boolean ownNearCache = false ;
+
+    /**
+     * 是否已经释放共享的断路器和负载统计
+     */
+    private final AtomicBoolean released = new AtomicBoolean( false ) ;
+
     @Setter
     @Getter
     private boolean master = true ;
@@ -44,27 +198,174 @@ public class AppRedisConnectionFactory extends LettuceConnectionFactory {
                                      LettuceClientConfiguration clientConfig) {
         super( standaloneConfig , clientConfig ) ;
         this.redisServerType = redisServerType ;
+        this.hostStats = AppRedisHostStats.acquire( standaloneConfig.getHostName() ) ;
     }
 
     @Override
     public void afterPropertiesSet() {
         super.afterPropertiesSet();
+        circuitBreaker = AppRedisCircuitBreaker.acquire( getHostName() , circuitBreakerConfig ) ;
+        // 主机重新加入时断路器可能已经存在，使用最新的配置
+        if( circuitBreakerConfig!=null && circuitBreaker.getConfig()!=circuitBreakerConfig ){
+            circuitBreaker.setConfig( circuitBreakerConfig ) ;
+        }
         // 开启健康检查
         if( enableHealthCheck ){
-            appRedisHealthStats = new AppRedisHealthStats( this ) ;
+            appRedisHealthStats = new AppRedisHealthStats( this , healthCheckConfig ) ;
             appRedisHealthStats.start();
         }
+        // 开启自动管道
+        if( autoPipelineConfig!=null && autoPipelineConfig.isEnabled() ){
+            autoPipeline = new AppRedisAutoPipeline( this , autoPipelineConfig ) ;
+            autoPipeline.start() ;
+        }
+        // 开启本地缓存
+        if( nearCache==null ){
+            nearCache = AppRedisNearCache.create( nearCacheConfig , redisServerType ) ;
+            ownNearCache = nearCache!=null ;
+        }
+        if( nearCache!=null && nearCache.getConfig().isTracking() ){
+            nearCacheTracking = new AppRedisNearCacheTracking( this , nearCache ) ;
+            nearCacheTracking.start() ;
+        }
+        // 热点key加入本地缓存
+        if( nearCache!=null && nearCache.isPromotionEnabled() ){
+            hostStats.getHotKeyDetector().addListener( nearCache ) ;
+        }
+        // 预热连接，未开启预热时直接就绪
+        if( isWarmUpEnabled() ){
+            warmUp() ;
+        }else{
+            ready = true ;
+        }
+    }
+
+    private boolean isWarmUpEnabled(){
+        return warmUpConfig!=null && warmUpConfig.isEnabled() ;
+    }
+
+    /**
+     * 预热连接：建立并验证共享连接，连接池中的空闲连接补足到minIdle。
+     * 共享连接时连接池只用于事务和阻塞命令，使用MULTI/DISCARD验证借出的连接；codis不支持事务，只预热共享连接
+     * @return 是否预热成功
+     */
+    public boolean warmUp(){
+        long start = System.currentTimeMillis() ;
+        List<RedisConnection> connections = new ArrayList<>() ;
+        try{
+            StatefulRedisConnection<byte[],byte[]> sharedConnection = getSharedNativeConnection() ;
+            if( sharedConnection!=null ){
+                sharedConnection.sync().ping() ;
+            }
+            boolean codis = StringUtils.equalsIgnoreCase( redisServerType , "codis" ) ;
+            int minIdle = getClientConfiguration() instanceof LettucePoolingClientConfiguration ?
+                    ((LettucePoolingClientConfiguration) getClientConfiguration()).getPoolConfig().getMinIdle() : 0 ;
+            if( sharedConnection==null || !codis ){
+                // 同时持有minIdle个连接，使连接池创建不同的连接
+                for (int i = 0; i < minIdle; i++) {
+                    RedisConnection redisConnection = super.getConnection() ;
+                    connections.add( redisConnection ) ;
+                    if( sharedConnection==null ){
+                        redisConnection.ping() ;
+                    }else{
+                        redisConnection.multi() ;
+                        redisConnection.discard() ;
+                    }
+                }
+            }
+            ready = true ;
+            log.info( "redis主机:{} 连接预热完成, 连接池预热{}个连接, 耗时{}ms" , getHostName() , connections.size() ,
+                    System.currentTimeMillis() - start ) ;
+            return true ;
+        }catch( Exception e ){
+            log.warn( "redis主机:{} 连接预热失败: {}" , getHostName() , e.getMessage() ) ;
+            return false ;
+        }finally {
+            // 归还到连接池
+            for (RedisConnection redisConnection : connections) {
+                try{
+                    redisConnection.close() ;
+                }catch( Exception e ){
+                    log.debug( "关闭redis连接异常: {}" , e.getMessage() ) ;
+                }
+            }
+        }
+    }
+
+    /**
+     * 连接是否已经预热完成，可以接收请求。未就绪时在后台重新预热，预热成功后的检查返回true
+     * @return
+     */
+    public boolean isReady(){
+        if( !ready && !destroyed && isWarmUpEnabled() ){
+            CompletableFuture<Boolean> pending = pendingWarmUp.get() ;
+            if( pending==null || pending.isDone() ){
+                CompletableFuture<Boolean> warmUp = new CompletableFuture<>() ;
+                if( pendingWarmUp.compareAndSet( pending , warmUp ) ){
+                    getWarmUpExecutor().execute( () -> {
+                        boolean result = !destroyed && warmUp() ;
+                        warmUp.complete( result ) ;
+                        Runnable listener = readyListener ;
+                        if( result && listener!=null ){
+                            listener.run() ;
+                        }
+                    } ) ;
+                }
+            }
+        }
+        return ready ;
+    }
+
+    /**
+     * 获取共享的后台预热线程，空闲时线程退出
+     * @return
+     */
+    private static ThreadPoolExecutor getWarmUpExecutor(){
+        if( WARM_UP_EXECUTOR==null ){
+            synchronized ( AppRedisConnectionFactory.class ){
+                if( WARM_UP_EXECUTOR==null ){
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor( WARM_UP_THREADS , WARM_UP_THREADS ,
+                            60 , TimeUnit.SECONDS , new LinkedBlockingQueue<>() , runnable -> {
+                        Thread thread = new Thread( runnable , "RedisWarmUp" ) ;
+                        thread.setDaemon( true ) ;
+                        return thread ;
+                    } ) ;
+                    executor.allowCoreThreadTimeOut( true ) ;
+                    WARM_UP_EXECUTOR = executor ;
+                }
+            }
+        }
+        return WARM_UP_EXECUTOR ;
     }
 
     @Override
     public void destroy() {
+        destroyed = true ;
         super.destroy();
+        // 关闭自动管道
+        if( autoPipeline!=null ){
+            autoPipeline.destroy() ;
+        }
+        // 关闭本地缓存失效通知
+        if( nearCacheTracking!=null ){
+            nearCacheTracking.destroy() ;
+        }
         // 销毁统计信息
         if( enableHealthCheck && appRedisHealthStats!=null ){
-            // 移除统计信息
             appRedisHealthStats.destory() ;
-            // 移除断路器
-            AppRedisCircuitBreaker.remove( getHostName() ) ;
+        }
+        // 断路器和负载统计按主机共享，刷新时重复创建的、未发布的或者排空前主机已重新加入的连接工厂
+        // 只减少引用数，最后一个使用方销毁时才移除，不影响正在使用的连接工厂
+        if( !released.compareAndSet( false , true ) ){
+            return;
+        }
+        if( circuitBreaker!=null ){
+            AppRedisCircuitBreaker.release( getHostName() , circuitBreaker ) ;
+        }
+        AppRedisHostStats.release( getHostName() , hostStats ) ;
+        // 共享的本地缓存在主机还有其他连接工厂时继续接收热点key
+        if( nearCache!=null && ( ownNearCache || !hostStats.isReferenced() ) ){
+            hostStats.getHotKeyDetector().removeListener( nearCache ) ;
         }
     }
 
@@ -73,38 +374,126 @@ public class AppRedisConnectionFactory extends LettuceConnectionFactory {
         throw new RuntimeException("not support RedisSentinelConfiguration") ;
     }
 
+    /**
+     * redis集群使用 {@link com.rtf.redis.client.cluster.AppRedisClusterConnectionFactory}
+     * @param clusterConfiguration
+     * @param clientConfig
+     */
     public AppRedisConnectionFactory(RedisClusterConfiguration clusterConfiguration,
                                      LettuceClientConfiguration clientConfig) {
-        throw new RuntimeException("not support RedisClusterConfiguration") ;
+        throw new RuntimeException("not support RedisClusterConfiguration, use AppRedisClusterConnectionFactory") ;
+    }
+
+    /**
+     * 创建当前主机的RedisURI，供健康检查、自动管道等独立连接使用
+     * @param timeout
+     * @return
+     */
+    public RedisURI createRedisURI(Duration timeout){
+        RedisURI redisURI = RedisURI.Builder.redis( getHostName() , getPort() )
+                .withDatabase( getDatabase() )
+                .withSsl( isUseSsl() )
+                .withTimeout( timeout )
+                .build() ;
+        if( StringUtils.isNotEmpty( getPassword() ) ){
+            redisURI.setPassword( getPassword() ) ;
+        }
+        return redisURI ;
+    }
+
+    /**
+     * 创建独立的lettuce客户端，复用应用的客户端资源，连接断开时直接拒绝命令，避免命令堆积
+     * @param redisURI
+     * @return
+     */
+    public RedisClient createRedisClient(RedisURI redisURI){
+        ClientResources clientResources = getClientResources() ;
+        RedisClient redisClient = clientResources==null ? RedisClient.create( redisURI ) : RedisClient.create( clientResources , redisURI ) ;
+        redisClient.setOptions( ClientOptions.builder()
+                .disconnectedBehavior( ClientOptions.DisconnectedBehavior.REJECT_COMMANDS )
+                .build() ) ;
+        return redisClient ;
+    }
+
+    /**
+     * 获取共享的原生连接，供对冲读等异步执行命令使用
+     * @return 未开启共享连接时返回null
+     */
+    public StatefulRedisConnection<byte[],byte[]> getSharedNativeConnection(){
+        return getShareNativeConnection() ? getSharedConnection() : null ;
+    }
+
+    /**
+     * 共享的原生连接是否处于连接状态，连接断开后lettuce重连期间的命令会等待到超时
+     * @return 未开启共享连接时返回true
+     */
+    public boolean isConnected(){
+        if( !getShareNativeConnection() ){
+            return true ;
+        }
+        try{
+            return getSharedConnection().isOpen() ;
+        }catch( Exception e ){
+            return false ;
+        }
     }
 
     @Override
     public RedisConnection getConnection() {
         RedisConnection redisConnection = super.getConnection() ;
 
-        return createRedisConnectionProxy( redisConnection ) ;
+        return createRedisConnectionWrapper( redisConnection ) ;
     }
 
     /**
-     * 创建redis连接
+     * 创建响应式redis连接包装类。父类的getReactiveConnection()返回具体的lettuce连接类型，无法重写，由动态连接工厂调用
+     * @param targetReactiveConnection
+     * @return
+     */
+    public ReactiveRedisConnection createReactiveConnectionWrapper(ReactiveRedisConnection targetReactiveConnection){
+        if( targetReactiveConnection instanceof AppRedisReactiveConnectionWrapper ){
+            return targetReactiveConnection ;
+        }
+        if( StringUtils.equalsIgnoreCase(redisServerType , "codis") ){
+            return new AppCodisReactiveConnectionWrapper( targetReactiveConnection , getHostName() , circuitBreaker , hostStats ) ;
+        }
+        return new AppRedisReactiveConnectionWrapper( targetReactiveConnection , getHostName() , circuitBreaker , hostStats ) ;
+    }
+
+    /**
+     * 创建redis连接包装类
      * @param targetRedisConnection
      * @return
      */
-    public RedisConnection createRedisConnectionProxy(RedisConnection targetRedisConnection){
-        // 如果已经是aop代理，则不再重新搭建
-        if( AopUtils.isAopProxy( targetRedisConnection ) ){
-            log.info("RedisConnection已经是代理对象");
+    public RedisConnection createRedisConnectionWrapper(RedisConnection targetRedisConnection){
+        if( targetRedisConnection instanceof AppRedisConnectionWrapper
+                || targetRedisConnection instanceof AppRedisHedgedReadConnection
+                || targetRedisConnection instanceof AppRedisNearCacheConnection
+                || targetRedisConnection instanceof AppRedisCompressionConnection ){
             return targetRedisConnection ;
         }
-
-        ProxyFactory proxyFactory = new ProxyFactory() ;
-        proxyFactory.setTarget( targetRedisConnection ) ;
-        proxyFactory.setInterfaces( RedisConnection.class ) ;
-        proxyFactory.setProxyTargetClass( true ) ;
-        // 设置目标拦截器
-        proxyFactory.addAdvice( StringUtils.equalsIgnoreCase(redisServerType , "codis") ?
-                new AppCodisConnectionMethodInterceptor( getHostName() ) : new AppRedisConnectionMethodInterceptor( getHostName() ) ) ;
-
-        return (RedisConnection)proxyFactory.getProxy() ;
+        // 自动管道在包装类之内，每条命令仍然单独记录耗时和断路器状态
+        if( autoPipeline!=null ){
+            targetRedisConnection = new AppRedisAutoPipelineConnection( targetRedisConnection , autoPipeline ) ;
+        }
+        RedisConnection redisConnection ;
+        if( StringUtils.equalsIgnoreCase(redisServerType , "codis") ){
+            redisConnection = new AppCodisConnectionWrapper( targetRedisConnection , getHostName() , circuitBreaker , hostStats ) ;
+        }else{
+            redisConnection = new AppRedisConnectionWrapper( targetRedisConnection , getHostName() , circuitBreaker , hostStats ) ;
+        }
+        // 对冲读在包装类之外，读命令在共享连接上异步执行，由对冲读记录每个主机的耗时和断路器状态
+        if( hedgedRead!=null && hedgedRead.isSupported( this ) ){
+            redisConnection = new AppRedisHedgedReadConnection( redisConnection , this , hedgedRead ) ;
+        }
+        // 本地缓存在包装类之外，命中缓存的读取不计入主机的耗时统计
+        if( nearCache!=null ){
+            redisConnection = new AppRedisNearCacheConnection( redisConnection , nearCache ) ;
+        }
+        // 压缩在最外层，本地缓存保存压缩后的值
+        if( compressionCodec!=null ){
+            redisConnection = new AppRedisCompressionConnection( redisConnection , compressionCodec ) ;
+        }
+        return redisConnection ;
     }
 }
@@ -0,0 +1,2505 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metric;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.SortParameters;
+import org.springframework.data.redis.connection.Subscription;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.types.RedisClientInfo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * redis连接包装类，逐个委托redis命令至目标连接，并记录断路器状态和主机负载。
+ * 直接持有所在主机的断路器，替代每次获取连接时基于ProxyFactory创建的动态代理，执行命令时不再有反射和查找开销。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisConnectionWrapper implements RedisConnection {
+
+    /**
+     * 被包装的redis连接
+     */
+    @Getter
+    private final RedisConnection delegate ;
+
+    /**
+     * redis主机
+     */
+    @Getter
+    private final String host ;
+
+    /**
+     * 主机对应的断路器
+     */
+    private final AppRedisCircuitBreaker circuitBreaker ;
+
+    /**
+     * 主机对应的负载统计
+     */
+    private final AppRedisHostStats hostStats ;
+
+    /**
+     * 是否已经关闭，避免重复关闭时多次减少连接数
+     */
+    private boolean released = false ;
+
+    public AppRedisConnectionWrapper(RedisConnection delegate , String host , AppRedisCircuitBreaker circuitBreaker ,
+                                     AppRedisHostStats hostStats){
+        this.delegate = delegate ;
+        this.host = host ;
+        this.circuitBreaker = circuitBreaker ;
+        this.hostStats = hostStats ;
+        hostStats.borrow() ;
+    }
+
+    /**
+     * redis命令开始执行
+     * @return 开始时间，单位纳秒
+     */
+    protected long onStart(){
+        return hostStats.start() ;
+    }
+
+    /**
+     * 带key的redis命令开始执行，key用于热点检测
+     * @param key
+     * @return 开始时间，单位纳秒
+     */
+    protected long onStart(byte[] key){
+        return hostStats.start( key ) ;
+    }
+
+    /**
+     * 多key的redis命令开始执行，key用于热点检测
+     * @param keys
+     * @return 开始时间，单位纳秒
+     */
+    protected long onStart(byte[][] keys){
+        return hostStats.start( keys ) ;
+    }
+
+    /**
+     * redis命令执行成功，记录到耗时统计和断路器的滑动窗口
+     * @param family
+     * @param startNanos
+     */
+    protected void onSuccess(AppRedisCommandFamily family , long startNanos){
+        circuitBreaker.onSuccess( hostStats.complete( family , startNanos ) ) ;
+    }
+
+    /**
+     * redis命令执行异常，记录到耗时统计和断路器的滑动窗口
+     * @param family
+     * @param command
+     * @param startNanos
+     * @param e
+     */
+    protected void onFailure(AppRedisCommandFamily family , String command , long startNanos , RuntimeException e){
+        long durationNanos = hostStats.complete( family , startNanos ) ;
+        log.error( "redis主机:{} 中命令 {} 执行异常, {}" , host , command , e.getMessage()) ;
+        circuitBreaker.onError( durationNanos ) ;
+    }
+
+    // ---------------------------------------- RedisConnection
+
+    @Override
+    public void close() throws DataAccessException {
+        try{
+            delegate.close() ;
+        }finally {
+            if( !released ){
+                released = true ;
+                hostStats.release() ;
+            }
+        }
+    }
+
+    @Override
+    public List<Object> closePipeline() throws RedisPipelineException {
+        return delegate.closePipeline() ;
+    }
+
+    @Override
+    public Object getNativeConnection() {
+        return delegate.getNativeConnection() ;
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return delegate.getSentinelConnection() ;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return delegate.isClosed() ;
+    }
+
+    @Override
+    public boolean isPipelined() {
+        return delegate.isPipelined() ;
+    }
+
+    @Override
+    public boolean isQueueing() {
+        return delegate.isQueueing() ;
+    }
+
+    @Override
+    public void openPipeline() {
+        delegate.openPipeline() ;
+    }
+
+    // ---------------------------------------- RedisKeyCommands
+
+    @Override
+    public Long del(byte[]... keys) {
+        long startNanos = onStart( keys ) ;
+        try{
+            Long result = delegate.del( keys ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "del" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] dump(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            byte[] result = delegate.dump( key ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "dump" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean exists(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.exists( key ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "exists" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean expire(byte[] key, long seconds) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.expire( key , seconds ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "expire" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean expireAt(byte[] key, long unixTime) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.expireAt( key , unixTime ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "expireAt" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> keys(byte[] pattern) {
+        long startNanos = onStart() ;
+        try{
+            Set<byte[]> result = delegate.keys( pattern ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "keys" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean move(byte[] key, int dbIndex) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.move( key , dbIndex ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "move" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean pExpire(byte[] key, long millis) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.pExpire( key , millis ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "pExpire" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean pExpireAt(byte[] key, long unixTimeInMillis) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.pExpireAt( key , unixTimeInMillis ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "pExpireAt" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long pTtl(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.pTtl( key ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "pTtl" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long pTtl(byte[] key, TimeUnit timeUnit) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.pTtl( key , timeUnit ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "pTtl" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean persist(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.persist( key ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "persist" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] randomKey() {
+        long startNanos = onStart() ;
+        try{
+            byte[] result = delegate.randomKey() ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "randomKey" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void rename(byte[] sourceKey, byte[] targetKey) {
+        long startNanos = onStart( sourceKey ) ;
+        try{
+            delegate.rename( sourceKey , targetKey ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "rename" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean renameNX(byte[] sourceKey, byte[] targetKey) {
+        long startNanos = onStart( sourceKey ) ;
+        try{
+            Boolean result = delegate.renameNX( sourceKey , targetKey ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "renameNX" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void restore(byte[] key, long ttlInMillis, byte[] serializedValue) {
+        long startNanos = onStart( key ) ;
+        try{
+            delegate.restore( key , ttlInMillis , serializedValue ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "restore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Cursor<byte[]> scan(ScanOptions options) {
+        long startNanos = onStart() ;
+        try{
+            Cursor<byte[]> result = delegate.scan( options ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "scan" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<byte[]> sort(byte[] key, SortParameters params) {
+        long startNanos = onStart( key ) ;
+        try{
+            List<byte[]> result = delegate.sort( key , params ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "sort" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long sort(byte[] key, SortParameters params, byte[] sortKey) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.sort( key , params , sortKey ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "sort" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long ttl(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.ttl( key ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "ttl" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long ttl(byte[] key, TimeUnit timeUnit) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.ttl( key , timeUnit ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "ttl" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public DataType type(byte[] pattern) {
+        long startNanos = onStart() ;
+        try{
+            DataType result = delegate.type( pattern ) ;
+            onSuccess( AppRedisCommandFamily.KEY , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.KEY , "type" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisStringCommands
+
+    @Override
+    public Long append(byte[] key, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.append( key , value ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "append" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long bitCount(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.bitCount( key ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "bitCount" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long bitCount(byte[] key, long start, long end) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.bitCount( key , start , end ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "bitCount" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long bitOp(RedisStringCommands.BitOperation op, byte[] destination, byte[]... keys) {
+        long startNanos = onStart( keys ) ;
+        try{
+            Long result = delegate.bitOp( op , destination , keys ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "bitOp" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long decr(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.decr( key ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "decr" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long decrBy(byte[] key, long value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.decrBy( key , value ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "decrBy" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            byte[] result = delegate.get( key ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "get" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean getBit(byte[] key, long offset) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.getBit( key , offset ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "getBit" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] getRange(byte[] key, long start, long end) {
+        long startNanos = onStart( key ) ;
+        try{
+            byte[] result = delegate.getRange( key , start , end ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "getRange" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] getSet(byte[] key, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            byte[] result = delegate.getSet( key , value ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "getSet" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long incr(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.incr( key ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "incr" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Double incrBy(byte[] key, double value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Double result = delegate.incrBy( key , value ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "incrBy" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long incrBy(byte[] key, long value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.incrBy( key , value ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "incrBy" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<byte[]> mGet(byte[]... keys) {
+        long startNanos = onStart( keys ) ;
+        try{
+            List<byte[]> result = delegate.mGet( keys ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "mGet" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean mSet(Map<byte[], byte[]> tuple) {
+        long startNanos = onStart() ;
+        try{
+            Boolean result = delegate.mSet( tuple ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "mSet" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean mSetNX(Map<byte[], byte[]> tuple) {
+        long startNanos = onStart() ;
+        try{
+            Boolean result = delegate.mSetNX( tuple ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "mSetNX" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean pSetEx(byte[] key, long milliseconds, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.pSetEx( key , milliseconds , value ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "pSetEx" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.set( key , value ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "set" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value, Expiration expiration, RedisStringCommands.SetOption option) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.set( key , value , expiration , option ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "set" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean setBit(byte[] key, long offset, boolean value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.setBit( key , offset , value ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "setBit" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean setEx(byte[] key, long seconds, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.setEx( key , seconds , value ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "setEx" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean setNX(byte[] key, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.setNX( key , value ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "setNX" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void setRange(byte[] key, byte[] value, long offset) {
+        long startNanos = onStart( key ) ;
+        try{
+            delegate.setRange( key , value , offset ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "setRange" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long strLen(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.strLen( key ) ;
+            onSuccess( AppRedisCommandFamily.STRING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.STRING , "strLen" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisListCommands
+
+    @Override
+    public List<byte[]> bLPop(int timeout, byte[]... keys) {
+        long startNanos = onStart( keys ) ;
+        try{
+            List<byte[]> result = delegate.bLPop( timeout , keys ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "bLPop" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<byte[]> bRPop(int timeout, byte[]... keys) {
+        long startNanos = onStart( keys ) ;
+        try{
+            List<byte[]> result = delegate.bRPop( timeout , keys ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "bRPop" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] bRPopLPush(int timeout, byte[] srcKey, byte[] dstKey) {
+        long startNanos = onStart( srcKey ) ;
+        try{
+            byte[] result = delegate.bRPopLPush( timeout , srcKey , dstKey ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "bRPopLPush" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] lIndex(byte[] key, long index) {
+        long startNanos = onStart( key ) ;
+        try{
+            byte[] result = delegate.lIndex( key , index ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "lIndex" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long lInsert(byte[] key, RedisListCommands.Position where, byte[] pivot, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.lInsert( key , where , pivot , value ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "lInsert" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long lLen(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.lLen( key ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "lLen" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] lPop(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            byte[] result = delegate.lPop( key ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "lPop" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long lPush(byte[] key, byte[]... values) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.lPush( key , values ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "lPush" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long lPushX(byte[] key, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.lPushX( key , value ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "lPushX" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<byte[]> lRange(byte[] key, long start, long end) {
+        long startNanos = onStart( key ) ;
+        try{
+            List<byte[]> result = delegate.lRange( key , start , end ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "lRange" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long lRem(byte[] key, long count, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.lRem( key , count , value ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "lRem" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void lSet(byte[] key, long index, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            delegate.lSet( key , index , value ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "lSet" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void lTrim(byte[] key, long start, long end) {
+        long startNanos = onStart( key ) ;
+        try{
+            delegate.lTrim( key , start , end ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "lTrim" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] rPop(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            byte[] result = delegate.rPop( key ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "rPop" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] rPopLPush(byte[] srcKey, byte[] dstKey) {
+        long startNanos = onStart( srcKey ) ;
+        try{
+            byte[] result = delegate.rPopLPush( srcKey , dstKey ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "rPopLPush" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long rPush(byte[] key, byte[]... values) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.rPush( key , values ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "rPush" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long rPushX(byte[] key, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.rPushX( key , value ) ;
+            onSuccess( AppRedisCommandFamily.LIST , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.LIST , "rPushX" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisSetCommands
+
+    @Override
+    public Long sAdd(byte[] key, byte[]... values) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.sAdd( key , values ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sAdd" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long sCard(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.sCard( key ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sCard" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> sDiff(byte[]... keys) {
+        long startNanos = onStart( keys ) ;
+        try{
+            Set<byte[]> result = delegate.sDiff( keys ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sDiff" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long sDiffStore(byte[] destKey, byte[]... keys) {
+        long startNanos = onStart( destKey ) ;
+        try{
+            Long result = delegate.sDiffStore( destKey , keys ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sDiffStore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> sInter(byte[]... keys) {
+        long startNanos = onStart( keys ) ;
+        try{
+            Set<byte[]> result = delegate.sInter( keys ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sInter" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long sInterStore(byte[] destKey, byte[]... keys) {
+        long startNanos = onStart( destKey ) ;
+        try{
+            Long result = delegate.sInterStore( destKey , keys ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sInterStore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean sIsMember(byte[] key, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.sIsMember( key , value ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sIsMember" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> sMembers(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<byte[]> result = delegate.sMembers( key ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sMembers" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean sMove(byte[] srcKey, byte[] destKey, byte[] value) {
+        long startNanos = onStart( srcKey ) ;
+        try{
+            Boolean result = delegate.sMove( srcKey , destKey , value ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sMove" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] sPop(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            byte[] result = delegate.sPop( key ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sPop" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<byte[]> sPop(byte[] key, long count) {
+        long startNanos = onStart( key ) ;
+        try{
+            List<byte[]> result = delegate.sPop( key , count ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sPop" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] sRandMember(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            byte[] result = delegate.sRandMember( key ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sRandMember" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<byte[]> sRandMember(byte[] key, long count) {
+        long startNanos = onStart( key ) ;
+        try{
+            List<byte[]> result = delegate.sRandMember( key , count ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sRandMember" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long sRem(byte[] key, byte[]... values) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.sRem( key , values ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sRem" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Cursor<byte[]> sScan(byte[] key, ScanOptions options) {
+        long startNanos = onStart( key ) ;
+        try{
+            Cursor<byte[]> result = delegate.sScan( key , options ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sScan" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> sUnion(byte[]... keys) {
+        long startNanos = onStart( keys ) ;
+        try{
+            Set<byte[]> result = delegate.sUnion( keys ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sUnion" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long sUnionStore(byte[] destKey, byte[]... keys) {
+        long startNanos = onStart( destKey ) ;
+        try{
+            Long result = delegate.sUnionStore( destKey , keys ) ;
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SET , "sUnionStore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisZSetCommands
+
+    @Override
+    public Long zAdd(byte[] key, Set<RedisZSetCommands.Tuple> tuples) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.zAdd( key , tuples ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zAdd" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean zAdd(byte[] key, double score, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.zAdd( key , score , value ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zAdd" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long zCard(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.zCard( key ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zCard" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long zCount(byte[] key, RedisZSetCommands.Range range) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.zCount( key , range ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zCount" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Double zIncrBy(byte[] key, double increment, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Double result = delegate.zIncrBy( key , increment , value ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zIncrBy" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long zInterStore(byte[] destKey, byte[]... sets) {
+        long startNanos = onStart( destKey ) ;
+        try{
+            Long result = delegate.zInterStore( destKey , sets ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zInterStore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long zInterStore(byte[] destKey, RedisZSetCommands.Aggregate aggregate, int[] weights, byte[]... sets) {
+        long startNanos = onStart( destKey ) ;
+        try{
+            Long result = delegate.zInterStore( destKey , aggregate , weights , sets ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zInterStore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> zRange(byte[] key, long start, long end) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<byte[]> result = delegate.zRange( key , start , end ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRange" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> zRangeByLex(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<byte[]> result = delegate.zRangeByLex( key , range , limit ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRangeByLex" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> zRangeByScore(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<byte[]> result = delegate.zRangeByScore( key , range , limit ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRangeByScore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> zRangeByScore(byte[] key, String min, String max, long offset, long count) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<byte[]> result = delegate.zRangeByScore( key , min , max , offset , count ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRangeByScore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRangeByScoreWithScores(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<RedisZSetCommands.Tuple> result = delegate.zRangeByScoreWithScores( key , range , limit ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRangeByScoreWithScores" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRangeWithScores(byte[] key, long start, long end) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<RedisZSetCommands.Tuple> result = delegate.zRangeWithScores( key , start , end ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRangeWithScores" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long zRank(byte[] key, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.zRank( key , value ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRank" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long zRem(byte[] key, byte[]... values) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.zRem( key , values ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRem" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long zRemRange(byte[] key, long start, long end) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.zRemRange( key , start , end ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRemRange" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long zRemRangeByScore(byte[] key, RedisZSetCommands.Range range) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.zRemRangeByScore( key , range ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRemRangeByScore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> zRevRange(byte[] key, long start, long end) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<byte[]> result = delegate.zRevRange( key , start , end ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRevRange" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> zRevRangeByScore(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<byte[]> result = delegate.zRevRangeByScore( key , range , limit ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRevRangeByScore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRevRangeByScoreWithScores(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<RedisZSetCommands.Tuple> result = delegate.zRevRangeByScoreWithScores( key , range , limit ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRevRangeByScoreWithScores" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRevRangeWithScores(byte[] key, long start, long end) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<RedisZSetCommands.Tuple> result = delegate.zRevRangeWithScores( key , start , end ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRevRangeWithScores" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long zRevRank(byte[] key, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.zRevRank( key , value ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zRevRank" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Cursor<RedisZSetCommands.Tuple> zScan(byte[] key, ScanOptions options) {
+        long startNanos = onStart( key ) ;
+        try{
+            Cursor<RedisZSetCommands.Tuple> result = delegate.zScan( key , options ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zScan" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Double zScore(byte[] key, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Double result = delegate.zScore( key , value ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zScore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long zUnionStore(byte[] destKey, byte[]... sets) {
+        long startNanos = onStart( destKey ) ;
+        try{
+            Long result = delegate.zUnionStore( destKey , sets ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zUnionStore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long zUnionStore(byte[] destKey, RedisZSetCommands.Aggregate aggregate, int[] weights, byte[]... sets) {
+        long startNanos = onStart( destKey ) ;
+        try{
+            Long result = delegate.zUnionStore( destKey , aggregate , weights , sets ) ;
+            onSuccess( AppRedisCommandFamily.ZSET , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.ZSET , "zUnionStore" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisHashCommands
+
+    @Override
+    public Long hDel(byte[] key, byte[]... fields) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.hDel( key , fields ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hDel" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean hExists(byte[] key, byte[] field) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.hExists( key , field ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hExists" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public byte[] hGet(byte[] key, byte[] field) {
+        long startNanos = onStart( key ) ;
+        try{
+            byte[] result = delegate.hGet( key , field ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hGet" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Map<byte[], byte[]> hGetAll(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Map<byte[], byte[]> result = delegate.hGetAll( key ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hGetAll" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Double hIncrBy(byte[] key, byte[] field, double delta) {
+        long startNanos = onStart( key ) ;
+        try{
+            Double result = delegate.hIncrBy( key , field , delta ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hIncrBy" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long hIncrBy(byte[] key, byte[] field, long delta) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.hIncrBy( key , field , delta ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hIncrBy" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Set<byte[]> hKeys(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Set<byte[]> result = delegate.hKeys( key ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hKeys" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long hLen(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.hLen( key ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hLen" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<byte[]> hMGet(byte[] key, byte[]... fields) {
+        long startNanos = onStart( key ) ;
+        try{
+            List<byte[]> result = delegate.hMGet( key , fields ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hMGet" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void hMSet(byte[] key, Map<byte[], byte[]> hashes) {
+        long startNanos = onStart( key ) ;
+        try{
+            delegate.hMSet( key , hashes ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hMSet" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Cursor<Map.Entry<byte[], byte[]>> hScan(byte[] key, ScanOptions options) {
+        long startNanos = onStart( key ) ;
+        try{
+            Cursor<Map.Entry<byte[], byte[]>> result = delegate.hScan( key , options ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hScan" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean hSet(byte[] key, byte[] field, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.hSet( key , field , value ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hSet" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Boolean hSetNX(byte[] key, byte[] field, byte[] value) {
+        long startNanos = onStart( key ) ;
+        try{
+            Boolean result = delegate.hSetNX( key , field , value ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hSetNX" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<byte[]> hVals(byte[] key) {
+        long startNanos = onStart( key ) ;
+        try{
+            List<byte[]> result = delegate.hVals( key ) ;
+            onSuccess( AppRedisCommandFamily.HASH , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HASH , "hVals" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisTxCommands
+
+    @Override
+    public void discard() {
+        long startNanos = onStart() ;
+        try{
+            delegate.discard() ;
+            onSuccess( AppRedisCommandFamily.TX , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.TX , "discard" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<Object> exec() {
+        long startNanos = onStart() ;
+        try{
+            List<Object> result = delegate.exec() ;
+            onSuccess( AppRedisCommandFamily.TX , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.TX , "exec" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void multi() {
+        long startNanos = onStart() ;
+        try{
+            delegate.multi() ;
+            onSuccess( AppRedisCommandFamily.TX , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.TX , "multi" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void unwatch() {
+        long startNanos = onStart() ;
+        try{
+            delegate.unwatch() ;
+            onSuccess( AppRedisCommandFamily.TX , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.TX , "unwatch" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void watch(byte[]... keys) {
+        long startNanos = onStart( keys ) ;
+        try{
+            delegate.watch( keys ) ;
+            onSuccess( AppRedisCommandFamily.TX , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.TX , "watch" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisPubSubCommands
+
+    @Override
+    public Subscription getSubscription() {
+        long startNanos = onStart() ;
+        try{
+            Subscription result = delegate.getSubscription() ;
+            onSuccess( AppRedisCommandFamily.PUBSUB , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.PUBSUB , "getSubscription" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public boolean isSubscribed() {
+        long startNanos = onStart() ;
+        try{
+            boolean result = delegate.isSubscribed() ;
+            onSuccess( AppRedisCommandFamily.PUBSUB , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.PUBSUB , "isSubscribed" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void pSubscribe(MessageListener listener, byte[]... patterns) {
+        long startNanos = onStart() ;
+        try{
+            delegate.pSubscribe( listener , patterns ) ;
+            onSuccess( AppRedisCommandFamily.PUBSUB , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.PUBSUB , "pSubscribe" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long publish(byte[] channel, byte[] message) {
+        long startNanos = onStart() ;
+        try{
+            Long result = delegate.publish( channel , message ) ;
+            onSuccess( AppRedisCommandFamily.PUBSUB , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.PUBSUB , "publish" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void subscribe(MessageListener listener, byte[]... channels) {
+        long startNanos = onStart() ;
+        try{
+            delegate.subscribe( listener , channels ) ;
+            onSuccess( AppRedisCommandFamily.PUBSUB , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.PUBSUB , "subscribe" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisConnectionCommands
+
+    @Override
+    public byte[] echo(byte[] message) {
+        long startNanos = onStart() ;
+        try{
+            byte[] result = delegate.echo( message ) ;
+            onSuccess( AppRedisCommandFamily.CONNECTION , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.CONNECTION , "echo" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public String ping() {
+        long startNanos = onStart() ;
+        try{
+            String result = delegate.ping() ;
+            onSuccess( AppRedisCommandFamily.CONNECTION , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.CONNECTION , "ping" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void select(int dbIndex) {
+        long startNanos = onStart() ;
+        try{
+            delegate.select( dbIndex ) ;
+            onSuccess( AppRedisCommandFamily.CONNECTION , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.CONNECTION , "select" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisServerCommands
+
+    @Override
+    public void bgReWriteAof() {
+        long startNanos = onStart() ;
+        try{
+            delegate.bgReWriteAof() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "bgReWriteAof" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void bgSave() {
+        long startNanos = onStart() ;
+        try{
+            delegate.bgSave() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "bgSave" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long dbSize() {
+        long startNanos = onStart() ;
+        try{
+            Long result = delegate.dbSize() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "dbSize" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void flushAll() {
+        long startNanos = onStart() ;
+        try{
+            delegate.flushAll() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "flushAll" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void flushDb() {
+        long startNanos = onStart() ;
+        try{
+            delegate.flushDb() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "flushDb" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<RedisClientInfo> getClientList() {
+        long startNanos = onStart() ;
+        try{
+            List<RedisClientInfo> result = delegate.getClientList() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "getClientList" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public String getClientName() {
+        long startNanos = onStart() ;
+        try{
+            String result = delegate.getClientName() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "getClientName" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Properties getConfig(String pattern) {
+        long startNanos = onStart() ;
+        try{
+            Properties result = delegate.getConfig( pattern ) ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "getConfig" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Properties info() {
+        long startNanos = onStart() ;
+        try{
+            Properties result = delegate.info() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "info" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Properties info(String section) {
+        long startNanos = onStart() ;
+        try{
+            Properties result = delegate.info( section ) ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "info" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void killClient(String host, int port) {
+        long startNanos = onStart() ;
+        try{
+            delegate.killClient( host , port ) ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "killClient" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long lastSave() {
+        long startNanos = onStart() ;
+        try{
+            Long result = delegate.lastSave() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "lastSave" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void migrate(byte[] key, RedisNode target, int dbIndex, RedisServerCommands.MigrateOption option) {
+        long startNanos = onStart( key ) ;
+        try{
+            delegate.migrate( key , target , dbIndex , option ) ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "migrate" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void migrate(byte[] key, RedisNode target, int dbIndex, RedisServerCommands.MigrateOption option, long timeout) {
+        long startNanos = onStart( key ) ;
+        try{
+            delegate.migrate( key , target , dbIndex , option , timeout ) ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "migrate" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void resetConfigStats() {
+        long startNanos = onStart() ;
+        try{
+            delegate.resetConfigStats() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "resetConfigStats" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void save() {
+        long startNanos = onStart() ;
+        try{
+            delegate.save() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "save" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void setClientName(byte[] name) {
+        long startNanos = onStart() ;
+        try{
+            delegate.setClientName( name ) ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "setClientName" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void setConfig(String param, String value) {
+        long startNanos = onStart() ;
+        try{
+            delegate.setConfig( param , value ) ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "setConfig" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        long startNanos = onStart() ;
+        try{
+            delegate.shutdown() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "shutdown" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void shutdown(RedisServerCommands.ShutdownOption option) {
+        long startNanos = onStart() ;
+        try{
+            delegate.shutdown( option ) ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "shutdown" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void slaveOf(String host, int port) {
+        long startNanos = onStart() ;
+        try{
+            delegate.slaveOf( host , port ) ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "slaveOf" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void slaveOfNoOne() {
+        long startNanos = onStart() ;
+        try{
+            delegate.slaveOfNoOne() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "slaveOfNoOne" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long time() {
+        long startNanos = onStart() ;
+        try{
+            Long result = delegate.time() ;
+            onSuccess( AppRedisCommandFamily.SERVER , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SERVER , "time" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisScriptingCommands
+
+    @Override
+    public <T> T eval(byte[] script, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        long startNanos = onStart() ;
+        try{
+            T result = delegate.eval( script , returnType , numKeys , keysAndArgs ) ;
+            onSuccess( AppRedisCommandFamily.SCRIPTING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SCRIPTING , "eval" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public <T> T evalSha(byte[] scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        long startNanos = onStart() ;
+        try{
+            T result = delegate.evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+            onSuccess( AppRedisCommandFamily.SCRIPTING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SCRIPTING , "evalSha" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public <T> T evalSha(String scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        long startNanos = onStart() ;
+        try{
+            T result = delegate.evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+            onSuccess( AppRedisCommandFamily.SCRIPTING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SCRIPTING , "evalSha" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<Boolean> scriptExists(String... scriptShas) {
+        long startNanos = onStart() ;
+        try{
+            List<Boolean> result = delegate.scriptExists( scriptShas ) ;
+            onSuccess( AppRedisCommandFamily.SCRIPTING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SCRIPTING , "scriptExists" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void scriptFlush() {
+        long startNanos = onStart() ;
+        try{
+            delegate.scriptFlush() ;
+            onSuccess( AppRedisCommandFamily.SCRIPTING , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SCRIPTING , "scriptFlush" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void scriptKill() {
+        long startNanos = onStart() ;
+        try{
+            delegate.scriptKill() ;
+            onSuccess( AppRedisCommandFamily.SCRIPTING , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SCRIPTING , "scriptKill" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public String scriptLoad(byte[] script) {
+        long startNanos = onStart() ;
+        try{
+            String result = delegate.scriptLoad( script ) ;
+            onSuccess( AppRedisCommandFamily.SCRIPTING , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.SCRIPTING , "scriptLoad" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisGeoCommands
+
+    @Override
+    public Long geoAdd(byte[] key, Iterable<RedisGeoCommands.GeoLocation<byte[]>> locations) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.geoAdd( key , locations ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoAdd" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long geoAdd(byte[] key, Map<byte[], Point> memberCoordinateMap) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.geoAdd( key , memberCoordinateMap ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoAdd" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long geoAdd(byte[] key, Point point, byte[] member) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.geoAdd( key , point , member ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoAdd" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Distance geoDist(byte[] key, byte[] member1, byte[] member2) {
+        long startNanos = onStart( key ) ;
+        try{
+            Distance result = delegate.geoDist( key , member1 , member2 ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoDist" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Distance geoDist(byte[] key, byte[] member1, byte[] member2, Metric metric) {
+        long startNanos = onStart( key ) ;
+        try{
+            Distance result = delegate.geoDist( key , member1 , member2 , metric ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoDist" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<String> geoHash(byte[] key, byte[]... members) {
+        long startNanos = onStart( key ) ;
+        try{
+            List<String> result = delegate.geoHash( key , members ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoHash" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public List<Point> geoPos(byte[] key, byte[]... members) {
+        long startNanos = onStart( key ) ;
+        try{
+            List<Point> result = delegate.geoPos( key , members ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoPos" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadius(byte[] key, Circle within) {
+        long startNanos = onStart( key ) ;
+        try{
+            GeoResults<RedisGeoCommands.GeoLocation<byte[]>> result = delegate.geoRadius( key , within ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoRadius" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadius(byte[] key, Circle within, RedisGeoCommands.GeoRadiusCommandArgs args) {
+        long startNanos = onStart( key ) ;
+        try{
+            GeoResults<RedisGeoCommands.GeoLocation<byte[]>> result = delegate.geoRadius( key , within , args ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoRadius" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadiusByMember(byte[] key, byte[] member, Distance radius) {
+        long startNanos = onStart( key ) ;
+        try{
+            GeoResults<RedisGeoCommands.GeoLocation<byte[]>> result = delegate.geoRadiusByMember( key , member , radius ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoRadiusByMember" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadiusByMember(byte[] key, byte[] member, Distance radius, RedisGeoCommands.GeoRadiusCommandArgs args) {
+        long startNanos = onStart( key ) ;
+        try{
+            GeoResults<RedisGeoCommands.GeoLocation<byte[]>> result = delegate.geoRadiusByMember( key , member , radius , args ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoRadiusByMember" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long geoRemove(byte[] key, byte[]... members) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.geoRemove( key , members ) ;
+            onSuccess( AppRedisCommandFamily.GEO , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.GEO , "geoRemove" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisHyperLogLogCommands
+
+    @Override
+    public Long pfAdd(byte[] key, byte[]... values) {
+        long startNanos = onStart( key ) ;
+        try{
+            Long result = delegate.pfAdd( key , values ) ;
+            onSuccess( AppRedisCommandFamily.HYPERLOGLOG , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HYPERLOGLOG , "pfAdd" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public Long pfCount(byte[]... keys) {
+        long startNanos = onStart( keys ) ;
+        try{
+            Long result = delegate.pfCount( keys ) ;
+            onSuccess( AppRedisCommandFamily.HYPERLOGLOG , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HYPERLOGLOG , "pfCount" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    @Override
+    public void pfMerge(byte[] destinationKey, byte[]... sourceKeys) {
+        long startNanos = onStart() ;
+        try{
+            delegate.pfMerge( destinationKey , sourceKeys ) ;
+            onSuccess( AppRedisCommandFamily.HYPERLOGLOG , startNanos ) ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.HYPERLOGLOG , "pfMerge" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+    // ---------------------------------------- RedisCommands
+
+    @Override
+    public Object execute(String command, byte[]... args) {
+        long startNanos = onStart() ;
+        try{
+            Object result = delegate.execute( command , args ) ;
+            onSuccess( AppRedisCommandFamily.OTHER , startNanos ) ;
+            return result ;
+        }catch( RuntimeException e ){
+            onFailure( AppRedisCommandFamily.OTHER , "execute" , startNanos , e ) ;
+            throw e ;
+        }
+    }
+
+}
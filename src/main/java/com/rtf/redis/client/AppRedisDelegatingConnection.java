@@ -0,0 +1,1029 @@
+package com.rtf.redis.client;
+
+import lombok.Getter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metric;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.SortParameters;
+import org.springframework.data.redis.connection.Subscription;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.types.RedisClientInfo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * redis连接的委托基类，所有命令直接委托至目标连接。
+ * 自动管道等装饰连接继承该类，只重写需要改变行为的命令。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisDelegatingConnection implements RedisConnection {
+
+    /**
+     * 被委托的redis连接
+     */
+    @Getter
+    protected final RedisConnection delegate ;
+
+    public AppRedisDelegatingConnection(RedisConnection delegate){
+        this.delegate = delegate ;
+    }
+
+    /**
+     * 获取执行有返回值命令的目标连接。
+     * 管道和事务中只有返回值的命令在结果列表中占一个位置，无返回值的命令、连接管理方法和游标命令直接使用 {@link #delegate}，
+     * 子类可以重写该方法记录命令在结果列表中的位置
+     * @return
+     */
+    protected RedisConnection resultDelegate(){
+        return delegate ;
+    }
+
+    // ---------------------------------------- RedisConnection
+
+    @Override
+    public void close() throws DataAccessException {
+        delegate.close() ;
+    }
+
+    @Override
+    public List<Object> closePipeline() throws RedisPipelineException {
+        return delegate.closePipeline() ;
+    }
+
+    @Override
+    public Object getNativeConnection() {
+        return delegate.getNativeConnection() ;
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return delegate.getSentinelConnection() ;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return delegate.isClosed() ;
+    }
+
+    @Override
+    public boolean isPipelined() {
+        return delegate.isPipelined() ;
+    }
+
+    @Override
+    public boolean isQueueing() {
+        return delegate.isQueueing() ;
+    }
+
+    @Override
+    public void openPipeline() {
+        delegate.openPipeline() ;
+    }
+
+    // ---------------------------------------- RedisKeyCommands
+
+    @Override
+    public Long del(byte[]... keys) {
+        return resultDelegate().del( keys ) ;
+    }
+
+    @Override
+    public byte[] dump(byte[] key) {
+        return resultDelegate().dump( key ) ;
+    }
+
+    @Override
+    public Boolean exists(byte[] key) {
+        return resultDelegate().exists( key ) ;
+    }
+
+    @Override
+    public Boolean expire(byte[] key, long seconds) {
+        return resultDelegate().expire( key , seconds ) ;
+    }
+
+    @Override
+    public Boolean expireAt(byte[] key, long unixTime) {
+        return resultDelegate().expireAt( key , unixTime ) ;
+    }
+
+    @Override
+    public Set<byte[]> keys(byte[] pattern) {
+        return resultDelegate().keys( pattern ) ;
+    }
+
+    @Override
+    public Boolean move(byte[] key, int dbIndex) {
+        return resultDelegate().move( key , dbIndex ) ;
+    }
+
+    @Override
+    public Boolean pExpire(byte[] key, long millis) {
+        return resultDelegate().pExpire( key , millis ) ;
+    }
+
+    @Override
+    public Boolean pExpireAt(byte[] key, long unixTimeInMillis) {
+        return resultDelegate().pExpireAt( key , unixTimeInMillis ) ;
+    }
+
+    @Override
+    public Long pTtl(byte[] key) {
+        return resultDelegate().pTtl( key ) ;
+    }
+
+    @Override
+    public Long pTtl(byte[] key, TimeUnit timeUnit) {
+        return resultDelegate().pTtl( key , timeUnit ) ;
+    }
+
+    @Override
+    public Boolean persist(byte[] key) {
+        return resultDelegate().persist( key ) ;
+    }
+
+    @Override
+    public byte[] randomKey() {
+        return resultDelegate().randomKey() ;
+    }
+
+    @Override
+    public void rename(byte[] sourceKey, byte[] targetKey) {
+        delegate.rename( sourceKey , targetKey ) ;
+    }
+
+    @Override
+    public Boolean renameNX(byte[] sourceKey, byte[] targetKey) {
+        return resultDelegate().renameNX( sourceKey , targetKey ) ;
+    }
+
+    @Override
+    public void restore(byte[] key, long ttlInMillis, byte[] serializedValue) {
+        delegate.restore( key , ttlInMillis , serializedValue ) ;
+    }
+
+    @Override
+    public Cursor<byte[]> scan(ScanOptions options) {
+        return delegate.scan( options ) ;
+    }
+
+    @Override
+    public List<byte[]> sort(byte[] key, SortParameters params) {
+        return resultDelegate().sort( key , params ) ;
+    }
+
+    @Override
+    public Long sort(byte[] key, SortParameters params, byte[] sortKey) {
+        return resultDelegate().sort( key , params , sortKey ) ;
+    }
+
+    @Override
+    public Long ttl(byte[] key) {
+        return resultDelegate().ttl( key ) ;
+    }
+
+    @Override
+    public Long ttl(byte[] key, TimeUnit timeUnit) {
+        return resultDelegate().ttl( key , timeUnit ) ;
+    }
+
+    @Override
+    public DataType type(byte[] pattern) {
+        return resultDelegate().type( pattern ) ;
+    }
+
+    // ---------------------------------------- RedisStringCommands
+
+    @Override
+    public Long append(byte[] key, byte[] value) {
+        return resultDelegate().append( key , value ) ;
+    }
+
+    @Override
+    public Long bitCount(byte[] key) {
+        return resultDelegate().bitCount( key ) ;
+    }
+
+    @Override
+    public Long bitCount(byte[] key, long start, long end) {
+        return resultDelegate().bitCount( key , start , end ) ;
+    }
+
+    @Override
+    public Long bitOp(RedisStringCommands.BitOperation op, byte[] destination, byte[]... keys) {
+        return resultDelegate().bitOp( op , destination , keys ) ;
+    }
+
+    @Override
+    public Long decr(byte[] key) {
+        return resultDelegate().decr( key ) ;
+    }
+
+    @Override
+    public Long decrBy(byte[] key, long value) {
+        return resultDelegate().decrBy( key , value ) ;
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        return resultDelegate().get( key ) ;
+    }
+
+    @Override
+    public Boolean getBit(byte[] key, long offset) {
+        return resultDelegate().getBit( key , offset ) ;
+    }
+
+    @Override
+    public byte[] getRange(byte[] key, long start, long end) {
+        return resultDelegate().getRange( key , start , end ) ;
+    }
+
+    @Override
+    public byte[] getSet(byte[] key, byte[] value) {
+        return resultDelegate().getSet( key , value ) ;
+    }
+
+    @Override
+    public Long incr(byte[] key) {
+        return resultDelegate().incr( key ) ;
+    }
+
+    @Override
+    public Double incrBy(byte[] key, double value) {
+        return resultDelegate().incrBy( key , value ) ;
+    }
+
+    @Override
+    public Long incrBy(byte[] key, long value) {
+        return resultDelegate().incrBy( key , value ) ;
+    }
+
+    @Override
+    public List<byte[]> mGet(byte[]... keys) {
+        return resultDelegate().mGet( keys ) ;
+    }
+
+    @Override
+    public Boolean mSet(Map<byte[], byte[]> tuple) {
+        return resultDelegate().mSet( tuple ) ;
+    }
+
+    @Override
+    public Boolean mSetNX(Map<byte[], byte[]> tuple) {
+        return resultDelegate().mSetNX( tuple ) ;
+    }
+
+    @Override
+    public Boolean pSetEx(byte[] key, long milliseconds, byte[] value) {
+        return resultDelegate().pSetEx( key , milliseconds , value ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value) {
+        return resultDelegate().set( key , value ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value, Expiration expiration, RedisStringCommands.SetOption option) {
+        return resultDelegate().set( key , value , expiration , option ) ;
+    }
+
+    @Override
+    public Boolean setBit(byte[] key, long offset, boolean value) {
+        return resultDelegate().setBit( key , offset , value ) ;
+    }
+
+    @Override
+    public Boolean setEx(byte[] key, long seconds, byte[] value) {
+        return resultDelegate().setEx( key , seconds , value ) ;
+    }
+
+    @Override
+    public Boolean setNX(byte[] key, byte[] value) {
+        return resultDelegate().setNX( key , value ) ;
+    }
+
+    @Override
+    public void setRange(byte[] key, byte[] value, long offset) {
+        delegate.setRange( key , value , offset ) ;
+    }
+
+    @Override
+    public Long strLen(byte[] key) {
+        return resultDelegate().strLen( key ) ;
+    }
+
+    // ---------------------------------------- RedisListCommands
+
+    @Override
+    public List<byte[]> bLPop(int timeout, byte[]... keys) {
+        return resultDelegate().bLPop( timeout , keys ) ;
+    }
+
+    @Override
+    public List<byte[]> bRPop(int timeout, byte[]... keys) {
+        return resultDelegate().bRPop( timeout , keys ) ;
+    }
+
+    @Override
+    public byte[] bRPopLPush(int timeout, byte[] srcKey, byte[] dstKey) {
+        return resultDelegate().bRPopLPush( timeout , srcKey , dstKey ) ;
+    }
+
+    @Override
+    public byte[] lIndex(byte[] key, long index) {
+        return resultDelegate().lIndex( key , index ) ;
+    }
+
+    @Override
+    public Long lInsert(byte[] key, RedisListCommands.Position where, byte[] pivot, byte[] value) {
+        return resultDelegate().lInsert( key , where , pivot , value ) ;
+    }
+
+    @Override
+    public Long lLen(byte[] key) {
+        return resultDelegate().lLen( key ) ;
+    }
+
+    @Override
+    public byte[] lPop(byte[] key) {
+        return resultDelegate().lPop( key ) ;
+    }
+
+    @Override
+    public Long lPush(byte[] key, byte[]... values) {
+        return resultDelegate().lPush( key , values ) ;
+    }
+
+    @Override
+    public Long lPushX(byte[] key, byte[] value) {
+        return resultDelegate().lPushX( key , value ) ;
+    }
+
+    @Override
+    public List<byte[]> lRange(byte[] key, long start, long end) {
+        return resultDelegate().lRange( key , start , end ) ;
+    }
+
+    @Override
+    public Long lRem(byte[] key, long count, byte[] value) {
+        return resultDelegate().lRem( key , count , value ) ;
+    }
+
+    @Override
+    public void lSet(byte[] key, long index, byte[] value) {
+        delegate.lSet( key , index , value ) ;
+    }
+
+    @Override
+    public void lTrim(byte[] key, long start, long end) {
+        delegate.lTrim( key , start , end ) ;
+    }
+
+    @Override
+    public byte[] rPop(byte[] key) {
+        return resultDelegate().rPop( key ) ;
+    }
+
+    @Override
+    public byte[] rPopLPush(byte[] srcKey, byte[] dstKey) {
+        return resultDelegate().rPopLPush( srcKey , dstKey ) ;
+    }
+
+    @Override
+    public Long rPush(byte[] key, byte[]... values) {
+        return resultDelegate().rPush( key , values ) ;
+    }
+
+    @Override
+    public Long rPushX(byte[] key, byte[] value) {
+        return resultDelegate().rPushX( key , value ) ;
+    }
+
+    // ---------------------------------------- RedisSetCommands
+
+    @Override
+    public Long sAdd(byte[] key, byte[]... values) {
+        return resultDelegate().sAdd( key , values ) ;
+    }
+
+    @Override
+    public Long sCard(byte[] key) {
+        return resultDelegate().sCard( key ) ;
+    }
+
+    @Override
+    public Set<byte[]> sDiff(byte[]... keys) {
+        return resultDelegate().sDiff( keys ) ;
+    }
+
+    @Override
+    public Long sDiffStore(byte[] destKey, byte[]... keys) {
+        return resultDelegate().sDiffStore( destKey , keys ) ;
+    }
+
+    @Override
+    public Set<byte[]> sInter(byte[]... keys) {
+        return resultDelegate().sInter( keys ) ;
+    }
+
+    @Override
+    public Long sInterStore(byte[] destKey, byte[]... keys) {
+        return resultDelegate().sInterStore( destKey , keys ) ;
+    }
+
+    @Override
+    public Boolean sIsMember(byte[] key, byte[] value) {
+        return resultDelegate().sIsMember( key , value ) ;
+    }
+
+    @Override
+    public Set<byte[]> sMembers(byte[] key) {
+        return resultDelegate().sMembers( key ) ;
+    }
+
+    @Override
+    public Boolean sMove(byte[] srcKey, byte[] destKey, byte[] value) {
+        return resultDelegate().sMove( srcKey , destKey , value ) ;
+    }
+
+    @Override
+    public byte[] sPop(byte[] key) {
+        return resultDelegate().sPop( key ) ;
+    }
+
+    @Override
+    public List<byte[]> sPop(byte[] key, long count) {
+        return resultDelegate().sPop( key , count ) ;
+    }
+
+    @Override
+    public byte[] sRandMember(byte[] key) {
+        return resultDelegate().sRandMember( key ) ;
+    }
+
+    @Override
+    public List<byte[]> sRandMember(byte[] key, long count) {
+        return resultDelegate().sRandMember( key , count ) ;
+    }
+
+    @Override
+    public Long sRem(byte[] key, byte[]... values) {
+        return resultDelegate().sRem( key , values ) ;
+    }
+
+    @Override
+    public Cursor<byte[]> sScan(byte[] key, ScanOptions options) {
+        return delegate.sScan( key , options ) ;
+    }
+
+    @Override
+    public Set<byte[]> sUnion(byte[]... keys) {
+        return resultDelegate().sUnion( keys ) ;
+    }
+
+    @Override
+    public Long sUnionStore(byte[] destKey, byte[]... keys) {
+        return resultDelegate().sUnionStore( destKey , keys ) ;
+    }
+
+    // ---------------------------------------- RedisZSetCommands
+
+    @Override
+    public Long zAdd(byte[] key, Set<RedisZSetCommands.Tuple> tuples) {
+        return resultDelegate().zAdd( key , tuples ) ;
+    }
+
+    @Override
+    public Boolean zAdd(byte[] key, double score, byte[] value) {
+        return resultDelegate().zAdd( key , score , value ) ;
+    }
+
+    @Override
+    public Long zCard(byte[] key) {
+        return resultDelegate().zCard( key ) ;
+    }
+
+    @Override
+    public Long zCount(byte[] key, RedisZSetCommands.Range range) {
+        return resultDelegate().zCount( key , range ) ;
+    }
+
+    @Override
+    public Double zIncrBy(byte[] key, double increment, byte[] value) {
+        return resultDelegate().zIncrBy( key , increment , value ) ;
+    }
+
+    @Override
+    public Long zInterStore(byte[] destKey, byte[]... sets) {
+        return resultDelegate().zInterStore( destKey , sets ) ;
+    }
+
+    @Override
+    public Long zInterStore(byte[] destKey, RedisZSetCommands.Aggregate aggregate, int[] weights, byte[]... sets) {
+        return resultDelegate().zInterStore( destKey , aggregate , weights , sets ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRange(byte[] key, long start, long end) {
+        return resultDelegate().zRange( key , start , end ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByLex(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return resultDelegate().zRangeByLex( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByScore(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return resultDelegate().zRangeByScore( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByScore(byte[] key, String min, String max, long offset, long count) {
+        return resultDelegate().zRangeByScore( key , min , max , offset , count ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRangeByScoreWithScores(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return resultDelegate().zRangeByScoreWithScores( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRangeWithScores(byte[] key, long start, long end) {
+        return resultDelegate().zRangeWithScores( key , start , end ) ;
+    }
+
+    @Override
+    public Long zRank(byte[] key, byte[] value) {
+        return resultDelegate().zRank( key , value ) ;
+    }
+
+    @Override
+    public Long zRem(byte[] key, byte[]... values) {
+        return resultDelegate().zRem( key , values ) ;
+    }
+
+    @Override
+    public Long zRemRange(byte[] key, long start, long end) {
+        return resultDelegate().zRemRange( key , start , end ) ;
+    }
+
+    @Override
+    public Long zRemRangeByScore(byte[] key, RedisZSetCommands.Range range) {
+        return resultDelegate().zRemRangeByScore( key , range ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRevRange(byte[] key, long start, long end) {
+        return resultDelegate().zRevRange( key , start , end ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRevRangeByScore(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return resultDelegate().zRevRangeByScore( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRevRangeByScoreWithScores(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return resultDelegate().zRevRangeByScoreWithScores( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRevRangeWithScores(byte[] key, long start, long end) {
+        return resultDelegate().zRevRangeWithScores( key , start , end ) ;
+    }
+
+    @Override
+    public Long zRevRank(byte[] key, byte[] value) {
+        return resultDelegate().zRevRank( key , value ) ;
+    }
+
+    @Override
+    public Cursor<RedisZSetCommands.Tuple> zScan(byte[] key, ScanOptions options) {
+        return delegate.zScan( key , options ) ;
+    }
+
+    @Override
+    public Double zScore(byte[] key, byte[] value) {
+        return resultDelegate().zScore( key , value ) ;
+    }
+
+    @Override
+    public Long zUnionStore(byte[] destKey, byte[]... sets) {
+        return resultDelegate().zUnionStore( destKey , sets ) ;
+    }
+
+    @Override
+    public Long zUnionStore(byte[] destKey, RedisZSetCommands.Aggregate aggregate, int[] weights, byte[]... sets) {
+        return resultDelegate().zUnionStore( destKey , aggregate , weights , sets ) ;
+    }
+
+    // ---------------------------------------- RedisHashCommands
+
+    @Override
+    public Long hDel(byte[] key, byte[]... fields) {
+        return resultDelegate().hDel( key , fields ) ;
+    }
+
+    @Override
+    public Boolean hExists(byte[] key, byte[] field) {
+        return resultDelegate().hExists( key , field ) ;
+    }
+
+    @Override
+    public byte[] hGet(byte[] key, byte[] field) {
+        return resultDelegate().hGet( key , field ) ;
+    }
+
+    @Override
+    public Map<byte[], byte[]> hGetAll(byte[] key) {
+        return resultDelegate().hGetAll( key ) ;
+    }
+
+    @Override
+    public Double hIncrBy(byte[] key, byte[] field, double delta) {
+        return resultDelegate().hIncrBy( key , field , delta ) ;
+    }
+
+    @Override
+    public Long hIncrBy(byte[] key, byte[] field, long delta) {
+        return resultDelegate().hIncrBy( key , field , delta ) ;
+    }
+
+    @Override
+    public Set<byte[]> hKeys(byte[] key) {
+        return resultDelegate().hKeys( key ) ;
+    }
+
+    @Override
+    public Long hLen(byte[] key) {
+        return resultDelegate().hLen( key ) ;
+    }
+
+    @Override
+    public List<byte[]> hMGet(byte[] key, byte[]... fields) {
+        return resultDelegate().hMGet( key , fields ) ;
+    }
+
+    @Override
+    public void hMSet(byte[] key, Map<byte[], byte[]> hashes) {
+        delegate.hMSet( key , hashes ) ;
+    }
+
+    @Override
+    public Cursor<Map.Entry<byte[], byte[]>> hScan(byte[] key, ScanOptions options) {
+        return delegate.hScan( key , options ) ;
+    }
+
+    @Override
+    public Boolean hSet(byte[] key, byte[] field, byte[] value) {
+        return resultDelegate().hSet( key , field , value ) ;
+    }
+
+    @Override
+    public Boolean hSetNX(byte[] key, byte[] field, byte[] value) {
+        return resultDelegate().hSetNX( key , field , value ) ;
+    }
+
+    @Override
+    public List<byte[]> hVals(byte[] key) {
+        return resultDelegate().hVals( key ) ;
+    }
+
+    // ---------------------------------------- RedisTxCommands
+
+    @Override
+    public void discard() {
+        delegate.discard() ;
+    }
+
+    @Override
+    public List<Object> exec() {
+        return delegate.exec() ;
+    }
+
+    @Override
+    public void multi() {
+        delegate.multi() ;
+    }
+
+    @Override
+    public void unwatch() {
+        delegate.unwatch() ;
+    }
+
+    @Override
+    public void watch(byte[]... keys) {
+        delegate.watch( keys ) ;
+    }
+
+    // ---------------------------------------- RedisPubSubCommands
+
+    @Override
+    public Subscription getSubscription() {
+        return delegate.getSubscription() ;
+    }
+
+    @Override
+    public boolean isSubscribed() {
+        return delegate.isSubscribed() ;
+    }
+
+    @Override
+    public void pSubscribe(MessageListener listener, byte[]... patterns) {
+        delegate.pSubscribe( listener , patterns ) ;
+    }
+
+    @Override
+    public Long publish(byte[] channel, byte[] message) {
+        return resultDelegate().publish( channel , message ) ;
+    }
+
+    @Override
+    public void subscribe(MessageListener listener, byte[]... channels) {
+        delegate.subscribe( listener , channels ) ;
+    }
+
+    // ---------------------------------------- RedisConnectionCommands
+
+    @Override
+    public byte[] echo(byte[] message) {
+        return resultDelegate().echo( message ) ;
+    }
+
+    @Override
+    public String ping() {
+        return resultDelegate().ping() ;
+    }
+
+    @Override
+    public void select(int dbIndex) {
+        delegate.select( dbIndex ) ;
+    }
+
+    // ---------------------------------------- RedisServerCommands
+
+    @Override
+    public void bgReWriteAof() {
+        delegate.bgReWriteAof() ;
+    }
+
+    @Override
+    public void bgSave() {
+        delegate.bgSave() ;
+    }
+
+    @Override
+    public Long dbSize() {
+        return resultDelegate().dbSize() ;
+    }
+
+    @Override
+    public void flushAll() {
+        delegate.flushAll() ;
+    }
+
+    @Override
+    public void flushDb() {
+        delegate.flushDb() ;
+    }
+
+    @Override
+    public List<RedisClientInfo> getClientList() {
+        return resultDelegate().getClientList() ;
+    }
+
+    @Override
+    public String getClientName() {
+        return resultDelegate().getClientName() ;
+    }
+
+    @Override
+    public Properties getConfig(String pattern) {
+        return resultDelegate().getConfig( pattern ) ;
+    }
+
+    @Override
+    public Properties info() {
+        return resultDelegate().info() ;
+    }
+
+    @Override
+    public Properties info(String section) {
+        return resultDelegate().info( section ) ;
+    }
+
+    @Override
+    public void killClient(String host, int port) {
+        delegate.killClient( host , port ) ;
+    }
+
+    @Override
+    public Long lastSave() {
+        return resultDelegate().lastSave() ;
+    }
+
+    @Override
+    public void migrate(byte[] key, RedisNode target, int dbIndex, RedisServerCommands.MigrateOption option) {
+        delegate.migrate( key , target , dbIndex , option ) ;
+    }
+
+    @Override
+    public void migrate(byte[] key, RedisNode target, int dbIndex, RedisServerCommands.MigrateOption option, long timeout) {
+        delegate.migrate( key , target , dbIndex , option , timeout ) ;
+    }
+
+    @Override
+    public void resetConfigStats() {
+        delegate.resetConfigStats() ;
+    }
+
+    @Override
+    public void save() {
+        delegate.save() ;
+    }
+
+    @Override
+    public void setClientName(byte[] name) {
+        delegate.setClientName( name ) ;
+    }
+
+    @Override
+    public void setConfig(String param, String value) {
+        delegate.setConfig( param , value ) ;
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown() ;
+    }
+
+    @Override
+    public void shutdown(RedisServerCommands.ShutdownOption option) {
+        delegate.shutdown( option ) ;
+    }
+
+    @Override
+    public void slaveOf(String host, int port) {
+        delegate.slaveOf( host , port ) ;
+    }
+
+    @Override
+    public void slaveOfNoOne() {
+        delegate.slaveOfNoOne() ;
+    }
+
+    @Override
+    public Long time() {
+        return resultDelegate().time() ;
+    }
+
+    // ---------------------------------------- RedisScriptingCommands
+
+    @Override
+    public <T> T eval(byte[] script, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return resultDelegate().eval( script , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public <T> T evalSha(byte[] scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return resultDelegate().evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public <T> T evalSha(String scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return resultDelegate().evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public List<Boolean> scriptExists(String... scriptShas) {
+        return resultDelegate().scriptExists( scriptShas ) ;
+    }
+
+    @Override
+    public void scriptFlush() {
+        delegate.scriptFlush() ;
+    }
+
+    @Override
+    public void scriptKill() {
+        delegate.scriptKill() ;
+    }
+
+    @Override
+    public String scriptLoad(byte[] script) {
+        return resultDelegate().scriptLoad( script ) ;
+    }
+
+    // ---------------------------------------- RedisGeoCommands
+
+    @Override
+    public Long geoAdd(byte[] key, Iterable<RedisGeoCommands.GeoLocation<byte[]>> locations) {
+        return resultDelegate().geoAdd( key , locations ) ;
+    }
+
+    @Override
+    public Long geoAdd(byte[] key, Map<byte[], Point> memberCoordinateMap) {
+        return resultDelegate().geoAdd( key , memberCoordinateMap ) ;
+    }
+
+    @Override
+    public Long geoAdd(byte[] key, Point point, byte[] member) {
+        return resultDelegate().geoAdd( key , point , member ) ;
+    }
+
+    @Override
+    public Distance geoDist(byte[] key, byte[] member1, byte[] member2) {
+        return resultDelegate().geoDist( key , member1 , member2 ) ;
+    }
+
+    @Override
+    public Distance geoDist(byte[] key, byte[] member1, byte[] member2, Metric metric) {
+        return resultDelegate().geoDist( key , member1 , member2 , metric ) ;
+    }
+
+    @Override
+    public List<String> geoHash(byte[] key, byte[]... members) {
+        return resultDelegate().geoHash( key , members ) ;
+    }
+
+    @Override
+    public List<Point> geoPos(byte[] key, byte[]... members) {
+        return resultDelegate().geoPos( key , members ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadius(byte[] key, Circle within) {
+        return resultDelegate().geoRadius( key , within ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadius(byte[] key, Circle within, RedisGeoCommands.GeoRadiusCommandArgs args) {
+        return resultDelegate().geoRadius( key , within , args ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadiusByMember(byte[] key, byte[] member, Distance radius) {
+        return resultDelegate().geoRadiusByMember( key , member , radius ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadiusByMember(byte[] key, byte[] member, Distance radius, RedisGeoCommands.GeoRadiusCommandArgs args) {
+        return resultDelegate().geoRadiusByMember( key , member , radius , args ) ;
+    }
+
+    @Override
+    public Long geoRemove(byte[] key, byte[]... members) {
+        return resultDelegate().geoRemove( key , members ) ;
+    }
+
+    // ---------------------------------------- RedisHyperLogLogCommands
+
+    @Override
+    public Long pfAdd(byte[] key, byte[]... values) {
+        return resultDelegate().pfAdd( key , values ) ;
+    }
+
+    @Override
+    public Long pfCount(byte[]... keys) {
+        return resultDelegate().pfCount( keys ) ;
+    }
+
+    @Override
+    public void pfMerge(byte[] destinationKey, byte[]... sourceKeys) {
+        delegate.pfMerge( destinationKey , sourceKeys ) ;
+    }
+
+    // ---------------------------------------- RedisCommands
+
+    @Override
+    public Object execute(String command, byte[]... args) {
+        return resultDelegate().execute( command , args ) ;
+    }
+
+}
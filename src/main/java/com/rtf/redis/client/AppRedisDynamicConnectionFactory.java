@@ -2,7 +2,13 @@ package com.rtf.redis.client;
 
 import com.google.common.base.Splitter;
 import com.google.common.collect.Lists;
+import com.rtf.redis.client.cache.AppRedisNearCache;
+import com.rtf.redis.client.cache.AppRedisNearCacheConfig;
+import com.rtf.redis.client.codec.AppRedisCompressionCodec;
+import com.rtf.redis.client.codec.AppRedisCompressionConnection;
 import com.rtf.redis.client.lb.*;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.DisposableBean;
@@ -15,10 +21,22 @@ import org.springframework.data.redis.connection.*;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConverters;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
 
 /**
  * redis连接代理
@@ -40,9 +58,22 @@ public class AppRedisDynamicConnectionFactory
 
     public static final String HOST_SPLITTER  = "," ;
 
+    /**
+     * 排空检查间隔，单位毫秒
+     */
+    private static final long DRAIN_CHECK_INTERVAL = 100 ;
+
+    /**
+     * 所有动态连接工厂共享的排空检查线程
+     */
+    private static volatile ScheduledThreadPoolExecutor DRAIN_EXECUTOR = null ;
+
     private RedisProperties properties ;
 
-    private final List<AppRedisConnectionFactory> connectionFactories = Lists.newArrayList() ;
+    /**
+     * 当前发布的路由表，主机列表刷新时整体替换
+     */
+    private volatile AppRedisRoutingTable routingTable = AppRedisRoutingTable.EMPTY ;
 
     private LettuceClientConfiguration clientConfig ;
 
@@ -50,9 +81,189 @@ public class AppRedisDynamicConnectionFactory
 
     private AppRedisHostList appRedisHostList ;
 
+    /**
+     * 服务列表变化时在防抖时间后触发更新，切换主节点时立即更新
+     */
+    private final AppRedisHostListListener hostListListener = new AppRedisHostListListener() {
+        @Override
+        public void onHostListChanged() {
+            appRedisHostUpdater.trigger() ;
+        }
+
+        @Override
+        public void onMasterChanged() {
+            appRedisHostUpdater.triggerNow() ;
+        }
+    } ;
+
+    /**
+     * 定时拉取服务列表的间隔
+     */
+    @Setter
+    @Getter
+    private Duration hostListRefreshInterval = Duration.ofSeconds( 120 ) ;
+
+    /**
+     * 服务列表变化通知的防抖时间，防抖时间内的多次变化合并为一次更新
+     */
+    @Setter
+    @Getter
+    private Duration hostListDebounce = Duration.ofSeconds( 1 ) ;
+
+    /**
+     * 发布路由表时使用的锁，只在比较和替换路由表时持有，获取连接时不使用
+     */
     protected ReadWriteLock upServerLock = new ReentrantReadWriteLock() ;
 
-    private AppRedisRoundRobinRule appRedisRoundRobinRule ;
+    /**
+     * 正在排空的连接工厂，已经从路由表移除，等待已获取的连接关闭
+     */
+    private final Map<String,AppRedisConnectionFactory> drainingFactories = new ConcurrentHashMap<>() ;
+
+    /**
+     * 预热失败的连接工厂，不加入路由表，在后台重新预热成功后加入
+     */
+    private final Map<String,AppRedisConnectionFactory> pendingFactories = new ConcurrentHashMap<>() ;
+
+    /**
+     * 移除主机时等待已获取的连接关闭的最长时间
+     */
+    @Setter
+    @Getter
+    private Duration drainTimeout = Duration.ofSeconds( 30 ) ;
+
+    /**
+     * redis连接工厂选择规则，默认轮询
+     */
+    @Getter
+    private AppRedisRule appRedisRule ;
+
+    /**
+     * 主机的静态权重，未配置的主机权重为1
+     */
+    @Setter
+    @Getter
+    private Map<String,Integer> hostWeights = Collections.emptyMap() ;
+
+    /**
+     * 主机负载统计的衰减时间，单位毫秒
+     */
+    @Setter
+    @Getter
+    private long hostStatsDecayTime = AppRedisHostStats.DEFAULT_DECAY_TIME ;
+
+    /**
+     * 各主机断路器的配置，为空时使用默认配置
+     */
+    @Setter
+    @Getter
+    private AppRedisCircuitBreakerConfig circuitBreakerConfig ;
+
+    /**
+     * 各主机健康检查的配置，为空时使用默认配置
+     */
+    @Setter
+    @Getter
+    private AppRedisHealthCheckConfig healthCheckConfig ;
+
+    /**
+     * 各主机自动管道的配置，为空或未开启时不使用自动管道
+     */
+    @Setter
+    @Getter
+    private AppRedisAutoPipelineConfig autoPipelineConfig ;
+
+    /**
+     * 对冲读配置，为空或未开启时不使用对冲读
+     */
+    @Setter
+    @Getter
+    private AppRedisHedgedReadConfig hedgedReadConfig ;
+
+    /**
+     * 所有节点共享的对冲读
+     */
+    @Getter
+    private AppRedisHedgedRead hedgedRead ;
+
+    /**
+     * 故障转移配置，为空或未开启时命令失败直接抛出异常
+     */
+    @Setter
+    @Getter
+    private AppRedisFailoverConfig failoverConfig ;
+
+    /**
+     * 所有连接共享的故障转移
+     */
+    @Getter
+    private AppRedisFailover failover ;
+
+    /**
+     * 大批量多key命令并行拆分配置，为空或未开启时不拆分
+     */
+    @Setter
+    @Getter
+    private AppRedisScatterGatherConfig scatterGatherConfig ;
+
+    /**
+     * 所有连接共享的并行拆分
+     */
+    @Getter
+    private AppRedisScatterGather scatterGather ;
+
+    /**
+     * 读写分离配置，为空或未开启时读命令也使用主节点
+     */
+    @Setter
+    @Getter
+    private AppRedisReadWriteSplitConfig readWriteSplitConfig ;
+
+    /**
+     * 读写分离时选择备节点的规则
+     */
+    private AppRedisRule readRule ;
+
+    /**
+     * 连接预热配置，为空或未开启时不预热
+     */
+    @Setter
+    @Getter
+    private AppRedisWarmUpConfig warmUpConfig ;
+
+    /**
+     * 各主机热点key检测的配置，为空时使用默认配置
+     */
+    @Setter
+    @Getter
+    private AppRedisHotKeyConfig hotKeyConfig ;
+
+    /**
+     * 自适应并发限制配置，为空或未开启时不限制
+     */
+    @Setter
+    @Getter
+    private AppRedisConcurrencyLimitConfig concurrencyLimitConfig ;
+
+    /**
+     * 本地缓存配置，为空或未开启时不使用本地缓存
+     */
+    @Setter
+    @Getter
+    private AppRedisNearCacheConfig nearCacheConfig ;
+
+    /**
+     * 所有节点共享的本地缓存
+     */
+    @Getter
+    private AppRedisNearCache nearCache ;
+
+    /**
+     * 值压缩，为空时不压缩。在所有连接的最外层压缩，节点的连接不再压缩
+     */
+    @Setter
+    @Getter
+    private AppRedisCompressionCodec compressionCodec ;
 
     private String redisServerType = "redis" ;
 
@@ -75,13 +286,16 @@ public class AppRedisDynamicConnectionFactory
             this.appRedisHostList = appRedisHostListDefault ;
         }
 
-        // 执行更新列表
-        appRedisHostUpdater.start( ()->{
-            String hosts = appRedisHostList.getUpdatedHostList() ;
-            initConnectionFactories( parseMasterHosts( hosts ) , parseSlaveHosts( hosts ) ) ;
-        } ) ;
+        setAppRedisRule( new AppRedisRoundRobinRule() ) ;
+    }
 
-        this.appRedisRoundRobinRule = new AppRedisRoundRobinRule( connectionFactories ) ;
+    /**
+     * 设置redis连接工厂选择规则
+     * @param appRedisRule
+     */
+    public void setAppRedisRule(AppRedisRule appRedisRule){
+        appRedisRule.setRoutingTable( this::getRoutingTable ) ;
+        this.appRedisRule = appRedisRule ;
     }
 
     /**
@@ -102,7 +316,64 @@ public class AppRedisDynamicConnectionFactory
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        initConnectionFactories( parseMasterHosts( properties.getHost() ) , parseSlaveHosts( properties.getHost() ) ) ;
+        // 本地缓存在创建节点的连接工厂之前创建
+        nearCache = AppRedisNearCache.create( nearCacheConfig , redisServerType ) ;
+        // 对冲读使用独立的轮询规则选择对冲主机
+        if( hedgedReadConfig!=null && hedgedReadConfig.isEnabled() ){
+            hedgedRead = new AppRedisHedgedRead( hedgedReadConfig , new AppRedisRoundRobinRule( this::getRoutingTable ) ,
+                    clientConfig.getCommandTimeout() ) ;
+        }
+        // 故障转移使用独立的轮询规则选择重试主机
+        if( failoverConfig!=null && failoverConfig.isEnabled() ){
+            failover = new AppRedisFailover( failoverConfig , new AppRedisRoundRobinRule( this::getRoutingTable ) ,
+                    clientConfig.getCommandTimeout() ) ;
+        }
+        // 并行拆分使用独立的轮询规则为分片选择主机
+        if( scatterGatherConfig!=null && scatterGatherConfig.isEnabled() ){
+            scatterGather = new AppRedisScatterGather( scatterGatherConfig , new AppRedisRoundRobinRule( this::getRoutingTable ) ,
+                    clientConfig.getCommandTimeout() ) ;
+        }
+        // 读写分离使用独立的轮询规则选择备节点
+        if( readWriteSplitConfig!=null && readWriteSplitConfig.isEnabled() ){
+            readRule = new AppRedisRoundRobinRule( this::getRoutingTable ) ;
+        }
+        String hosts = getInitialHostList() ;
+        initConnectionFactories( parseMasterHosts( hosts ) , parseSlaveHosts( hosts ) ) ;
+
+        // 定时拉取服务列表，支持主动推送的服务列表在变化时立即更新
+        appRedisHostUpdater.setInitialDelay( hostListRefreshInterval ) ;
+        appRedisHostUpdater.setDelay( hostListRefreshInterval ) ;
+        appRedisHostUpdater.setDebounce( hostListDebounce ) ;
+        appRedisHostUpdater.start( this::refreshHostList ) ;
+        appRedisHostList.addListener( hostListListener ) ;
+    }
+
+    /**
+     * 获取启动时的主机列表，优先使用服务列表，服务列表为空或获取失败时使用spring.redis.host
+     * @return
+     */
+    private String getInitialHostList(){
+        try{
+            String hosts = appRedisHostList.getUpdatedHostList() ;
+            if( StringUtils.isNotBlank( hosts ) ){
+                return hosts ;
+            }
+        }catch( Exception e ){
+            log.error( "获取redis服务列表异常，使用spring.redis.host: {}" , e ) ;
+        }
+        return properties.getHost() ;
+    }
+
+    /**
+     * 从服务列表获取最新的主机并更新连接工厂
+     */
+    protected void refreshHostList(){
+        String hosts = appRedisHostList.getUpdatedHostList() ;
+        if( StringUtils.isBlank( hosts ) ){
+            log.warn("redis服务列表为空，保留原来的主机");
+            return;
+        }
+        initConnectionFactories( parseMasterHosts( hosts ) , parseSlaveHosts( hosts ) ) ;
     }
 
     /**
@@ -158,39 +429,253 @@ public class AppRedisDynamicConnectionFactory
             return;
         }
 
-        Lock writeLock = null ;
         try{
-            writeLock = upServerLock.writeLock() ;
-            writeLock.lock();
-            // 初始化redis连接
+            // 1. 在锁外创建和预热新主机的连接工厂，正在排空的主机直接恢复使用
+            List<String> addHosts = Lists.newArrayList() ;
+            List<AppRedisConnectionFactory> revivedFactories = Lists.newArrayList() ;
             for (String host : hosts) {
                 if( hasConnectionFactory( host ) ){
                     continue;
                 }
+                // 预热未完成的主机，预热成功后由后台任务加入路由表
+                AppRedisConnectionFactory pendingFactory = pendingFactories.get( host ) ;
+                if( pendingFactory!=null ){
+                    pendingFactory.setMaster( masterHosts!=null && masterHosts.contains( host ) ) ;
+                    continue;
+                }
+                AppRedisConnectionFactory drainingFactory = drainingFactories.remove( host ) ;
+                if( drainingFactory!=null ){
+                    log.info("恢复正在排空的redis主机: {}" , host);
+                    drainingFactory.setMaster( masterHosts!=null && masterHosts.contains( host ) ) ;
+                    revivedFactories.add( drainingFactory ) ;
+                    continue;
+                }
                 log.debug("初始化redis连接: {}" , host);
-                AppRedisConnectionFactory connectionFactory = buildConnectionFactory( host , clientConfig ,
-                        masterHosts!=null && masterHosts.contains( host ) ) ;
-                connectionFactories.add( connectionFactory ) ;
+                addHosts.add( host ) ;
+            }
+            // 不再使用的预热未完成的主机直接销毁
+            List<AppRedisConnectionFactory> cancelledFactories = Lists.newArrayList() ;
+            for (AppRedisConnectionFactory pendingFactory : pendingFactories.values()) {
+                if( !hosts.contains( pendingFactory.getHostName() )
+                        && pendingFactories.remove( pendingFactory.getHostName() , pendingFactory ) ){
+                    cancelledFactories.add( pendingFactory ) ;
+                }
             }
-            // 找出无用的redis连接
+            destroy( cancelledFactories ) ;
+            // 主备角色变化的主机，如sentinel切换主节点后原来的备节点成为主节点
+            List<AppRedisConnectionFactory> roleChangedFactories = routingTable.getAll().stream()
+                    .filter( item -> hosts.contains( item.getHostName() )
+                            && item.isMaster()!=( masterHosts!=null && masterHosts.contains( item.getHostName() ) ) )
+                    .collect( Collectors.toList() ) ;
+            // 主机没有变化时不更新路由表
+            if( addHosts.isEmpty() && revivedFactories.isEmpty() && roleChangedFactories.isEmpty()
+                    && routingTable.getAll().stream().allMatch( item -> hosts.contains( item.getHostName() ) ) ){
+                log.debug("redis主机列表没有变化");
+                return;
+            }
+            List<AppRedisConnectionFactory> builtFactories = buildConnectionFactories( addHosts , masterHosts ) ;
+            builtFactories.addAll( revivedFactories ) ;
+
+            // 2. 加锁比较并发布新的路由表，锁内不做网络操作
+            List<AppRedisConnectionFactory> addAppLettuceConnectionFactory = Lists.newArrayList() ;
+            List<AppRedisConnectionFactory> discardAppLettuceConnectionFactory = Lists.newArrayList() ;
             List<AppRedisConnectionFactory> removeAppLettuceConnectionFactory = Lists.newArrayList() ;
-            for (AppRedisConnectionFactory connectionFactory : connectionFactories) {
-                if( hosts.contains( connectionFactory.getHostName() ) ){
-                    continue;
+            List<AppRedisConnectionFactory> pendingAppLettuceConnectionFactory = Lists.newArrayList() ;
+            Lock writeLock = upServerLock.writeLock() ;
+            writeLock.lock();
+            try{
+                AppRedisRoutingTable current = routingTable ;
+                // 切换角色后重新生成路由表，旧的路由表仍按原来的角色拆分
+                for (AppRedisConnectionFactory connectionFactory : roleChangedFactories) {
+                    connectionFactory.setMaster( !connectionFactory.isMaster() ) ;
+                    connectionFactory.setReadable( true ) ;
+                    log.info( "redis主机:{} 切换为{}" , connectionFactory.getHostName() ,
+                            connectionFactory.isMaster() ? "主节点" : "备节点" ) ;
+                }
+                for (AppRedisConnectionFactory connectionFactory : builtFactories) {
+                    // 并发的刷新已经加入了该主机
+                    if( current.get( connectionFactory.getHostName() )!=null ){
+                        discardAppLettuceConnectionFactory.add( connectionFactory ) ;
+                    }else if( connectionFactory.isReady() ){
+                        addAppLettuceConnectionFactory.add( connectionFactory ) ;
+                    }else if( pendingFactories.putIfAbsent( connectionFactory.getHostName() , connectionFactory )!=null ){
+                        discardAppLettuceConnectionFactory.add( connectionFactory ) ;
+                    }else{
+                        // 预热失败，暂不加入路由表
+                        pendingAppLettuceConnectionFactory.add( connectionFactory ) ;
+                    }
+                }
+                // 找出无用的redis连接
+                for (AppRedisConnectionFactory connectionFactory : current.getAll()) {
+                    if( hosts.contains( connectionFactory.getHostName() ) ){
+                        continue;
+                    }
+                    removeAppLettuceConnectionFactory.add( connectionFactory ) ;
                 }
-                removeAppLettuceConnectionFactory.add( connectionFactory ) ;
+                routingTable = current.update( addAppLettuceConnectionFactory , removeAppLettuceConnectionFactory ) ;
+            }finally {
+                writeLock.unlock();
+            }
+
+            // 3. 移除的主机等待已获取的连接关闭后再销毁
+            destroy( discardAppLettuceConnectionFactory ) ;
+            drain( removeAppLettuceConnectionFactory ) ;
+            for (AppRedisConnectionFactory connectionFactory : pendingAppLettuceConnectionFactory) {
+                log.warn( "redis主机:{} 预热未完成, 暂不加入负载均衡" , connectionFactory.getHostName() ) ;
+                connectionFactory.setReadyListener( () -> publishPendingFactory( connectionFactory ) ) ;
+                scheduleWarmUpRetry( connectionFactory ) ;
             }
-            // 移除无用的redis连接
-            connectionFactories.removeAll( removeAppLettuceConnectionFactory ) ;
-            // 销毁无用的redis连接
-            destroy( removeAppLettuceConnectionFactory ) ;
         }catch( Exception e ){
             log.error( "初始化redis连接工厂异常: {}" , e ) ;
+        }
+    }
+
+    /**
+     * 定时在后台重新预热未就绪的连接工厂，预热成功时通过readyListener加入路由表
+     * @param connectionFactory
+     */
+    private void scheduleWarmUpRetry(AppRedisConnectionFactory connectionFactory){
+        long retryInterval = warmUpConfig==null ? 5000 : warmUpConfig.getRetryInterval().toMillis() ;
+        getDrainExecutor().schedule( () -> {
+            // 已经加入路由表或者已经移除
+            if( pendingFactories.get( connectionFactory.getHostName() )!=connectionFactory ){
+                return;
+            }
+            if( !connectionFactory.isReady() ){
+                scheduleWarmUpRetry( connectionFactory ) ;
+            }
+        } , retryInterval , TimeUnit.MILLISECONDS ) ;
+    }
+
+    /**
+     * 预热完成的连接工厂加入路由表
+     * @param connectionFactory
+     */
+    private void publishPendingFactory(AppRedisConnectionFactory connectionFactory){
+        boolean discard = false ;
+        Lock writeLock = upServerLock.writeLock() ;
+        writeLock.lock();
+        try{
+            if( !pendingFactories.remove( connectionFactory.getHostName() , connectionFactory ) ){
+                return;
+            }
+            AppRedisRoutingTable current = routingTable ;
+            if( current.get( connectionFactory.getHostName() )!=null ){
+                discard = true ;
+            }else{
+                routingTable = current.update( Collections.singletonList( connectionFactory ) , null ) ;
+            }
         }finally {
-            if(writeLock!=null){
-                writeLock.unlock();
+            writeLock.unlock();
+        }
+        if( discard ){
+            destroy( Collections.singletonList( connectionFactory ) ) ;
+        }else{
+            log.info( "redis主机:{} 预热完成, 加入负载均衡" , connectionFactory.getHostName() ) ;
+        }
+    }
+
+    /**
+     * 排空并销毁移除的连接工厂。
+     * 等待已获取的连接全部关闭、执行中的命令全部结束后销毁，超过排空时间时直接销毁
+     * @param removedFactories
+     */
+    protected void drain(List<AppRedisConnectionFactory> removedFactories){
+        long deadline = System.nanoTime() + drainTimeout.toNanos() ;
+        for (AppRedisConnectionFactory connectionFactory : removedFactories) {
+            log.info("排空redis主机: {}" , connectionFactory.getHostName());
+            drainingFactories.put( connectionFactory.getHostName() , connectionFactory ) ;
+            checkDrained( connectionFactory , deadline ) ;
+        }
+    }
+
+    /**
+     * 检查连接工厂是否已经排空，未排空时稍后再次检查
+     * @param connectionFactory
+     * @param deadline
+     */
+    private void checkDrained(AppRedisConnectionFactory connectionFactory , long deadline){
+        AppRedisHostStats hostStats = connectionFactory.getHostStats() ;
+        boolean drained = hostStats.getBorrowed()<=0 && hostStats.getInFlight()<=0 ;
+        if( !drained && System.nanoTime() - deadline < 0 ){
+            getDrainExecutor().schedule( () -> checkDrained( connectionFactory , deadline ) ,
+                    DRAIN_CHECK_INTERVAL , TimeUnit.MILLISECONDS ) ;
+            return;
+        }
+        // 已经恢复使用或者已经销毁
+        if( !drainingFactories.remove( connectionFactory.getHostName() , connectionFactory ) ){
+            return;
+        }
+        if( !drained ){
+            log.warn( "redis主机:{} 排空超时, 仍有{}个连接未关闭, {}条命令未完成" , connectionFactory.getHostName() ,
+                    hostStats.getBorrowed() , hostStats.getInFlight() ) ;
+        }
+        destroy( Collections.singletonList( connectionFactory ) ) ;
+    }
+
+    /**
+     * 获取共享的排空检查线程
+     * @return
+     */
+    private static ScheduledThreadPoolExecutor getDrainExecutor(){
+        if( DRAIN_EXECUTOR==null ){
+            synchronized ( AppRedisDynamicConnectionFactory.class ){
+                if( DRAIN_EXECUTOR==null ){
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor( 1 , runnable -> {
+                        Thread thread = new Thread( runnable , "RedisDrain" ) ;
+                        thread.setDaemon( true ) ;
+                        return thread ;
+                    } ) ;
+                    executor.setRemoveOnCancelPolicy( true ) ;
+                    DRAIN_EXECUTOR = executor ;
+                }
+            }
+        }
+        return DRAIN_EXECUTOR ;
+    }
+
+    /**
+     * 并行创建多个主机的连接工厂，每个连接工厂在创建时预热连接
+     * @param hosts
+     * @param masterHosts
+     * @return
+     */
+    protected List<AppRedisConnectionFactory> buildConnectionFactories(List<String> hosts , List<String> masterHosts){
+        List<AppRedisConnectionFactory> connectionFactories = Lists.newArrayList() ;
+        int parallelism = warmUpConfig==null ? 1 : Math.min( hosts.size() , warmUpConfig.getParallelism() ) ;
+        if( parallelism<=1 ){
+            for (String host : hosts) {
+                connectionFactories.add( buildConnectionFactory( host , clientConfig ,
+                        masterHosts!=null && masterHosts.contains( host ) ) ) ;
+            }
+            return connectionFactories ;
+        }
+        long start = System.currentTimeMillis() ;
+        ExecutorService executor = Executors.newFixedThreadPool( parallelism , runnable -> {
+            Thread thread = new Thread( runnable , "RedisWarmUp" ) ;
+            thread.setDaemon( true ) ;
+            return thread ;
+        } ) ;
+        try{
+            List<Future<AppRedisConnectionFactory>> futures = Lists.newArrayList() ;
+            for (String host : hosts) {
+                futures.add( executor.submit( () -> buildConnectionFactory( host , clientConfig ,
+                        masterHosts!=null && masterHosts.contains( host ) ) ) ) ;
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try{
+                    connectionFactories.add( futures.get(i).get() ) ;
+                }catch( ExecutionException e ){
+                    log.error( "创建redis连接工厂异常 {} : {}" , hosts.get(i) , e.getCause() ) ;
+                }
             }
+        }catch( InterruptedException e ){
+            Thread.currentThread().interrupt() ;
+        }finally {
+            executor.shutdown() ;
         }
+        log.info( "并行创建{}个redis连接工厂, 耗时{}ms" , connectionFactories.size() , System.currentTimeMillis() - start ) ;
+        return connectionFactories ;
     }
 
     /**
@@ -199,12 +684,28 @@ public class AppRedisDynamicConnectionFactory
      * @return
      */
     protected boolean hasConnectionFactory( String host ){
-        for (AppRedisConnectionFactory factory : connectionFactories) {
-            if(StringUtils.equalsIgnoreCase( factory.getHostName(), host )){
-                return true ;
-            }
+        return routingTable.get( host )!=null ;
+    }
+
+    /**
+     * 是否至少有一个主机的连接已经预热完成，可用于就绪检查。预热失败的主机不在路由表中，由后台任务重新预热
+     * @return
+     */
+    public boolean isReady(){
+        boolean ready = false ;
+        for (AppRedisConnectionFactory connectionFactory : routingTable.getAll()) {
+            // 每个主机都检查，未就绪的主机在后台重新预热
+            ready |= connectionFactory.isReady() ;
         }
-        return false ;
+        return ready ;
+    }
+
+    /**
+     * 获取当前发布的路由表
+     * @return
+     */
+    public AppRedisRoutingTable getRoutingTable(){
+        return routingTable ;
     }
 
     /**
@@ -220,9 +721,27 @@ public class AppRedisDynamicConnectionFactory
                 getStandaloneConfig(host) , clientConfig ) ;
 
         // 开启动态节点的健康检查
-        connectionFactory.setEnableHealthCheck( true ) ;
+        connectionFactory.setEnableHealthCheck( healthCheckConfig==null || healthCheckConfig.isEnabled() ) ;
+        connectionFactory.setHealthCheckConfig( healthCheckConfig ) ;
         // 是否master节点
         connectionFactory.setMaster( isMaster ) ;
+        // 负载统计
+        connectionFactory.getHostStats().setWeight( hostWeights.getOrDefault( host , 1 ) ) ;
+        connectionFactory.getHostStats().setDecayTime( hostStatsDecayTime ) ;
+        connectionFactory.getHostStats().getHotKeyDetector().setConfig( hotKeyConfig ) ;
+        connectionFactory.getHostStats().getConcurrencyLimiter().setConfig( concurrencyLimitConfig ) ;
+        // 断路器配置
+        connectionFactory.setCircuitBreakerConfig( circuitBreakerConfig ) ;
+        // 自动管道配置
+        connectionFactory.setAutoPipelineConfig( autoPipelineConfig ) ;
+        // 本地缓存，所有节点共享
+        connectionFactory.setNearCache( nearCache ) ;
+        // 对冲读，所有节点共享
+        connectionFactory.setHedgedRead( hedgedRead ) ;
+        // 读写分离，备节点由健康检查检查复制状态
+        connectionFactory.setReadWriteSplitConfig( readWriteSplitConfig ) ;
+        // 连接预热
+        connectionFactory.setWarmUpConfig( warmUpConfig ) ;
 
         connectionFactory.afterPropertiesSet() ;
 
@@ -250,11 +769,91 @@ public class AppRedisDynamicConnectionFactory
 
     @Override
     public void destroy() throws Exception {
-        destroy( connectionFactories ) ;
+        // 停止更新服务列表
+        appRedisHostList.removeListener( hostListListener ) ;
+        appRedisHostUpdater.stop() ;
+        destroy( routingTable.getAll() ) ;
+        // 正在排空的连接工厂直接销毁
+        List<AppRedisConnectionFactory> drainingFactoryList = Lists.newArrayList() ;
+        for (AppRedisConnectionFactory connectionFactory : drainingFactories.values()) {
+            if( drainingFactories.remove( connectionFactory.getHostName() , connectionFactory ) ){
+                drainingFactoryList.add( connectionFactory ) ;
+            }
+        }
+        destroy( drainingFactoryList ) ;
+        // 预热未完成的连接工厂直接销毁
+        List<AppRedisConnectionFactory> pendingFactoryList = Lists.newArrayList() ;
+        for (AppRedisConnectionFactory connectionFactory : pendingFactories.values()) {
+            if( pendingFactories.remove( connectionFactory.getHostName() , connectionFactory ) ){
+                pendingFactoryList.add( connectionFactory ) ;
+            }
+        }
+        destroy( pendingFactoryList ) ;
     }
 
     @Override
     public RedisConnection getConnection() {
+        RedisConnection redisConnection = chooseConnection() ;
+        // 压缩在最外层，拆分、故障转移等连接发送的都是压缩后的值
+        if( compressionCodec!=null ){
+            return new AppRedisCompressionConnection( redisConnection , compressionCodec ) ;
+        }
+        return redisConnection ;
+    }
+
+    /**
+     * 按配置的功能选择连接
+     * @return
+     */
+    private RedisConnection chooseConnection(){
+        // 按key选择连接工厂的规则，每条命令单独路由
+        if( appRedisRule.isRouteByKey() ){
+            return new AppRedisRoutingConnection( this , appRedisRule ) ;
+        }
+        RedisConnection redisConnection ;
+        if( readRule!=null && routingTable.getFactories( false ).length>0 ){
+            // 读写分离，按比例决定连接的读命令是否使用备节点
+            redisConnection = new AppRedisReadWriteSplitConnection( this ,
+                    ThreadLocalRandom.current().nextDouble() < readWriteSplitConfig.getBackupReadRatio() ) ;
+        }else if( failover!=null && routingTable.getAll().size()>1 ){
+            // 故障转移，幂等命令失败时在其他主机上重试
+            redisConnection = new AppRedisFailoverConnection( this , failover ) ;
+        }else{
+            redisConnection = getDirectConnection() ;
+        }
+        // 并行拆分，大批量的多key命令分片后在多个主机上并行执行
+        if( scatterGather!=null && routingTable.getFactories( true ).length>1 ){
+            return new AppRedisScatterGatherConnection( redisConnection , scatterGather , nearCache ) ;
+        }
+        return redisConnection ;
+    }
+
+    /**
+     * 选择读命令使用的备节点，跳过复制延迟过大的备节点
+     * @return 没有可读的备节点时返回null
+     */
+    public AppRedisConnectionFactory chooseReadFactory(){
+        if( readRule==null ){
+            return null ;
+        }
+        int backups = routingTable.getFactories( false ).length ;
+        for (int i = 0; i < backups; i++) {
+            AppRedisConnectionFactory connectionFactory = readRule.choose( null , false ) ;
+            if( connectionFactory==null ){
+                return null ;
+            }
+            if( connectionFactory.isReadable() ){
+                return connectionFactory ;
+            }
+        }
+        return null ;
+    }
+
+    /**
+     * 使用选择规则获取一个redis主机的连接，获取失败时重试
+     * @return
+     */
+    public RedisConnection getDirectConnection() {
         int count = 0 ;
 
         RedisConnection redisConnection = null ;
@@ -275,13 +874,22 @@ public class AppRedisDynamicConnectionFactory
      * @return
      */
     public RedisConnection getUpConnection(){
-        AppRedisConnectionFactory appCodisConnectionFactory = appRedisRoundRobinRule.choose(  null ) ;
+        AppRedisConnectionFactory appCodisConnectionFactory = appRedisRule.choose(  null ) ;
         if( appCodisConnectionFactory==null ){
             return null ;
         }
+        return getConnection( appCodisConnectionFactory ) ;
+    }
+
+    /**
+     * 获取指定连接工厂的连接，获取失败时增加连续失败次数并返回null
+     * @param appCodisConnectionFactory
+     * @return
+     */
+    public RedisConnection getConnection(AppRedisConnectionFactory appCodisConnectionFactory){
         // 1. 获取熔断对象实例
         log.debug("选择redis主机: {}连接池" , appCodisConnectionFactory.getHostName() );
-        AppRedisCircuitBreaker appRedisCircuitBreaker = AppRedisCircuitBreaker.getInstance( appCodisConnectionFactory.getHostName() ) ;
+        AppRedisCircuitBreaker appRedisCircuitBreaker = appCodisConnectionFactory.getCircuitBreaker() ;
 
         RedisConnection redisConnection = null ;
         try{
@@ -294,15 +902,37 @@ public class AppRedisDynamicConnectionFactory
         return redisConnection ;
     }
 
+    /**
+     * 使用选择规则获取一个redis主机的响应式连接，获取失败时重试。
+     * 命令的失败在响应式流中记录到所选主机的断路器
+     * @return
+     */
     @Override
     public ReactiveRedisConnection getReactiveConnection() {
-//        AppCodisConnectionFactory appCodisConnectionFactory = appRedisRoundRobinRule.choose(  null ) ;
-//        if( appCodisConnectionFactory==null ){
-//            throw new AppException("无可用的redis连接池") ;
-//        }
-//        log.info("ReactiveRedisConnection 获取redis连接: {}" , appCodisConnectionFactory.getHostName());
-//        return appCodisConnectionFactory.getReactiveConnection() ;
-        throw new RuntimeException("不支持ReactiveRedisConnection") ;
+        int count = 0 ;
+
+        ReactiveRedisConnection reactiveRedisConnection = null ;
+
+        while (reactiveRedisConnection==null && count++ < MAX_CONNECTION_RETRY_NUM){
+            AppRedisConnectionFactory appCodisConnectionFactory = appRedisRule.choose(  null ) ;
+            if( appCodisConnectionFactory==null ){
+                continue;
+            }
+            log.debug("ReactiveRedisConnection 选择redis主机: {}连接池" , appCodisConnectionFactory.getHostName() );
+            try{
+                reactiveRedisConnection = appCodisConnectionFactory.createReactiveConnectionWrapper(
+                        appCodisConnectionFactory.getReactiveConnection() ) ;
+            }catch( Exception e ){
+                log.error( "获取redis响应式连接异常 {} : {}" , appCodisConnectionFactory.getHostName() , e ) ;
+                appCodisConnectionFactory.getCircuitBreaker().incrementSuccessiveFailureCount();
+            }
+        }
+
+        if( reactiveRedisConnection==null ){
+            throw new RuntimeException("无可用的redis连接") ;
+        }
+
+        return reactiveRedisConnection ;
     }
 
     @Override
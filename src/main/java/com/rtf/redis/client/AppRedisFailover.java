@@ -0,0 +1,221 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.lb.AppRedisRule;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisException;
+import io.netty.channel.ChannelException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * redis命令故障转移。
+ * 幂等命令因连接断开、超时等网络异常失败时，使用轮询规则选择另一个同类型的主机重试，失败仍然记录在原主机的断路器上。
+ * 所选主机的共享连接已经断开时，不等待命令超时，直接换用其他主机。
+ * 重试次数、重试预算和命令的截止时间共同限制重试：截止时间从命令开始计算，超过后不再重试；
+ * 每条幂等命令积累一定的预算，一次重试消耗1，重试占幂等命令的比例不超过配置的预算。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisFailover {
+
+    /**
+     * 一次重试消耗的预算
+     */
+    private static final long RETRY_COST = 1000 ;
+
+    /**
+     * 预算的最大积累，即最多允许连续重试的次数
+     */
+    private static final long MAX_BURST = 10 ;
+
+    /**
+     * 选择重试主机的最大次数
+     */
+    private static final int MAX_SELECT_COUNT = 3 ;
+
+    /**
+     * lettuce在连接断开或未连接时的异常信息前缀，命令没有执行结果，可以重试
+     */
+    private static final String[] DISCONNECTED_MESSAGES = { "Connection closed" , "Connection is closed" ,
+            "Currently not connected" } ;
+
+    @Getter
+    private final AppRedisFailoverConfig config ;
+
+    /**
+     * 选择重试主机的规则
+     */
+    private final AppRedisRule failoverRule ;
+
+    private final long deadlineNanos ;
+
+    /**
+     * 每条幂等命令积累的预算
+     */
+    private final long creditPerCommand ;
+
+    private final AtomicLong credits = new AtomicLong( RETRY_COST * MAX_BURST ) ;
+
+    private final LongAdder retryCount = new LongAdder() ;
+
+    private final LongAdder retrySuccessCount = new LongAdder() ;
+
+    private final LongAdder budgetExhaustedCount = new LongAdder() ;
+
+    public AppRedisFailover(AppRedisFailoverConfig config , AppRedisRule failoverRule , Duration timeout){
+        this.config = config ;
+        this.failoverRule = failoverRule ;
+        Duration deadline = config.getDeadline() ;
+        this.deadlineNanos = deadline==null || deadline.isZero() || deadline.isNegative() ?
+                timeout.toNanos() * 2 : deadline.toNanos() ;
+        this.creditPerCommand = Math.round( Math.min( 1 , Math.max( 0 , config.getBudget() ) ) * RETRY_COST ) ;
+    }
+
+    /**
+     * 幂等命令开始执行，积累预算
+     * @return 命令的截止时间，单位纳秒
+     */
+    public long start(){
+        if( credits.get() < RETRY_COST * MAX_BURST ){
+            credits.addAndGet( creditPerCommand ) ;
+        }
+        return System.nanoTime() + deadlineNanos ;
+    }
+
+    /**
+     * 失败的命令是否可以重试：未超过重试次数和截止时间，并且是连接断开、超时等网络异常
+     * @param e 命令的异常
+     * @param retries 已经重试的次数
+     * @param deadline 命令的截止时间
+     * @return
+     */
+    public boolean isRetryable(RuntimeException e , int retries , long deadline){
+        return retries < config.getMaxRetries() && System.nanoTime() - deadline < 0 && isRetryable( e ) ;
+    }
+
+    /**
+     * 是否为可以重试的异常，服务端返回的错误不重试
+     * @param e
+     * @return
+     */
+    protected boolean isRetryable(Throwable e){
+        return isNetworkException( e ) ;
+    }
+
+    /**
+     * 是否为连接断开、连接失败或超时等网络异常，服务端返回的错误不是网络异常
+     * @param e
+     * @return
+     */
+    static boolean isNetworkException(Throwable e){
+        if( e instanceof RedisConnectionFailureException || e instanceof QueryTimeoutException ){
+            return true ;
+        }
+        for (Throwable cause = e ; cause!=null ; cause = cause.getCause() ) {
+            if( cause instanceof RedisCommandExecutionException ){
+                return false ;
+            }
+            if( cause instanceof IOException || cause instanceof ChannelException
+                    || cause instanceof RedisConnectionException ){
+                return true ;
+            }
+            if( cause instanceof RedisException && cause.getMessage()!=null ){
+                for (String message : DISCONNECTED_MESSAGES) {
+                    if( cause.getMessage().startsWith( message ) ){
+                        return true ;
+                    }
+                }
+            }
+        }
+        return false ;
+    }
+
+    /**
+     * 选择与失败主机类型相同、且未失败过的重试主机，重试时消耗一次重试的预算
+     * @param failed 本条命令已经失败或不可用的主机，最后一个为最近的主机
+     * @param retry 是否为失败后的重试，命令发送前换用其他主机时不增加负载，不消耗预算
+     * @return 预算不足或没有其他可用主机时返回null
+     */
+    public AppRedisConnectionFactory choose(List<AppRedisConnectionFactory> failed , boolean retry){
+        if( retry && !withdraw() ){
+            budgetExhaustedCount.increment() ;
+            return null ;
+        }
+        boolean useMaster = failed.get( failed.size() - 1 ).isMaster() ;
+        for (int i = 0; i < MAX_SELECT_COUNT; i++) {
+            AppRedisConnectionFactory connectionFactory = failoverRule.choose( null , useMaster ) ;
+            if( connectionFactory==null ){
+                break;
+            }
+            if( !failed.contains( connectionFactory ) ){
+                if( retry ){
+                    retryCount.increment() ;
+                }
+                return connectionFactory ;
+            }
+        }
+        // 没有可用的重试主机，退回预算
+        if( retry ){
+            credits.addAndGet( RETRY_COST ) ;
+        }
+        return null ;
+    }
+
+    /**
+     * 重试的命令执行成功
+     */
+    public void onRetrySuccess(){
+        retrySuccessCount.increment() ;
+    }
+
+    /**
+     * 消耗一次重试的预算
+     * @return 预算不足时返回false
+     */
+    private boolean withdraw(){
+        long current ;
+        do{
+            current = credits.get() ;
+            if( current < RETRY_COST ){
+                return false ;
+            }
+        }while( !credits.compareAndSet( current , current - RETRY_COST ) ) ;
+        return true ;
+    }
+
+    /**
+     * 获取重试的次数
+     * @return
+     */
+    public long getRetryCount(){
+        return retryCount.sum() ;
+    }
+
+    /**
+     * 获取重试成功的次数
+     * @return
+     */
+    public long getRetrySuccessCount(){
+        return retrySuccessCount.sum() ;
+    }
+
+    /**
+     * 获取因预算不足未重试的次数
+     * @return
+     */
+    public long getBudgetExhaustedCount(){
+        return budgetExhaustedCount.sum() ;
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.rtf.redis.client;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * redis命令故障转移配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisFailoverConfig {
+
+    /**
+     * 是否开启故障转移，默认关闭，只在多个主机时生效
+     */
+    private boolean enabled = false ;
+
+    /**
+     * 一条命令在其他主机上的最大重试次数
+     */
+    private int maxRetries = 2 ;
+
+    /**
+     * 重试占幂等命令的最大比例，避免主机整体故障时重试放大负载
+     */
+    private double budget = 0.1 ;
+
+    /**
+     * 一条命令包括重试在内的最长执行时间，超过后不再重试，为0时使用命令超时时间的2倍，即超时的命令最多重试一次
+     */
+    private Duration deadline = Duration.ZERO ;
+
+}
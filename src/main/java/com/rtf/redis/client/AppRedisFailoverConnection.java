@@ -0,0 +1,1180 @@
+package com.rtf.redis.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metric;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.SortParameters;
+import org.springframework.data.redis.connection.Subscription;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.types.RedisClientInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 支持故障转移的redis连接。
+ * {@link AppRedisCommandTable} 中的幂等命令因网络异常失败时由 {@link AppRedisFailover} 选择另一个主机，换用该主机的连接重试，
+ * 之后的命令也使用新的连接；非幂等命令、阻塞命令、带NX或XX的set、游标、脚本和与主机相关的服务器命令不重试。
+ * 事务、管道、订阅和select命令固定当前连接，之后所有命令都不再故障转移。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisFailoverConnection implements RedisConnection {
+
+    private final AppRedisDynamicConnectionFactory dynamicConnectionFactory ;
+
+    private final AppRedisFailover failover ;
+
+    /**
+     * 当前连接所在主机的连接工厂
+     */
+    private AppRedisConnectionFactory connectionFactory ;
+
+    /**
+     * 当前使用的连接
+     */
+    private RedisConnection connection ;
+
+    /**
+     * 是否固定使用当前连接
+     */
+    private boolean pinned = false ;
+
+    private boolean closed = false ;
+
+    public AppRedisFailoverConnection(AppRedisDynamicConnectionFactory dynamicConnectionFactory , AppRedisFailover failover){
+        this.dynamicConnectionFactory = dynamicConnectionFactory ;
+        this.failover = failover ;
+        int count = 0 ;
+        while (connection==null && count++ < AppRedisDynamicConnectionFactory.MAX_CONNECTION_RETRY_NUM){
+            AppRedisConnectionFactory appRedisConnectionFactory = dynamicConnectionFactory.getAppRedisRule().choose( null ) ;
+            if( appRedisConnectionFactory==null ){
+                continue;
+            }
+            connection = dynamicConnectionFactory.getConnection( appRedisConnectionFactory ) ;
+            connectionFactory = appRedisConnectionFactory ;
+        }
+        if( connection==null ){
+            throw new RuntimeException("无可用的redis连接") ;
+        }
+    }
+
+    /**
+     * 获取当前连接
+     * @return
+     */
+    protected RedisConnection connection(){
+        return connection ;
+    }
+
+    /**
+     * 后续所有命令固定使用当前连接
+     * @return
+     */
+    protected RedisConnection pin(){
+        pinned = true ;
+        return connection ;
+    }
+
+    /**
+     * 执行命令，{@link AppRedisCommandTable} 中的幂等命令网络异常时在其他主机上重试，其他命令直接在当前连接上执行
+     * @param name 命令方法名
+     * @param command 在指定连接上执行命令的函数
+     * @param <T>
+     * @return
+     */
+    protected <T> T execute(String name , Function<RedisConnection,T> command){
+        RedisConnection redisConnection = connection ;
+        if( pinned || !AppRedisCommandTable.isIdempotent( name )
+                || redisConnection.isPipelined() || redisConnection.isQueueing() ){
+            return command.apply( redisConnection ) ;
+        }
+        long deadline = failover.start() ;
+        List<AppRedisConnectionFactory> failed = null ;
+        int retries = 0 ;
+        // 当前主机的连接已经断开时直接换用其他主机，不等待命令超时
+        if( !connectionFactory.isConnected() ){
+            failed = new ArrayList<>( 2 ) ;
+            failed.add( connectionFactory ) ;
+            RedisConnection retryConnection = failover( failed , false ) ;
+            if( retryConnection==null ){
+                failed = null ;
+            }else{
+                redisConnection = retryConnection ;
+            }
+        }
+        while( true ){
+            try{
+                T result = command.apply( redisConnection ) ;
+                if( retries>0 ){
+                    failover.onRetrySuccess() ;
+                }
+                return result ;
+            }catch( RuntimeException e ){
+                if( !failover.isRetryable( e , retries , deadline ) ){
+                    throw e ;
+                }
+                if( failed==null ){
+                    failed = new ArrayList<>( 2 ) ;
+                }
+                failed.add( connectionFactory ) ;
+                redisConnection = failover( failed , true ) ;
+                if( redisConnection==null ){
+                    throw e ;
+                }
+                retries++ ;
+            }
+        }
+    }
+
+    /**
+     * 选择其他主机并换用该主机的连接，原连接归还至连接池
+     * @param failed 本条命令已经失败或不可用的主机
+     * @param retry 是否为失败后的重试
+     * @return 没有可用的主机时返回null
+     */
+    private RedisConnection failover(List<AppRedisConnectionFactory> failed , boolean retry){
+        AppRedisConnectionFactory retryFactory = failover.choose( failed , retry ) ;
+        if( retryFactory==null ){
+            return null ;
+        }
+        RedisConnection redisConnection = dynamicConnectionFactory.getConnection( retryFactory ) ;
+        if( redisConnection==null ){
+            return null ;
+        }
+        if( retry ){
+            log.warn( "redis主机:{} 命令执行失败, 转移至主机:{} 重试" , connectionFactory.getHostName() , retryFactory.getHostName() ) ;
+        }else{
+            log.debug( "redis主机:{} 连接已断开, 转移至主机:{} 执行命令" , connectionFactory.getHostName() , retryFactory.getHostName() ) ;
+        }
+        close( connection ) ;
+        connection = redisConnection ;
+        connectionFactory = retryFactory ;
+        return redisConnection ;
+    }
+
+    @Override
+    public void close() throws DataAccessException {
+        closed = true ;
+        close( connection ) ;
+    }
+
+    private void close(RedisConnection redisConnection){
+        try{
+            redisConnection.close() ;
+        }catch( Exception e ){
+            log.error( "关闭redis连接异常: {}" , e.getMessage() ) ;
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed ;
+    }
+
+    // ---------------------------------------- RedisConnection
+
+    @Override
+    public List<Object> closePipeline() throws RedisPipelineException {
+        return connection().closePipeline() ;
+    }
+
+    @Override
+    public Object getNativeConnection() {
+        return connection().getNativeConnection() ;
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return connection().getSentinelConnection() ;
+    }
+
+    @Override
+    public boolean isPipelined() {
+        return connection().isPipelined() ;
+    }
+
+    @Override
+    public boolean isQueueing() {
+        return connection().isQueueing() ;
+    }
+
+    @Override
+    public void openPipeline() {
+        pin().openPipeline() ;
+    }
+
+    // ---------------------------------------- RedisKeyCommands
+
+    @Override
+    public Long del(byte[]... keys) {
+        return execute( "del" , connection -> connection.del( keys ) ) ;
+    }
+
+    @Override
+    public byte[] dump(byte[] key) {
+        return execute( "dump" , connection -> connection.dump( key ) ) ;
+    }
+
+    @Override
+    public Boolean exists(byte[] key) {
+        return execute( "exists" , connection -> connection.exists( key ) ) ;
+    }
+
+    @Override
+    public Boolean expire(byte[] key, long seconds) {
+        return execute( "expire" , connection -> connection.expire( key , seconds ) ) ;
+    }
+
+    @Override
+    public Boolean expireAt(byte[] key, long unixTime) {
+        return execute( "expireAt" , connection -> connection.expireAt( key , unixTime ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> keys(byte[] pattern) {
+        return execute( "keys" , connection -> connection.keys( pattern ) ) ;
+    }
+
+    @Override
+    public Boolean move(byte[] key, int dbIndex) {
+        return execute( "move" , connection -> connection.move( key , dbIndex ) ) ;
+    }
+
+    @Override
+    public Boolean pExpire(byte[] key, long millis) {
+        return execute( "pExpire" , connection -> connection.pExpire( key , millis ) ) ;
+    }
+
+    @Override
+    public Boolean pExpireAt(byte[] key, long unixTimeInMillis) {
+        return execute( "pExpireAt" , connection -> connection.pExpireAt( key , unixTimeInMillis ) ) ;
+    }
+
+    @Override
+    public Long pTtl(byte[] key) {
+        return execute( "pTtl" , connection -> connection.pTtl( key ) ) ;
+    }
+
+    @Override
+    public Long pTtl(byte[] key, TimeUnit timeUnit) {
+        return execute( "pTtl" , connection -> connection.pTtl( key , timeUnit ) ) ;
+    }
+
+    @Override
+    public Boolean persist(byte[] key) {
+        return execute( "persist" , connection -> connection.persist( key ) ) ;
+    }
+
+    @Override
+    public byte[] randomKey() {
+        return execute( "randomKey" , connection -> connection.randomKey() ) ;
+    }
+
+    @Override
+    public void rename(byte[] sourceKey, byte[] targetKey) {
+        execute( "rename" , connection -> {
+            connection.rename( sourceKey , targetKey ) ;
+            return null ;
+        } ) ;
+    }
+
+    @Override
+    public Boolean renameNX(byte[] sourceKey, byte[] targetKey) {
+        return execute( "renameNX" , connection -> connection.renameNX( sourceKey , targetKey ) ) ;
+    }
+
+    @Override
+    public void restore(byte[] key, long ttlInMillis, byte[] serializedValue) {
+        execute( "restore" , connection -> {
+            connection.restore( key , ttlInMillis , serializedValue ) ;
+            return null ;
+        } ) ;
+    }
+
+    @Override
+    public Cursor<byte[]> scan(ScanOptions options) {
+        return connection().scan( options ) ;
+    }
+
+    @Override
+    public List<byte[]> sort(byte[] key, SortParameters params) {
+        return execute( "sort" , connection -> connection.sort( key , params ) ) ;
+    }
+
+    @Override
+    public Long sort(byte[] key, SortParameters params, byte[] sortKey) {
+        return execute( "sort" , connection -> connection.sort( key , params , sortKey ) ) ;
+    }
+
+    @Override
+    public Long ttl(byte[] key) {
+        return execute( "ttl" , connection -> connection.ttl( key ) ) ;
+    }
+
+    @Override
+    public Long ttl(byte[] key, TimeUnit timeUnit) {
+        return execute( "ttl" , connection -> connection.ttl( key , timeUnit ) ) ;
+    }
+
+    @Override
+    public DataType type(byte[] pattern) {
+        return execute( "type" , connection -> connection.type( pattern ) ) ;
+    }
+
+    // ---------------------------------------- RedisStringCommands
+
+    @Override
+    public Long append(byte[] key, byte[] value) {
+        return execute( "append" , connection -> connection.append( key , value ) ) ;
+    }
+
+    @Override
+    public Long bitCount(byte[] key) {
+        return execute( "bitCount" , connection -> connection.bitCount( key ) ) ;
+    }
+
+    @Override
+    public Long bitCount(byte[] key, long start, long end) {
+        return execute( "bitCount" , connection -> connection.bitCount( key , start , end ) ) ;
+    }
+
+    @Override
+    public Long bitOp(RedisStringCommands.BitOperation op, byte[] destination, byte[]... keys) {
+        return execute( "bitOp" , connection -> connection.bitOp( op , destination , keys ) ) ;
+    }
+
+    @Override
+    public Long decr(byte[] key) {
+        return execute( "decr" , connection -> connection.decr( key ) ) ;
+    }
+
+    @Override
+    public Long decrBy(byte[] key, long value) {
+        return execute( "decrBy" , connection -> connection.decrBy( key , value ) ) ;
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        return execute( "get" , connection -> connection.get( key ) ) ;
+    }
+
+    @Override
+    public Boolean getBit(byte[] key, long offset) {
+        return execute( "getBit" , connection -> connection.getBit( key , offset ) ) ;
+    }
+
+    @Override
+    public byte[] getRange(byte[] key, long start, long end) {
+        return execute( "getRange" , connection -> connection.getRange( key , start , end ) ) ;
+    }
+
+    @Override
+    public byte[] getSet(byte[] key, byte[] value) {
+        return execute( "getSet" , connection -> connection.getSet( key , value ) ) ;
+    }
+
+    @Override
+    public Long incr(byte[] key) {
+        return execute( "incr" , connection -> connection.incr( key ) ) ;
+    }
+
+    @Override
+    public Double incrBy(byte[] key, double value) {
+        return execute( "incrBy" , connection -> connection.incrBy( key , value ) ) ;
+    }
+
+    @Override
+    public Long incrBy(byte[] key, long value) {
+        return execute( "incrBy" , connection -> connection.incrBy( key , value ) ) ;
+    }
+
+    @Override
+    public List<byte[]> mGet(byte[]... keys) {
+        return execute( "mGet" , connection -> connection.mGet( keys ) ) ;
+    }
+
+    @Override
+    public Boolean mSet(Map<byte[], byte[]> tuple) {
+        return execute( "mSet" , connection -> connection.mSet( tuple ) ) ;
+    }
+
+    @Override
+    public Boolean mSetNX(Map<byte[], byte[]> tuple) {
+        return execute( "mSetNX" , connection -> connection.mSetNX( tuple ) ) ;
+    }
+
+    @Override
+    public Boolean pSetEx(byte[] key, long milliseconds, byte[] value) {
+        return execute( "pSetEx" , connection -> connection.pSetEx( key , milliseconds , value ) ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value) {
+        return execute( "set" , connection -> connection.set( key , value ) ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value, Expiration expiration, RedisStringCommands.SetOption option) {
+        // NX和XX是条件写入，第一次执行可能已经成功，重试会返回false，只有UPSERT可以重试
+        if( option!=null && option!=RedisStringCommands.SetOption.UPSERT ){
+            return connection().set( key , value , expiration , option ) ;
+        }
+        return execute( "set" , connection -> connection.set( key , value , expiration , option ) ) ;
+    }
+
+    @Override
+    public Boolean setBit(byte[] key, long offset, boolean value) {
+        return execute( "setBit" , connection -> connection.setBit( key , offset , value ) ) ;
+    }
+
+    @Override
+    public Boolean setEx(byte[] key, long seconds, byte[] value) {
+        return execute( "setEx" , connection -> connection.setEx( key , seconds , value ) ) ;
+    }
+
+    @Override
+    public Boolean setNX(byte[] key, byte[] value) {
+        return execute( "setNX" , connection -> connection.setNX( key , value ) ) ;
+    }
+
+    @Override
+    public void setRange(byte[] key, byte[] value, long offset) {
+        execute( "setRange" , connection -> {
+            connection.setRange( key , value , offset ) ;
+            return null ;
+        } ) ;
+    }
+
+    @Override
+    public Long strLen(byte[] key) {
+        return execute( "strLen" , connection -> connection.strLen( key ) ) ;
+    }
+
+    // ---------------------------------------- RedisListCommands
+
+    @Override
+    public List<byte[]> bLPop(int timeout, byte[]... keys) {
+        return execute( "bLPop" , connection -> connection.bLPop( timeout , keys ) ) ;
+    }
+
+    @Override
+    public List<byte[]> bRPop(int timeout, byte[]... keys) {
+        return execute( "bRPop" , connection -> connection.bRPop( timeout , keys ) ) ;
+    }
+
+    @Override
+    public byte[] bRPopLPush(int timeout, byte[] srcKey, byte[] dstKey) {
+        return execute( "bRPopLPush" , connection -> connection.bRPopLPush( timeout , srcKey , dstKey ) ) ;
+    }
+
+    @Override
+    public byte[] lIndex(byte[] key, long index) {
+        return execute( "lIndex" , connection -> connection.lIndex( key , index ) ) ;
+    }
+
+    @Override
+    public Long lInsert(byte[] key, RedisListCommands.Position where, byte[] pivot, byte[] value) {
+        return execute( "lInsert" , connection -> connection.lInsert( key , where , pivot , value ) ) ;
+    }
+
+    @Override
+    public Long lLen(byte[] key) {
+        return execute( "lLen" , connection -> connection.lLen( key ) ) ;
+    }
+
+    @Override
+    public byte[] lPop(byte[] key) {
+        return execute( "lPop" , connection -> connection.lPop( key ) ) ;
+    }
+
+    @Override
+    public Long lPush(byte[] key, byte[]... values) {
+        return execute( "lPush" , connection -> connection.lPush( key , values ) ) ;
+    }
+
+    @Override
+    public Long lPushX(byte[] key, byte[] value) {
+        return execute( "lPushX" , connection -> connection.lPushX( key , value ) ) ;
+    }
+
+    @Override
+    public List<byte[]> lRange(byte[] key, long start, long end) {
+        return execute( "lRange" , connection -> connection.lRange( key , start , end ) ) ;
+    }
+
+    @Override
+    public Long lRem(byte[] key, long count, byte[] value) {
+        return execute( "lRem" , connection -> connection.lRem( key , count , value ) ) ;
+    }
+
+    @Override
+    public void lSet(byte[] key, long index, byte[] value) {
+        execute( "lSet" , connection -> {
+            connection.lSet( key , index , value ) ;
+            return null ;
+        } ) ;
+    }
+
+    @Override
+    public void lTrim(byte[] key, long start, long end) {
+        execute( "lTrim" , connection -> {
+            connection.lTrim( key , start , end ) ;
+            return null ;
+        } ) ;
+    }
+
+    @Override
+    public byte[] rPop(byte[] key) {
+        return execute( "rPop" , connection -> connection.rPop( key ) ) ;
+    }
+
+    @Override
+    public byte[] rPopLPush(byte[] srcKey, byte[] dstKey) {
+        return execute( "rPopLPush" , connection -> connection.rPopLPush( srcKey , dstKey ) ) ;
+    }
+
+    @Override
+    public Long rPush(byte[] key, byte[]... values) {
+        return execute( "rPush" , connection -> connection.rPush( key , values ) ) ;
+    }
+
+    @Override
+    public Long rPushX(byte[] key, byte[] value) {
+        return execute( "rPushX" , connection -> connection.rPushX( key , value ) ) ;
+    }
+
+    // ---------------------------------------- RedisSetCommands
+
+    @Override
+    public Long sAdd(byte[] key, byte[]... values) {
+        return execute( "sAdd" , connection -> connection.sAdd( key , values ) ) ;
+    }
+
+    @Override
+    public Long sCard(byte[] key) {
+        return execute( "sCard" , connection -> connection.sCard( key ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> sDiff(byte[]... keys) {
+        return execute( "sDiff" , connection -> connection.sDiff( keys ) ) ;
+    }
+
+    @Override
+    public Long sDiffStore(byte[] destKey, byte[]... keys) {
+        return execute( "sDiffStore" , connection -> connection.sDiffStore( destKey , keys ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> sInter(byte[]... keys) {
+        return execute( "sInter" , connection -> connection.sInter( keys ) ) ;
+    }
+
+    @Override
+    public Long sInterStore(byte[] destKey, byte[]... keys) {
+        return execute( "sInterStore" , connection -> connection.sInterStore( destKey , keys ) ) ;
+    }
+
+    @Override
+    public Boolean sIsMember(byte[] key, byte[] value) {
+        return execute( "sIsMember" , connection -> connection.sIsMember( key , value ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> sMembers(byte[] key) {
+        return execute( "sMembers" , connection -> connection.sMembers( key ) ) ;
+    }
+
+    @Override
+    public Boolean sMove(byte[] srcKey, byte[] destKey, byte[] value) {
+        return execute( "sMove" , connection -> connection.sMove( srcKey , destKey , value ) ) ;
+    }
+
+    @Override
+    public byte[] sPop(byte[] key) {
+        return execute( "sPop" , connection -> connection.sPop( key ) ) ;
+    }
+
+    @Override
+    public List<byte[]> sPop(byte[] key, long count) {
+        return execute( "sPop" , connection -> connection.sPop( key , count ) ) ;
+    }
+
+    @Override
+    public byte[] sRandMember(byte[] key) {
+        return execute( "sRandMember" , connection -> connection.sRandMember( key ) ) ;
+    }
+
+    @Override
+    public List<byte[]> sRandMember(byte[] key, long count) {
+        return execute( "sRandMember" , connection -> connection.sRandMember( key , count ) ) ;
+    }
+
+    @Override
+    public Long sRem(byte[] key, byte[]... values) {
+        return execute( "sRem" , connection -> connection.sRem( key , values ) ) ;
+    }
+
+    @Override
+    public Cursor<byte[]> sScan(byte[] key, ScanOptions options) {
+        return connection().sScan( key , options ) ;
+    }
+
+    @Override
+    public Set<byte[]> sUnion(byte[]... keys) {
+        return execute( "sUnion" , connection -> connection.sUnion( keys ) ) ;
+    }
+
+    @Override
+    public Long sUnionStore(byte[] destKey, byte[]... keys) {
+        return execute( "sUnionStore" , connection -> connection.sUnionStore( destKey , keys ) ) ;
+    }
+
+    // ---------------------------------------- RedisZSetCommands
+
+    @Override
+    public Long zAdd(byte[] key, Set<RedisZSetCommands.Tuple> tuples) {
+        return execute( "zAdd" , connection -> connection.zAdd( key , tuples ) ) ;
+    }
+
+    @Override
+    public Boolean zAdd(byte[] key, double score, byte[] value) {
+        return execute( "zAdd" , connection -> connection.zAdd( key , score , value ) ) ;
+    }
+
+    @Override
+    public Long zCard(byte[] key) {
+        return execute( "zCard" , connection -> connection.zCard( key ) ) ;
+    }
+
+    @Override
+    public Long zCount(byte[] key, RedisZSetCommands.Range range) {
+        return execute( "zCount" , connection -> connection.zCount( key , range ) ) ;
+    }
+
+    @Override
+    public Double zIncrBy(byte[] key, double increment, byte[] value) {
+        return execute( "zIncrBy" , connection -> connection.zIncrBy( key , increment , value ) ) ;
+    }
+
+    @Override
+    public Long zInterStore(byte[] destKey, byte[]... sets) {
+        return execute( "zInterStore" , connection -> connection.zInterStore( destKey , sets ) ) ;
+    }
+
+    @Override
+    public Long zInterStore(byte[] destKey, RedisZSetCommands.Aggregate aggregate, int[] weights, byte[]... sets) {
+        return execute( "zInterStore" , connection -> connection.zInterStore( destKey , aggregate , weights , sets ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRange(byte[] key, long start, long end) {
+        return execute( "zRange" , connection -> connection.zRange( key , start , end ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByLex(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return execute( "zRangeByLex" , connection -> connection.zRangeByLex( key , range , limit ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByScore(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return execute( "zRangeByScore" , connection -> connection.zRangeByScore( key , range , limit ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByScore(byte[] key, String min, String max, long offset, long count) {
+        return execute( "zRangeByScore" , connection -> connection.zRangeByScore( key , min , max , offset , count ) ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRangeByScoreWithScores(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return execute( "zRangeByScoreWithScores" , connection -> connection.zRangeByScoreWithScores( key , range , limit ) ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRangeWithScores(byte[] key, long start, long end) {
+        return execute( "zRangeWithScores" , connection -> connection.zRangeWithScores( key , start , end ) ) ;
+    }
+
+    @Override
+    public Long zRank(byte[] key, byte[] value) {
+        return execute( "zRank" , connection -> connection.zRank( key , value ) ) ;
+    }
+
+    @Override
+    public Long zRem(byte[] key, byte[]... values) {
+        return execute( "zRem" , connection -> connection.zRem( key , values ) ) ;
+    }
+
+    @Override
+    public Long zRemRange(byte[] key, long start, long end) {
+        return execute( "zRemRange" , connection -> connection.zRemRange( key , start , end ) ) ;
+    }
+
+    @Override
+    public Long zRemRangeByScore(byte[] key, RedisZSetCommands.Range range) {
+        return execute( "zRemRangeByScore" , connection -> connection.zRemRangeByScore( key , range ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRevRange(byte[] key, long start, long end) {
+        return execute( "zRevRange" , connection -> connection.zRevRange( key , start , end ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRevRangeByScore(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return execute( "zRevRangeByScore" , connection -> connection.zRevRangeByScore( key , range , limit ) ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRevRangeByScoreWithScores(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return execute( "zRevRangeByScoreWithScores" , connection -> connection.zRevRangeByScoreWithScores( key , range , limit ) ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRevRangeWithScores(byte[] key, long start, long end) {
+        return execute( "zRevRangeWithScores" , connection -> connection.zRevRangeWithScores( key , start , end ) ) ;
+    }
+
+    @Override
+    public Long zRevRank(byte[] key, byte[] value) {
+        return execute( "zRevRank" , connection -> connection.zRevRank( key , value ) ) ;
+    }
+
+    @Override
+    public Cursor<RedisZSetCommands.Tuple> zScan(byte[] key, ScanOptions options) {
+        return connection().zScan( key , options ) ;
+    }
+
+    @Override
+    public Double zScore(byte[] key, byte[] value) {
+        return execute( "zScore" , connection -> connection.zScore( key , value ) ) ;
+    }
+
+    @Override
+    public Long zUnionStore(byte[] destKey, byte[]... sets) {
+        return execute( "zUnionStore" , connection -> connection.zUnionStore( destKey , sets ) ) ;
+    }
+
+    @Override
+    public Long zUnionStore(byte[] destKey, RedisZSetCommands.Aggregate aggregate, int[] weights, byte[]... sets) {
+        return execute( "zUnionStore" , connection -> connection.zUnionStore( destKey , aggregate , weights , sets ) ) ;
+    }
+
+    // ---------------------------------------- RedisHashCommands
+
+    @Override
+    public Long hDel(byte[] key, byte[]... fields) {
+        return execute( "hDel" , connection -> connection.hDel( key , fields ) ) ;
+    }
+
+    @Override
+    public Boolean hExists(byte[] key, byte[] field) {
+        return execute( "hExists" , connection -> connection.hExists( key , field ) ) ;
+    }
+
+    @Override
+    public byte[] hGet(byte[] key, byte[] field) {
+        return execute( "hGet" , connection -> connection.hGet( key , field ) ) ;
+    }
+
+    @Override
+    public Map<byte[], byte[]> hGetAll(byte[] key) {
+        return execute( "hGetAll" , connection -> connection.hGetAll( key ) ) ;
+    }
+
+    @Override
+    public Double hIncrBy(byte[] key, byte[] field, double delta) {
+        return execute( "hIncrBy" , connection -> connection.hIncrBy( key , field , delta ) ) ;
+    }
+
+    @Override
+    public Long hIncrBy(byte[] key, byte[] field, long delta) {
+        return execute( "hIncrBy" , connection -> connection.hIncrBy( key , field , delta ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> hKeys(byte[] key) {
+        return execute( "hKeys" , connection -> connection.hKeys( key ) ) ;
+    }
+
+    @Override
+    public Long hLen(byte[] key) {
+        return execute( "hLen" , connection -> connection.hLen( key ) ) ;
+    }
+
+    @Override
+    public List<byte[]> hMGet(byte[] key, byte[]... fields) {
+        return execute( "hMGet" , connection -> connection.hMGet( key , fields ) ) ;
+    }
+
+    @Override
+    public void hMSet(byte[] key, Map<byte[], byte[]> hashes) {
+        execute( "hMSet" , connection -> {
+            connection.hMSet( key , hashes ) ;
+            return null ;
+        } ) ;
+    }
+
+    @Override
+    public Cursor<Map.Entry<byte[], byte[]>> hScan(byte[] key, ScanOptions options) {
+        return connection().hScan( key , options ) ;
+    }
+
+    @Override
+    public Boolean hSet(byte[] key, byte[] field, byte[] value) {
+        return execute( "hSet" , connection -> connection.hSet( key , field , value ) ) ;
+    }
+
+    @Override
+    public Boolean hSetNX(byte[] key, byte[] field, byte[] value) {
+        return execute( "hSetNX" , connection -> connection.hSetNX( key , field , value ) ) ;
+    }
+
+    @Override
+    public List<byte[]> hVals(byte[] key) {
+        return execute( "hVals" , connection -> connection.hVals( key ) ) ;
+    }
+
+    // ---------------------------------------- RedisTxCommands
+
+    @Override
+    public void discard() {
+        connection().discard() ;
+    }
+
+    @Override
+    public List<Object> exec() {
+        return connection().exec() ;
+    }
+
+    @Override
+    public void multi() {
+        pin().multi() ;
+    }
+
+    @Override
+    public void unwatch() {
+        connection().unwatch() ;
+    }
+
+    @Override
+    public void watch(byte[]... keys) {
+        pin().watch( keys ) ;
+    }
+
+    // ---------------------------------------- RedisPubSubCommands
+
+    @Override
+    public Subscription getSubscription() {
+        return connection().getSubscription() ;
+    }
+
+    @Override
+    public boolean isSubscribed() {
+        return connection().isSubscribed() ;
+    }
+
+    @Override
+    public void pSubscribe(MessageListener listener, byte[]... patterns) {
+        pin().pSubscribe( listener , patterns ) ;
+    }
+
+    @Override
+    public Long publish(byte[] channel, byte[] message) {
+        return connection().publish( channel , message ) ;
+    }
+
+    @Override
+    public void subscribe(MessageListener listener, byte[]... channels) {
+        pin().subscribe( listener , channels ) ;
+    }
+
+    // ---------------------------------------- RedisConnectionCommands
+
+    @Override
+    public byte[] echo(byte[] message) {
+        return execute( "echo" , connection -> connection.echo( message ) ) ;
+    }
+
+    @Override
+    public String ping() {
+        return execute( "ping" , connection -> connection.ping() ) ;
+    }
+
+    @Override
+    public void select(int dbIndex) {
+        pin().select( dbIndex ) ;
+    }
+
+    // ---------------------------------------- RedisServerCommands
+
+    @Override
+    public void bgReWriteAof() {
+        connection().bgReWriteAof() ;
+    }
+
+    @Override
+    public void bgSave() {
+        connection().bgSave() ;
+    }
+
+    @Override
+    public Long dbSize() {
+        return connection().dbSize() ;
+    }
+
+    @Override
+    public void flushAll() {
+        connection().flushAll() ;
+    }
+
+    @Override
+    public void flushDb() {
+        connection().flushDb() ;
+    }
+
+    @Override
+    public List<RedisClientInfo> getClientList() {
+        return connection().getClientList() ;
+    }
+
+    @Override
+    public String getClientName() {
+        return connection().getClientName() ;
+    }
+
+    @Override
+    public Properties getConfig(String pattern) {
+        return connection().getConfig( pattern ) ;
+    }
+
+    @Override
+    public Properties info() {
+        return connection().info() ;
+    }
+
+    @Override
+    public Properties info(String section) {
+        return connection().info( section ) ;
+    }
+
+    @Override
+    public void killClient(String host, int port) {
+        connection().killClient( host , port ) ;
+    }
+
+    @Override
+    public Long lastSave() {
+        return connection().lastSave() ;
+    }
+
+    @Override
+    public void migrate(byte[] key, RedisNode target, int dbIndex, RedisServerCommands.MigrateOption option) {
+        connection().migrate( key , target , dbIndex , option ) ;
+    }
+
+    @Override
+    public void migrate(byte[] key, RedisNode target, int dbIndex, RedisServerCommands.MigrateOption option, long timeout) {
+        connection().migrate( key , target , dbIndex , option , timeout ) ;
+    }
+
+    @Override
+    public void resetConfigStats() {
+        connection().resetConfigStats() ;
+    }
+
+    @Override
+    public void save() {
+        connection().save() ;
+    }
+
+    @Override
+    public void setClientName(byte[] name) {
+        connection().setClientName( name ) ;
+    }
+
+    @Override
+    public void setConfig(String param, String value) {
+        connection().setConfig( param , value ) ;
+    }
+
+    @Override
+    public void shutdown() {
+        connection().shutdown() ;
+    }
+
+    @Override
+    public void shutdown(RedisServerCommands.ShutdownOption option) {
+        connection().shutdown( option ) ;
+    }
+
+    @Override
+    public void slaveOf(String host, int port) {
+        connection().slaveOf( host , port ) ;
+    }
+
+    @Override
+    public void slaveOfNoOne() {
+        connection().slaveOfNoOne() ;
+    }
+
+    @Override
+    public Long time() {
+        return connection().time() ;
+    }
+
+    // ---------------------------------------- RedisScriptingCommands
+
+    @Override
+    public <T> T eval(byte[] script, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return connection().eval( script , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public <T> T evalSha(byte[] scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return connection().evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public <T> T evalSha(String scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return connection().evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public List<Boolean> scriptExists(String... scriptShas) {
+        return execute( "scriptExists" , connection -> connection.scriptExists( scriptShas ) ) ;
+    }
+
+    @Override
+    public void scriptFlush() {
+        connection().scriptFlush() ;
+    }
+
+    @Override
+    public void scriptKill() {
+        connection().scriptKill() ;
+    }
+
+    @Override
+    public String scriptLoad(byte[] script) {
+        return connection().scriptLoad( script ) ;
+    }
+
+    // ---------------------------------------- RedisGeoCommands
+
+    @Override
+    public Long geoAdd(byte[] key, Iterable<RedisGeoCommands.GeoLocation<byte[]>> locations) {
+        return execute( "geoAdd" , connection -> connection.geoAdd( key , locations ) ) ;
+    }
+
+    @Override
+    public Long geoAdd(byte[] key, Map<byte[], Point> memberCoordinateMap) {
+        return execute( "geoAdd" , connection -> connection.geoAdd( key , memberCoordinateMap ) ) ;
+    }
+
+    @Override
+    public Long geoAdd(byte[] key, Point point, byte[] member) {
+        return execute( "geoAdd" , connection -> connection.geoAdd( key , point , member ) ) ;
+    }
+
+    @Override
+    public Distance geoDist(byte[] key, byte[] member1, byte[] member2) {
+        return execute( "geoDist" , connection -> connection.geoDist( key , member1 , member2 ) ) ;
+    }
+
+    @Override
+    public Distance geoDist(byte[] key, byte[] member1, byte[] member2, Metric metric) {
+        return execute( "geoDist" , connection -> connection.geoDist( key , member1 , member2 , metric ) ) ;
+    }
+
+    @Override
+    public List<String> geoHash(byte[] key, byte[]... members) {
+        return execute( "geoHash" , connection -> connection.geoHash( key , members ) ) ;
+    }
+
+    @Override
+    public List<Point> geoPos(byte[] key, byte[]... members) {
+        return execute( "geoPos" , connection -> connection.geoPos( key , members ) ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadius(byte[] key, Circle within) {
+        return execute( "geoRadius" , connection -> connection.geoRadius( key , within ) ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadius(byte[] key, Circle within, RedisGeoCommands.GeoRadiusCommandArgs args) {
+        return execute( "geoRadius" , connection -> connection.geoRadius( key , within , args ) ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadiusByMember(byte[] key, byte[] member, Distance radius) {
+        return execute( "geoRadiusByMember" , connection -> connection.geoRadiusByMember( key , member , radius ) ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadiusByMember(byte[] key, byte[] member, Distance radius, RedisGeoCommands.GeoRadiusCommandArgs args) {
+        return execute( "geoRadiusByMember" , connection -> connection.geoRadiusByMember( key , member , radius , args ) ) ;
+    }
+
+    @Override
+    public Long geoRemove(byte[] key, byte[]... members) {
+        return execute( "geoRemove" , connection -> connection.geoRemove( key , members ) ) ;
+    }
+
+    // ---------------------------------------- RedisHyperLogLogCommands
+
+    @Override
+    public Long pfAdd(byte[] key, byte[]... values) {
+        return execute( "pfAdd" , connection -> connection.pfAdd( key , values ) ) ;
+    }
+
+    @Override
+    public Long pfCount(byte[]... keys) {
+        return execute( "pfCount" , connection -> connection.pfCount( keys ) ) ;
+    }
+
+    @Override
+    public void pfMerge(byte[] destinationKey, byte[]... sourceKeys) {
+        execute( "pfMerge" , connection -> {
+            connection.pfMerge( destinationKey , sourceKeys ) ;
+            return null ;
+        } ) ;
+    }
+
+    // ---------------------------------------- RedisCommands
+
+    @Override
+    public Object execute(String command, byte[]... args) {
+        return connection().execute( command , args ) ;
+    }
+
+}
@@ -0,0 +1,374 @@
+package com.rtf.redis.client;
+
+import com.google.common.collect.Maps;
+import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import com.rtf.redis.client.lb.AppRedisLatencyHistogram;
+import com.rtf.redis.client.lb.AppRedisRule;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.lettuce.LettuceConverters;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * redis对冲读。
+ * 只读命令在所选主机的共享连接上异步执行，超过该主机最近一段时间耗时的百分位仍未返回时，
+ * 使用轮询规则选择另一个主机发送相同的命令，先成功返回的结果生效，较慢的命令不取消，照常记录耗时和断路器状态。
+ * 每条读命令积累一定的预算，一次对冲消耗1，对冲请求占读命令的比例不超过配置的预算。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisHedgedRead {
+
+    private static final AppRedisCommandFamily[] FAMILIES = AppRedisCommandFamily.values() ;
+
+    /**
+     * 计算耗时百分位需要的最少样本数，样本不足时继续累计
+     */
+    private static final long MIN_SAMPLES = 100 ;
+
+    /**
+     * 一次对冲消耗的预算
+     */
+    private static final long HEDGE_COST = 1000 ;
+
+    /**
+     * 预算的最大积累，即最多允许连续对冲的次数
+     */
+    private static final long MAX_BURST = 10 ;
+
+    /**
+     * 选择对冲主机的最大次数
+     */
+    private static final int MAX_SELECT_COUNT = 3 ;
+
+    @Getter
+    private final AppRedisHedgedReadConfig config ;
+
+    /**
+     * 选择对冲主机的规则
+     */
+    private final AppRedisRule hedgeRule ;
+
+    private final long timeoutNanos ;
+
+    private final long minDelayNanos ;
+
+    private final long refreshNanos ;
+
+    /**
+     * 每条读命令积累的预算
+     */
+    private final long creditPerRead ;
+
+    private final AtomicLong credits = new AtomicLong(0) ;
+
+    /**
+     * 各主机的对冲等待时间
+     */
+    private final Map<String,Delays> delays = Maps.newConcurrentMap() ;
+
+    private final LongAdder hedgeCount = new LongAdder() ;
+
+    private final LongAdder hedgeWinCount = new LongAdder() ;
+
+    private final LongAdder budgetExhaustedCount = new LongAdder() ;
+
+    public AppRedisHedgedRead(AppRedisHedgedReadConfig config , AppRedisRule hedgeRule , Duration timeout){
+        this.config = config ;
+        this.hedgeRule = hedgeRule ;
+        this.timeoutNanos = timeout.toNanos() ;
+        this.minDelayNanos = Math.max( 0 , config.getMinDelay().toNanos() ) ;
+        this.refreshNanos = Math.max( 1 , config.getRefreshInterval().toNanos() ) ;
+        this.creditPerRead = Math.round( Math.min( 1 , Math.max( 0 , config.getBudget() ) ) * HEDGE_COST ) ;
+    }
+
+    /**
+     * 主机是否可以执行对冲读，需要使用共享的原生连接
+     * @param connectionFactory
+     * @return
+     */
+    public boolean isSupported(AppRedisConnectionFactory connectionFactory){
+        return connectionFactory.getShareNativeConnection() ;
+    }
+
+    /**
+     * 执行只读命令，超过等待时间未返回时向另一个主机发送相同的命令
+     * @param connectionFactory 首选的主机
+     * @param family 命令分类
+     * @param command 命令名称
+     * @param key 命令的key，用于热点检测
+     * @param call 写入命令的函数，只能写入一条只读命令
+     * @param <T>
+     * @return
+     */
+    public <T> T execute(AppRedisConnectionFactory connectionFactory , AppRedisCommandFamily family , String command ,
+                         byte[] key , Function<RedisAsyncCommands<byte[],byte[]>,RedisFuture<T>> call){
+        deposit() ;
+        long startNanos = System.nanoTime() ;
+        CompletableFuture<T> primary = send( connectionFactory , family , command , key , call ) ;
+        try{
+            long delayNanos = getDelayNanos( connectionFactory.getHostStats() , family ) ;
+            if( delayNanos > 0 ){
+                try{
+                    return primary.get( delayNanos , TimeUnit.NANOSECONDS ) ;
+                }catch( TimeoutException e ){
+                    // 超过等待时间，尝试对冲
+                }
+                AppRedisConnectionFactory hedgeFactory = chooseHedge( connectionFactory ) ;
+                if( hedgeFactory!=null ){
+                    hedgeCount.increment() ;
+                    CompletableFuture<T> hedge = send( hedgeFactory , family , command , key , call ) ;
+                    primary = firstSuccess( primary , hedge ) ;
+                }
+            }
+            return primary.get( Math.max( 0 , timeoutNanos - ( System.nanoTime() - startNanos ) ) , TimeUnit.NANOSECONDS ) ;
+        }catch( ExecutionException e ){
+            throw convert( e.getCause() ) ;
+        }catch( TimeoutException e ){
+            throw convert( new RedisCommandTimeoutException( "Command timed out" ) ) ;
+        }catch( InterruptedException e ){
+            Thread.currentThread().interrupt() ;
+            throw convert( e ) ;
+        }
+    }
+
+    /**
+     * 在主机的共享连接上发送命令，命令结束时记录耗时和断路器状态
+     * @param connectionFactory
+     * @param family
+     * @param command
+     * @param key
+     * @param call
+     * @param <T>
+     * @return
+     */
+    private <T> CompletableFuture<T> send(AppRedisConnectionFactory connectionFactory , AppRedisCommandFamily family ,
+                                          String command , byte[] key ,
+                                          Function<RedisAsyncCommands<byte[],byte[]>,RedisFuture<T>> call){
+        AppRedisHostStats hostStats = connectionFactory.getHostStats() ;
+        AppRedisCircuitBreaker circuitBreaker = connectionFactory.getCircuitBreaker() ;
+        long startNanos = hostStats.start( key ) ;
+        RedisFuture<T> future ;
+        try{
+            future = call.apply( connectionFactory.getSharedNativeConnection().async() ) ;
+        }catch( RuntimeException e ){
+            circuitBreaker.onError( hostStats.complete( family , startNanos ) ) ;
+            throw convert( e ) ;
+        }
+        future.whenComplete( ( result , e ) -> {
+            long durationNanos = hostStats.complete( family , startNanos ) ;
+            if( e==null ){
+                circuitBreaker.onSuccess( durationNanos ) ;
+            }else{
+                log.error( "redis主机:{} 中命令 {} 执行异常, {}" , connectionFactory.getHostName() , command , e.getMessage() ) ;
+                circuitBreaker.onError( durationNanos ) ;
+            }
+        } ) ;
+        return future.toCompletableFuture() ;
+    }
+
+    /**
+     * 两个命令中先成功的结果，都失败时返回后失败的异常
+     * @param primary
+     * @param hedge
+     * @param <T>
+     * @return
+     */
+    private <T> CompletableFuture<T> firstSuccess(CompletableFuture<T> primary , CompletableFuture<T> hedge){
+        CompletableFuture<T> winner = new CompletableFuture<>() ;
+        AtomicInteger failures = new AtomicInteger(0) ;
+        primary.whenComplete( ( result , e ) -> complete( winner , failures , result , e , false ) ) ;
+        hedge.whenComplete( ( result , e ) -> complete( winner , failures , result , e , true ) ) ;
+        return winner ;
+    }
+
+    private <T> void complete(CompletableFuture<T> winner , AtomicInteger failures , T result , Throwable e , boolean hedge){
+        if( e==null ){
+            if( winner.complete( result ) && hedge ){
+                hedgeWinCount.increment() ;
+            }
+        }else if( failures.incrementAndGet()==2 ){
+            winner.completeExceptionally( e ) ;
+        }
+    }
+
+    /**
+     * 选择与首选主机不同的对冲主机，并消耗一次对冲的预算
+     * @param primary
+     * @return 预算不足或没有其他可用主机时返回null
+     */
+    private AppRedisConnectionFactory chooseHedge(AppRedisConnectionFactory primary){
+        if( !withdraw() ){
+            budgetExhaustedCount.increment() ;
+            return null ;
+        }
+        for (int i = 0; i < MAX_SELECT_COUNT; i++) {
+            AppRedisConnectionFactory connectionFactory = hedgeRule.choose( null ) ;
+            if( connectionFactory==null ){
+                break;
+            }
+            if( connectionFactory!=primary && isSupported( connectionFactory ) ){
+                return connectionFactory ;
+            }
+        }
+        // 没有可用的对冲主机，退回预算
+        credits.addAndGet( HEDGE_COST ) ;
+        return null ;
+    }
+
+    /**
+     * 每条读命令积累预算
+     */
+    private void deposit(){
+        if( credits.get() < HEDGE_COST * MAX_BURST ){
+            credits.addAndGet( creditPerRead ) ;
+        }
+    }
+
+    /**
+     * 消耗一次对冲的预算
+     * @return 预算不足时返回false
+     */
+    private boolean withdraw(){
+        long current ;
+        do{
+            current = credits.get() ;
+            if( current < HEDGE_COST ){
+                return false ;
+            }
+        }while( !credits.compareAndSet( current , current - HEDGE_COST ) ) ;
+        return true ;
+    }
+
+    /**
+     * 获取主机对冲前的等待时间
+     * @param hostStats
+     * @param family
+     * @return 单位纳秒，样本不足时返回0，不进行对冲
+     */
+    private long getDelayNanos(AppRedisHostStats hostStats , AppRedisCommandFamily family){
+        Delays hostDelays = delays.get( hostStats.getHost() ) ;
+        if( hostDelays==null || hostDelays.hostStats!=hostStats ){
+            hostDelays = new Delays( hostStats ) ;
+            delays.put( hostStats.getHost() , hostDelays ) ;
+        }
+        long delayNanos = hostDelays.get( family ) ;
+        return delayNanos==0 ? 0 : Math.max( minDelayNanos , delayNanos ) ;
+    }
+
+    private static DataAccessException convert(Throwable e){
+        if( e instanceof CompletionException && e.getCause()!=null ){
+            e = e.getCause() ;
+        }
+        if( e instanceof DataAccessException ){
+            return (DataAccessException) e ;
+        }
+        DataAccessException exception = e instanceof Exception ?
+                LettuceConverters.exceptionConverter().convert( (Exception) e ) : null ;
+        return exception!=null ? exception : new RedisSystemException( "Unknown Lettuce exception" , e ) ;
+    }
+
+    /**
+     * 获取对冲的次数
+     * @return
+     */
+    public long getHedgeCount(){
+        return hedgeCount.sum() ;
+    }
+
+    /**
+     * 获取对冲请求先返回的次数
+     * @return
+     */
+    public long getHedgeWinCount(){
+        return hedgeWinCount.sum() ;
+    }
+
+    /**
+     * 获取因预算不足未对冲的次数
+     * @return
+     */
+    public long getBudgetExhaustedCount(){
+        return budgetExhaustedCount.sum() ;
+    }
+
+    /**
+     * 一个主机按命令分类的对冲等待时间，每个刷新间隔按间隔内的耗时分布重新计算
+     */
+    private final class Delays {
+
+        private final AppRedisHostStats hostStats ;
+
+        /**
+         * 上一次计算时的累计快照，刷新可能由任意调用线程执行，使用原子数组保证快照对下一次刷新可见
+         */
+        private final AtomicReferenceArray<AppRedisLatencyHistogram.Snapshot> cumulative = new AtomicReferenceArray<>( FAMILIES.length ) ;
+
+        /**
+         * 等待时间，单位纳秒
+         */
+        private final AtomicLongArray delayNanos = new AtomicLongArray( FAMILIES.length ) ;
+
+        /**
+         * 执行过对冲读的命令分类，只计算这些分类，1表示已使用
+         */
+        private final AtomicIntegerArray used = new AtomicIntegerArray( FAMILIES.length ) ;
+
+        private final AtomicLong nextRefreshNanos = new AtomicLong( System.nanoTime() ) ;
+
+        Delays(AppRedisHostStats hostStats){
+            this.hostStats = hostStats ;
+        }
+
+        long get(AppRedisCommandFamily family){
+            int index = family.ordinal() ;
+            if( used.get( index )==0 ){
+                used.set( index , 1 ) ;
+            }
+            long now = System.nanoTime() ;
+            long next = nextRefreshNanos.get() ;
+            if( now - next >= 0 && nextRefreshNanos.compareAndSet( next , now + refreshNanos ) ){
+                refresh() ;
+            }
+            return delayNanos.get( index ) ;
+        }
+
+        private void refresh(){
+            for (int i = 0; i < FAMILIES.length; i++) {
+                if( used.get( i )==0 ){
+                    continue;
+                }
+                AppRedisLatencyHistogram.Snapshot snapshot = hostStats.getLatencySnapshot( FAMILIES[i] ) ;
+                AppRedisLatencyHistogram.Snapshot interval = snapshot.minus( cumulative.get( i ) ) ;
+                // 样本不足时不更新快照，下一次使用更长时间内的分布
+                if( interval.getCount() >= MIN_SAMPLES ){
+                    delayNanos.set( i , interval.getValueAtPercentile( config.getPercentile() ) ) ;
+                    cumulative.set( i , snapshot ) ;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.rtf.redis.client;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * redis对冲读配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisHedgedReadConfig {
+
+    /**
+     * 是否开启对冲读，默认关闭，只在多个主机时生效
+     */
+    private boolean enabled = false ;
+
+    /**
+     * 读命令超过主机耗时的该百分位仍未返回时，向另一个主机发送相同的命令
+     */
+    private double percentile = 95 ;
+
+    /**
+     * 最小等待时间，主机耗时的百分位低于该值时使用该值
+     */
+    private Duration minDelay = Duration.ofMillis( 1 ) ;
+
+    /**
+     * 对冲请求占读命令的最大比例，即最多增加的负载
+     */
+    private double budget = 0.05 ;
+
+    /**
+     * 重新计算耗时百分位的间隔，使用间隔内的耗时分布
+     */
+    private Duration refreshInterval = Duration.ofSeconds( 1 ) ;
+
+}
@@ -0,0 +1,216 @@
+package com.rtf.redis.client;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.convert.Converters;
+import org.springframework.data.redis.connection.lettuce.LettuceConverters;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 对冲读连接。
+ * 常用的只读命令通过 {@link AppRedisHedgedRead} 执行，慢的主机由另一个主机的结果补位；
+ * 写命令和其他命令仍然委托至原连接，不会重复发送。连接处于事务或手动管道中时，所有命令都委托至原连接。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisHedgedReadConnection extends AppRedisDelegatingConnection {
+
+    private final AppRedisConnectionFactory connectionFactory ;
+
+    private final AppRedisHedgedRead hedgedRead ;
+
+    public AppRedisHedgedReadConnection(RedisConnection delegate , AppRedisConnectionFactory connectionFactory ,
+                                        AppRedisHedgedRead hedgedRead){
+        super( delegate ) ;
+        this.connectionFactory = connectionFactory ;
+        this.hedgedRead = hedgedRead ;
+    }
+
+    /**
+     * 是否可以使用对冲读
+     * @return
+     */
+    protected boolean isHedged(){
+        return !delegate.isPipelined() && !delegate.isQueueing() ;
+    }
+
+    // ---------------------------------------- RedisKeyCommands
+
+    @Override
+    public Boolean exists(byte[] key) {
+        if( !isHedged() ){
+            return delegate.exists( key ) ;
+        }
+        return Converters.toBoolean( hedgedRead.execute( connectionFactory , AppRedisCommandFamily.KEY , "exists" , key ,
+                commands -> commands.exists( key ) ) ) ;
+    }
+
+    @Override
+    public Long ttl(byte[] key) {
+        if( !isHedged() ){
+            return delegate.ttl( key ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.KEY , "ttl" , key ,
+                commands -> commands.ttl( key ) ) ;
+    }
+
+    @Override
+    public Long pTtl(byte[] key) {
+        if( !isHedged() ){
+            return delegate.pTtl( key ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.KEY , "pTtl" , key ,
+                commands -> commands.pttl( key ) ) ;
+    }
+
+    // ---------------------------------------- RedisStringCommands
+
+    @Override
+    public byte[] get(byte[] key) {
+        if( !isHedged() ){
+            return delegate.get( key ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.STRING , "get" , key ,
+                commands -> commands.get( key ) ) ;
+    }
+
+    @Override
+    public List<byte[]> mGet(byte[]... keys) {
+        if( !isHedged() || keys.length<1 ){
+            return delegate.mGet( keys ) ;
+        }
+        return LettuceConverters.<byte[],byte[]>keyValueListUnwrapper().convert(
+                hedgedRead.execute( connectionFactory , AppRedisCommandFamily.STRING , "mGet" , keys[0] ,
+                        commands -> commands.mget( keys ) ) ) ;
+    }
+
+    @Override
+    public Long strLen(byte[] key) {
+        if( !isHedged() ){
+            return delegate.strLen( key ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.STRING , "strLen" , key ,
+                commands -> commands.strlen( key ) ) ;
+    }
+
+    // ---------------------------------------- RedisListCommands
+
+    @Override
+    public Long lLen(byte[] key) {
+        if( !isHedged() ){
+            return delegate.lLen( key ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.LIST , "lLen" , key ,
+                commands -> commands.llen( key ) ) ;
+    }
+
+    @Override
+    public List<byte[]> lRange(byte[] key, long start, long end) {
+        if( !isHedged() ){
+            return delegate.lRange( key , start , end ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.LIST , "lRange" , key ,
+                commands -> commands.lrange( key , start , end ) ) ;
+    }
+
+    // ---------------------------------------- RedisSetCommands
+
+    @Override
+    public Long sCard(byte[] key) {
+        if( !isHedged() ){
+            return delegate.sCard( key ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.SET , "sCard" , key ,
+                commands -> commands.scard( key ) ) ;
+    }
+
+    @Override
+    public Boolean sIsMember(byte[] key, byte[] value) {
+        if( !isHedged() ){
+            return delegate.sIsMember( key , value ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.SET , "sIsMember" , key ,
+                commands -> commands.sismember( key , value ) ) ;
+    }
+
+    @Override
+    public Set<byte[]> sMembers(byte[] key) {
+        if( !isHedged() ){
+            return delegate.sMembers( key ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.SET , "sMembers" , key ,
+                commands -> commands.smembers( key ) ) ;
+    }
+
+    // ---------------------------------------- RedisZSetCommands
+
+    @Override
+    public Long zCard(byte[] key) {
+        if( !isHedged() ){
+            return delegate.zCard( key ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.ZSET , "zCard" , key ,
+                commands -> commands.zcard( key ) ) ;
+    }
+
+    @Override
+    public Double zScore(byte[] key, byte[] value) {
+        if( !isHedged() ){
+            return delegate.zScore( key , value ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.ZSET , "zScore" , key ,
+                commands -> commands.zscore( key , value ) ) ;
+    }
+
+    // ---------------------------------------- RedisHashCommands
+
+    @Override
+    public byte[] hGet(byte[] key, byte[] field) {
+        if( !isHedged() ){
+            return delegate.hGet( key , field ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.HASH , "hGet" , key ,
+                commands -> commands.hget( key , field ) ) ;
+    }
+
+    @Override
+    public List<byte[]> hMGet(byte[] key, byte[]... fields) {
+        if( !isHedged() ){
+            return delegate.hMGet( key , fields ) ;
+        }
+        return LettuceConverters.<byte[],byte[]>keyValueListUnwrapper().convert(
+                hedgedRead.execute( connectionFactory , AppRedisCommandFamily.HASH , "hMGet" , key ,
+                        commands -> commands.hmget( key , fields ) ) ) ;
+    }
+
+    @Override
+    public Map<byte[], byte[]> hGetAll(byte[] key) {
+        if( !isHedged() ){
+            return delegate.hGetAll( key ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.HASH , "hGetAll" , key ,
+                commands -> commands.hgetall( key ) ) ;
+    }
+
+    @Override
+    public Boolean hExists(byte[] key, byte[] field) {
+        if( !isHedged() ){
+            return delegate.hExists( key , field ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.HASH , "hExists" , key ,
+                commands -> commands.hexists( key , field ) ) ;
+    }
+
+    @Override
+    public Long hLen(byte[] key) {
+        if( !isHedged() ){
+            return delegate.hLen( key ) ;
+        }
+        return hedgedRead.execute( connectionFactory , AppRedisCommandFamily.HASH , "hLen" , key ,
+                commands -> commands.hlen( key ) ) ;
+    }
+
+}
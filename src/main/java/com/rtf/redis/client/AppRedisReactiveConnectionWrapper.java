@@ -0,0 +1,218 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * 响应式redis连接包装类。
+ * 命令接口使用jdk动态代理包装，命令在订阅时开始计时，结束时记录到耗时统计和断路器，
+ * 取消订阅视为成功，耗时超过慢调用阀值时计为慢调用。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisReactiveConnectionWrapper implements ReactiveRedisConnection {
+
+    @Getter
+    private final ReactiveRedisConnection delegate ;
+
+    @Getter
+    private final String host ;
+
+    private final AppRedisCircuitBreaker circuitBreaker ;
+
+    private final AppRedisHostStats hostStats ;
+
+    public AppRedisReactiveConnectionWrapper(ReactiveRedisConnection delegate , String host ,
+                                             AppRedisCircuitBreaker circuitBreaker , AppRedisHostStats hostStats){
+        this.delegate = delegate ;
+        this.host = host ;
+        this.circuitBreaker = circuitBreaker ;
+        this.hostStats = hostStats ;
+    }
+
+    /**
+     * 命令是否支持，不支持的命令直接返回异常，不发送到redis
+     * @param command
+     * @return
+     */
+    protected boolean isSupported(AppRedisCommandDescriptor command){
+        return true ;
+    }
+
+    /**
+     * 不支持的命令的异常
+     * @param command
+     * @return
+     */
+    protected RuntimeException unsupported(AppRedisCommandDescriptor command){
+        return new InvalidDataAccessApiUsageException( "redis主机:" + host + " 不支持命令: " + command.getName() ) ;
+    }
+
+    /**
+     * 包装命令返回的Mono或Flux，订阅时开始计时
+     * @param family
+     * @param command
+     * @param result
+     * @return
+     */
+    protected Object decorate(AppRedisCommandFamily family , String command , Object result){
+        if( result instanceof Mono ){
+            Mono<?> mono = (Mono<?>) result ;
+            return Mono.defer( () -> {
+                long startNanos = hostStats.start() ;
+                return mono.doOnError( e -> onError( command , e ) )
+                        .doFinally( signal -> onFinally( family , startNanos , signal ) ) ;
+            } ) ;
+        }
+        if( result instanceof Flux ){
+            Flux<?> flux = (Flux<?>) result ;
+            return Flux.defer( () -> {
+                long startNanos = hostStats.start() ;
+                return flux.doOnError( e -> onError( command , e ) )
+                        .doFinally( signal -> onFinally( family , startNanos , signal ) ) ;
+            } ) ;
+        }
+        return result ;
+    }
+
+    private void onError(String command , Throwable e){
+        log.error( "redis主机:{} 中命令 {} 执行异常, {}" , host , command , e.getMessage()) ;
+    }
+
+    private void onFinally(AppRedisCommandFamily family , long startNanos , SignalType signal){
+        long durationNanos = hostStats.complete( family , startNanos ) ;
+        if( signal==SignalType.ON_ERROR ){
+            circuitBreaker.onError( durationNanos ) ;
+        }else{
+            circuitBreaker.onSuccess( durationNanos ) ;
+        }
+    }
+
+    /**
+     * 创建命令接口的代理
+     * @param commandInterface
+     * @param target
+     * @param <T>
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T commands(Class<T> commandInterface , T target){
+        return (T) Proxy.newProxyInstance( commandInterface.getClassLoader() , new Class<?>[]{ commandInterface } ,
+                new CommandsInvocationHandler( target ) ) ;
+    }
+
+    @Override
+    public ReactiveKeyCommands keyCommands() {
+        return commands( ReactiveKeyCommands.class , delegate.keyCommands() ) ;
+    }
+
+    @Override
+    public ReactiveStringCommands stringCommands() {
+        return commands( ReactiveStringCommands.class , delegate.stringCommands() ) ;
+    }
+
+    @Override
+    public ReactiveNumberCommands numberCommands() {
+        return commands( ReactiveNumberCommands.class , delegate.numberCommands() ) ;
+    }
+
+    @Override
+    public ReactiveListCommands listCommands() {
+        return commands( ReactiveListCommands.class , delegate.listCommands() ) ;
+    }
+
+    @Override
+    public ReactiveSetCommands setCommands() {
+        return commands( ReactiveSetCommands.class , delegate.setCommands() ) ;
+    }
+
+    @Override
+    public ReactiveZSetCommands zSetCommands() {
+        return commands( ReactiveZSetCommands.class , delegate.zSetCommands() ) ;
+    }
+
+    @Override
+    public ReactiveHashCommands hashCommands() {
+        return commands( ReactiveHashCommands.class , delegate.hashCommands() ) ;
+    }
+
+    @Override
+    public ReactiveGeoCommands geoCommands() {
+        return commands( ReactiveGeoCommands.class , delegate.geoCommands() ) ;
+    }
+
+    @Override
+    public ReactiveHyperLogLogCommands hyperLogLogCommands() {
+        return commands( ReactiveHyperLogLogCommands.class , delegate.hyperLogLogCommands() ) ;
+    }
+
+    @Override
+    public ReactiveScriptingCommands scriptingCommands() {
+        return commands( ReactiveScriptingCommands.class , delegate.scriptingCommands() ) ;
+    }
+
+    @Override
+    public ReactiveServerCommands serverCommands() {
+        return commands( ReactiveServerCommands.class , delegate.serverCommands() ) ;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<String> ping() {
+        return (Mono<String>) decorate( AppRedisCommandFamily.CONNECTION , "ping" , delegate.ping() ) ;
+    }
+
+    @Override
+    public void close() {
+        delegate.close() ;
+    }
+
+    /**
+     * 命令接口的代理，接口的默认方法在目标对象上执行，每条命令只记录一次
+     */
+    private final class CommandsInvocationHandler implements InvocationHandler {
+
+        private final Object target ;
+
+        CommandsInvocationHandler(Object target){
+            this.target = target ;
+        }
+
+        @Override
+        public Object invoke(Object proxy , Method method , Object[] args) throws Throwable {
+            AppRedisCommandDescriptor command = AppRedisCommandTable.get( method ) ;
+            if( command!=null && !isSupported( command ) ){
+                RuntimeException e = unsupported( command ) ;
+                if( Mono.class.isAssignableFrom( method.getReturnType() ) ){
+                    return Mono.error( e ) ;
+                }
+                if( Flux.class.isAssignableFrom( method.getReturnType() ) ){
+                    return Flux.error( e ) ;
+                }
+                throw e ;
+            }
+            Object result ;
+            try{
+                result = method.invoke( target , args ) ;
+            }catch( InvocationTargetException e ){
+                throw e.getTargetException() ;
+            }
+            return command==null ? result : decorate( command.getFamily() , command.getName() , result ) ;
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.rtf.redis.client;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * redis读写分离配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisReadWriteSplitConfig {
+
+    /**
+     * 是否开启读写分离，默认关闭，只在配置了备节点时生效
+     */
+    private boolean enabled = false ;
+
+    /**
+     * 读命令使用备节点的比例，其余的读命令仍然使用主节点
+     */
+    private double backupReadRatio = 0.5 ;
+
+    /**
+     * 备节点允许的最大复制延迟，健康检查发现备节点与主节点断开，或者超过该时间没有收到主节点的数据时，不再读取该备节点。
+     * 小于等于0时只检查复制连接的状态
+     */
+    private Duration maxStaleness = Duration.ofSeconds( 30 ) ;
+
+}
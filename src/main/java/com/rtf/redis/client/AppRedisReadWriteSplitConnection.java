@@ -0,0 +1,1120 @@
+package com.rtf.redis.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metric;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.SortParameters;
+import org.springframework.data.redis.connection.Subscription;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.types.RedisClientInfo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 读写分离的redis连接。
+ * 只读命令在备节点的连接上执行，写命令在主节点的连接上执行，两个连接都在第一次使用时才获取。
+ * 连接上执行过写命令后，后续的读命令也在主节点执行，保证读到自己的写入；
+ * 事务、管道和订阅命令固定在主节点的连接上执行，之后所有命令都使用该连接。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisReadWriteSplitConnection implements RedisConnection {
+
+    private final AppRedisDynamicConnectionFactory dynamicConnectionFactory ;
+
+    /**
+     * 读命令是否使用备节点
+     */
+    private boolean readFromBackup ;
+
+    /**
+     * 是否执行过写命令
+     */
+    private boolean written = false ;
+
+    /**
+     * 主节点的连接
+     */
+    private RedisConnection masterConnection ;
+
+    /**
+     * 备节点的连接
+     */
+    private RedisConnection backupConnection ;
+
+    /**
+     * 事务、管道和订阅命令固定使用的连接
+     */
+    private RedisConnection pinnedConnection ;
+
+    private boolean closed = false ;
+
+    public AppRedisReadWriteSplitConnection(AppRedisDynamicConnectionFactory dynamicConnectionFactory , boolean readFromBackup){
+        this.dynamicConnectionFactory = dynamicConnectionFactory ;
+        this.readFromBackup = readFromBackup ;
+    }
+
+    /**
+     * 获取主节点的连接，主节点都不可用时由选择规则选择备节点
+     * @return
+     */
+    protected RedisConnection master(){
+        if( pinnedConnection!=null ){
+            return pinnedConnection ;
+        }
+        if( masterConnection==null ){
+            masterConnection = dynamicConnectionFactory.getDirectConnection() ;
+        }
+        return masterConnection ;
+    }
+
+    /**
+     * 获取读命令使用的连接，没有可读的备节点时使用主节点的连接
+     * @return
+     */
+    protected RedisConnection read(){
+        if( pinnedConnection!=null ){
+            return pinnedConnection ;
+        }
+        if( !readFromBackup || written ){
+            return master() ;
+        }
+        if( backupConnection==null ){
+            AppRedisConnectionFactory connectionFactory = dynamicConnectionFactory.chooseReadFactory() ;
+            if( connectionFactory!=null ){
+                backupConnection = dynamicConnectionFactory.getConnection( connectionFactory ) ;
+            }
+            if( backupConnection==null ){
+                readFromBackup = false ;
+                return master() ;
+            }
+        }
+        return backupConnection ;
+    }
+
+    /**
+     * 获取写命令使用的连接，之后的读命令也使用主节点
+     * @return
+     */
+    protected RedisConnection write(){
+        written = true ;
+        return master() ;
+    }
+
+    /**
+     * 后续所有命令固定使用主节点的连接
+     * @return
+     */
+    protected RedisConnection pin(){
+        pinnedConnection = master() ;
+        return pinnedConnection ;
+    }
+
+    @Override
+    public void close() throws DataAccessException {
+        closed = true ;
+        if( masterConnection!=null ){
+            close( masterConnection ) ;
+        }
+        if( backupConnection!=null ){
+            close( backupConnection ) ;
+        }
+    }
+
+    private void close(RedisConnection redisConnection){
+        try{
+            redisConnection.close() ;
+        }catch( Exception e ){
+            log.error( "关闭redis连接异常: {}" , e.getMessage() ) ;
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed ;
+    }
+
+    /**
+     * RedisTemplate每次执行都会调用，未固定连接时不获取连接
+     * @return
+     */
+    @Override
+    public boolean isPipelined() {
+        return pinnedConnection!=null && pinnedConnection.isPipelined() ;
+    }
+
+    @Override
+    public boolean isQueueing() {
+        return pinnedConnection!=null && pinnedConnection.isQueueing() ;
+    }
+
+    // ---------------------------------------- RedisConnection
+
+    @Override
+    public List<Object> closePipeline() throws RedisPipelineException {
+        return master().closePipeline() ;
+    }
+
+    @Override
+    public Object getNativeConnection() {
+        return master().getNativeConnection() ;
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return master().getSentinelConnection() ;
+    }
+
+    @Override
+    public void openPipeline() {
+        pin().openPipeline() ;
+    }
+
+    // ---------------------------------------- RedisKeyCommands
+
+    @Override
+    public Long del(byte[]... keys) {
+        return write().del( keys ) ;
+    }
+
+    @Override
+    public byte[] dump(byte[] key) {
+        return read().dump( key ) ;
+    }
+
+    @Override
+    public Boolean exists(byte[] key) {
+        return read().exists( key ) ;
+    }
+
+    @Override
+    public Boolean expire(byte[] key, long seconds) {
+        return write().expire( key , seconds ) ;
+    }
+
+    @Override
+    public Boolean expireAt(byte[] key, long unixTime) {
+        return write().expireAt( key , unixTime ) ;
+    }
+
+    @Override
+    public Set<byte[]> keys(byte[] pattern) {
+        return read().keys( pattern ) ;
+    }
+
+    @Override
+    public Boolean move(byte[] key, int dbIndex) {
+        return write().move( key , dbIndex ) ;
+    }
+
+    @Override
+    public Boolean pExpire(byte[] key, long millis) {
+        return write().pExpire( key , millis ) ;
+    }
+
+    @Override
+    public Boolean pExpireAt(byte[] key, long unixTimeInMillis) {
+        return write().pExpireAt( key , unixTimeInMillis ) ;
+    }
+
+    @Override
+    public Long pTtl(byte[] key) {
+        return read().pTtl( key ) ;
+    }
+
+    @Override
+    public Long pTtl(byte[] key, TimeUnit timeUnit) {
+        return read().pTtl( key , timeUnit ) ;
+    }
+
+    @Override
+    public Boolean persist(byte[] key) {
+        return write().persist( key ) ;
+    }
+
+    @Override
+    public byte[] randomKey() {
+        return read().randomKey() ;
+    }
+
+    @Override
+    public void rename(byte[] sourceKey, byte[] targetKey) {
+        write().rename( sourceKey , targetKey ) ;
+    }
+
+    @Override
+    public Boolean renameNX(byte[] sourceKey, byte[] targetKey) {
+        return write().renameNX( sourceKey , targetKey ) ;
+    }
+
+    @Override
+    public void restore(byte[] key, long ttlInMillis, byte[] serializedValue) {
+        write().restore( key , ttlInMillis , serializedValue ) ;
+    }
+
+    @Override
+    public Cursor<byte[]> scan(ScanOptions options) {
+        return read().scan( options ) ;
+    }
+
+    @Override
+    public List<byte[]> sort(byte[] key, SortParameters params) {
+        return write().sort( key , params ) ;
+    }
+
+    @Override
+    public Long sort(byte[] key, SortParameters params, byte[] sortKey) {
+        return write().sort( key , params , sortKey ) ;
+    }
+
+    @Override
+    public Long ttl(byte[] key) {
+        return read().ttl( key ) ;
+    }
+
+    @Override
+    public Long ttl(byte[] key, TimeUnit timeUnit) {
+        return read().ttl( key , timeUnit ) ;
+    }
+
+    @Override
+    public DataType type(byte[] pattern) {
+        return read().type( pattern ) ;
+    }
+
+    // ---------------------------------------- RedisStringCommands
+
+    @Override
+    public Long append(byte[] key, byte[] value) {
+        return write().append( key , value ) ;
+    }
+
+    @Override
+    public Long bitCount(byte[] key) {
+        return read().bitCount( key ) ;
+    }
+
+    @Override
+    public Long bitCount(byte[] key, long start, long end) {
+        return read().bitCount( key , start , end ) ;
+    }
+
+    @Override
+    public Long bitOp(RedisStringCommands.BitOperation op, byte[] destination, byte[]... keys) {
+        return write().bitOp( op , destination , keys ) ;
+    }
+
+    @Override
+    public Long decr(byte[] key) {
+        return write().decr( key ) ;
+    }
+
+    @Override
+    public Long decrBy(byte[] key, long value) {
+        return write().decrBy( key , value ) ;
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        return read().get( key ) ;
+    }
+
+    @Override
+    public Boolean getBit(byte[] key, long offset) {
+        return read().getBit( key , offset ) ;
+    }
+
+    @Override
+    public byte[] getRange(byte[] key, long start, long end) {
+        return read().getRange( key , start , end ) ;
+    }
+
+    @Override
+    public byte[] getSet(byte[] key, byte[] value) {
+        return write().getSet( key , value ) ;
+    }
+
+    @Override
+    public Long incr(byte[] key) {
+        return write().incr( key ) ;
+    }
+
+    @Override
+    public Double incrBy(byte[] key, double value) {
+        return write().incrBy( key , value ) ;
+    }
+
+    @Override
+    public Long incrBy(byte[] key, long value) {
+        return write().incrBy( key , value ) ;
+    }
+
+    @Override
+    public List<byte[]> mGet(byte[]... keys) {
+        return read().mGet( keys ) ;
+    }
+
+    @Override
+    public Boolean mSet(Map<byte[], byte[]> tuple) {
+        return write().mSet( tuple ) ;
+    }
+
+    @Override
+    public Boolean mSetNX(Map<byte[], byte[]> tuple) {
+        return write().mSetNX( tuple ) ;
+    }
+
+    @Override
+    public Boolean pSetEx(byte[] key, long milliseconds, byte[] value) {
+        return write().pSetEx( key , milliseconds , value ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value) {
+        return write().set( key , value ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value, Expiration expiration, RedisStringCommands.SetOption option) {
+        return write().set( key , value , expiration , option ) ;
+    }
+
+    @Override
+    public Boolean setBit(byte[] key, long offset, boolean value) {
+        return write().setBit( key , offset , value ) ;
+    }
+
+    @Override
+    public Boolean setEx(byte[] key, long seconds, byte[] value) {
+        return write().setEx( key , seconds , value ) ;
+    }
+
+    @Override
+    public Boolean setNX(byte[] key, byte[] value) {
+        return write().setNX( key , value ) ;
+    }
+
+    @Override
+    public void setRange(byte[] key, byte[] value, long offset) {
+        write().setRange( key , value , offset ) ;
+    }
+
+    @Override
+    public Long strLen(byte[] key) {
+        return read().strLen( key ) ;
+    }
+
+    // ---------------------------------------- RedisListCommands
+
+    @Override
+    public List<byte[]> bLPop(int timeout, byte[]... keys) {
+        return write().bLPop( timeout , keys ) ;
+    }
+
+    @Override
+    public List<byte[]> bRPop(int timeout, byte[]... keys) {
+        return write().bRPop( timeout , keys ) ;
+    }
+
+    @Override
+    public byte[] bRPopLPush(int timeout, byte[] srcKey, byte[] dstKey) {
+        return write().bRPopLPush( timeout , srcKey , dstKey ) ;
+    }
+
+    @Override
+    public byte[] lIndex(byte[] key, long index) {
+        return read().lIndex( key , index ) ;
+    }
+
+    @Override
+    public Long lInsert(byte[] key, RedisListCommands.Position where, byte[] pivot, byte[] value) {
+        return write().lInsert( key , where , pivot , value ) ;
+    }
+
+    @Override
+    public Long lLen(byte[] key) {
+        return read().lLen( key ) ;
+    }
+
+    @Override
+    public byte[] lPop(byte[] key) {
+        return write().lPop( key ) ;
+    }
+
+    @Override
+    public Long lPush(byte[] key, byte[]... values) {
+        return write().lPush( key , values ) ;
+    }
+
+    @Override
+    public Long lPushX(byte[] key, byte[] value) {
+        return write().lPushX( key , value ) ;
+    }
+
+    @Override
+    public List<byte[]> lRange(byte[] key, long start, long end) {
+        return read().lRange( key , start , end ) ;
+    }
+
+    @Override
+    public Long lRem(byte[] key, long count, byte[] value) {
+        return write().lRem( key , count , value ) ;
+    }
+
+    @Override
+    public void lSet(byte[] key, long index, byte[] value) {
+        write().lSet( key , index , value ) ;
+    }
+
+    @Override
+    public void lTrim(byte[] key, long start, long end) {
+        write().lTrim( key , start , end ) ;
+    }
+
+    @Override
+    public byte[] rPop(byte[] key) {
+        return write().rPop( key ) ;
+    }
+
+    @Override
+    public byte[] rPopLPush(byte[] srcKey, byte[] dstKey) {
+        return write().rPopLPush( srcKey , dstKey ) ;
+    }
+
+    @Override
+    public Long rPush(byte[] key, byte[]... values) {
+        return write().rPush( key , values ) ;
+    }
+
+    @Override
+    public Long rPushX(byte[] key, byte[] value) {
+        return write().rPushX( key , value ) ;
+    }
+
+    // ---------------------------------------- RedisSetCommands
+
+    @Override
+    public Long sAdd(byte[] key, byte[]... values) {
+        return write().sAdd( key , values ) ;
+    }
+
+    @Override
+    public Long sCard(byte[] key) {
+        return read().sCard( key ) ;
+    }
+
+    @Override
+    public Set<byte[]> sDiff(byte[]... keys) {
+        return read().sDiff( keys ) ;
+    }
+
+    @Override
+    public Long sDiffStore(byte[] destKey, byte[]... keys) {
+        return write().sDiffStore( destKey , keys ) ;
+    }
+
+    @Override
+    public Set<byte[]> sInter(byte[]... keys) {
+        return read().sInter( keys ) ;
+    }
+
+    @Override
+    public Long sInterStore(byte[] destKey, byte[]... keys) {
+        return write().sInterStore( destKey , keys ) ;
+    }
+
+    @Override
+    public Boolean sIsMember(byte[] key, byte[] value) {
+        return read().sIsMember( key , value ) ;
+    }
+
+    @Override
+    public Set<byte[]> sMembers(byte[] key) {
+        return read().sMembers( key ) ;
+    }
+
+    @Override
+    public Boolean sMove(byte[] srcKey, byte[] destKey, byte[] value) {
+        return write().sMove( srcKey , destKey , value ) ;
+    }
+
+    @Override
+    public byte[] sPop(byte[] key) {
+        return write().sPop( key ) ;
+    }
+
+    @Override
+    public List<byte[]> sPop(byte[] key, long count) {
+        return write().sPop( key , count ) ;
+    }
+
+    @Override
+    public byte[] sRandMember(byte[] key) {
+        return read().sRandMember( key ) ;
+    }
+
+    @Override
+    public List<byte[]> sRandMember(byte[] key, long count) {
+        return read().sRandMember( key , count ) ;
+    }
+
+    @Override
+    public Long sRem(byte[] key, byte[]... values) {
+        return write().sRem( key , values ) ;
+    }
+
+    @Override
+    public Cursor<byte[]> sScan(byte[] key, ScanOptions options) {
+        return read().sScan( key , options ) ;
+    }
+
+    @Override
+    public Set<byte[]> sUnion(byte[]... keys) {
+        return read().sUnion( keys ) ;
+    }
+
+    @Override
+    public Long sUnionStore(byte[] destKey, byte[]... keys) {
+        return write().sUnionStore( destKey , keys ) ;
+    }
+
+    // ---------------------------------------- RedisZSetCommands
+
+    @Override
+    public Long zAdd(byte[] key, Set<RedisZSetCommands.Tuple> tuples) {
+        return write().zAdd( key , tuples ) ;
+    }
+
+    @Override
+    public Boolean zAdd(byte[] key, double score, byte[] value) {
+        return write().zAdd( key , score , value ) ;
+    }
+
+    @Override
+    public Long zCard(byte[] key) {
+        return read().zCard( key ) ;
+    }
+
+    @Override
+    public Long zCount(byte[] key, RedisZSetCommands.Range range) {
+        return read().zCount( key , range ) ;
+    }
+
+    @Override
+    public Double zIncrBy(byte[] key, double increment, byte[] value) {
+        return write().zIncrBy( key , increment , value ) ;
+    }
+
+    @Override
+    public Long zInterStore(byte[] destKey, byte[]... sets) {
+        return write().zInterStore( destKey , sets ) ;
+    }
+
+    @Override
+    public Long zInterStore(byte[] destKey, RedisZSetCommands.Aggregate aggregate, int[] weights, byte[]... sets) {
+        return write().zInterStore( destKey , aggregate , weights , sets ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRange(byte[] key, long start, long end) {
+        return read().zRange( key , start , end ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByLex(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return read().zRangeByLex( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByScore(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return read().zRangeByScore( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByScore(byte[] key, String min, String max, long offset, long count) {
+        return read().zRangeByScore( key , min , max , offset , count ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRangeByScoreWithScores(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return read().zRangeByScoreWithScores( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRangeWithScores(byte[] key, long start, long end) {
+        return read().zRangeWithScores( key , start , end ) ;
+    }
+
+    @Override
+    public Long zRank(byte[] key, byte[] value) {
+        return read().zRank( key , value ) ;
+    }
+
+    @Override
+    public Long zRem(byte[] key, byte[]... values) {
+        return write().zRem( key , values ) ;
+    }
+
+    @Override
+    public Long zRemRange(byte[] key, long start, long end) {
+        return write().zRemRange( key , start , end ) ;
+    }
+
+    @Override
+    public Long zRemRangeByScore(byte[] key, RedisZSetCommands.Range range) {
+        return write().zRemRangeByScore( key , range ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRevRange(byte[] key, long start, long end) {
+        return read().zRevRange( key , start , end ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRevRangeByScore(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return read().zRevRangeByScore( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRevRangeByScoreWithScores(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return read().zRevRangeByScoreWithScores( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRevRangeWithScores(byte[] key, long start, long end) {
+        return read().zRevRangeWithScores( key , start , end ) ;
+    }
+
+    @Override
+    public Long zRevRank(byte[] key, byte[] value) {
+        return read().zRevRank( key , value ) ;
+    }
+
+    @Override
+    public Cursor<RedisZSetCommands.Tuple> zScan(byte[] key, ScanOptions options) {
+        return read().zScan( key , options ) ;
+    }
+
+    @Override
+    public Double zScore(byte[] key, byte[] value) {
+        return read().zScore( key , value ) ;
+    }
+
+    @Override
+    public Long zUnionStore(byte[] destKey, byte[]... sets) {
+        return write().zUnionStore( destKey , sets ) ;
+    }
+
+    @Override
+    public Long zUnionStore(byte[] destKey, RedisZSetCommands.Aggregate aggregate, int[] weights, byte[]... sets) {
+        return write().zUnionStore( destKey , aggregate , weights , sets ) ;
+    }
+
+    // ---------------------------------------- RedisHashCommands
+
+    @Override
+    public Long hDel(byte[] key, byte[]... fields) {
+        return write().hDel( key , fields ) ;
+    }
+
+    @Override
+    public Boolean hExists(byte[] key, byte[] field) {
+        return read().hExists( key , field ) ;
+    }
+
+    @Override
+    public byte[] hGet(byte[] key, byte[] field) {
+        return read().hGet( key , field ) ;
+    }
+
+    @Override
+    public Map<byte[], byte[]> hGetAll(byte[] key) {
+        return read().hGetAll( key ) ;
+    }
+
+    @Override
+    public Double hIncrBy(byte[] key, byte[] field, double delta) {
+        return write().hIncrBy( key , field , delta ) ;
+    }
+
+    @Override
+    public Long hIncrBy(byte[] key, byte[] field, long delta) {
+        return write().hIncrBy( key , field , delta ) ;
+    }
+
+    @Override
+    public Set<byte[]> hKeys(byte[] key) {
+        return read().hKeys( key ) ;
+    }
+
+    @Override
+    public Long hLen(byte[] key) {
+        return read().hLen( key ) ;
+    }
+
+    @Override
+    public List<byte[]> hMGet(byte[] key, byte[]... fields) {
+        return read().hMGet( key , fields ) ;
+    }
+
+    @Override
+    public void hMSet(byte[] key, Map<byte[], byte[]> hashes) {
+        write().hMSet( key , hashes ) ;
+    }
+
+    @Override
+    public Cursor<Map.Entry<byte[], byte[]>> hScan(byte[] key, ScanOptions options) {
+        return read().hScan( key , options ) ;
+    }
+
+    @Override
+    public Boolean hSet(byte[] key, byte[] field, byte[] value) {
+        return write().hSet( key , field , value ) ;
+    }
+
+    @Override
+    public Boolean hSetNX(byte[] key, byte[] field, byte[] value) {
+        return write().hSetNX( key , field , value ) ;
+    }
+
+    @Override
+    public List<byte[]> hVals(byte[] key) {
+        return read().hVals( key ) ;
+    }
+
+    // ---------------------------------------- RedisTxCommands
+
+    @Override
+    public void discard() {
+        write().discard() ;
+    }
+
+    @Override
+    public List<Object> exec() {
+        return write().exec() ;
+    }
+
+    @Override
+    public void multi() {
+        pin().multi() ;
+    }
+
+    @Override
+    public void unwatch() {
+        write().unwatch() ;
+    }
+
+    @Override
+    public void watch(byte[]... keys) {
+        pin().watch( keys ) ;
+    }
+
+    // ---------------------------------------- RedisPubSubCommands
+
+    @Override
+    public Subscription getSubscription() {
+        return master().getSubscription() ;
+    }
+
+    @Override
+    public boolean isSubscribed() {
+        return master().isSubscribed() ;
+    }
+
+    @Override
+    public void pSubscribe(MessageListener listener, byte[]... patterns) {
+        pin().pSubscribe( listener , patterns ) ;
+    }
+
+    @Override
+    public Long publish(byte[] channel, byte[] message) {
+        return write().publish( channel , message ) ;
+    }
+
+    @Override
+    public void subscribe(MessageListener listener, byte[]... channels) {
+        pin().subscribe( listener , channels ) ;
+    }
+
+    // ---------------------------------------- RedisConnectionCommands
+
+    @Override
+    public byte[] echo(byte[] message) {
+        return read().echo( message ) ;
+    }
+
+    @Override
+    public String ping() {
+        return read().ping() ;
+    }
+
+    @Override
+    public void select(int dbIndex) {
+        write().select( dbIndex ) ;
+    }
+
+    // ---------------------------------------- RedisServerCommands
+
+    @Override
+    public void bgReWriteAof() {
+        write().bgReWriteAof() ;
+    }
+
+    @Override
+    public void bgSave() {
+        write().bgSave() ;
+    }
+
+    @Override
+    public Long dbSize() {
+        return read().dbSize() ;
+    }
+
+    @Override
+    public void flushAll() {
+        write().flushAll() ;
+    }
+
+    @Override
+    public void flushDb() {
+        write().flushDb() ;
+    }
+
+    @Override
+    public List<RedisClientInfo> getClientList() {
+        return read().getClientList() ;
+    }
+
+    @Override
+    public String getClientName() {
+        return read().getClientName() ;
+    }
+
+    @Override
+    public Properties getConfig(String pattern) {
+        return read().getConfig( pattern ) ;
+    }
+
+    @Override
+    public Properties info() {
+        return read().info() ;
+    }
+
+    @Override
+    public Properties info(String section) {
+        return read().info( section ) ;
+    }
+
+    @Override
+    public void killClient(String host, int port) {
+        write().killClient( host , port ) ;
+    }
+
+    @Override
+    public Long lastSave() {
+        return read().lastSave() ;
+    }
+
+    @Override
+    public void migrate(byte[] key, RedisNode target, int dbIndex, RedisServerCommands.MigrateOption option) {
+        write().migrate( key , target , dbIndex , option ) ;
+    }
+
+    @Override
+    public void migrate(byte[] key, RedisNode target, int dbIndex, RedisServerCommands.MigrateOption option, long timeout) {
+        write().migrate( key , target , dbIndex , option , timeout ) ;
+    }
+
+    @Override
+    public void resetConfigStats() {
+        write().resetConfigStats() ;
+    }
+
+    @Override
+    public void save() {
+        write().save() ;
+    }
+
+    @Override
+    public void setClientName(byte[] name) {
+        write().setClientName( name ) ;
+    }
+
+    @Override
+    public void setConfig(String param, String value) {
+        write().setConfig( param , value ) ;
+    }
+
+    @Override
+    public void shutdown() {
+        write().shutdown() ;
+    }
+
+    @Override
+    public void shutdown(RedisServerCommands.ShutdownOption option) {
+        write().shutdown( option ) ;
+    }
+
+    @Override
+    public void slaveOf(String host, int port) {
+        write().slaveOf( host , port ) ;
+    }
+
+    @Override
+    public void slaveOfNoOne() {
+        write().slaveOfNoOne() ;
+    }
+
+    @Override
+    public Long time() {
+        return read().time() ;
+    }
+
+    // ---------------------------------------- RedisScriptingCommands
+
+    @Override
+    public <T> T eval(byte[] script, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return write().eval( script , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public <T> T evalSha(byte[] scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return write().evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public <T> T evalSha(String scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return write().evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public List<Boolean> scriptExists(String... scriptShas) {
+        return read().scriptExists( scriptShas ) ;
+    }
+
+    @Override
+    public void scriptFlush() {
+        write().scriptFlush() ;
+    }
+
+    @Override
+    public void scriptKill() {
+        write().scriptKill() ;
+    }
+
+    @Override
+    public String scriptLoad(byte[] script) {
+        return write().scriptLoad( script ) ;
+    }
+
+    // ---------------------------------------- RedisGeoCommands
+
+    @Override
+    public Long geoAdd(byte[] key, Iterable<RedisGeoCommands.GeoLocation<byte[]>> locations) {
+        return write().geoAdd( key , locations ) ;
+    }
+
+    @Override
+    public Long geoAdd(byte[] key, Map<byte[], Point> memberCoordinateMap) {
+        return write().geoAdd( key , memberCoordinateMap ) ;
+    }
+
+    @Override
+    public Long geoAdd(byte[] key, Point point, byte[] member) {
+        return write().geoAdd( key , point , member ) ;
+    }
+
+    @Override
+    public Distance geoDist(byte[] key, byte[] member1, byte[] member2) {
+        return read().geoDist( key , member1 , member2 ) ;
+    }
+
+    @Override
+    public Distance geoDist(byte[] key, byte[] member1, byte[] member2, Metric metric) {
+        return read().geoDist( key , member1 , member2 , metric ) ;
+    }
+
+    @Override
+    public List<String> geoHash(byte[] key, byte[]... members) {
+        return read().geoHash( key , members ) ;
+    }
+
+    @Override
+    public List<Point> geoPos(byte[] key, byte[]... members) {
+        return read().geoPos( key , members ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadius(byte[] key, Circle within) {
+        return read().geoRadius( key , within ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadius(byte[] key, Circle within, RedisGeoCommands.GeoRadiusCommandArgs args) {
+        return read().geoRadius( key , within , args ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadiusByMember(byte[] key, byte[] member, Distance radius) {
+        return read().geoRadiusByMember( key , member , radius ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadiusByMember(byte[] key, byte[] member, Distance radius, RedisGeoCommands.GeoRadiusCommandArgs args) {
+        return read().geoRadiusByMember( key , member , radius , args ) ;
+    }
+
+    @Override
+    public Long geoRemove(byte[] key, byte[]... members) {
+        return write().geoRemove( key , members ) ;
+    }
+
+    // ---------------------------------------- RedisHyperLogLogCommands
+
+    @Override
+    public Long pfAdd(byte[] key, byte[]... values) {
+        return write().pfAdd( key , values ) ;
+    }
+
+    @Override
+    public Long pfCount(byte[]... keys) {
+        return read().pfCount( keys ) ;
+    }
+
+    @Override
+    public void pfMerge(byte[] destinationKey, byte[]... sourceKeys) {
+        write().pfMerge( destinationKey , sourceKeys ) ;
+    }
+
+    // ---------------------------------------- RedisCommands
+
+    @Override
+    public Object execute(String command, byte[]... args) {
+        return write().execute( command , args ) ;
+    }
+
+}
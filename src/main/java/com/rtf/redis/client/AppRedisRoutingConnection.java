@@ -0,0 +1,1163 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.lb.AppRedisRule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metric;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.SortParameters;
+import org.springframework.data.redis.connection.Subscription;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.types.RedisClientInfo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按命令路由的redis连接。
+ * 每条命令根据key使用连接工厂选择规则选择redis主机，首次使用某个主机时才从该主机的连接池获取连接，
+ * 用于一致性哈希等需要key亲和的规则。事务、管道和订阅命令固定在同一个连接上执行；select切换所有已获取和之后获取的连接。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisRoutingConnection implements RedisConnection {
+
+    private final AppRedisDynamicConnectionFactory dynamicConnectionFactory ;
+
+    private final AppRedisRule appRedisRule ;
+
+    /**
+     * 已获取连接的连接工厂
+     */
+    private AppRedisConnectionFactory[] factories = new AppRedisConnectionFactory[4] ;
+
+    /**
+     * 已获取的连接，与factories一一对应
+     */
+    private RedisConnection[] connections = new RedisConnection[4] ;
+
+    private int size = 0 ;
+
+    /**
+     * 没有key的命令使用的连接
+     */
+    private RedisConnection defaultConnection ;
+
+    /**
+     * 事务、管道和订阅命令固定使用的连接
+     */
+    private RedisConnection pinnedConnection ;
+
+    /**
+     * select选择的数据库，之后获取的连接也切换到该数据库，小于0时未选择
+     */
+    private int dbIndex = -1 ;
+
+    private boolean closed = false ;
+
+    public AppRedisRoutingConnection(AppRedisDynamicConnectionFactory dynamicConnectionFactory , AppRedisRule appRedisRule){
+        this.dynamicConnectionFactory = dynamicConnectionFactory ;
+        this.appRedisRule = appRedisRule ;
+    }
+
+    /**
+     * 根据key获取连接
+     * @param key
+     * @return
+     */
+    protected RedisConnection connection(byte[] key){
+        if( pinnedConnection!=null ){
+            return pinnedConnection ;
+        }
+        if( key==null ){
+            return connection() ;
+        }
+        AppRedisConnectionFactory connectionFactory = appRedisRule.choose( key ) ;
+        if( connectionFactory==null ){
+            throw new RuntimeException("无可用的redis连接") ;
+        }
+        for (int i = 0; i < size; i++) {
+            if( factories[i]==connectionFactory ){
+                return connections[i] ;
+            }
+        }
+        RedisConnection redisConnection = dynamicConnectionFactory.getConnection( connectionFactory ) ;
+        if( redisConnection==null ){
+            // 获取连接失败，使用默认连接
+            return connection() ;
+        }
+        if( dbIndex>=0 ){
+            redisConnection.select( dbIndex ) ;
+        }
+        if( size==factories.length ){
+            factories = Arrays.copyOf( factories , size * 2 ) ;
+            connections = Arrays.copyOf( connections , size * 2 ) ;
+        }
+        factories[size] = connectionFactory ;
+        connections[size] = redisConnection ;
+        size++ ;
+        return redisConnection ;
+    }
+
+    /**
+     * 根据第一个key获取连接
+     * @param keys
+     * @return
+     */
+    protected RedisConnection connection(byte[][] keys){
+        return connection( keys==null || keys.length<1 ? null : keys[0] ) ;
+    }
+
+    /**
+     * 获取没有key的命令使用的连接
+     * @return
+     */
+    protected RedisConnection connection(){
+        if( pinnedConnection!=null ){
+            return pinnedConnection ;
+        }
+        if( defaultConnection==null ){
+            if( size>0 ){
+                defaultConnection = connections[0] ;
+            }else{
+                defaultConnection = dynamicConnectionFactory.getDirectConnection() ;
+                if( dbIndex>=0 ){
+                    defaultConnection.select( dbIndex ) ;
+                }
+            }
+        }
+        return defaultConnection ;
+    }
+
+    /**
+     * 后续所有命令固定使用指定的连接
+     * @param redisConnection
+     * @return
+     */
+    protected RedisConnection pin(RedisConnection redisConnection){
+        pinnedConnection = redisConnection ;
+        return redisConnection ;
+    }
+
+    @Override
+    public void close() throws DataAccessException {
+        closed = true ;
+        boolean defaultClosed = false ;
+        for (int i = 0; i < size; i++) {
+            defaultClosed |= connections[i]==defaultConnection ;
+            close( connections[i] ) ;
+        }
+        if( defaultConnection!=null && !defaultClosed ){
+            close( defaultConnection ) ;
+        }
+    }
+
+    private void close(RedisConnection redisConnection){
+        try{
+            redisConnection.close() ;
+        }catch( Exception e ){
+            log.error( "关闭redis连接异常: {}" , e.getMessage() ) ;
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed ;
+    }
+
+    // ---------------------------------------- RedisConnection
+
+    @Override
+    public List<Object> closePipeline() throws RedisPipelineException {
+        return connection().closePipeline() ;
+    }
+
+    @Override
+    public Object getNativeConnection() {
+        return connection().getNativeConnection() ;
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return connection().getSentinelConnection() ;
+    }
+
+    /**
+     * RedisTemplate每次执行都会调用，未固定连接时不获取连接
+     * @return
+     */
+    @Override
+    public boolean isPipelined() {
+        return pinnedConnection!=null && pinnedConnection.isPipelined() ;
+    }
+
+    @Override
+    public boolean isQueueing() {
+        return pinnedConnection!=null && pinnedConnection.isQueueing() ;
+    }
+
+    @Override
+    public void openPipeline() {
+        pin( connection() ).openPipeline() ;
+    }
+
+    // ---------------------------------------- RedisKeyCommands
+
+    @Override
+    public Long del(byte[]... keys) {
+        return connection( keys ).del( keys ) ;
+    }
+
+    @Override
+    public byte[] dump(byte[] key) {
+        return connection( key ).dump( key ) ;
+    }
+
+    @Override
+    public Boolean exists(byte[] key) {
+        return connection( key ).exists( key ) ;
+    }
+
+    @Override
+    public Boolean expire(byte[] key, long seconds) {
+        return connection( key ).expire( key , seconds ) ;
+    }
+
+    @Override
+    public Boolean expireAt(byte[] key, long unixTime) {
+        return connection( key ).expireAt( key , unixTime ) ;
+    }
+
+    @Override
+    public Set<byte[]> keys(byte[] pattern) {
+        return connection().keys( pattern ) ;
+    }
+
+    @Override
+    public Boolean move(byte[] key, int dbIndex) {
+        return connection( key ).move( key , dbIndex ) ;
+    }
+
+    @Override
+    public Boolean pExpire(byte[] key, long millis) {
+        return connection( key ).pExpire( key , millis ) ;
+    }
+
+    @Override
+    public Boolean pExpireAt(byte[] key, long unixTimeInMillis) {
+        return connection( key ).pExpireAt( key , unixTimeInMillis ) ;
+    }
+
+    @Override
+    public Long pTtl(byte[] key) {
+        return connection( key ).pTtl( key ) ;
+    }
+
+    @Override
+    public Long pTtl(byte[] key, TimeUnit timeUnit) {
+        return connection( key ).pTtl( key , timeUnit ) ;
+    }
+
+    @Override
+    public Boolean persist(byte[] key) {
+        return connection( key ).persist( key ) ;
+    }
+
+    @Override
+    public byte[] randomKey() {
+        return connection().randomKey() ;
+    }
+
+    @Override
+    public void rename(byte[] sourceKey, byte[] targetKey) {
+        connection( sourceKey ).rename( sourceKey , targetKey ) ;
+    }
+
+    @Override
+    public Boolean renameNX(byte[] sourceKey, byte[] targetKey) {
+        return connection( sourceKey ).renameNX( sourceKey , targetKey ) ;
+    }
+
+    @Override
+    public void restore(byte[] key, long ttlInMillis, byte[] serializedValue) {
+        connection( key ).restore( key , ttlInMillis , serializedValue ) ;
+    }
+
+    @Override
+    public Cursor<byte[]> scan(ScanOptions options) {
+        return connection().scan( options ) ;
+    }
+
+    @Override
+    public List<byte[]> sort(byte[] key, SortParameters params) {
+        return connection( key ).sort( key , params ) ;
+    }
+
+    @Override
+    public Long sort(byte[] key, SortParameters params, byte[] sortKey) {
+        return connection( key ).sort( key , params , sortKey ) ;
+    }
+
+    @Override
+    public Long ttl(byte[] key) {
+        return connection( key ).ttl( key ) ;
+    }
+
+    @Override
+    public Long ttl(byte[] key, TimeUnit timeUnit) {
+        return connection( key ).ttl( key , timeUnit ) ;
+    }
+
+    @Override
+    public DataType type(byte[] pattern) {
+        return connection().type( pattern ) ;
+    }
+
+    // ---------------------------------------- RedisStringCommands
+
+    @Override
+    public Long append(byte[] key, byte[] value) {
+        return connection( key ).append( key , value ) ;
+    }
+
+    @Override
+    public Long bitCount(byte[] key) {
+        return connection( key ).bitCount( key ) ;
+    }
+
+    @Override
+    public Long bitCount(byte[] key, long start, long end) {
+        return connection( key ).bitCount( key , start , end ) ;
+    }
+
+    @Override
+    public Long bitOp(RedisStringCommands.BitOperation op, byte[] destination, byte[]... keys) {
+        return connection( keys ).bitOp( op , destination , keys ) ;
+    }
+
+    @Override
+    public Long decr(byte[] key) {
+        return connection( key ).decr( key ) ;
+    }
+
+    @Override
+    public Long decrBy(byte[] key, long value) {
+        return connection( key ).decrBy( key , value ) ;
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        return connection( key ).get( key ) ;
+    }
+
+    @Override
+    public Boolean getBit(byte[] key, long offset) {
+        return connection( key ).getBit( key , offset ) ;
+    }
+
+    @Override
+    public byte[] getRange(byte[] key, long start, long end) {
+        return connection( key ).getRange( key , start , end ) ;
+    }
+
+    @Override
+    public byte[] getSet(byte[] key, byte[] value) {
+        return connection( key ).getSet( key , value ) ;
+    }
+
+    @Override
+    public Long incr(byte[] key) {
+        return connection( key ).incr( key ) ;
+    }
+
+    @Override
+    public Double incrBy(byte[] key, double value) {
+        return connection( key ).incrBy( key , value ) ;
+    }
+
+    @Override
+    public Long incrBy(byte[] key, long value) {
+        return connection( key ).incrBy( key , value ) ;
+    }
+
+    @Override
+    public List<byte[]> mGet(byte[]... keys) {
+        return connection( keys ).mGet( keys ) ;
+    }
+
+    @Override
+    public Boolean mSet(Map<byte[], byte[]> tuple) {
+        return connection().mSet( tuple ) ;
+    }
+
+    @Override
+    public Boolean mSetNX(Map<byte[], byte[]> tuple) {
+        return connection().mSetNX( tuple ) ;
+    }
+
+    @Override
+    public Boolean pSetEx(byte[] key, long milliseconds, byte[] value) {
+        return connection( key ).pSetEx( key , milliseconds , value ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value) {
+        return connection( key ).set( key , value ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value, Expiration expiration, RedisStringCommands.SetOption option) {
+        return connection( key ).set( key , value , expiration , option ) ;
+    }
+
+    @Override
+    public Boolean setBit(byte[] key, long offset, boolean value) {
+        return connection( key ).setBit( key , offset , value ) ;
+    }
+
+    @Override
+    public Boolean setEx(byte[] key, long seconds, byte[] value) {
+        return connection( key ).setEx( key , seconds , value ) ;
+    }
+
+    @Override
+    public Boolean setNX(byte[] key, byte[] value) {
+        return connection( key ).setNX( key , value ) ;
+    }
+
+    @Override
+    public void setRange(byte[] key, byte[] value, long offset) {
+        connection( key ).setRange( key , value , offset ) ;
+    }
+
+    @Override
+    public Long strLen(byte[] key) {
+        return connection( key ).strLen( key ) ;
+    }
+
+    // ---------------------------------------- RedisListCommands
+
+    @Override
+    public List<byte[]> bLPop(int timeout, byte[]... keys) {
+        return connection( keys ).bLPop( timeout , keys ) ;
+    }
+
+    @Override
+    public List<byte[]> bRPop(int timeout, byte[]... keys) {
+        return connection( keys ).bRPop( timeout , keys ) ;
+    }
+
+    @Override
+    public byte[] bRPopLPush(int timeout, byte[] srcKey, byte[] dstKey) {
+        return connection( srcKey ).bRPopLPush( timeout , srcKey , dstKey ) ;
+    }
+
+    @Override
+    public byte[] lIndex(byte[] key, long index) {
+        return connection( key ).lIndex( key , index ) ;
+    }
+
+    @Override
+    public Long lInsert(byte[] key, RedisListCommands.Position where, byte[] pivot, byte[] value) {
+        return connection( key ).lInsert( key , where , pivot , value ) ;
+    }
+
+    @Override
+    public Long lLen(byte[] key) {
+        return connection( key ).lLen( key ) ;
+    }
+
+    @Override
+    public byte[] lPop(byte[] key) {
+        return connection( key ).lPop( key ) ;
+    }
+
+    @Override
+    public Long lPush(byte[] key, byte[]... values) {
+        return connection( key ).lPush( key , values ) ;
+    }
+
+    @Override
+    public Long lPushX(byte[] key, byte[] value) {
+        return connection( key ).lPushX( key , value ) ;
+    }
+
+    @Override
+    public List<byte[]> lRange(byte[] key, long start, long end) {
+        return connection( key ).lRange( key , start , end ) ;
+    }
+
+    @Override
+    public Long lRem(byte[] key, long count, byte[] value) {
+        return connection( key ).lRem( key , count , value ) ;
+    }
+
+    @Override
+    public void lSet(byte[] key, long index, byte[] value) {
+        connection( key ).lSet( key , index , value ) ;
+    }
+
+    @Override
+    public void lTrim(byte[] key, long start, long end) {
+        connection( key ).lTrim( key , start , end ) ;
+    }
+
+    @Override
+    public byte[] rPop(byte[] key) {
+        return connection( key ).rPop( key ) ;
+    }
+
+    @Override
+    public byte[] rPopLPush(byte[] srcKey, byte[] dstKey) {
+        return connection( srcKey ).rPopLPush( srcKey , dstKey ) ;
+    }
+
+    @Override
+    public Long rPush(byte[] key, byte[]... values) {
+        return connection( key ).rPush( key , values ) ;
+    }
+
+    @Override
+    public Long rPushX(byte[] key, byte[] value) {
+        return connection( key ).rPushX( key , value ) ;
+    }
+
+    // ---------------------------------------- RedisSetCommands
+
+    @Override
+    public Long sAdd(byte[] key, byte[]... values) {
+        return connection( key ).sAdd( key , values ) ;
+    }
+
+    @Override
+    public Long sCard(byte[] key) {
+        return connection( key ).sCard( key ) ;
+    }
+
+    @Override
+    public Set<byte[]> sDiff(byte[]... keys) {
+        return connection( keys ).sDiff( keys ) ;
+    }
+
+    @Override
+    public Long sDiffStore(byte[] destKey, byte[]... keys) {
+        return connection( destKey ).sDiffStore( destKey , keys ) ;
+    }
+
+    @Override
+    public Set<byte[]> sInter(byte[]... keys) {
+        return connection( keys ).sInter( keys ) ;
+    }
+
+    @Override
+    public Long sInterStore(byte[] destKey, byte[]... keys) {
+        return connection( destKey ).sInterStore( destKey , keys ) ;
+    }
+
+    @Override
+    public Boolean sIsMember(byte[] key, byte[] value) {
+        return connection( key ).sIsMember( key , value ) ;
+    }
+
+    @Override
+    public Set<byte[]> sMembers(byte[] key) {
+        return connection( key ).sMembers( key ) ;
+    }
+
+    @Override
+    public Boolean sMove(byte[] srcKey, byte[] destKey, byte[] value) {
+        return connection( srcKey ).sMove( srcKey , destKey , value ) ;
+    }
+
+    @Override
+    public byte[] sPop(byte[] key) {
+        return connection( key ).sPop( key ) ;
+    }
+
+    @Override
+    public List<byte[]> sPop(byte[] key, long count) {
+        return connection( key ).sPop( key , count ) ;
+    }
+
+    @Override
+    public byte[] sRandMember(byte[] key) {
+        return connection( key ).sRandMember( key ) ;
+    }
+
+    @Override
+    public List<byte[]> sRandMember(byte[] key, long count) {
+        return connection( key ).sRandMember( key , count ) ;
+    }
+
+    @Override
+    public Long sRem(byte[] key, byte[]... values) {
+        return connection( key ).sRem( key , values ) ;
+    }
+
+    @Override
+    public Cursor<byte[]> sScan(byte[] key, ScanOptions options) {
+        return connection( key ).sScan( key , options ) ;
+    }
+
+    @Override
+    public Set<byte[]> sUnion(byte[]... keys) {
+        return connection( keys ).sUnion( keys ) ;
+    }
+
+    @Override
+    public Long sUnionStore(byte[] destKey, byte[]... keys) {
+        return connection( destKey ).sUnionStore( destKey , keys ) ;
+    }
+
+    // ---------------------------------------- RedisZSetCommands
+
+    @Override
+    public Long zAdd(byte[] key, Set<RedisZSetCommands.Tuple> tuples) {
+        return connection( key ).zAdd( key , tuples ) ;
+    }
+
+    @Override
+    public Boolean zAdd(byte[] key, double score, byte[] value) {
+        return connection( key ).zAdd( key , score , value ) ;
+    }
+
+    @Override
+    public Long zCard(byte[] key) {
+        return connection( key ).zCard( key ) ;
+    }
+
+    @Override
+    public Long zCount(byte[] key, RedisZSetCommands.Range range) {
+        return connection( key ).zCount( key , range ) ;
+    }
+
+    @Override
+    public Double zIncrBy(byte[] key, double increment, byte[] value) {
+        return connection( key ).zIncrBy( key , increment , value ) ;
+    }
+
+    @Override
+    public Long zInterStore(byte[] destKey, byte[]... sets) {
+        return connection( destKey ).zInterStore( destKey , sets ) ;
+    }
+
+    @Override
+    public Long zInterStore(byte[] destKey, RedisZSetCommands.Aggregate aggregate, int[] weights, byte[]... sets) {
+        return connection( destKey ).zInterStore( destKey , aggregate , weights , sets ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRange(byte[] key, long start, long end) {
+        return connection( key ).zRange( key , start , end ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByLex(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return connection( key ).zRangeByLex( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByScore(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return connection( key ).zRangeByScore( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRangeByScore(byte[] key, String min, String max, long offset, long count) {
+        return connection( key ).zRangeByScore( key , min , max , offset , count ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRangeByScoreWithScores(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return connection( key ).zRangeByScoreWithScores( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRangeWithScores(byte[] key, long start, long end) {
+        return connection( key ).zRangeWithScores( key , start , end ) ;
+    }
+
+    @Override
+    public Long zRank(byte[] key, byte[] value) {
+        return connection( key ).zRank( key , value ) ;
+    }
+
+    @Override
+    public Long zRem(byte[] key, byte[]... values) {
+        return connection( key ).zRem( key , values ) ;
+    }
+
+    @Override
+    public Long zRemRange(byte[] key, long start, long end) {
+        return connection( key ).zRemRange( key , start , end ) ;
+    }
+
+    @Override
+    public Long zRemRangeByScore(byte[] key, RedisZSetCommands.Range range) {
+        return connection( key ).zRemRangeByScore( key , range ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRevRange(byte[] key, long start, long end) {
+        return connection( key ).zRevRange( key , start , end ) ;
+    }
+
+    @Override
+    public Set<byte[]> zRevRangeByScore(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return connection( key ).zRevRangeByScore( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRevRangeByScoreWithScores(byte[] key, RedisZSetCommands.Range range, RedisZSetCommands.Limit limit) {
+        return connection( key ).zRevRangeByScoreWithScores( key , range , limit ) ;
+    }
+
+    @Override
+    public Set<RedisZSetCommands.Tuple> zRevRangeWithScores(byte[] key, long start, long end) {
+        return connection( key ).zRevRangeWithScores( key , start , end ) ;
+    }
+
+    @Override
+    public Long zRevRank(byte[] key, byte[] value) {
+        return connection( key ).zRevRank( key , value ) ;
+    }
+
+    @Override
+    public Cursor<RedisZSetCommands.Tuple> zScan(byte[] key, ScanOptions options) {
+        return connection( key ).zScan( key , options ) ;
+    }
+
+    @Override
+    public Double zScore(byte[] key, byte[] value) {
+        return connection( key ).zScore( key , value ) ;
+    }
+
+    @Override
+    public Long zUnionStore(byte[] destKey, byte[]... sets) {
+        return connection( destKey ).zUnionStore( destKey , sets ) ;
+    }
+
+    @Override
+    public Long zUnionStore(byte[] destKey, RedisZSetCommands.Aggregate aggregate, int[] weights, byte[]... sets) {
+        return connection( destKey ).zUnionStore( destKey , aggregate , weights , sets ) ;
+    }
+
+    // ---------------------------------------- RedisHashCommands
+
+    @Override
+    public Long hDel(byte[] key, byte[]... fields) {
+        return connection( key ).hDel( key , fields ) ;
+    }
+
+    @Override
+    public Boolean hExists(byte[] key, byte[] field) {
+        return connection( key ).hExists( key , field ) ;
+    }
+
+    @Override
+    public byte[] hGet(byte[] key, byte[] field) {
+        return connection( key ).hGet( key , field ) ;
+    }
+
+    @Override
+    public Map<byte[], byte[]> hGetAll(byte[] key) {
+        return connection( key ).hGetAll( key ) ;
+    }
+
+    @Override
+    public Double hIncrBy(byte[] key, byte[] field, double delta) {
+        return connection( key ).hIncrBy( key , field , delta ) ;
+    }
+
+    @Override
+    public Long hIncrBy(byte[] key, byte[] field, long delta) {
+        return connection( key ).hIncrBy( key , field , delta ) ;
+    }
+
+    @Override
+    public Set<byte[]> hKeys(byte[] key) {
+        return connection( key ).hKeys( key ) ;
+    }
+
+    @Override
+    public Long hLen(byte[] key) {
+        return connection( key ).hLen( key ) ;
+    }
+
+    @Override
+    public List<byte[]> hMGet(byte[] key, byte[]... fields) {
+        return connection( key ).hMGet( key , fields ) ;
+    }
+
+    @Override
+    public void hMSet(byte[] key, Map<byte[], byte[]> hashes) {
+        connection( key ).hMSet( key , hashes ) ;
+    }
+
+    @Override
+    public Cursor<Map.Entry<byte[], byte[]>> hScan(byte[] key, ScanOptions options) {
+        return connection( key ).hScan( key , options ) ;
+    }
+
+    @Override
+    public Boolean hSet(byte[] key, byte[] field, byte[] value) {
+        return connection( key ).hSet( key , field , value ) ;
+    }
+
+    @Override
+    public Boolean hSetNX(byte[] key, byte[] field, byte[] value) {
+        return connection( key ).hSetNX( key , field , value ) ;
+    }
+
+    @Override
+    public List<byte[]> hVals(byte[] key) {
+        return connection( key ).hVals( key ) ;
+    }
+
+    // ---------------------------------------- RedisTxCommands
+
+    @Override
+    public void discard() {
+        connection().discard() ;
+    }
+
+    @Override
+    public List<Object> exec() {
+        return connection().exec() ;
+    }
+
+    @Override
+    public void multi() {
+        pin( connection() ).multi() ;
+    }
+
+    @Override
+    public void unwatch() {
+        connection().unwatch() ;
+    }
+
+    @Override
+    public void watch(byte[]... keys) {
+        pin( connection( keys ) ).watch( keys ) ;
+    }
+
+    // ---------------------------------------- RedisPubSubCommands
+
+    @Override
+    public Subscription getSubscription() {
+        return connection().getSubscription() ;
+    }
+
+    @Override
+    public boolean isSubscribed() {
+        return connection().isSubscribed() ;
+    }
+
+    @Override
+    public void pSubscribe(MessageListener listener, byte[]... patterns) {
+        pin( connection() ).pSubscribe( listener , patterns ) ;
+    }
+
+    @Override
+    public Long publish(byte[] channel, byte[] message) {
+        return connection().publish( channel , message ) ;
+    }
+
+    @Override
+    public void subscribe(MessageListener listener, byte[]... channels) {
+        pin( connection() ).subscribe( listener , channels ) ;
+    }
+
+    // ---------------------------------------- RedisConnectionCommands
+
+    @Override
+    public byte[] echo(byte[] message) {
+        return connection().echo( message ) ;
+    }
+
+    @Override
+    public String ping() {
+        return connection().ping() ;
+    }
+
+    @Override
+    public void select(int dbIndex) {
+        if( pinnedConnection!=null ){
+            pinnedConnection.select( dbIndex ) ;
+            return;
+        }
+        // 已获取的连接都切换数据库，之后获取的连接在获取时切换
+        boolean defaultSelected = false ;
+        for (int i = 0; i < size; i++) {
+            connections[i].select( dbIndex ) ;
+            defaultSelected |= connections[i]==defaultConnection ;
+        }
+        if( defaultConnection!=null && !defaultSelected ){
+            defaultConnection.select( dbIndex ) ;
+        }
+        this.dbIndex = dbIndex ;
+    }
+
+    // ---------------------------------------- RedisServerCommands
+
+    @Override
+    public void bgReWriteAof() {
+        connection().bgReWriteAof() ;
+    }
+
+    @Override
+    public void bgSave() {
+        connection().bgSave() ;
+    }
+
+    @Override
+    public Long dbSize() {
+        return connection().dbSize() ;
+    }
+
+    @Override
+    public void flushAll() {
+        connection().flushAll() ;
+    }
+
+    @Override
+    public void flushDb() {
+        connection().flushDb() ;
+    }
+
+    @Override
+    public List<RedisClientInfo> getClientList() {
+        return connection().getClientList() ;
+    }
+
+    @Override
+    public String getClientName() {
+        return connection().getClientName() ;
+    }
+
+    @Override
+    public Properties getConfig(String pattern) {
+        return connection().getConfig( pattern ) ;
+    }
+
+    @Override
+    public Properties info() {
+        return connection().info() ;
+    }
+
+    @Override
+    public Properties info(String section) {
+        return connection().info( section ) ;
+    }
+
+    @Override
+    public void killClient(String host, int port) {
+        connection().killClient( host , port ) ;
+    }
+
+    @Override
+    public Long lastSave() {
+        return connection().lastSave() ;
+    }
+
+    @Override
+    public void migrate(byte[] key, RedisNode target, int dbIndex, RedisServerCommands.MigrateOption option) {
+        connection( key ).migrate( key , target , dbIndex , option ) ;
+    }
+
+    @Override
+    public void migrate(byte[] key, RedisNode target, int dbIndex, RedisServerCommands.MigrateOption option, long timeout) {
+        connection( key ).migrate( key , target , dbIndex , option , timeout ) ;
+    }
+
+    @Override
+    public void resetConfigStats() {
+        connection().resetConfigStats() ;
+    }
+
+    @Override
+    public void save() {
+        connection().save() ;
+    }
+
+    @Override
+    public void setClientName(byte[] name) {
+        connection().setClientName( name ) ;
+    }
+
+    @Override
+    public void setConfig(String param, String value) {
+        connection().setConfig( param , value ) ;
+    }
+
+    @Override
+    public void shutdown() {
+        connection().shutdown() ;
+    }
+
+    @Override
+    public void shutdown(RedisServerCommands.ShutdownOption option) {
+        connection().shutdown( option ) ;
+    }
+
+    @Override
+    public void slaveOf(String host, int port) {
+        connection().slaveOf( host , port ) ;
+    }
+
+    @Override
+    public void slaveOfNoOne() {
+        connection().slaveOfNoOne() ;
+    }
+
+    @Override
+    public Long time() {
+        return connection().time() ;
+    }
+
+    // ---------------------------------------- RedisScriptingCommands
+
+    @Override
+    public <T> T eval(byte[] script, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return connection().eval( script , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public <T> T evalSha(byte[] scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return connection().evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public <T> T evalSha(String scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        return connection().evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+    }
+
+    @Override
+    public List<Boolean> scriptExists(String... scriptShas) {
+        return connection().scriptExists( scriptShas ) ;
+    }
+
+    @Override
+    public void scriptFlush() {
+        connection().scriptFlush() ;
+    }
+
+    @Override
+    public void scriptKill() {
+        connection().scriptKill() ;
+    }
+
+    @Override
+    public String scriptLoad(byte[] script) {
+        return connection().scriptLoad( script ) ;
+    }
+
+    // ---------------------------------------- RedisGeoCommands
+
+    @Override
+    public Long geoAdd(byte[] key, Iterable<RedisGeoCommands.GeoLocation<byte[]>> locations) {
+        return connection( key ).geoAdd( key , locations ) ;
+    }
+
+    @Override
+    public Long geoAdd(byte[] key, Map<byte[], Point> memberCoordinateMap) {
+        return connection( key ).geoAdd( key , memberCoordinateMap ) ;
+    }
+
+    @Override
+    public Long geoAdd(byte[] key, Point point, byte[] member) {
+        return connection( key ).geoAdd( key , point , member ) ;
+    }
+
+    @Override
+    public Distance geoDist(byte[] key, byte[] member1, byte[] member2) {
+        return connection( key ).geoDist( key , member1 , member2 ) ;
+    }
+
+    @Override
+    public Distance geoDist(byte[] key, byte[] member1, byte[] member2, Metric metric) {
+        return connection( key ).geoDist( key , member1 , member2 , metric ) ;
+    }
+
+    @Override
+    public List<String> geoHash(byte[] key, byte[]... members) {
+        return connection( key ).geoHash( key , members ) ;
+    }
+
+    @Override
+    public List<Point> geoPos(byte[] key, byte[]... members) {
+        return connection( key ).geoPos( key , members ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadius(byte[] key, Circle within) {
+        return connection( key ).geoRadius( key , within ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadius(byte[] key, Circle within, RedisGeoCommands.GeoRadiusCommandArgs args) {
+        return connection( key ).geoRadius( key , within , args ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadiusByMember(byte[] key, byte[] member, Distance radius) {
+        return connection( key ).geoRadiusByMember( key , member , radius ) ;
+    }
+
+    @Override
+    public GeoResults<RedisGeoCommands.GeoLocation<byte[]>> geoRadiusByMember(byte[] key, byte[] member, Distance radius, RedisGeoCommands.GeoRadiusCommandArgs args) {
+        return connection( key ).geoRadiusByMember( key , member , radius , args ) ;
+    }
+
+    @Override
+    public Long geoRemove(byte[] key, byte[]... members) {
+        return connection( key ).geoRemove( key , members ) ;
+    }
+
+    // ---------------------------------------- RedisHyperLogLogCommands
+
+    @Override
+    public Long pfAdd(byte[] key, byte[]... values) {
+        return connection( key ).pfAdd( key , values ) ;
+    }
+
+    @Override
+    public Long pfCount(byte[]... keys) {
+        return connection( keys ).pfCount( keys ) ;
+    }
+
+    @Override
+    public void pfMerge(byte[] destinationKey, byte[]... sourceKeys) {
+        connection().pfMerge( destinationKey , sourceKeys ) ;
+    }
+
+    // ---------------------------------------- RedisCommands
+
+    @Override
+    public Object execute(String command, byte[]... args) {
+        return connection().execute( command , args ) ;
+    }
+
+}
@@ -0,0 +1,315 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import com.rtf.redis.client.lb.AppRedisRule;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.lettuce.LettuceConverters;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 大批量多key命令的并行拆分。
+ * key数量较多的mGet、mSet、del按配置的分片大小拆分，使用轮询规则为每个分片选择一个可用的主节点，
+ * 在各主机共享的原生连接上并行发送，结果按参数顺序合并。
+ * 分片因网络异常失败时只在其他主机上重试该分片，已经成功的分片不重复发送；redis返回的错误或重试后仍失败时抛出异常。
+ * mSet拆分后不再是原子操作，失败时部分分片可能已经写入。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisScatterGather {
+
+    /**
+     * 选择分片主机的最大次数
+     */
+    private static final int MAX_SELECT_COUNT = 3 ;
+
+    @Getter
+    private final AppRedisScatterGatherConfig config ;
+
+    /**
+     * 选择分片主机的规则
+     */
+    private final AppRedisRule chunkRule ;
+
+    private final long timeoutNanos ;
+
+    private final int chunkSize ;
+
+    private final LongAdder scatterCount = new LongAdder() ;
+
+    private final LongAdder chunkCount = new LongAdder() ;
+
+    private final LongAdder retryCount = new LongAdder() ;
+
+    public AppRedisScatterGather(AppRedisScatterGatherConfig config , AppRedisRule chunkRule , Duration timeout){
+        this.config = config ;
+        this.chunkRule = chunkRule ;
+        this.timeoutNanos = timeout.toNanos() ;
+        this.chunkSize = Math.max( 1 , config.getChunkSize() ) ;
+    }
+
+    /**
+     * 指定数量的key是否需要拆分执行
+     * @param keyCount
+     * @return
+     */
+    public boolean isScattered(int keyCount){
+        return keyCount >= config.getMinKeys() && keyCount > chunkSize ;
+    }
+
+    /**
+     * 拆分执行mGet，结果与参数的顺序相同
+     * @param keys
+     * @return
+     */
+    public List<byte[]> mGet(byte[]... keys){
+        List<List<KeyValue<byte[],byte[]>>> results = execute( AppRedisCommandFamily.STRING , "mGet" , keys ,
+                chunk -> commands -> commands.mget( chunk ) ) ;
+        List<byte[]> values = new ArrayList<>( keys.length ) ;
+        for (List<KeyValue<byte[], byte[]>> result : results) {
+            values.addAll( LettuceConverters.<byte[],byte[]>keyValueListUnwrapper().convert( result ) ) ;
+        }
+        return values ;
+    }
+
+    /**
+     * 拆分执行mSet，所有分片都成功时返回true
+     * @param tuple
+     * @return
+     */
+    public Boolean mSet(Map<byte[], byte[]> tuple){
+        byte[][] keys = tuple.keySet().toArray( new byte[ tuple.size() ][] ) ;
+        List<String> results = execute( AppRedisCommandFamily.STRING , "mSet" , keys ,
+                chunk -> {
+                    Map<byte[],byte[]> chunkTuple = new LinkedHashMap<>( chunk.length * 2 ) ;
+                    for (byte[] key : chunk) {
+                        chunkTuple.put( key , tuple.get( key ) ) ;
+                    }
+                    return commands -> commands.mset( chunkTuple ) ;
+                } ) ;
+        for (String result : results) {
+            if( !LettuceConverters.stringToBoolean( result ) ){
+                return false ;
+            }
+        }
+        return true ;
+    }
+
+    /**
+     * 拆分执行del，返回各分片删除数量之和
+     * @param keys
+     * @return
+     */
+    public Long del(byte[]... keys){
+        List<Long> results = execute( AppRedisCommandFamily.KEY , "del" , keys ,
+                chunk -> commands -> commands.del( chunk ) ) ;
+        long count = 0 ;
+        for (Long result : results) {
+            count += result==null ? 0 : result ;
+        }
+        return count ;
+    }
+
+    /**
+     * 按分片并行发送命令，按分片顺序返回结果
+     * @param family 命令分类
+     * @param command 命令名称
+     * @param keys 所有key
+     * @param call 根据分片的key生成写入命令的函数
+     * @param <T>
+     * @return
+     */
+    private <T> List<T> execute(AppRedisCommandFamily family , String command , byte[][] keys ,
+                                Function<byte[][],Function<RedisAsyncCommands<byte[],byte[]>,RedisFuture<T>>> call){
+        scatterCount.increment() ;
+        long startNanos = System.nanoTime() ;
+        // 每个分片的命令由lettuce按spring.redis.timeout超时，重试的分片另外计算超时时间
+        long deadline = startNanos + timeoutNanos * ( Math.max( 0 , config.getMaxRetries() ) + 1 ) ;
+        int chunks = ( keys.length + chunkSize - 1 ) / chunkSize ;
+        List<byte[][]> chunkKeys = new ArrayList<>( chunks ) ;
+        List<AppRedisConnectionFactory> chunkFactories = new ArrayList<>( chunks ) ;
+        List<CompletableFuture<T>> futures = new ArrayList<>( chunks ) ;
+        for (int i = 0; i < chunks; i++) {
+            byte[][] chunk = Arrays.copyOfRange( keys , i * chunkSize , Math.min( keys.length , ( i + 1 ) * chunkSize ) ) ;
+            AppRedisConnectionFactory connectionFactory = choose( null ) ;
+            chunkKeys.add( chunk ) ;
+            chunkFactories.add( connectionFactory ) ;
+            futures.add( send( connectionFactory , family , command , chunk , call.apply( chunk ) ) ) ;
+        }
+        chunkCount.add( chunks ) ;
+        List<T> results = new ArrayList<>( chunks ) ;
+        for (int i = 0; i < chunks; i++) {
+            results.add( gather( family , command , chunkKeys.get( i ) , chunkFactories.get( i ) , futures.get( i ) ,
+                    call , startNanos , deadline ) ) ;
+        }
+        return results ;
+    }
+
+    /**
+     * 等待一个分片的结果，网络异常时在其他主机上重试该分片
+     * @param family
+     * @param command
+     * @param chunk 分片的key
+     * @param connectionFactory 分片所在的主机
+     * @param future 分片的命令
+     * @param call
+     * @param sendNanos 分片的发送时间
+     * @param deadline 所有分片的截止时间
+     * @param <T>
+     * @return
+     */
+    private <T> T gather(AppRedisCommandFamily family , String command , byte[][] chunk ,
+                         AppRedisConnectionFactory connectionFactory , CompletableFuture<T> future ,
+                         Function<byte[][],Function<RedisAsyncCommands<byte[],byte[]>,RedisFuture<T>>> call ,
+                         long sendNanos , long deadline){
+        int retries = 0 ;
+        while (true){
+            DataAccessException exception ;
+            try{
+                // 每次发送最多等待spring.redis.timeout，连接断开后重新发送的命令也不会等待到所有分片的截止时间
+                long waitNanos = Math.min( sendNanos + timeoutNanos , deadline ) - System.nanoTime() ;
+                return future.get( Math.max( 0 , waitNanos ) , TimeUnit.NANOSECONDS ) ;
+            }catch( ExecutionException e ){
+                exception = convert( e.getCause() ) ;
+            }catch( TimeoutException e ){
+                exception = convert( new RedisCommandTimeoutException( "Command timed out" ) ) ;
+            }catch( InterruptedException e ){
+                Thread.currentThread().interrupt() ;
+                throw convert( e ) ;
+            }
+            if( retries++ >= config.getMaxRetries() || System.nanoTime() - deadline >= 0
+                    || !AppRedisFailover.isNetworkException( exception ) ){
+                throw exception ;
+            }
+            AppRedisConnectionFactory retryFactory = choose( connectionFactory ) ;
+            if( retryFactory==null ){
+                throw exception ;
+            }
+            log.warn( "redis主机:{} 中命令 {} 的分片失败，在主机:{} 上重试, {}" , connectionFactory==null ? null :
+                    connectionFactory.getHostName() , command , retryFactory.getHostName() , exception.getMessage() ) ;
+            retryCount.increment() ;
+            connectionFactory = retryFactory ;
+            sendNanos = System.nanoTime() ;
+            future = send( connectionFactory , family , command , chunk , call.apply( chunk ) ) ;
+        }
+    }
+
+    /**
+     * 在主机的共享连接上发送命令，命令结束时记录耗时和断路器状态
+     * @param connectionFactory 为空时返回失败的结果
+     * @param family
+     * @param command
+     * @param keys
+     * @param call
+     * @param <T>
+     * @return
+     */
+    private <T> CompletableFuture<T> send(AppRedisConnectionFactory connectionFactory , AppRedisCommandFamily family ,
+                                          String command , byte[][] keys ,
+                                          Function<RedisAsyncCommands<byte[],byte[]>,RedisFuture<T>> call){
+        CompletableFuture<T> failed = new CompletableFuture<>() ;
+        if( connectionFactory==null ){
+            failed.completeExceptionally( new RedisConnectionFailureException( "无可用的redis连接" ) ) ;
+            return failed ;
+        }
+        AppRedisHostStats hostStats = connectionFactory.getHostStats() ;
+        AppRedisCircuitBreaker circuitBreaker = connectionFactory.getCircuitBreaker() ;
+        long startNanos = hostStats.start( keys ) ;
+        RedisFuture<T> future ;
+        try{
+            future = call.apply( connectionFactory.getSharedNativeConnection().async() ) ;
+        }catch( RuntimeException e ){
+            circuitBreaker.onError( hostStats.complete( family , startNanos ) ) ;
+            failed.completeExceptionally( e ) ;
+            return failed ;
+        }
+        future.whenComplete( ( result , e ) -> {
+            long durationNanos = hostStats.complete( family , startNanos ) ;
+            if( e==null ){
+                circuitBreaker.onSuccess( durationNanos ) ;
+            }else{
+                log.error( "redis主机:{} 中命令 {} 执行异常, {}" , connectionFactory.getHostName() , command , e.getMessage() ) ;
+                circuitBreaker.onError( durationNanos ) ;
+            }
+        } ) ;
+        return future.toCompletableFuture() ;
+    }
+
+    /**
+     * 选择分片的主机，只使用主节点
+     * @param failed 分片已经失败的主机，为空时选择任意可用的主机
+     * @return 没有可用主机时返回null
+     */
+    private AppRedisConnectionFactory choose(AppRedisConnectionFactory failed){
+        for (int i = 0; i < MAX_SELECT_COUNT; i++) {
+            AppRedisConnectionFactory connectionFactory = chunkRule.choose( null , true ) ;
+            if( connectionFactory==null ){
+                break;
+            }
+            if( connectionFactory!=failed && connectionFactory.getShareNativeConnection() ){
+                return connectionFactory ;
+            }
+        }
+        return null ;
+    }
+
+    private static DataAccessException convert(Throwable e){
+        if( e instanceof CompletionException && e.getCause()!=null ){
+            e = e.getCause() ;
+        }
+        if( e instanceof DataAccessException ){
+            return (DataAccessException) e ;
+        }
+        DataAccessException exception = e instanceof Exception ?
+                LettuceConverters.exceptionConverter().convert( (Exception) e ) : null ;
+        return exception!=null ? exception : new RedisSystemException( "Unknown Lettuce exception" , e ) ;
+    }
+
+    /**
+     * 获取拆分执行的命令数
+     * @return
+     */
+    public long getScatterCount(){
+        return scatterCount.sum() ;
+    }
+
+    /**
+     * 获取发送的分片数，不包括重试
+     * @return
+     */
+    public long getChunkCount(){
+        return chunkCount.sum() ;
+    }
+
+    /**
+     * 获取分片在其他主机上重试的次数
+     * @return
+     */
+    public long getRetryCount(){
+        return retryCount.sum() ;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.rtf.redis.client;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 大批量多key命令并行拆分配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisScatterGatherConfig {
+
+    /**
+     * 是否开启并行拆分，默认关闭，只在多个主机时生效
+     */
+    private boolean enabled = false ;
+
+    /**
+     * mGet、mSet、del的key数量达到该值时拆分执行
+     */
+    private int minKeys = 1000 ;
+
+    /**
+     * 每个分片的key数量
+     */
+    private int chunkSize = 500 ;
+
+    /**
+     * 每个分片因网络异常失败时在其他主机上重试的最大次数
+     */
+    private int maxRetries = 1 ;
+
+}
@@ -0,0 +1,87 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.cache.AppRedisNearCache;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 大批量多key命令并行拆分的连接。
+ * key数量达到配置值的mGet、mSet、del通过 {@link AppRedisScatterGather} 拆分到多个主机并行执行，
+ * 其他命令以及事务、手动管道中的命令委托至原连接。拆分执行的写命令执行后使本地缓存失效。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisScatterGatherConnection extends AppRedisDelegatingConnection {
+
+    private final AppRedisScatterGather scatterGather ;
+
+    /**
+     * 本地缓存，为空时不使用
+     */
+    private final AppRedisNearCache nearCache ;
+
+    public AppRedisScatterGatherConnection(RedisConnection delegate , AppRedisScatterGather scatterGather ,
+                                           AppRedisNearCache nearCache){
+        super( delegate ) ;
+        this.scatterGather = scatterGather ;
+        this.nearCache = nearCache ;
+    }
+
+    /**
+     * 是否拆分执行
+     * @param keyCount
+     * @return
+     */
+    protected boolean isScattered(int keyCount){
+        return scatterGather.isScattered( keyCount ) && !delegate.isPipelined() && !delegate.isQueueing() ;
+    }
+
+    private void invalidate(byte[]... keys){
+        if( nearCache==null ){
+            return;
+        }
+        for (byte[] key : keys) {
+            nearCache.invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public List<byte[]> mGet(byte[]... keys) {
+        if( keys==null || !isScattered( keys.length ) ){
+            return delegate.mGet( keys ) ;
+        }
+        return scatterGather.mGet( keys ) ;
+    }
+
+    @Override
+    public Boolean mSet(Map<byte[], byte[]> tuple) {
+        if( tuple==null || !isScattered( tuple.size() ) ){
+            return delegate.mSet( tuple ) ;
+        }
+        try{
+            return scatterGather.mSet( tuple ) ;
+        }finally {
+            if( nearCache!=null ){
+                for (byte[] key : tuple.keySet()) {
+                    nearCache.invalidate( key ) ;
+                }
+            }
+        }
+    }
+
+    @Override
+    public Long del(byte[]... keys) {
+        if( keys==null || !isScattered( keys.length ) ){
+            return delegate.del( keys ) ;
+        }
+        try{
+            return scatterGather.del( keys ) ;
+        }finally {
+            invalidate( keys ) ;
+        }
+    }
+
+}
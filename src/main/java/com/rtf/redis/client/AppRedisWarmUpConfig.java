@@ -0,0 +1,33 @@
+package com.rtf.redis.client;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * redis连接预热配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisWarmUpConfig {
+
+    /**
+     * 是否在创建连接工厂时预热连接，默认开启
+     */
+    private boolean enabled = true ;
+
+    /**
+     * 多节点时同时创建和预热连接工厂的最大线程数
+     */
+    private int parallelism = 8 ;
+
+    /**
+     * 预热失败的节点不加入负载均衡，每隔retryInterval在后台重新预热，成功后加入
+     */
+    private Duration retryInterval = Duration.ofSeconds( 5 ) ;
+
+}
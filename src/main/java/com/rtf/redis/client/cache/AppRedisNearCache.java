@@ -0,0 +1,335 @@
+package com.rtf.redis.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rtf.redis.client.lb.AppRedisHotKeyListener;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * redis本地缓存。
+ * 使用caffeine的W-TinyLFU淘汰策略，按条数或字节数限制大小，按key前缀设置缓存时间。
+ * 缓存的值在所有线程间共享，调用方不能修改返回的byte数组。
+ * 作为热点key监听器时，检测到的热点key在一段时间内也可以缓存。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisNearCache implements AppRedisHotKeyListener {
+
+    private static final String CAFFEINE_CLASS = "com.github.benmanes.caffeine.cache.Caffeine" ;
+
+    /**
+     * 缓存不存在的key
+     */
+    private static final Object NULL_VALUE = new Object() ;
+
+    /**
+     * 每条缓存的固定开销，按字节数限制大小时使用
+     */
+    private static final int ENTRY_OVERHEAD = 64 ;
+
+    /**
+     * 热点key最后一次被检测到之后保持可缓存的时间
+     */
+    private static final Duration PROMOTION_DURATION = Duration.ofMinutes( 1 ) ;
+
+    /**
+     * 最多同时可缓存的热点key数量
+     */
+    private static final int MAXIMUM_PROMOTED_KEYS = 1024 ;
+
+    @Getter
+    private final AppRedisNearCacheConfig config ;
+
+    private final Cache<ByteBuffer,Object> cache ;
+
+    /**
+     * 按长度倒序排列的key前缀和对应的缓存时间
+     */
+    private final byte[][] prefixes ;
+
+    private final long[] prefixTtlNanos ;
+
+    private final long defaultTtlNanos ;
+
+    private final long hotKeyTtlNanos ;
+
+    /**
+     * 可缓存的热点key
+     */
+    private final Cache<ByteBuffer,Boolean> promotedKeys ;
+
+    /**
+     * 失效次数，读取redis期间发生过失效时，读取的结果不写入缓存
+     */
+    private final AtomicLong invalidations = new AtomicLong(0) ;
+
+    public AppRedisNearCache(AppRedisNearCacheConfig config){
+        this.config = config ;
+        this.prefixes = new byte[ config.getTtls().size() ][] ;
+        this.prefixTtlNanos = new long[ prefixes.length ] ;
+        int index = 0 ;
+        for (Map.Entry<String, Duration> entry : config.getTtls().entrySet()) {
+            prefixes[ index ] = entry.getKey().getBytes( StandardCharsets.UTF_8 ) ;
+            prefixTtlNanos[ index ] = entry.getValue().toNanos() ;
+            index++ ;
+        }
+        // 按前缀长度倒序排列，优先匹配最长的前缀
+        for (int i = 1; i < prefixes.length; i++) {
+            for (int j = i; j > 0 && prefixes[j].length > prefixes[j-1].length; j--) {
+                byte[] prefix = prefixes[j] ;
+                prefixes[j] = prefixes[j-1] ;
+                prefixes[j-1] = prefix ;
+                long ttl = prefixTtlNanos[j] ;
+                prefixTtlNanos[j] = prefixTtlNanos[j-1] ;
+                prefixTtlNanos[j-1] = ttl ;
+            }
+        }
+        this.defaultTtlNanos = config.getDefaultTtl()==null ? 0 : config.getDefaultTtl().toNanos() ;
+        this.hotKeyTtlNanos = config.getHotKeyTtl()==null ? 0 : config.getHotKeyTtl().toNanos() ;
+        this.promotedKeys = Caffeine.newBuilder()
+                .maximumSize( MAXIMUM_PROMOTED_KEYS )
+                .expireAfterWrite( PROMOTION_DURATION )
+                .build() ;
+
+        Caffeine<Object,Object> builder = Caffeine.newBuilder().recordStats() ;
+        if( config.getMaximumBytes() > 0 ){
+            builder.maximumWeight( config.getMaximumBytes() )
+                    .weigher( ( ByteBuffer key , Object value ) -> ENTRY_OVERHEAD + key.remaining() + sizeOf( value ) ) ;
+        }else{
+            builder.maximumSize( config.getMaximumSize() ) ;
+        }
+        this.cache = new PrefixExpiry().build( builder ) ;
+    }
+
+    /**
+     * 根据配置创建本地缓存
+     * @param config
+     * @param redisServerType
+     * @return 未开启、codis模式或者caffeine不在classpath中时返回null
+     */
+    public static AppRedisNearCache create(AppRedisNearCacheConfig config , String redisServerType){
+        if( config==null || !config.isEnabled() ){
+            return null ;
+        }
+        // codis不支持CLIENT TRACKING，其他客户端的修改无法及时失效
+        if( "codis".equalsIgnoreCase( redisServerType ) ){
+            log.warn( "codis模式不支持本地缓存, 本地缓存未开启" ) ;
+            return null ;
+        }
+        if( !isAvailable() ){
+            log.warn( "caffeine不在classpath中, 本地缓存未开启" ) ;
+            return null ;
+        }
+        return new AppRedisNearCache( config ) ;
+    }
+
+    /**
+     * caffeine是否在classpath中
+     * @return
+     */
+    public static boolean isAvailable(){
+        return ClassUtils.isPresent( CAFFEINE_CLASS , AppRedisNearCache.class.getClassLoader() ) ;
+    }
+
+    /**
+     * key是否可以缓存
+     * @param key
+     * @return
+     */
+    public boolean isCacheable(byte[] key){
+        return key!=null && getTtlNanos( key ) > 0 ;
+    }
+
+    /**
+     * 获取key的缓存时间
+     * @param key
+     * @return
+     */
+    private long getTtlNanos(byte[] key){
+        for (int i = 0; i < prefixes.length; i++) {
+            if( startsWith( key , prefixes[i] ) ){
+                return prefixTtlNanos[i] ;
+            }
+        }
+        if( defaultTtlNanos > 0 || hotKeyTtlNanos==0 || promotedKeys.estimatedSize()==0 ){
+            return defaultTtlNanos ;
+        }
+        return promotedKeys.getIfPresent( ByteBuffer.wrap( key ) )!=null ? hotKeyTtlNanos : defaultTtlNanos ;
+    }
+
+    /**
+     * 是否缓存热点key
+     * @return
+     */
+    public boolean isPromotionEnabled(){
+        return hotKeyTtlNanos > 0 ;
+    }
+
+    /**
+     * 热点key在一段时间内可以缓存
+     * @param key
+     */
+    public void promote(byte[] key){
+        if( isPromotionEnabled() ){
+            promotedKeys.put( ByteBuffer.wrap( key.clone() ) , Boolean.TRUE ) ;
+        }
+    }
+
+    @Override
+    public void onHotKey(String host , byte[] key , long frequency) {
+        promote( key ) ;
+    }
+
+    private static boolean startsWith(byte[] key , byte[] prefix){
+        if( key.length < prefix.length ){
+            return false ;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if( key[i]!=prefix[i] ){
+                return false ;
+            }
+        }
+        return true ;
+    }
+
+    private static int sizeOf(Object value){
+        if( value instanceof byte[] ){
+            return ( (byte[]) value ).length ;
+        }
+        if( value instanceof Map ){
+            int size = 0 ;
+            for (Map.Entry<?, ?> entry : ( (Map<?, ?>) value ).entrySet()) {
+                size += ENTRY_OVERHEAD / 2 + sizeOf( entry.getKey() ) + sizeOf( entry.getValue() ) ;
+            }
+            return size ;
+        }
+        return 0 ;
+    }
+
+    /**
+     * 获取当前的失效版本，读取redis之前调用
+     * @return
+     */
+    public long getVersion(){
+        return invalidations.get() ;
+    }
+
+    /**
+     * 查询缓存
+     * @param key
+     * @return 未缓存时返回null，缓存了不存在的key时返回 {@link #isNull(Object)} 为true的值
+     */
+    public Object get(byte[] key){
+        return cache.getIfPresent( ByteBuffer.wrap( key ) ) ;
+    }
+
+    /**
+     * 缓存的值是否表示key不存在
+     * @param value
+     * @return
+     */
+    public static boolean isNull(Object value){
+        return value==NULL_VALUE ;
+    }
+
+    /**
+     * 写入缓存，version之后发生过失效时不写入
+     * @param key
+     * @param value 为null时表示key不存在
+     * @param version 读取redis之前的失效版本
+     */
+    public void put(byte[] key , Object value , long version){
+        if( invalidations.get()!=version ){
+            return;
+        }
+        if( value instanceof Map ){
+            value = Collections.unmodifiableMap( (Map<?, ?>) value ) ;
+        }
+        ByteBuffer cacheKey = ByteBuffer.wrap( key.clone() ) ;
+        cache.put( cacheKey , value==null ? NULL_VALUE : value ) ;
+        // 写入期间发生了失效，移除刚写入的值
+        if( invalidations.get()!=version ){
+            cache.invalidate( cacheKey ) ;
+        }
+    }
+
+    /**
+     * 使key的缓存失效
+     * @param key
+     */
+    public void invalidate(byte[] key){
+        if( key==null ){
+            return;
+        }
+        invalidations.incrementAndGet() ;
+        cache.invalidate( ByteBuffer.wrap( key ) ) ;
+    }
+
+    /**
+     * 使所有缓存失效
+     */
+    public void invalidateAll(){
+        invalidations.incrementAndGet() ;
+        cache.invalidateAll() ;
+    }
+
+    /**
+     * 缓存条数
+     * @return
+     */
+    public long size(){
+        return cache.estimatedSize() ;
+    }
+
+    /**
+     * 缓存命中统计
+     * @return
+     */
+    public CacheStats getStats(){
+        return cache.stats() ;
+    }
+
+    /**
+     * 按key前缀计算缓存时间，读取不延长缓存时间，更新时重新计算
+     */
+    private final class PrefixExpiry implements Expiry<ByteBuffer,Object> {
+
+        /**
+         * 创建缓存。Expiry只在内部类中引用，caffeine不在classpath时加载本地缓存类不会失败
+         * @param builder
+         * @return
+         */
+        Cache<ByteBuffer,Object> build(Caffeine<Object,Object> builder){
+            return builder.expireAfter( this ).build() ;
+        }
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key , Object value , long currentTime) {
+            return getTtlNanos( key.array() ) ;
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key , Object value , long currentTime , long currentDuration) {
+            return getTtlNanos( key.array() ) ;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key , Object value , long currentTime , long currentDuration) {
+            return currentDuration ;
+        }
+    }
+
+}
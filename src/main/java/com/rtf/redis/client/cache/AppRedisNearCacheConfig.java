@@ -0,0 +1,55 @@
+package com.rtf.redis.client.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * redis本地缓存配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisNearCacheConfig {
+
+    /**
+     * 是否开启本地缓存，默认关闭，codis模式下不生效
+     */
+    private boolean enabled = false ;
+
+    /**
+     * 最大缓存条数
+     */
+    private long maximumSize = 10000 ;
+
+    /**
+     * 最大缓存字节数，大于0时按key和value的字节数限制缓存大小，maximumSize不再生效
+     */
+    private long maximumBytes = 0 ;
+
+    /**
+     * 按key前缀配置的缓存时间，匹配最长的前缀
+     */
+    private Map<String,Duration> ttls = new LinkedHashMap<>() ;
+
+    /**
+     * 没有匹配前缀的key的缓存时间，为0时不缓存
+     */
+    private Duration defaultTtl = Duration.ZERO ;
+
+    /**
+     * 热点key的缓存时间，大于0时检测到的热点key即使没有匹配的前缀也会缓存，需要开启热点key检测
+     */
+    private Duration hotKeyTtl = Duration.ZERO ;
+
+    /**
+     * 是否使用redis的CLIENT TRACKING接收其他客户端修改key的通知，只对redis 6及以上版本生效
+     */
+    private boolean tracking = true ;
+
+}
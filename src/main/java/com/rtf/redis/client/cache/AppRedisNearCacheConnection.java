@@ -0,0 +1,502 @@
+package com.rtf.redis.client.cache;
+
+import com.rtf.redis.client.AppRedisDelegatingConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 本地缓存连接。
+ * get、mGet、hGetAll命令优先读取本地缓存，未命中时读取redis并写入缓存；通过该连接修改key的命令执行后使缓存失效。
+ * 连接处于事务或手动管道中时不读取缓存，修改命令仍然使缓存失效。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisNearCacheConnection extends AppRedisDelegatingConnection {
+
+    private final AppRedisNearCache nearCache ;
+
+    public AppRedisNearCacheConnection(RedisConnection delegate , AppRedisNearCache nearCache){
+        super( delegate ) ;
+        this.nearCache = nearCache ;
+    }
+
+    /**
+     * 是否可以读取缓存
+     * @param key
+     * @return
+     */
+    protected boolean isCached(byte[] key){
+        return !delegate.isPipelined() && !delegate.isQueueing() && nearCache.isCacheable( key ) ;
+    }
+
+    private void invalidate(byte[]... keys){
+        if( keys==null ){
+            return;
+        }
+        for (byte[] key : keys) {
+            nearCache.invalidate( key ) ;
+        }
+    }
+
+    private void invalidate(Map<byte[], byte[]> tuple){
+        if( tuple==null ){
+            return;
+        }
+        for (byte[] key : tuple.keySet()) {
+            nearCache.invalidate( key ) ;
+        }
+    }
+
+    // ---------------------------------------- 读取命令
+
+    @Override
+    public byte[] get(byte[] key) {
+        if( !isCached( key ) ){
+            return delegate.get( key ) ;
+        }
+        Object cached = nearCache.get( key ) ;
+        if( cached!=null ){
+            return AppRedisNearCache.isNull( cached ) ? null : (byte[]) cached ;
+        }
+        long version = nearCache.getVersion() ;
+        byte[] value = delegate.get( key ) ;
+        nearCache.put( key , value , version ) ;
+        return value ;
+    }
+
+    @Override
+    public List<byte[]> mGet(byte[]... keys) {
+        if( delegate.isPipelined() || delegate.isQueueing() ){
+            return delegate.mGet( keys ) ;
+        }
+        List<byte[]> result = new ArrayList<>( keys.length ) ;
+        List<byte[]> missKeys = null ;
+        List<Integer> missIndexes = null ;
+        for (int i = 0; i < keys.length; i++) {
+            Object cached = nearCache.isCacheable( keys[i] ) ? nearCache.get( keys[i] ) : null ;
+            if( cached!=null ){
+                result.add( AppRedisNearCache.isNull( cached ) ? null : (byte[]) cached ) ;
+                continue;
+            }
+            result.add( null ) ;
+            if( missKeys==null ){
+                missKeys = new ArrayList<>() ;
+                missIndexes = new ArrayList<>() ;
+            }
+            missKeys.add( keys[i] ) ;
+            missIndexes.add( i ) ;
+        }
+        if( missKeys==null ){
+            return result ;
+        }
+        long version = nearCache.getVersion() ;
+        List<byte[]> values = delegate.mGet( missKeys.toArray( new byte[ missKeys.size() ][] ) ) ;
+        if( values==null ){
+            return null ;
+        }
+        for (int i = 0; i < missKeys.size(); i++) {
+            byte[] value = values.get( i ) ;
+            result.set( missIndexes.get( i ) , value ) ;
+            if( nearCache.isCacheable( missKeys.get( i ) ) ){
+                nearCache.put( missKeys.get( i ) , value , version ) ;
+            }
+        }
+        return result ;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<byte[], byte[]> hGetAll(byte[] key) {
+        if( !isCached( key ) ){
+            return delegate.hGetAll( key ) ;
+        }
+        Object cached = nearCache.get( key ) ;
+        if( cached instanceof Map ){
+            return (Map<byte[], byte[]>) cached ;
+        }
+        long version = nearCache.getVersion() ;
+        Map<byte[], byte[]> value = delegate.hGetAll( key ) ;
+        if( value!=null ){
+            nearCache.put( key , value , version ) ;
+        }
+        return value ;
+    }
+
+    // ---------------------------------------- RedisKeyCommands
+
+    @Override
+    public Long del(byte[]... keys) {
+        try{
+            return delegate.del( keys ) ;
+        }finally {
+            invalidate( keys ) ;
+        }
+    }
+
+    @Override
+    public void rename(byte[] sourceKey, byte[] targetKey) {
+        try{
+            delegate.rename( sourceKey , targetKey ) ;
+        }finally {
+            invalidate( sourceKey , targetKey ) ;
+        }
+    }
+
+    @Override
+    public Boolean renameNX(byte[] sourceKey, byte[] targetKey) {
+        try{
+            return delegate.renameNX( sourceKey , targetKey ) ;
+        }finally {
+            invalidate( sourceKey , targetKey ) ;
+        }
+    }
+
+    @Override
+    public Boolean expire(byte[] key, long seconds) {
+        try{
+            return delegate.expire( key , seconds ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Boolean pExpire(byte[] key, long millis) {
+        try{
+            return delegate.pExpire( key , millis ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Boolean expireAt(byte[] key, long unixTime) {
+        try{
+            return delegate.expireAt( key , unixTime ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Boolean pExpireAt(byte[] key, long unixTimeInMillis) {
+        try{
+            return delegate.pExpireAt( key , unixTimeInMillis ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Boolean move(byte[] key, int dbIndex) {
+        try{
+            return delegate.move( key , dbIndex ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public void restore(byte[] key, long ttlInMillis, byte[] serializedValue) {
+        try{
+            delegate.restore( key , ttlInMillis , serializedValue ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    // ---------------------------------------- RedisStringCommands
+
+    @Override
+    public Boolean set(byte[] key, byte[] value) {
+        try{
+            return delegate.set( key , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value, Expiration expiration, SetOption option) {
+        try{
+            return delegate.set( key , value , expiration , option ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Boolean setNX(byte[] key, byte[] value) {
+        try{
+            return delegate.setNX( key , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Boolean setEx(byte[] key, long seconds, byte[] value) {
+        try{
+            return delegate.setEx( key , seconds , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Boolean pSetEx(byte[] key, long milliseconds, byte[] value) {
+        try{
+            return delegate.pSetEx( key , milliseconds , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Boolean mSet(Map<byte[], byte[]> tuple) {
+        try{
+            return delegate.mSet( tuple ) ;
+        }finally {
+            invalidate( tuple ) ;
+        }
+    }
+
+    @Override
+    public Boolean mSetNX(Map<byte[], byte[]> tuple) {
+        try{
+            return delegate.mSetNX( tuple ) ;
+        }finally {
+            invalidate( tuple ) ;
+        }
+    }
+
+    @Override
+    public byte[] getSet(byte[] key, byte[] value) {
+        try{
+            return delegate.getSet( key , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Long append(byte[] key, byte[] value) {
+        try{
+            return delegate.append( key , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public void setRange(byte[] key, byte[] value, long offset) {
+        try{
+            delegate.setRange( key , value , offset ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Boolean setBit(byte[] key, long offset, boolean value) {
+        try{
+            return delegate.setBit( key , offset , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Long bitOp(BitOperation op, byte[] destination, byte[]... keys) {
+        try{
+            return delegate.bitOp( op , destination , keys ) ;
+        }finally {
+            invalidate( destination ) ;
+        }
+    }
+
+    @Override
+    public Long incr(byte[] key) {
+        try{
+            return delegate.incr( key ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Long incrBy(byte[] key, long value) {
+        try{
+            return delegate.incrBy( key , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Double incrBy(byte[] key, double value) {
+        try{
+            return delegate.incrBy( key , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Long decr(byte[] key) {
+        try{
+            return delegate.decr( key ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Long decrBy(byte[] key, long value) {
+        try{
+            return delegate.decrBy( key , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    // ---------------------------------------- RedisHashCommands
+
+    @Override
+    public Boolean hSet(byte[] key, byte[] field, byte[] value) {
+        try{
+            return delegate.hSet( key , field , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Boolean hSetNX(byte[] key, byte[] field, byte[] value) {
+        try{
+            return delegate.hSetNX( key , field , value ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public void hMSet(byte[] key, Map<byte[], byte[]> hashes) {
+        try{
+            delegate.hMSet( key , hashes ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Long hDel(byte[] key, byte[]... fields) {
+        try{
+            return delegate.hDel( key , fields ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Long hIncrBy(byte[] key, byte[] field, long delta) {
+        try{
+            return delegate.hIncrBy( key , field , delta ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    @Override
+    public Double hIncrBy(byte[] key, byte[] field, double delta) {
+        try{
+            return delegate.hIncrBy( key , field , delta ) ;
+        }finally {
+            invalidate( key ) ;
+        }
+    }
+
+    // ---------------------------------------- RedisServerCommands
+
+    @Override
+    public void flushDb() {
+        try{
+            delegate.flushDb() ;
+        }finally {
+            nearCache.invalidateAll() ;
+        }
+    }
+
+    @Override
+    public void flushAll() {
+        try{
+            delegate.flushAll() ;
+        }finally {
+            nearCache.invalidateAll() ;
+        }
+    }
+
+    // ---------------------------------------- RedisScriptingCommands
+
+    @Override
+    public <T> T eval(byte[] script, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        try{
+            return delegate.eval( script , returnType , numKeys , keysAndArgs ) ;
+        }finally {
+            invalidateScriptKeys( numKeys , keysAndArgs ) ;
+        }
+    }
+
+    @Override
+    public <T> T evalSha(String scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        try{
+            return delegate.evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+        }finally {
+            invalidateScriptKeys( numKeys , keysAndArgs ) ;
+        }
+    }
+
+    @Override
+    public <T> T evalSha(byte[] scriptSha, ReturnType returnType, int numKeys, byte[]... keysAndArgs) {
+        try{
+            return delegate.evalSha( scriptSha , returnType , numKeys , keysAndArgs ) ;
+        }finally {
+            invalidateScriptKeys( numKeys , keysAndArgs ) ;
+        }
+    }
+
+    /**
+     * 脚本可能修改传入的所有key
+     * @param numKeys
+     * @param keysAndArgs
+     */
+    private void invalidateScriptKeys(int numKeys , byte[]... keysAndArgs){
+        if( keysAndArgs==null ){
+            return;
+        }
+        for (int i = 0; i < numKeys && i < keysAndArgs.length; i++) {
+            nearCache.invalidate( keysAndArgs[i] ) ;
+        }
+    }
+
+    // ---------------------------------------- RedisCommands
+
+    /**
+     * 无法判断任意命令修改的key，执行后使所有缓存失效
+     */
+    @Override
+    public Object execute(String command, byte[]... args) {
+        try{
+            return delegate.execute( command , args ) ;
+        }finally {
+            nearCache.invalidateAll() ;
+        }
+    }
+
+}
@@ -0,0 +1,300 @@
+package com.rtf.redis.client.cache;
+
+import com.rtf.redis.client.AppRedisConnectionFactory;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.output.IntegerOutput;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用redis的CLIENT TRACKING接收key修改通知，使本地缓存失效。
+ * lettuce 5不支持RESP3，使用RESP2的转发模式：订阅连接订阅__redis__:invalidate频道，控制连接以BCAST模式开启跟踪并转发到订阅连接，
+ * 其他客户端修改缓存的key时，redis向订阅连接发送失效通知，一条通知的消息是失效key的数组。
+ * 任一连接断开时清空缓存并重新建立两个连接；redis版本不支持或者代理不支持时只使用缓存时间和本地写入失效。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisNearCacheTracking {
+
+    private static final byte[] INVALIDATE_CHANNEL = "__redis__:invalidate".getBytes( StandardCharsets.US_ASCII ) ;
+
+    /**
+     * 连接失败后的重试间隔，单位毫秒
+     */
+    private static final long RECONNECT_DELAY = 5000 ;
+
+    /**
+     * 所有主机共享的重连线程
+     */
+    private static volatile ScheduledThreadPoolExecutor TRACKING_EXECUTOR = null ;
+
+    private final AppRedisConnectionFactory connectionFactory ;
+
+    private final AppRedisNearCache nearCache ;
+
+    private RedisClient redisClient ;
+
+    private RedisURI redisURI ;
+
+    private volatile StatefulRedisPubSubConnection<byte[],byte[]> pubSubConnection ;
+
+    private volatile StatefulRedisConnection<byte[],byte[]> trackingConnection ;
+
+    /**
+     * 是否正在接收失效通知
+     */
+    @Getter
+    private volatile boolean tracking = false ;
+
+    private volatile boolean destroyed = false ;
+
+    public AppRedisNearCacheTracking(AppRedisConnectionFactory connectionFactory , AppRedisNearCache nearCache){
+        this.connectionFactory = connectionFactory ;
+        this.nearCache = nearCache ;
+    }
+
+    /**
+     * 获取共享的重连线程
+     * @return
+     */
+    private static ScheduledThreadPoolExecutor getExecutor(){
+        if( TRACKING_EXECUTOR==null ){
+            synchronized ( AppRedisNearCacheTracking.class ){
+                if( TRACKING_EXECUTOR==null ){
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor( 1 , runnable -> {
+                        Thread thread = new Thread( runnable , "RedisNearCacheTracking" ) ;
+                        thread.setDaemon( true ) ;
+                        return thread ;
+                    } ) ;
+                    executor.setRemoveOnCancelPolicy( true ) ;
+                    TRACKING_EXECUTOR = executor ;
+                }
+            }
+        }
+        return TRACKING_EXECUTOR ;
+    }
+
+    public void start(){
+        redisURI = connectionFactory.createRedisURI( connectionFactory.getClientConfiguration().getCommandTimeout() ) ;
+        redisClient = connectionFactory.createRedisClient( redisURI ) ;
+        // 断开后由自身重新建立连接，重新获取订阅连接的id
+        redisClient.setOptions( ClientOptions.builder()
+                .autoReconnect( false )
+                .disconnectedBehavior( ClientOptions.DisconnectedBehavior.REJECT_COMMANDS )
+                .build() ) ;
+        redisClient.addListener( new DisconnectListener() ) ;
+        connect() ;
+    }
+
+    /**
+     * 建立订阅连接和控制连接，开启跟踪
+     */
+    private void connect(){
+        if( destroyed ){
+            return;
+        }
+        InvalidateCodec invalidateCodec = new InvalidateCodec() ;
+        redisClient.connectPubSubAsync( invalidateCodec , redisURI ).thenCompose( pubSub -> {
+            pubSubConnection = pubSub ;
+            pubSub.addListener( new InvalidateListener( invalidateCodec ) ) ;
+            // 订阅状态下不能执行CLIENT命令，先获取连接id再订阅
+            return pubSub.async().dispatch( CommandType.CLIENT , new IntegerOutput<>( ByteArrayCodec.INSTANCE ) ,
+                    new CommandArgs<>( ByteArrayCodec.INSTANCE ).add( "ID" ) )
+                    .thenCompose( clientId -> pubSub.async().subscribe( INVALIDATE_CHANNEL ).thenApply( v -> clientId ) ) ;
+        } ).thenCompose( clientId -> redisClient.connectAsync( ByteArrayCodec.INSTANCE , redisURI ).thenCompose( connection -> {
+            trackingConnection = connection ;
+            return connection.async().dispatch( CommandType.CLIENT , new StatusOutput<>( ByteArrayCodec.INSTANCE ) ,
+                    trackingArgs( clientId ) ) ;
+        } ) ).whenComplete( ( result , e ) -> {
+            if( e==null ){
+                // 开启跟踪之前写入的缓存可能已经过期
+                nearCache.invalidateAll() ;
+                tracking = true ;
+                log.info( "redis主机:{} 开启本地缓存失效通知" , connectionFactory.getHostName() ) ;
+                return;
+            }
+            closeConnections() ;
+            Throwable cause = e instanceof CompletionException && e.getCause()!=null ? e.getCause() : e ;
+            if( cause instanceof RedisCommandExecutionException ){
+                log.warn( "redis主机:{} 不支持CLIENT TRACKING, 本地缓存只使用缓存时间和本地写入失效, {}" ,
+                        connectionFactory.getHostName() , cause.getMessage() ) ;
+                return;
+            }
+            log.warn( "redis主机:{} 建立本地缓存失效通知连接失败, {}" , connectionFactory.getHostName() , cause.getMessage() ) ;
+            scheduleReconnect() ;
+        } ) ;
+    }
+
+    /**
+     * CLIENT TRACKING on REDIRECT id BCAST [PREFIX prefix ...]，没有默认缓存时间时只跟踪配置的前缀；
+     * 热点key加入本地缓存时，热点key可能不匹配任何前缀，跟踪所有key
+     * @param clientId
+     * @return
+     */
+    private CommandArgs<byte[],byte[]> trackingArgs(Long clientId){
+        CommandArgs<byte[],byte[]> args = new CommandArgs<>( ByteArrayCodec.INSTANCE )
+                .add( "TRACKING" ).add( "on" ).add( "REDIRECT" ).add( clientId ).add( "BCAST" ) ;
+        AppRedisNearCacheConfig config = nearCache.getConfig() ;
+        if( ( config.getDefaultTtl()==null || config.getDefaultTtl().isZero() ) && !nearCache.isPromotionEnabled() ){
+            for (String prefix : config.getTtls().keySet()) {
+                args.add( "PREFIX" ).add( prefix ) ;
+            }
+        }
+        return args ;
+    }
+
+    private void scheduleReconnect(){
+        if( destroyed ){
+            return;
+        }
+        getExecutor().schedule( this::connect , RECONNECT_DELAY , TimeUnit.MILLISECONDS ) ;
+    }
+
+    private void closeConnections(){
+        tracking = false ;
+        StatefulRedisPubSubConnection<byte[],byte[]> pubSub = pubSubConnection ;
+        StatefulRedisConnection<byte[],byte[]> connection = trackingConnection ;
+        pubSubConnection = null ;
+        trackingConnection = null ;
+        // 不能在lettuce的io线程中同步关闭连接
+        getExecutor().execute( () -> {
+            if( pubSub!=null ){
+                pubSub.close() ;
+            }
+            if( connection!=null ){
+                connection.close() ;
+            }
+        } ) ;
+    }
+
+    /**
+     * 关闭失效通知
+     */
+    public void destroy(){
+        destroyed = true ;
+        tracking = false ;
+        try{
+            // 关闭客户端时会关闭订阅连接和控制连接，共享的客户端资源不会被关闭
+            if( redisClient!=null ){
+                redisClient.shutdownAsync() ;
+            }
+        }catch( Exception e ){
+            log.error( "redis本地缓存失效通知关闭异常 {} : {}" , connectionFactory.getHostName() , e.getMessage() ) ;
+        }
+    }
+
+    /**
+     * 订阅连接的编解码器，记录失效通知中的所有key。
+     * lettuce 5的PubSubOutput把消息数组的每个元素依次解码为消息，只保留最后一个，
+     * 一条失效通知包含多个key时(例如MSET、BCAST模式合并的通知)，由编解码器记录解码的每个key。
+     * 解码和通知监听器都在该连接的io线程中执行，不需要同步
+     */
+    private static final class InvalidateCodec implements RedisCodec<byte[],byte[]> {
+
+        private List<byte[]> keys = new ArrayList<>() ;
+
+        @Override
+        public byte[] decodeKey(ByteBuffer bytes) {
+            return ByteArrayCodec.INSTANCE.decodeKey( bytes ) ;
+        }
+
+        @Override
+        public byte[] decodeValue(ByteBuffer bytes) {
+            byte[] value = ByteArrayCodec.INSTANCE.decodeValue( bytes ) ;
+            keys.add( value ) ;
+            return value ;
+        }
+
+        @Override
+        public ByteBuffer encodeKey(byte[] key) {
+            return ByteArrayCodec.INSTANCE.encodeKey( key ) ;
+        }
+
+        @Override
+        public ByteBuffer encodeValue(byte[] value) {
+            return ByteArrayCodec.INSTANCE.encodeValue( value ) ;
+        }
+
+        /**
+         * 获取并清空当前消息解码的key
+         * @return
+         */
+        List<byte[]> drainKeys(){
+            List<byte[]> current = keys ;
+            if( !current.isEmpty() ){
+                keys = new ArrayList<>() ;
+            }
+            return current ;
+        }
+    }
+
+    /**
+     * 失效通知，消息为失效key的数组，flushdb等命令的消息为空
+     */
+    private final class InvalidateListener extends RedisPubSubAdapter<byte[],byte[]> {
+
+        private final InvalidateCodec invalidateCodec ;
+
+        InvalidateListener(InvalidateCodec invalidateCodec){
+            this.invalidateCodec = invalidateCodec ;
+        }
+
+        @Override
+        public void message(byte[] channel , byte[] message) {
+            List<byte[]> keys = invalidateCodec.drainKeys() ;
+            if( message==null && keys.isEmpty() ){
+                nearCache.invalidateAll() ;
+                return;
+            }
+            for (byte[] key : keys) {
+                nearCache.invalidate( key ) ;
+            }
+        }
+    }
+
+    /**
+     * 跟踪中的连接断开时可能丢失通知，清空缓存后重新建立连接
+     */
+    private final class DisconnectListener implements RedisConnectionStateListener {
+
+        @Override
+        public void onRedisDisconnected(RedisChannelHandler<?, ?> connection) {
+            if( destroyed || !tracking || ( connection!=pubSubConnection && connection!=trackingConnection ) ){
+                return;
+            }
+            nearCache.invalidateAll() ;
+            log.warn( "redis主机:{} 本地缓存失效通知连接断开, 重新建立连接" , connectionFactory.getHostName() ) ;
+            closeConnections() ;
+            scheduleReconnect() ;
+        }
+
+        @Override
+        public void onRedisExceptionCaught(RedisChannelHandler<?, ?> connection , Throwable cause) {
+        }
+    }
+
+}
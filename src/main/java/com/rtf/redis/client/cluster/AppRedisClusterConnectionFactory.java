@@ -0,0 +1,141 @@
+package com.rtf.redis.client.cluster;
+
+import com.rtf.redis.client.codec.AppRedisCompressionCodec;
+import com.rtf.redis.client.codec.AppRedisCompressionConnection;
+import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisCircuitBreakerConfig;
+import com.rtf.redis.client.lb.AppRedisConcurrencyLimitConfig;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.util.stream.Collectors;
+
+/**
+ * redis集群连接工厂。
+ * 命令由lettuce按key的槽位直接发送到所在的主节点，不经过代理；lettuce为每个节点维护连接，
+ * 开启连接池时池中的每个集群连接各自持有到每个节点的连接。
+ * 连接包装类按槽位表把命令的耗时和失败记录到所在节点的负载统计和断路器，节点熔断时该节点的命令直接失败
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisClusterConnectionFactory extends LettuceConnectionFactory {
+
+    /**
+     * 集群名称，由配置的节点地址组成，用于记录跨节点命令的统计
+     */
+    @Getter
+    private final String clusterName ;
+
+    /**
+     * 跨节点命令的断路器，只记录状态，不拒绝命令
+     */
+    @Getter
+    private AppRedisCircuitBreaker circuitBreaker ;
+
+    /**
+     * 跨节点命令的负载统计
+     */
+    @Getter
+    private final AppRedisHostStats hostStats ;
+
+    /**
+     * 断路器配置，为空时使用默认配置，集群的每个节点使用相同的配置
+     */
+    @Setter
+    @Getter
+    private AppRedisCircuitBreakerConfig circuitBreakerConfig ;
+
+    /**
+     * 并发限制配置，为空或未开启时不限制，集群的每个节点单独调整限制
+     */
+    @Setter
+    @Getter
+    private AppRedisConcurrencyLimitConfig concurrencyLimitConfig ;
+
+    /**
+     * 值压缩，为空时不压缩
+     */
+    @Setter
+    @Getter
+    private AppRedisCompressionCodec compressionCodec ;
+
+    /**
+     * 槽位表
+     */
+    @Getter
+    private AppRedisClusterSlotCache slotCache ;
+
+    public AppRedisClusterConnectionFactory(RedisClusterConfiguration clusterConfiguration ,
+                                            LettuceClientConfiguration clientConfig){
+        super( clusterConfiguration , clientConfig ) ;
+        this.clusterName = clusterConfiguration.getClusterNodes().stream()
+                .map( RedisNode::asString ).collect( Collectors.joining( "," ) ) ;
+        this.hostStats = AppRedisHostStats.acquire( clusterName ) ;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet() ;
+        circuitBreaker = AppRedisCircuitBreaker.acquire( clusterName , circuitBreakerConfig ) ;
+        slotCache = new AppRedisClusterSlotCache( circuitBreakerConfig , concurrencyLimitConfig ) ;
+        // 启动时加载集群拓扑，失败时在第一次获取连接时加载
+        RedisConnection redisConnection = null ;
+        try{
+            redisConnection = super.getConnection() ;
+            initSlotCache( redisConnection ) ;
+        }catch( Exception e ){
+            log.warn( "redis集群:{} 加载集群拓扑失败: {}" , clusterName , e.getMessage() ) ;
+        }finally {
+            if( redisConnection!=null ){
+                redisConnection.close() ;
+            }
+        }
+    }
+
+    /**
+     * 从集群连接获取lettuce维护的集群拓扑
+     * @param redisConnection
+     */
+    private void initSlotCache(RedisConnection redisConnection){
+        Object nativeConnection = redisConnection.getNativeConnection() ;
+        if( nativeConnection instanceof RedisAdvancedClusterAsyncCommands ){
+            Partitions partitions = ((RedisAdvancedClusterAsyncCommands<?,?>) nativeConnection).getStatefulConnection().getPartitions() ;
+            slotCache.setPartitions( partitions ) ;
+            log.info( "redis集群:{} 加载集群拓扑, 节点数:{}" , clusterName , partitions.size() ) ;
+        }
+    }
+
+    @Override
+    public RedisConnection getConnection() {
+        RedisConnection redisConnection = super.getConnection() ;
+        if( !slotCache.isInitialized() ){
+            initSlotCache( redisConnection ) ;
+        }
+        RedisConnection connectionWrapper = new AppRedisClusterConnectionWrapper( redisConnection , this ) ;
+        return compressionCodec==null ? connectionWrapper : new AppRedisCompressionConnection( connectionWrapper , compressionCodec ) ;
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy() ;
+        if( slotCache!=null ){
+            slotCache.destroy() ;
+        }
+        if( circuitBreaker!=null ){
+            AppRedisCircuitBreaker.release( clusterName , circuitBreaker ) ;
+        }
+        AppRedisHostStats.release( clusterName , hostStats ) ;
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.rtf.redis.client.cluster;
+
+import com.rtf.redis.client.AppRedisCommandFamily;
+import com.rtf.redis.client.AppRedisConnectionWrapper;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConverters;
+import org.springframework.data.redis.connection.util.ByteArraySet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * redis集群连接包装类。
+ * 单key和同一槽位的多key命令按槽位表记录到所在节点的负载统计和断路器，节点熔断时直接抛出异常，不等待命令超时；
+ * 跨槽位和没有key的命令记录到集群的统计。
+ * mGet、mSet、del等跨槽位的多key命令由lettuce按槽位拆分后并行发送到各节点；
+ * sInter、sUnion、sDiff跨槽位时在集群的异步连接上并行读取各个集合后在本地计算，不占用额外的线程
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisClusterConnectionWrapper extends AppRedisConnectionWrapper {
+
+    private final AppRedisClusterSlotCache slotCache ;
+
+    private final long timeoutNanos ;
+
+    /**
+     * 当前命令所在的节点，跨槽位或没有key的命令为null
+     */
+    private AppRedisClusterNode node ;
+
+    public AppRedisClusterConnectionWrapper(RedisConnection delegate , AppRedisClusterConnectionFactory connectionFactory){
+        super( delegate , connectionFactory.getClusterName() , connectionFactory.getCircuitBreaker() ,
+                connectionFactory.getHostStats() ) ;
+        this.slotCache = connectionFactory.getSlotCache() ;
+        this.timeoutNanos = connectionFactory.getClientConfiguration().getCommandTimeout().toNanos() ;
+    }
+
+    @Override
+    protected long onStart() {
+        node = null ;
+        return super.onStart() ;
+    }
+
+    @Override
+    protected long onStart(byte[] key) {
+        node = acquire( slotCache.get( key ) ) ;
+        return node==null ? super.onStart( key ) : node.getHostStats().start( key ) ;
+    }
+
+    @Override
+    protected long onStart(byte[][] keys) {
+        node = acquire( slotCache.get( keys ) ) ;
+        return node==null ? super.onStart( keys ) : node.getHostStats().start( keys ) ;
+    }
+
+    /**
+     * 检查节点的并发限制和断路器
+     * @param clusterNode
+     * @return
+     */
+    private AppRedisClusterNode acquire(AppRedisClusterNode clusterNode){
+        if( clusterNode==null ){
+            return null ;
+        }
+        if( !clusterNode.getHostStats().tryAcquire() ){
+            throw new RedisConnectionFailureException( "redis集群节点:" + clusterNode.getHost() + " 执行中的命令数达到并发限制" ) ;
+        }
+        if( !clusterNode.getCircuitBreaker().tryAcquirePermission() ){
+            throw new RedisConnectionFailureException( "redis集群节点:" + clusterNode.getHost() + " 处于熔断状态" ) ;
+        }
+        return clusterNode ;
+    }
+
+    @Override
+    protected void onSuccess(AppRedisCommandFamily family , long startNanos) {
+        if( node==null ){
+            super.onSuccess( family , startNanos ) ;
+            return;
+        }
+        node.getCircuitBreaker().onSuccess( node.getHostStats().complete( family , startNanos ) ) ;
+    }
+
+    @Override
+    protected void onFailure(AppRedisCommandFamily family , String command , long startNanos , RuntimeException e) {
+        if( node==null ){
+            super.onFailure( family , command , startNanos , e ) ;
+            return;
+        }
+        long durationNanos = node.getHostStats().complete( family , startNanos ) ;
+        log.error( "redis集群节点:{} 中命令 {} 执行异常, {}" , node.getHost() , command , e.getMessage() ) ;
+        node.getCircuitBreaker().onError( durationNanos ) ;
+    }
+
+    /**
+     * 多个key是否需要跨槽位并行读取
+     * @param keys
+     * @return
+     */
+    private boolean isCrossSlot(byte[][] keys){
+        return keys.length>1 && !isPipelined() && !isQueueing() && !ClusterSlotHashUtil.isSameSlotForAllKeys( keys ) ;
+    }
+
+    @Override
+    public Set<byte[]> sInter(byte[]... keys) {
+        if( !isCrossSlot( keys ) ){
+            return super.sInter( keys ) ;
+        }
+        List<Set<byte[]>> members = sMembers( "sInter" , keys ) ;
+        ByteArraySet result = new ByteArraySet( members.get(0) ) ;
+        for (int i = 1; i < members.size() && !result.isEmpty(); i++) {
+            result.retainAll( new ByteArraySet( members.get(i) ) ) ;
+        }
+        return result.asRawSet() ;
+    }
+
+    @Override
+    public Set<byte[]> sUnion(byte[]... keys) {
+        if( !isCrossSlot( keys ) ){
+            return super.sUnion( keys ) ;
+        }
+        ByteArraySet result = new ByteArraySet() ;
+        for (Set<byte[]> members : sMembers( "sUnion" , keys )) {
+            result.addAll( new ByteArraySet( members ) ) ;
+        }
+        return result.asRawSet() ;
+    }
+
+    @Override
+    public Set<byte[]> sDiff(byte[]... keys) {
+        if( !isCrossSlot( keys ) ){
+            return super.sDiff( keys ) ;
+        }
+        List<Set<byte[]>> members = sMembers( "sDiff" , keys ) ;
+        ByteArraySet result = new ByteArraySet( members.get(0) ) ;
+        for (int i = 1; i < members.size() && !result.isEmpty(); i++) {
+            result.removeAll( new ByteArraySet( members.get(i) ) ) ;
+        }
+        return result.asRawSet() ;
+    }
+
+    /**
+     * 在集群的异步连接上并行读取多个集合，各节点的命令同时发送
+     * @param command
+     * @param keys
+     * @return 与keys顺序相同的集合成员
+     */
+    @SuppressWarnings("unchecked")
+    private List<Set<byte[]>> sMembers(String command , byte[][] keys){
+        long startNanos = onStart( keys ) ;
+        try{
+            RedisClusterAsyncCommands<byte[],byte[]> commands =
+                    (RedisClusterAsyncCommands<byte[],byte[]>) getDelegate().getNativeConnection() ;
+            List<RedisFuture<Set<byte[]>>> futures = new ArrayList<>( keys.length ) ;
+            for (byte[] key : keys) {
+                futures.add( commands.smembers( key ) ) ;
+            }
+            long deadline = System.nanoTime() + timeoutNanos ;
+            List<Set<byte[]>> members = new ArrayList<>( keys.length ) ;
+            for (RedisFuture<Set<byte[]>> future : futures) {
+                members.add( future.get( Math.max( 0 , deadline - System.nanoTime() ) , TimeUnit.NANOSECONDS ) ) ;
+            }
+            onSuccess( AppRedisCommandFamily.SET , startNanos ) ;
+            return members ;
+        }catch( Exception e ){
+            RuntimeException exception = convert( e ) ;
+            onFailure( AppRedisCommandFamily.SET , command , startNanos , exception ) ;
+            throw exception ;
+        }
+    }
+
+    private static RuntimeException convert(Exception e){
+        if( e instanceof InterruptedException ){
+            Thread.currentThread().interrupt() ;
+        }
+        if( e instanceof TimeoutException ){
+            return new QueryTimeoutException( "Redis command timed out" , e ) ;
+        }
+        Throwable cause = e instanceof ExecutionException && e.getCause()!=null ? e.getCause() : e ;
+        if( cause instanceof DataAccessException ){
+            return (DataAccessException) cause ;
+        }
+        DataAccessException exception = cause instanceof Exception ?
+                LettuceConverters.exceptionConverter().convert( (Exception) cause ) : null ;
+        return exception!=null ? exception : new RedisSystemException( "Unknown Lettuce exception" , cause ) ;
+    }
+
+}
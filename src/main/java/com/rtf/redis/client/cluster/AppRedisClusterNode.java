@@ -0,0 +1,31 @@
+package com.rtf.redis.client.cluster;
+
+import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import lombok.Getter;
+
+/**
+ * redis集群的主节点，持有该节点的断路器和负载统计
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Getter
+public class AppRedisClusterNode {
+
+    /**
+     * 节点地址，格式为host:port
+     */
+    private final String host ;
+
+    private final AppRedisCircuitBreaker circuitBreaker ;
+
+    private final AppRedisHostStats hostStats ;
+
+    AppRedisClusterNode(String host , AppRedisCircuitBreaker circuitBreaker , AppRedisHostStats hostStats){
+        this.host = host ;
+        this.circuitBreaker = circuitBreaker ;
+        this.hostStats = hostStats ;
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.rtf.redis.client.cluster;
+
+import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisCircuitBreakerConfig;
+import com.rtf.redis.client.lb.AppRedisConcurrencyLimitConfig;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * redis集群的槽位表，按CRC16计算key的槽位，找到槽位所在的主节点。
+ * 槽位到lettuce节点信息的映射由lettuce维护，收到MOVED、ASK重定向或重连失败时由lettuce重新加载拓扑；
+ * 本地缓存每个槽位对应的lettuce节点信息和主节点，lettuce重新加载拓扑后节点信息变化，下一次查找该槽位时重新解析
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisClusterSlotCache {
+
+    private final AppRedisCircuitBreakerConfig circuitBreakerConfig ;
+
+    /**
+     * 并发限制配置，为空时不限制
+     */
+    private final AppRedisConcurrencyLimitConfig concurrencyLimitConfig ;
+
+    /**
+     * lettuce维护的集群拓扑，重新加载时原地更新
+     */
+    private volatile Partitions partitions ;
+
+    /**
+     * 每个槽位缓存的节点
+     */
+    private final Slot[] slots = new Slot[ SlotHash.SLOT_COUNT ] ;
+
+    /**
+     * 已经创建的主节点，key为host:port
+     */
+    private final Map<String,AppRedisClusterNode> nodes = new ConcurrentHashMap<>() ;
+
+    public AppRedisClusterSlotCache(AppRedisCircuitBreakerConfig circuitBreakerConfig ,
+                                    AppRedisConcurrencyLimitConfig concurrencyLimitConfig){
+        this.circuitBreakerConfig = circuitBreakerConfig ;
+        this.concurrencyLimitConfig = concurrencyLimitConfig ;
+    }
+
+    /**
+     * 是否已经获取lettuce维护的集群拓扑
+     * @return
+     */
+    public boolean isInitialized(){
+        return partitions!=null ;
+    }
+
+    /**
+     * 设置lettuce维护的集群拓扑
+     * @param partitions
+     */
+    public void setPartitions(Partitions partitions){
+        this.partitions = partitions ;
+    }
+
+    /**
+     * 获取key所在的主节点
+     * @param key
+     * @return 未获取集群拓扑或者槽位没有分配时返回null
+     */
+    public AppRedisClusterNode get(byte[] key){
+        return get( SlotHash.getSlot( key ) ) ;
+    }
+
+    /**
+     * 获取多个key所在的主节点
+     * @param keys
+     * @return key不在同一个槽位时返回null
+     */
+    public AppRedisClusterNode get(byte[][] keys){
+        if( keys==null || keys.length<1 ){
+            return null ;
+        }
+        int slot = SlotHash.getSlot( keys[0] ) ;
+        for (int i = 1; i < keys.length; i++) {
+            if( SlotHash.getSlot( keys[i] )!=slot ){
+                return null ;
+            }
+        }
+        return get( slot ) ;
+    }
+
+    /**
+     * 获取槽位所在的主节点，节点信息变化时重新解析
+     * @param slot
+     * @return
+     */
+    public AppRedisClusterNode get(int slot){
+        Partitions current = partitions ;
+        if( current==null ){
+            return null ;
+        }
+        RedisClusterNode partition = current.getPartitionBySlot( slot ) ;
+        if( partition==null ){
+            return null ;
+        }
+        Slot cached = slots[ slot ] ;
+        if( cached!=null && cached.partition==partition ){
+            return cached.node ;
+        }
+        RedisURI uri = partition.getUri() ;
+        AppRedisClusterNode node = nodes.computeIfAbsent( uri.getHost() + ":" + uri.getPort() , this::createNode ) ;
+        slots[ slot ] = new Slot( partition , node ) ;
+        return node ;
+    }
+
+    private AppRedisClusterNode createNode(String host){
+        log.info( "redis集群节点: {}" , host ) ;
+        AppRedisCircuitBreaker circuitBreaker = AppRedisCircuitBreaker.acquire( host , circuitBreakerConfig ) ;
+        if( circuitBreakerConfig!=null && circuitBreaker.getConfig()!=circuitBreakerConfig ){
+            circuitBreaker.setConfig( circuitBreakerConfig ) ;
+        }
+        AppRedisHostStats hostStats = AppRedisHostStats.acquire( host ) ;
+        hostStats.getConcurrencyLimiter().setConfig( concurrencyLimitConfig ) ;
+        return new AppRedisClusterNode( host , circuitBreaker , hostStats ) ;
+    }
+
+    /**
+     * 释放所有节点的断路器和负载统计，其他集群连接工厂仍在使用的节点不移除
+     */
+    public void destroy(){
+        for (AppRedisClusterNode node : nodes.values()) {
+            AppRedisCircuitBreaker.release( node.getHost() , node.getCircuitBreaker() ) ;
+            AppRedisHostStats.release( node.getHost() , node.getHostStats() ) ;
+        }
+        nodes.clear() ;
+    }
+
+    /**
+     * 槽位缓存，lettuce的节点信息与对应的主节点
+     */
+    private static final class Slot {
+
+        private final RedisClusterNode partition ;
+
+        private final AppRedisClusterNode node ;
+
+        Slot(RedisClusterNode partition , AppRedisClusterNode node){
+            this.partition = partition ;
+            this.node = node ;
+        }
+    }
+
+}
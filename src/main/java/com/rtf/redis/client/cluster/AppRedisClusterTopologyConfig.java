@@ -0,0 +1,33 @@
+package com.rtf.redis.client.cluster;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * redis集群拓扑刷新配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisClusterTopologyConfig {
+
+    /**
+     * 收到MOVED、ASK重定向或者多次重连失败时是否立即刷新集群拓扑
+     */
+    private boolean adaptiveRefresh = true ;
+
+    /**
+     * 两次立即刷新的最小间隔，避免大量重定向时频繁刷新
+     */
+    private Duration adaptiveRefreshTimeout = Duration.ofSeconds( 30 ) ;
+
+    /**
+     * 定时刷新集群拓扑的间隔，为0时不定时刷新
+     */
+    private Duration refreshPeriod = Duration.ofSeconds( 60 ) ;
+
+}
@@ -0,0 +1,278 @@
+package com.rtf.redis.client.codec;
+
+import com.google.common.collect.Maps;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * redis值的压缩编解码。
+ * 超过阈值的值使用配置的算法压缩，压缩值的格式为：3字节魔数 + 1字节算法编号 + 4字节原值长度 + 压缩数据；
+ * 读取时只解压带有魔数、算法已注册、长度合法并且能够完整解压的值，其他值原样返回，未压缩的旧值仍然可以读取。
+ * 压缩时使用每个线程复用的缓冲区，解压时按头部的原值长度直接分配结果
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisCompressionCodec {
+
+    private static final byte[] MAGIC = { 0x00 , (byte) 0xC5 , 0x5A } ;
+
+    public static final int HEADER_LENGTH = MAGIC.length + 1 + 4 ;
+
+    /**
+     * redis字符串的最大长度
+     */
+    private static final int MAX_VALUE_LENGTH = 512 * 1024 * 1024 ;
+
+    /**
+     * 原值与压缩数据长度的最大比例，即deflate的理论最大压缩率，超过时不是压缩值，避免按错误的长度分配内存
+     */
+    private static final long MAX_EXPANSION = 1032 ;
+
+    /**
+     * 线程复用的压缩缓冲区的最大字节数，超过时使用临时的缓冲区
+     */
+    private static final int MAX_POOLED_BUFFER_LENGTH = 1024 * 1024 ;
+
+    @Getter
+    private final AppRedisCompressionConfig config ;
+
+    /**
+     * 写入时使用的算法
+     */
+    @Getter
+    private final AppRedisCompressor compressor ;
+
+    /**
+     * 按编号注册的算法，用于读取
+     */
+    private final AppRedisCompressor[] compressors = new AppRedisCompressor[ 256 ] ;
+
+    private final ThreadLocal<byte[]> buffers = new ThreadLocal<>() ;
+
+    private final LongAdder compressedCount = new LongAdder() ;
+
+    private final LongAdder uncompressedBytes = new LongAdder() ;
+
+    private final LongAdder compressedBytes = new LongAdder() ;
+
+    private final LongAdder decompressedCount = new LongAdder() ;
+
+    /**
+     * @param config 压缩配置
+     * @param customCompressors 自定义的压缩算法，可以为空
+     */
+    public AppRedisCompressionCodec(AppRedisCompressionConfig config , Collection<AppRedisCompressor> customCompressors){
+        this.config = config ;
+        Map<String,AppRedisCompressor> compressorMap = Maps.newHashMap() ;
+        register( compressorMap , new AppRedisDeflateCompressor( config.getLevel() ) ) ;
+        if( customCompressors!=null ){
+            for (AppRedisCompressor customCompressor : customCompressors) {
+                register( compressorMap , customCompressor ) ;
+            }
+        }
+        this.compressor = compressorMap.get( config.getCodec() ) ;
+        if( this.compressor==null ){
+            throw new IllegalArgumentException( "未知的redis压缩算法: " + config.getCodec() ) ;
+        }
+    }
+
+    private void register(Map<String,AppRedisCompressor> compressorMap , AppRedisCompressor compressor){
+        int id = compressor.getId() & 0xFF ;
+        if( compressors[ id ]!=null && !compressors[ id ].getName().equals( compressor.getName() ) ){
+            throw new IllegalArgumentException( "redis压缩算法 " + compressor.getName() + " 与 "
+                    + compressors[ id ].getName() + " 的编号相同: " + id ) ;
+        }
+        compressors[ id ] = compressor ;
+        compressorMap.put( compressor.getName() , compressor ) ;
+    }
+
+    /**
+     * 创建压缩编解码
+     * @param config
+     * @param customCompressors
+     * @return 未开启压缩时返回null
+     */
+    public static AppRedisCompressionCodec create(AppRedisCompressionConfig config , Collection<AppRedisCompressor> customCompressors){
+        if( config==null || !config.isEnabled() ){
+            return null ;
+        }
+        return new AppRedisCompressionCodec( config , customCompressors ) ;
+    }
+
+    /**
+     * 压缩超过阈值的值
+     * @param value
+     * @return 未超过阈值或压缩后没有明显变小时返回原值
+     */
+    public byte[] encode(byte[] value){
+        if( value==null || value.length<=config.getThreshold() ){
+            return value ;
+        }
+        int maxLength = (int) Math.min( value.length - HEADER_LENGTH , (long) ( value.length * config.getMaxRatio() ) ) ;
+        if( maxLength<=0 ){
+            return value ;
+        }
+        byte[] buffer = getBuffer( HEADER_LENGTH + maxLength ) ;
+        int length = compressor.compress( value , buffer , HEADER_LENGTH , maxLength ) ;
+        if( length<0 ){
+            return value ;
+        }
+        System.arraycopy( MAGIC , 0 , buffer , 0 , MAGIC.length ) ;
+        buffer[ MAGIC.length ] = compressor.getId() ;
+        writeInt( buffer , MAGIC.length + 1 , value.length ) ;
+        compressedCount.increment() ;
+        uncompressedBytes.add( value.length ) ;
+        compressedBytes.add( HEADER_LENGTH + length ) ;
+        return Arrays.copyOf( buffer , HEADER_LENGTH + length ) ;
+    }
+
+    /**
+     * 解压压缩值
+     * @param value
+     * @return 不是压缩值或者解压失败时返回原值
+     */
+    public byte[] decode(byte[] value){
+        if( !isCompressed( value ) ){
+            return value ;
+        }
+        AppRedisCompressor valueCompressor = compressors[ value[ MAGIC.length ] & 0xFF ] ;
+        int length = readInt( value , MAGIC.length + 1 ) ;
+        if( valueCompressor==null || length<0 || length>MAX_VALUE_LENGTH
+                || length > ( value.length - HEADER_LENGTH ) * MAX_EXPANSION ){
+            return value ;
+        }
+        byte[] result = new byte[ length ] ;
+        int decompressed = valueCompressor.decompress( value , HEADER_LENGTH , value.length - HEADER_LENGTH , result ) ;
+        if( decompressed!=length ){
+            log.debug( "redis值带有压缩头部，但解压失败，按未压缩的值返回, 长度: {}" , value.length ) ;
+            return value ;
+        }
+        decompressedCount.increment() ;
+        return result ;
+    }
+
+    /**
+     * 解压管道、事务等返回的结果中的压缩值，包括列表、集合和map的值
+     * @param result
+     * @return
+     */
+    public Object decodeResult(Object result){
+        if( result instanceof byte[] ){
+            return decode( (byte[]) result ) ;
+        }
+        if( result instanceof List ){
+            List<Object> values = new ArrayList<>( ((List<?>) result).size() ) ;
+            for (Object value : (List<?>) result) {
+                values.add( decodeResult( value ) ) ;
+            }
+            return values ;
+        }
+        if( result instanceof Set ){
+            Set<Object> values = new LinkedHashSet<>() ;
+            for (Object value : (Set<?>) result) {
+                values.add( decodeResult( value ) ) ;
+            }
+            return values ;
+        }
+        if( result instanceof Map ){
+            Map<Object,Object> values = new LinkedHashMap<>() ;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) result).entrySet()) {
+                values.put( entry.getKey() , decodeResult( entry.getValue() ) ) ;
+            }
+            return values ;
+        }
+        return result ;
+    }
+
+    /**
+     * 是否带有压缩值的头部
+     * @param value
+     * @return
+     */
+    public static boolean isCompressed(byte[] value){
+        if( value==null || value.length<=HEADER_LENGTH ){
+            return false ;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if( value[i]!=MAGIC[i] ){
+                return false ;
+            }
+        }
+        return true ;
+    }
+
+    /**
+     * 获取线程复用的缓冲区，超过最大复用长度时返回临时的缓冲区
+     * @param length
+     * @return
+     */
+    private byte[] getBuffer(int length){
+        if( length>MAX_POOLED_BUFFER_LENGTH ){
+            return new byte[ length ] ;
+        }
+        byte[] buffer = buffers.get() ;
+        if( buffer==null || buffer.length<length ){
+            // 按2的幂次扩容，减少重新分配
+            buffer = new byte[ Math.max( length , Math.min( MAX_POOLED_BUFFER_LENGTH , Integer.highestOneBit( length - 1 ) << 1 ) ) ] ;
+            buffers.set( buffer ) ;
+        }
+        return buffer ;
+    }
+
+    private static void writeInt(byte[] buffer , int offset , int value){
+        buffer[ offset ] = (byte) ( value >>> 24 ) ;
+        buffer[ offset + 1 ] = (byte) ( value >>> 16 ) ;
+        buffer[ offset + 2 ] = (byte) ( value >>> 8 ) ;
+        buffer[ offset + 3 ] = (byte) value ;
+    }
+
+    private static int readInt(byte[] buffer , int offset){
+        return ( ( buffer[ offset ] & 0xFF ) << 24 ) | ( ( buffer[ offset + 1 ] & 0xFF ) << 16 )
+                | ( ( buffer[ offset + 2 ] & 0xFF ) << 8 ) | ( buffer[ offset + 3 ] & 0xFF ) ;
+    }
+
+    /**
+     * 获取压缩的次数
+     * @return
+     */
+    public long getCompressedCount(){
+        return compressedCount.sum() ;
+    }
+
+    /**
+     * 获取解压的次数
+     * @return
+     */
+    public long getDecompressedCount(){
+        return decompressedCount.sum() ;
+    }
+
+    /**
+     * 获取压缩前的总字节数
+     * @return
+     */
+    public long getUncompressedBytes(){
+        return uncompressedBytes.sum() ;
+    }
+
+    /**
+     * 获取压缩后的总字节数，包括头部
+     * @return
+     */
+    public long getCompressedBytes(){
+        return compressedBytes.sum() ;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.rtf.redis.client.codec;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * redis值压缩配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisCompressionConfig {
+
+    /**
+     * 是否开启压缩，默认关闭。关闭后不再解压已经压缩的值
+     */
+    private boolean enabled = false ;
+
+    /**
+     * 值的字节数超过该值时压缩
+     */
+    private int threshold = 4096 ;
+
+    /**
+     * 压缩算法，默认为deflate；使用自定义的AppRedisCompressor时为其名称
+     */
+    private String codec = AppRedisDeflateCompressor.NAME ;
+
+    /**
+     * deflate压缩级别，1-9，级别越高压缩率越高、速度越慢
+     */
+    private int level = 1 ;
+
+    /**
+     * 压缩后的字节数超过原值的该比例时不压缩，保存原值
+     */
+    private double maxRatio = 0.9 ;
+
+}
@@ -0,0 +1,301 @@
+package com.rtf.redis.client.codec;
+
+import com.rtf.redis.client.AppRedisDelegatingConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 值压缩连接。
+ * 字符串和hash的写入命令通过 {@link AppRedisCompressionCodec} 压缩超过阈值的值，读取命令解压压缩值；
+ * 管道和事务中记录读取命令在结果列表中的位置，返回结果时只解压这些位置的值，keys、lRange、dump等其他命令的结果原样返回。
+ * 其他类型的命令、append、getRange等按字节操作字符串的命令以及脚本不压缩，对压缩后的值执行这些命令时操作的是压缩数据
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisCompressionConnection extends AppRedisDelegatingConnection {
+
+    private final AppRedisCompressionCodec codec ;
+
+    /**
+     * 管道中的命令，未开启管道时为空
+     */
+    private QueuedResults pipeline ;
+
+    /**
+     * 事务中的命令，未开启事务时为空
+     */
+    private QueuedResults transaction ;
+
+    public AppRedisCompressionConnection(RedisConnection delegate , AppRedisCompressionCodec codec){
+        super( delegate ) ;
+        this.codec = codec ;
+    }
+
+    /**
+     * 当前记录命令的管道或事务，管道中的事务记录在事务中
+     * @return
+     */
+    private QueuedResults queued(){
+        return transaction!=null ? transaction : pipeline ;
+    }
+
+    @Override
+    protected RedisConnection resultDelegate() {
+        QueuedResults queued = queued() ;
+        if( queued!=null ){
+            queued.count++ ;
+        }
+        return delegate ;
+    }
+
+    /**
+     * 获取执行读取命令的目标连接，管道和事务中记录该命令的结果需要解压
+     * @return
+     */
+    private RedisConnection valueDelegate(){
+        QueuedResults queued = queued() ;
+        if( queued!=null ){
+            queued.values.add( queued.count ) ;
+        }
+        return resultDelegate() ;
+    }
+
+    private List<byte[]> decode(List<byte[]> values){
+        if( values==null ){
+            return null ;
+        }
+        List<byte[]> result = new ArrayList<>( values.size() ) ;
+        for (byte[] value : values) {
+            result.add( codec.decode( value ) ) ;
+        }
+        return result ;
+    }
+
+    private Map<byte[],byte[]> encode(Map<byte[],byte[]> tuple){
+        if( tuple==null ){
+            return null ;
+        }
+        Map<byte[],byte[]> result = new LinkedHashMap<>( tuple.size() * 2 ) ;
+        for (Map.Entry<byte[], byte[]> entry : tuple.entrySet()) {
+            result.put( entry.getKey() , codec.encode( entry.getValue() ) ) ;
+        }
+        return result ;
+    }
+
+    private Map<byte[],byte[]> decode(Map<byte[],byte[]> tuple){
+        if( tuple==null ){
+            return null ;
+        }
+        Map<byte[],byte[]> result = new LinkedHashMap<>( tuple.size() * 2 ) ;
+        for (Map.Entry<byte[], byte[]> entry : tuple.entrySet()) {
+            result.put( entry.getKey() , codec.decode( entry.getValue() ) ) ;
+        }
+        return result ;
+    }
+
+    /**
+     * 解压管道或事务中读取命令的结果
+     * @param results
+     * @param queued 记录的命令，为空时不解压
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> decodeResults(List<Object> results , QueuedResults queued){
+        if( results==null || queued==null || ( queued.values.isEmpty() && queued.transactions==null ) ){
+            return results ;
+        }
+        // 结果数与记录的命令数不一致时(例如在包装之前已经开启了管道)，无法确定结果对应的命令，按结果类型解压所有值
+        if( results.size()!=queued.count ){
+            return (List<Object>) codec.decodeResult( results ) ;
+        }
+        List<Object> decoded = new ArrayList<>( results ) ;
+        for (Integer index : queued.values) {
+            decoded.set( index , codec.decodeResult( results.get( index ) ) ) ;
+        }
+        if( queued.transactions!=null ){
+            for (Map.Entry<Integer, QueuedResults> entry : queued.transactions.entrySet()) {
+                Object result = results.get( entry.getKey() ) ;
+                if( result instanceof List ){
+                    decoded.set( entry.getKey() , decodeResults( (List<Object>) result , entry.getValue() ) ) ;
+                }
+            }
+        }
+        return decoded ;
+    }
+
+    // ---------------------------------------- RedisConnection
+
+    @Override
+    public void openPipeline() {
+        delegate.openPipeline() ;
+        if( pipeline==null ){
+            pipeline = new QueuedResults() ;
+        }
+    }
+
+    @Override
+    public List<Object> closePipeline() throws RedisPipelineException {
+        QueuedResults queued = pipeline ;
+        pipeline = null ;
+        return decodeResults( delegate.closePipeline() , queued ) ;
+    }
+
+    // ---------------------------------------- RedisTxCommands
+
+    @Override
+    public void multi() {
+        delegate.multi() ;
+        transaction = new QueuedResults() ;
+    }
+
+    @Override
+    public List<Object> exec() {
+        QueuedResults queued = transaction ;
+        transaction = null ;
+        if( pipeline!=null ){
+            // 管道中的事务，事务的结果在关闭管道时作为一个结果返回
+            if( queued!=null ){
+                pipeline.addTransaction( queued ) ;
+            }
+            return resultDelegate().exec() ;
+        }
+        return decodeResults( delegate.exec() , queued ) ;
+    }
+
+    @Override
+    public void discard() {
+        transaction = null ;
+        delegate.discard() ;
+    }
+
+    // ---------------------------------------- RedisStringCommands
+
+    @Override
+    public byte[] get(byte[] key) {
+        return codec.decode( valueDelegate().get( key ) ) ;
+    }
+
+    @Override
+    public byte[] getSet(byte[] key, byte[] value) {
+        return codec.decode( valueDelegate().getSet( key , codec.encode( value ) ) ) ;
+    }
+
+    @Override
+    public List<byte[]> mGet(byte[]... keys) {
+        return decode( valueDelegate().mGet( keys ) ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value) {
+        return resultDelegate().set( key , codec.encode( value ) ) ;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value, Expiration expiration, RedisStringCommands.SetOption option) {
+        return resultDelegate().set( key , codec.encode( value ) , expiration , option ) ;
+    }
+
+    @Override
+    public Boolean setNX(byte[] key, byte[] value) {
+        return resultDelegate().setNX( key , codec.encode( value ) ) ;
+    }
+
+    @Override
+    public Boolean setEx(byte[] key, long seconds, byte[] value) {
+        return resultDelegate().setEx( key , seconds , codec.encode( value ) ) ;
+    }
+
+    @Override
+    public Boolean pSetEx(byte[] key, long milliseconds, byte[] value) {
+        return resultDelegate().pSetEx( key , milliseconds , codec.encode( value ) ) ;
+    }
+
+    @Override
+    public Boolean mSet(Map<byte[], byte[]> tuple) {
+        return resultDelegate().mSet( encode( tuple ) ) ;
+    }
+
+    @Override
+    public Boolean mSetNX(Map<byte[], byte[]> tuple) {
+        return resultDelegate().mSetNX( encode( tuple ) ) ;
+    }
+
+    // ---------------------------------------- RedisHashCommands
+
+    @Override
+    public Boolean hSet(byte[] key, byte[] field, byte[] value) {
+        return resultDelegate().hSet( key , field , codec.encode( value ) ) ;
+    }
+
+    @Override
+    public Boolean hSetNX(byte[] key, byte[] field, byte[] value) {
+        return resultDelegate().hSetNX( key , field , codec.encode( value ) ) ;
+    }
+
+    @Override
+    public void hMSet(byte[] key, Map<byte[], byte[]> hashes) {
+        delegate.hMSet( key , encode( hashes ) ) ;
+    }
+
+    @Override
+    public byte[] hGet(byte[] key, byte[] field) {
+        return codec.decode( valueDelegate().hGet( key , field ) ) ;
+    }
+
+    @Override
+    public List<byte[]> hMGet(byte[] key, byte[]... fields) {
+        return decode( valueDelegate().hMGet( key , fields ) ) ;
+    }
+
+    @Override
+    public Map<byte[], byte[]> hGetAll(byte[] key) {
+        return decode( valueDelegate().hGetAll( key ) ) ;
+    }
+
+    @Override
+    public List<byte[]> hVals(byte[] key) {
+        return decode( valueDelegate().hVals( key ) ) ;
+    }
+
+    /**
+     * 管道或事务中的命令，记录有返回值的命令数和需要解压的结果位置
+     */
+    private static final class QueuedResults {
+
+        /**
+         * 有返回值的命令数，即下一条命令的结果位置
+         */
+        private int count ;
+
+        /**
+         * 读取命令的结果位置
+         */
+        private final List<Integer> values = new ArrayList<>() ;
+
+        /**
+         * 管道中事务的结果位置和事务中的命令
+         */
+        private Map<Integer,QueuedResults> transactions ;
+
+        /**
+         * 管道中执行了事务，事务的结果位于下一个位置
+         * @param transaction
+         */
+        void addTransaction(QueuedResults transaction){
+            if( transactions==null ){
+                transactions = new HashMap<>() ;
+            }
+            transactions.put( count , transaction ) ;
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.rtf.redis.client.codec;
+
+/**
+ * redis值的压缩算法。
+ * 压缩后的值以 {@link AppRedisCompressionCodec} 的头部开始，头部记录算法的编号和原值长度，
+ * 读取时按编号选择算法解压，更换算法后已经压缩的值仍然可以读取
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public interface AppRedisCompressor {
+
+    /**
+     * 算法名称，与配置中的codec对应
+     * @return
+     */
+    String getName() ;
+
+    /**
+     * 算法编号，写入压缩值的头部，不同算法的编号不能相同
+     * @return
+     */
+    byte getId() ;
+
+    /**
+     * 压缩
+     * @param src 原值
+     * @param dest 输出的缓冲区
+     * @param destOffset 输出的开始位置
+     * @param maxLength 最多输出的字节数
+     * @return 压缩后的字节数，超过maxLength时返回-1
+     */
+    int compress(byte[] src , byte[] dest , int destOffset , int maxLength) ;
+
+    /**
+     * 解压
+     * @param src 压缩值
+     * @param srcOffset 压缩数据的开始位置
+     * @param srcLength 压缩数据的字节数
+     * @param dest 输出的缓冲区，长度与原值相同
+     * @return 解压后的字节数，数据损坏时返回-1
+     */
+    int decompress(byte[] src , int srcOffset , int srcLength , byte[] dest) ;
+
+}
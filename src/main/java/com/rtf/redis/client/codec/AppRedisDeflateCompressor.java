@@ -0,0 +1,69 @@
+package com.rtf.redis.client.codec;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 使用jdk Deflater的压缩算法，不依赖第三方库。使用带adler32校验的zlib格式，非压缩值被误判为压缩值时解压失败。
+ * Deflater和Inflater持有本地内存，创建开销较大，每个线程复用一个实例
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisDeflateCompressor implements AppRedisCompressor {
+
+    public static final String NAME = "deflate" ;
+
+    public static final byte ID = 1 ;
+
+    private final ThreadLocal<Deflater> deflaters ;
+
+    private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial( Inflater::new ) ;
+
+    /**
+     * @param level 压缩级别，1-9
+     */
+    public AppRedisDeflateCompressor(int level){
+        int deflateLevel = Math.max( Deflater.BEST_SPEED , Math.min( Deflater.BEST_COMPRESSION , level ) ) ;
+        this.deflaters = ThreadLocal.withInitial( () -> new Deflater( deflateLevel ) ) ;
+    }
+
+    @Override
+    public String getName() {
+        return NAME ;
+    }
+
+    @Override
+    public byte getId() {
+        return ID ;
+    }
+
+    @Override
+    public int compress(byte[] src , byte[] dest , int destOffset , int maxLength) {
+        Deflater deflater = deflaters.get() ;
+        try{
+            deflater.setInput( src ) ;
+            deflater.finish() ;
+            int length = deflater.deflate( dest , destOffset , maxLength ) ;
+            return deflater.finished() ? length : -1 ;
+        }finally {
+            deflater.reset() ;
+        }
+    }
+
+    @Override
+    public int decompress(byte[] src , int srcOffset , int srcLength , byte[] dest) {
+        Inflater inflater = inflaters.get() ;
+        try{
+            inflater.setInput( src , srcOffset , srcLength ) ;
+            int length = inflater.inflate( dest ) ;
+            return inflater.finished() ? length : -1 ;
+        }catch( DataFormatException e ){
+            return -1 ;
+        }finally {
+            inflater.reset() ;
+        }
+    }
+
+}
@@ -1,25 +1,24 @@
 package com.rtf.redis.client.interceptor;
 
+import com.rtf.redis.client.AppRedisCommandDescriptor;
+import com.rtf.redis.client.AppRedisCommandTable;
 import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
-import com.google.common.base.Joiner;
-import com.google.common.collect.Sets;
+import com.rtf.redis.client.lb.AppRedisHostStats;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
-import org.reflections.ReflectionUtils;
-import org.springframework.data.redis.connection.RedisCommands;
-
-import java.util.Set;
-import java.util.stream.Collectors;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 
 /**
  * redis连接拦截器
  * @Author : liupeng
  * @Date : 2019-03-27
  * @Modified By
+ * @deprecated 使用 {@link com.rtf.redis.client.AppRedisConnectionWrapper} 直接包装redis连接
  */
+@Deprecated
 @Slf4j
 public class AppRedisConnectionMethodInterceptor implements MethodInterceptor {
 
@@ -27,42 +26,62 @@ public class AppRedisConnectionMethodInterceptor implements MethodInterceptor {
     @Getter
     private String host ;
 
-    private static Set<String> REDIS_CMD_METHODS = Sets.newHashSet() ;
+    public AppRedisConnectionMethodInterceptor(String host){
+        this.host = host ;
+    }
 
-    static {
-        // redis的所有命令
-        REDIS_CMD_METHODS = ReflectionUtils.getAllMethods(RedisCommands.class)
-                .stream().map( method -> method.getName() ).collect(Collectors.toSet()) ;
-        log.debug("redis拦截命令: {}" , Joiner.on(",").join( REDIS_CMD_METHODS )); ;
+    /**
+     * 命令是否支持，不支持的命令直接抛出异常，不发送到redis
+     * @param command
+     * @return
+     */
+    protected boolean isSupported(AppRedisCommandDescriptor command){
+        return true ;
     }
 
-    public AppRedisConnectionMethodInterceptor(String host){
-        this.host = host ;
+    /**
+     * 不支持的命令的异常
+     * @param command
+     * @return
+     */
+    protected RuntimeException unsupported(AppRedisCommandDescriptor command){
+        return new InvalidDataAccessApiUsageException( "redis主机:" + host + " 不支持命令: " + command.getName() ) ;
     }
 
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
         // 1. 获取熔断对象实例
         AppRedisCircuitBreaker appRedisCircuitBreaker = AppRedisCircuitBreaker.getInstance( host ) ;
+        // 2. 查找命令分类，只对redis的执行的命令进行拦截，不拦截一般逻辑方法
+        AppRedisCommandDescriptor command = AppRedisCommandTable.get( invocation.getMethod() ) ;
+        if( command==null ){
+            return invocation.proceed() ;
+        }
+        if( !isSupported( command ) ){
+            throw unsupported( command ) ;
+        }
+        // 3. 按命令分类记录耗时
+        AppRedisHostStats hostStats = AppRedisHostStats.getInstance( host ) ;
+        // 第一个参数为key的命令用于热点检测
+        Object[] arguments = invocation.getArguments() ;
+        long startNanos = arguments.length > 0 && arguments[0] instanceof byte[] ?
+                hostStats.start( (byte[]) arguments[0] ) : hostStats.start() ;
 
         Object redisResult = null ;
 
         try{
             redisResult = invocation.proceed() ;
 
-            // 只对redis的执行的命令进行拦截，不拦截一般逻辑方法
-            if( REDIS_CMD_METHODS.contains( invocation.getMethod().getName() ) ){
-                appRedisCircuitBreaker.clearSuccessiveFailureCount() ;
-            }
+            appRedisCircuitBreaker.clearSuccessiveFailureCount() ;
 
         }catch( Exception e ){
-            // 只对redis的执行的命令进行拦截，增加连续失败的次数
-            if( REDIS_CMD_METHODS.contains( invocation.getMethod().getName() ) ){
-                log.error( "redis主机:{} 中命令 {} 执行异常, {}" , host , invocation.getMethod().getName() , e.getMessage()) ;
-                appRedisCircuitBreaker.incrementSuccessiveFailureCount() ;
-            }
+            // 增加连续失败的次数
+            log.error( "redis主机:{} 中命令 {} 执行异常, {}" , host , command.getName() , e.getMessage()) ;
+            appRedisCircuitBreaker.incrementSuccessiveFailureCount() ;
 
             throw e ;
+        }finally {
+            hostStats.complete( command.getFamily() , startNanos ) ;
         }
 
         return redisResult ;
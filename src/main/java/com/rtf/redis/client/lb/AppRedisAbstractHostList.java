@@ -0,0 +1,84 @@
+package com.rtf.redis.client.lb;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 主动推送的redis服务列表的基类，保存最新的列表，列表内容变化时通知监听器
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public abstract class AppRedisAbstractHostList implements AppRedisHostList {
+
+    private final List<AppRedisHostListListener> listeners = new CopyOnWriteArrayList<>() ;
+
+    /**
+     * 最新的服务列表
+     */
+    private volatile String hosts ;
+
+    @Override
+    public String getUpdatedHostList() {
+        return hosts ;
+    }
+
+    @Override
+    public void addListener(AppRedisHostListListener listener) {
+        listeners.add( listener ) ;
+    }
+
+    @Override
+    public void removeListener(AppRedisHostListListener listener) {
+        listeners.remove( listener ) ;
+    }
+
+    /**
+     * 更新服务列表，内容变化时通知监听器。空的列表视为读取失败，保留原来的列表
+     * @param updatedHosts
+     * @return 是否发生变化
+     */
+    protected boolean update(String updatedHosts){
+        return update( updatedHosts , false ) ;
+    }
+
+    /**
+     * 更新服务列表，内容变化时通知监听器。空的列表视为读取失败，保留原来的列表
+     * @param updatedHosts
+     * @param masterChanged 是否切换了主节点，切换主节点时监听器立即更新，不等待防抖时间
+     * @return 是否发生变化
+     */
+    protected boolean update(String updatedHosts , boolean masterChanged){
+        String normalized = StringUtils.deleteWhitespace( updatedHosts ) ;
+        if( StringUtils.isEmpty( normalized ) || normalized.equals( hosts ) ){
+            return false ;
+        }
+        log.info( "redis服务列表变化: {} -> {}" , hosts , normalized ) ;
+        hosts = normalized ;
+        notifyListeners( masterChanged ) ;
+        return true ;
+    }
+
+    /**
+     * 通知监听器列表可能发生变化，监听器重新拉取列表
+     * @param masterChanged 是否切换了主节点
+     */
+    protected void notifyListeners(boolean masterChanged){
+        for (AppRedisHostListListener listener : listeners) {
+            try{
+                if( masterChanged ){
+                    listener.onMasterChanged() ;
+                }else{
+                    listener.onHostListChanged() ;
+                }
+            }catch( Exception e ){
+                log.error( "通知redis服务列表变化异常: {}" , e ) ;
+            }
+        }
+    }
+
+}
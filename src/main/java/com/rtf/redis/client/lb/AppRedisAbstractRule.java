@@ -0,0 +1,79 @@
+package com.rtf.redis.client.lb;
+
+import com.rtf.redis.client.AppRedisConnectionFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * redis连接工厂选择规则的基类
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public abstract class AppRedisAbstractRule implements AppRedisRule {
+
+    /**
+     * redis连接工厂最大选择次数
+     */
+    protected static final int MAX_SELECT_COUNT = 5 ;
+
+    /**
+     * 当前发布的路由表
+     */
+    private Supplier<AppRedisRoutingTable> routingTable = () -> AppRedisRoutingTable.EMPTY ;
+
+    @Override
+    public void setRoutingTable(Supplier<AppRedisRoutingTable> routingTable){
+        this.routingTable = routingTable ;
+    }
+
+    /**
+     * 获取当前的路由表
+     * @return
+     */
+    protected AppRedisRoutingTable getRoutingTable(){
+        return routingTable.get() ;
+    }
+
+    @Override
+    public AppRedisConnectionFactory choose(Object key) {
+        // 1. 选择主节点
+        AppRedisConnectionFactory connectionFactory = choose( key , true ) ;
+
+        // 2. 选择从节点
+        if( connectionFactory == null ){
+            connectionFactory = choose( key , false ) ;
+        }
+
+        return connectionFactory ;
+    }
+
+    /**
+     * 连接工厂是否可用，即未达到并发限制且未处于熔断状态。半开状态下会消耗一次试探调用次数
+     * @param connectionFactory
+     * @return
+     */
+    protected boolean isAvailable(AppRedisConnectionFactory connectionFactory){
+        // 先检查并发限制，达到限制时不消耗断路器的试探调用次数
+        if( !connectionFactory.getHostStats().tryAcquire() ){
+            return false ;
+        }
+        AppRedisCircuitBreaker appRedisCircuitBreaker = connectionFactory.getCircuitBreaker() ;
+        return appRedisCircuitBreaker==null || appRedisCircuitBreaker.tryAcquirePermission() ;
+    }
+
+    /**
+     * 连接工厂是否可能可用，只检查状态，不消耗试探调用次数，也不记录并发限制的拒绝次数。
+     * 用于在多个候选中比较，选中后仍需调用 {@link #isAvailable(AppRedisConnectionFactory)} 获取许可
+     * @param connectionFactory
+     * @return
+     */
+    protected boolean isCandidate(AppRedisConnectionFactory connectionFactory){
+        if( !connectionFactory.getHostStats().isUnderLimit() ){
+            return false ;
+        }
+        AppRedisCircuitBreaker appRedisCircuitBreaker = connectionFactory.getCircuitBreaker() ;
+        return appRedisCircuitBreaker==null || !appRedisCircuitBreaker.isCircuitBreakerTripped() ;
+    }
+
+}
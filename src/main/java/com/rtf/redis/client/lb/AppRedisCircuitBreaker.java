@@ -2,21 +2,24 @@ package com.rtf.redis.client.lb;
 
 import com.google.common.collect.Maps;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.joda.time.DateTime;
 
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * redis断路器
+ * redis断路器。
+ * 使用基于环形数组的滑动窗口统计最近的调用，失败率或慢调用率达到阀值时熔断；
+ * 熔断时长结束后进入半开状态，只允许有限的试探调用通过，试探成功后恢复，失败则再次熔断并按倍数增加熔断时长。
+ * 所有状态的更新都是无锁的。
  * @Author : liupeng
  * @Date : 2020-02-12
  * @Modified By
  */
-@Setter
 @Getter
 @Slf4j
 public class AppRedisCircuitBreaker {
@@ -24,42 +27,111 @@ public class AppRedisCircuitBreaker {
     private static Map<String,AppRedisCircuitBreaker> redisCircuitBreakers = Maps.newConcurrentMap() ;
 
     /**
-     * 连续失败次数的阀值
+     * 关闭状态，正常处理请求
      */
-    private final int successiveFailureThreshold = 5 ;
+    public static final int CLOSED = 0 ;
 
     /**
-     * 断路器超时时长，单位毫秒。默认120秒
+     * 打开状态，即熔断中
      */
-    private final int circuitTrippedTimeout = 120 * 1000 ;
+    public static final int OPEN = 1 ;
+
+    /**
+     * 半开状态，只允许试探调用通过
+     */
+    public static final int HALF_OPEN = 2 ;
+
+    private static final int OUTCOME_FAILURE = 1 ;
+
+    private static final int OUTCOME_SLOW = 2 ;
+
+    /**
+     * 断路器配置
+     */
+    private volatile AppRedisCircuitBreakerConfig config ;
+
+    /**
+     * 断路器状态
+     */
+    private final AtomicInteger state = new AtomicInteger( CLOSED ) ;
 
     /**
      * 上一次断路器打开的时间
      */
     private volatile long lastCircuitBreakerTrippedTimestamp = 0 ;
 
+    /**
+     * 熔断结束的时间
+     */
+    private volatile long circuitBreakerTimeout = 0 ;
+
+    /**
+     * 连续熔断的次数，恢复后清零
+     */
+    private final AtomicInteger consecutiveTrips = new AtomicInteger(0) ;
+
     /**
      * 连续失败次数
      */
-    private AtomicInteger successiveFailureCount = new AtomicInteger(0) ;
+    private final AtomicInteger successiveFailureCount = new AtomicInteger(0) ;
+
+    /**
+     * 关闭状态的滑动窗口，状态变化时重置
+     */
+    private volatile SlidingWindow slidingWindow ;
+
+    /**
+     * 半开状态剩余的试探调用次数
+     */
+    private final AtomicInteger halfOpenPermits = new AtomicInteger(0) ;
+
+    /**
+     * 半开状态已完成的试探调用次数
+     */
+    private final AtomicInteger halfOpenCalls = new AtomicInteger(0) ;
+
+    private final AtomicInteger halfOpenFailures = new AtomicInteger(0) ;
+
+    private final AtomicInteger halfOpenSlowCalls = new AtomicInteger(0) ;
+
+    /**
+     * 进入半开状态的时间
+     */
+    private volatile long halfOpenTimestamp = 0 ;
 
     /**
      * redis host 配置
      */
     private volatile String host ;
 
+    /**
+     * 通过 {@link #acquire(String, AppRedisCircuitBreakerConfig)} 使用该断路器的连接工厂数
+     */
+    private final AtomicInteger references = new AtomicInteger(0) ;
+
     /**
      * 获取断路器示例
      * @param host
      * @return
      */
     public static AppRedisCircuitBreaker getInstance(String host){
-        if( redisCircuitBreakers.containsKey( host )  ){
-            return redisCircuitBreakers.get( host ) ;
+        return getInstance( host , null ) ;
+    }
+
+    /**
+     * 获取断路器示例，新创建的断路器使用指定的配置
+     * @param host
+     * @param config
+     * @return
+     */
+    public static AppRedisCircuitBreaker getInstance(String host , AppRedisCircuitBreakerConfig config){
+        AppRedisCircuitBreaker appRedisCircuitBreaker = redisCircuitBreakers.get( host ) ;
+        if( appRedisCircuitBreaker!=null ){
+            return appRedisCircuitBreaker ;
         }
         // 创建断路器
-        AppRedisCircuitBreaker appRedisCircuitBreaker = new AppRedisCircuitBreaker(host) ;
-        redisCircuitBreakers.putIfAbsent( host , appRedisCircuitBreaker ) ;
+        redisCircuitBreakers.putIfAbsent( host , new AppRedisCircuitBreaker( host ,
+                config==null ? new AppRedisCircuitBreakerConfig() : config ) ) ;
 
         return redisCircuitBreakers.get( host ) ;
     }
@@ -72,6 +144,31 @@ public class AppRedisCircuitBreaker {
         redisCircuitBreakers.remove( host ) ;
     }
 
+    /**
+     * 获取断路器并增加引用数，新创建的断路器使用指定的配置，使用方销毁时调用 {@link #release(String, AppRedisCircuitBreaker)}
+     * @param host
+     * @param config
+     * @return
+     */
+    public static AppRedisCircuitBreaker acquire(String host , AppRedisCircuitBreakerConfig config){
+        return redisCircuitBreakers.compute( host , ( key , current ) -> {
+            AppRedisCircuitBreaker circuitBreaker = current!=null ? current : new AppRedisCircuitBreaker( key ,
+                    config==null ? new AppRedisCircuitBreakerConfig() : config ) ;
+            circuitBreaker.references.incrementAndGet() ;
+            return circuitBreaker ;
+        } ) ;
+    }
+
+    /**
+     * 减少引用数，没有使用方并且注册的仍是该断路器时移除
+     * @param host
+     * @param circuitBreaker {@link #acquire(String, AppRedisCircuitBreakerConfig)}返回的断路器
+     */
+    public static void release(String host , AppRedisCircuitBreaker circuitBreaker){
+        redisCircuitBreakers.compute( host , ( key , current ) ->
+                circuitBreaker.references.decrementAndGet() > 0 || current!=circuitBreaker ? current : null ) ;
+    }
+
     /**
      * 获取所有的断路器实例
      * @return
@@ -80,68 +177,265 @@ public class AppRedisCircuitBreaker {
         return redisCircuitBreakers.values() ;
     }
 
-    private AppRedisCircuitBreaker(String host){
+    private AppRedisCircuitBreaker(String host , AppRedisCircuitBreakerConfig config){
         this.host = host ;
+        this.config = config ;
+        this.slidingWindow = new SlidingWindow( config.getSlidingWindowSize() ) ;
+    }
+
+    /**
+     * 更新断路器配置，重置滑动窗口
+     * @param config
+     */
+    public void setConfig(AppRedisCircuitBreakerConfig config){
+        this.config = config ;
+        this.slidingWindow = new SlidingWindow( config.getSlidingWindowSize() ) ;
     }
 
     /**
-     * 短路器是否打开
+     * 短路器是否打开，半开状态下试探调用次数用尽时也视为打开
      * @return
      */
     public boolean isCircuitBreakerTripped() {
-        long circuitBreakerTimeout = getCircuitBreakerTimeout();
-        if (circuitBreakerTimeout <= 0) {
-            return false;
+        switch ( currentState() ){
+            case OPEN:
+                return true ;
+            case HALF_OPEN:
+                return halfOpenPermits.get() <= 0 && !isHalfOpenExpired() ;
+            default:
+                return false ;
         }
-        return circuitBreakerTimeout >= System.currentTimeMillis() ;
     }
 
     /**
-     * 获取断路器失效的时间点
+     * 获取调用许可。关闭状态总是允许；半开状态消耗一次试探调用次数
      * @return
      */
-    private long getCircuitBreakerTimeout() {
-        long blackOutPeriod = getCircuitBreakerBlackoutPeriod();
-        if (blackOutPeriod <= 0) {
-            return 0;
+    public boolean tryAcquirePermission(){
+        switch ( currentState() ){
+            case CLOSED:
+                return true ;
+            case OPEN:
+                return false ;
+            default:
+                if( halfOpenPermits.getAndDecrement() > 0 ){
+                    return true ;
+                }
+                // 试探调用长时间没有结果，例如获取的连接没有执行命令，则重新开放试探调用
+                if( isHalfOpenExpired() ){
+                    transitionToHalfOpen( HALF_OPEN ) ;
+                    return halfOpenPermits.getAndDecrement() > 0 ;
+                }
+                return false ;
         }
-        return lastCircuitBreakerTrippedTimestamp + blackOutPeriod;
     }
 
-    private long getCircuitBreakerBlackoutPeriod() {
-        int failureCount = successiveFailureCount.get();
-        if (failureCount < successiveFailureThreshold) {
-            return 0;
+    /**
+     * 获取当前状态，熔断时长结束时转为半开状态
+     * @return
+     */
+    public int currentState(){
+        int current = state.get() ;
+        if( current==OPEN && System.currentTimeMillis() >= circuitBreakerTimeout ){
+            transitionToHalfOpen( OPEN ) ;
+            current = state.get() ;
         }
-        // 使用固定的断路器时间间隔
-        return circuitTrippedTimeout ;
+        return current ;
+    }
+
+    private boolean isHalfOpenExpired(){
+        return System.currentTimeMillis() - halfOpenTimestamp > config.getWaitDurationInOpenState().toMillis() ;
+    }
+
+    /**
+     * 记录一次成功的调用
+     * @param durationNanos 调用耗时，单位纳秒
+     */
+    public void onSuccess(long durationNanos){
+        // 未出现连续失败时不再写入计数，避免高并发下的无效写竞争
+        if( successiveFailureCount.get()!=0 ){
+            successiveFailureCount.set(0) ;
+        }
+        record( durationNanos >= config.getSlowCallDurationThreshold().toNanos() ? OUTCOME_SLOW : 0 ) ;
+    }
+
+    /**
+     * 记录一次失败的调用
+     * @param durationNanos 调用耗时，单位纳秒
+     */
+    public void onError(long durationNanos){
+        successiveFailureCount.incrementAndGet() ;
+        record( durationNanos >= config.getSlowCallDurationThreshold().toNanos() ?
+                OUTCOME_FAILURE | OUTCOME_SLOW : OUTCOME_FAILURE ) ;
     }
 
     /**
      * 增加断路器失败次数
      */
     public void incrementSuccessiveFailureCount() {
-        // 连续失败次数超过阀值，并且处于正常状态
-        if( successiveFailureCount.get() > successiveFailureThreshold ){
-            if( !isCircuitBreakerTripped() ){
-                lastCircuitBreakerTrippedTimestamp = System.currentTimeMillis() ;
-                log.error("redis主机:{} 连续失败次数为:{},触发熔断,熔断结束时间:{}" , host , successiveFailureCount.get() ,
-                        new DateTime(lastCircuitBreakerTrippedTimestamp).toString("yyyy-MM-dd HH:mm:ss")) ;
-            }
-        }else{
-            successiveFailureCount.incrementAndGet() ;
-        }
+        onError( 0 ) ;
     }
 
     /**
      * 清除断路器失败次数
      */
     public void clearSuccessiveFailureCount() {
-        // 处于半熔断状态，则允许清除连续失败次数
-        if( !isCircuitBreakerTripped() ){
-            successiveFailureCount.set(0) ;
-        }else{
-            log.info("redis主机:{} 处于熔断状态" , host );
+        onSuccess( 0 ) ;
+    }
+
+    /**
+     * 健康检查成功。PING成功不代表命令不会超时，但熔断已超过基础熔断时长时提前进入半开状态，由试探调用决定是否恢复，
+     * 避免连续熔断增加的熔断时长让已恢复的主机长时间不可用
+     */
+    public void onHealthCheckSuccess(){
+        if( currentState()==OPEN &&
+                System.currentTimeMillis() - lastCircuitBreakerTrippedTimestamp >= config.getWaitDurationInOpenState().toMillis() ){
+            transitionToHalfOpen( OPEN ) ;
+        }
+    }
+
+    /**
+     * 健康检查连续失败，未熔断的主机直接熔断。
+     * 健康检查导致的熔断使用基础熔断时长，不增加连续熔断次数，连续熔断次数只由实际调用的结果决定
+     */
+    public void onHealthCheckFailure(){
+        int current = state.get() ;
+        if( current!=OPEN ){
+            transitionToOpen( current , 100 , 0 , false ) ;
+        }
+    }
+
+    private void record(int outcome){
+        int current = state.get() ;
+        if( current==HALF_OPEN ){
+            recordHalfOpen( outcome ) ;
+            return;
+        }
+        if( current==OPEN ){
+            return;
+        }
+        SlidingWindow window = slidingWindow ;
+        window.record( outcome ) ;
+        // 失败率和慢调用率只会因为失败或者慢调用而升高
+        if( outcome==0 ){
+            return;
+        }
+        AppRedisCircuitBreakerConfig currentConfig = config ;
+        int calls = window.getCalls() ;
+        if( calls < Math.max( 1 , currentConfig.getMinimumNumberOfCalls() ) ){
+            return;
+        }
+        float failureRate = window.getFailures() * 100f / calls ;
+        float slowCallRate = window.getSlowCalls() * 100f / calls ;
+        if( failureRate >= currentConfig.getFailureRateThreshold() || slowCallRate >= currentConfig.getSlowCallRateThreshold() ){
+            transitionToOpen( CLOSED , failureRate , slowCallRate , true ) ;
+        }
+    }
+
+    private void recordHalfOpen(int outcome){
+        AppRedisCircuitBreakerConfig currentConfig = config ;
+        int permitted = Math.max( 1 , currentConfig.getPermittedCallsInHalfOpenState() ) ;
+        int failures = ( outcome & OUTCOME_FAILURE )!=0 ? halfOpenFailures.incrementAndGet() : halfOpenFailures.get() ;
+        int slowCalls = ( outcome & OUTCOME_SLOW )!=0 ? halfOpenSlowCalls.incrementAndGet() : halfOpenSlowCalls.get() ;
+        int calls = halfOpenCalls.incrementAndGet() ;
+
+        float failureRate = failures * 100f / permitted ;
+        float slowCallRate = slowCalls * 100f / permitted ;
+        // 失败次数已经确定超过阀值，不再等待剩余的试探调用
+        if( failureRate >= currentConfig.getFailureRateThreshold() || slowCallRate >= currentConfig.getSlowCallRateThreshold() ){
+            transitionToOpen( HALF_OPEN , failureRate , slowCallRate , true ) ;
+            return;
+        }
+        if( calls >= permitted ){
+            transitionToClosed() ;
+        }
+    }
+
+    /**
+     * 熔断
+     * @param expected 熔断前的状态
+     * @param failureRate
+     * @param slowCallRate
+     * @param escalate 是否增加连续熔断次数，为false时使用基础熔断时长
+     */
+    private void transitionToOpen(int expected , float failureRate , float slowCallRate , boolean escalate){
+        if( !state.compareAndSet( expected , OPEN ) ){
+            return;
+        }
+        int trips = escalate ? consecutiveTrips.incrementAndGet() : consecutiveTrips.get() ;
+        lastCircuitBreakerTrippedTimestamp = System.currentTimeMillis() ;
+        circuitBreakerTimeout = lastCircuitBreakerTrippedTimestamp + config.getOpenDuration( escalate ? trips : 1 ) ;
+        log.error("redis主机:{} 失败率:{}%,慢调用率:{}%,第{}次连续熔断,熔断结束时间:{}" , host , failureRate , slowCallRate , trips ,
+                new DateTime(circuitBreakerTimeout).toString("yyyy-MM-dd HH:mm:ss")) ;
+    }
+
+    private void transitionToHalfOpen(int expected){
+        // 先准备试探调用次数，再切换状态
+        halfOpenCalls.set(0) ;
+        halfOpenFailures.set(0) ;
+        halfOpenSlowCalls.set(0) ;
+        halfOpenPermits.set( Math.max( 1 , config.getPermittedCallsInHalfOpenState() ) ) ;
+        halfOpenTimestamp = System.currentTimeMillis() ;
+        if( expected==HALF_OPEN || state.compareAndSet( expected , HALF_OPEN ) ){
+            log.info("redis主机:{} 进入半开状态,允许{}次试探调用" , host , halfOpenPermits.get() );
+        }
+    }
+
+    private void transitionToClosed(){
+        if( !state.compareAndSet( HALF_OPEN , CLOSED ) ){
+            return;
+        }
+        consecutiveTrips.set(0) ;
+        slidingWindow = new SlidingWindow( config.getSlidingWindowSize() ) ;
+        log.info("redis主机:{} 试探调用成功,熔断恢复" , host );
+    }
+
+    /**
+     * 基于环形数组的滑动窗口，记录最近slidingWindowSize次调用的结果
+     */
+    private static final class SlidingWindow {
+
+        private final int size ;
+
+        private final AtomicIntegerArray outcomes ;
+
+        private final AtomicLong index = new AtomicLong(0) ;
+
+        private final AtomicInteger failures = new AtomicInteger(0) ;
+
+        private final AtomicInteger slowCalls = new AtomicInteger(0) ;
+
+        SlidingWindow(int size){
+            this.size = Math.max( 1 , size ) ;
+            this.outcomes = new AtomicIntegerArray( this.size ) ;
+        }
+
+        void record(int outcome){
+            int slot = (int) ( index.getAndIncrement() % size ) ;
+            // 成功调用覆盖成功调用时不需要更新计数
+            if( outcomes.get( slot )==outcome ){
+                return;
+            }
+            int previous = outcomes.getAndSet( slot , outcome ) ;
+            int changed = previous ^ outcome ;
+            if( ( changed & OUTCOME_FAILURE )!=0 ){
+                failures.addAndGet( ( outcome & OUTCOME_FAILURE )!=0 ? 1 : -1 ) ;
+            }
+            if( ( changed & OUTCOME_SLOW )!=0 ){
+                slowCalls.addAndGet( ( outcome & OUTCOME_SLOW )!=0 ? 1 : -1 ) ;
+            }
+        }
+
+        int getCalls(){
+            return (int) Math.min( index.get() , size ) ;
+        }
+
+        int getFailures(){
+            return Math.max( 0 , failures.get() ) ;
+        }
+
+        int getSlowCalls(){
+            return Math.max( 0 , slowCalls.get() ) ;
         }
     }
 
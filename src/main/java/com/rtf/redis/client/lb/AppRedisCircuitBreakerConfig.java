@@ -0,0 +1,73 @@
+package com.rtf.redis.client.lb;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * redis断路器配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisCircuitBreakerConfig {
+
+    /**
+     * 失败率阀值，百分比。滑动窗口内失败率达到阀值时触发熔断
+     */
+    private float failureRateThreshold = 50 ;
+
+    /**
+     * 慢调用率阀值，百分比。滑动窗口内慢调用率达到阀值时触发熔断，100表示所有调用都是慢调用时才熔断
+     */
+    private float slowCallRateThreshold = 100 ;
+
+    /**
+     * 耗时超过该值的调用为慢调用
+     */
+    private Duration slowCallDurationThreshold = Duration.ofSeconds( 1 ) ;
+
+    /**
+     * 滑动窗口大小，即统计最近多少次调用
+     */
+    private int slidingWindowSize = 100 ;
+
+    /**
+     * 计算失败率所需的最少调用次数
+     */
+    private int minimumNumberOfCalls = 20 ;
+
+    /**
+     * 半开状态允许通过的试探调用次数
+     */
+    private int permittedCallsInHalfOpenState = 10 ;
+
+    /**
+     * 第一次熔断的时长
+     */
+    private Duration waitDurationInOpenState = Duration.ofSeconds( 5 ) ;
+
+    /**
+     * 连续熔断时熔断时长的增长倍数
+     */
+    private double backoffMultiplier = 2 ;
+
+    /**
+     * 熔断时长的最大值
+     */
+    private Duration maxWaitDurationInOpenState = Duration.ofSeconds( 120 ) ;
+
+    /**
+     * 获取第trips次连续熔断的熔断时长，单位毫秒
+     * @param trips
+     * @return
+     */
+    public long getOpenDuration(int trips){
+        double wait = waitDurationInOpenState.toMillis() * Math.pow( Math.max( 1 , backoffMultiplier ) , Math.max( 0 , trips - 1 ) ) ;
+        return (long) Math.min( wait , maxWaitDurationInOpenState.toMillis() ) ;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.rtf.redis.client.lb;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * redis主机自适应并发限制配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisConcurrencyLimitConfig {
+
+    /**
+     * 是否开启自适应并发限制，默认关闭
+     */
+    private boolean enabled = false ;
+
+    /**
+     * 初始的并发限制
+     */
+    private int initialLimit = 100 ;
+
+    /**
+     * 最小的并发限制
+     */
+    private int minLimit = 8 ;
+
+    /**
+     * 最大的并发限制
+     */
+    private int maxLimit = 1000 ;
+
+    /**
+     * 短期平均耗时超过长期平均耗时的倍数不大于该值时不降低限制
+     */
+    private double rttTolerance = 1.5 ;
+
+    /**
+     * 每个窗口调整限制的平滑系数，越大调整越快
+     */
+    private double smoothing = 0.2 ;
+
+    /**
+     * 长期平均耗时的窗口数
+     */
+    private int longWindow = 600 ;
+
+    /**
+     * 采样窗口，每个窗口结束时根据窗口内的平均耗时调整一次限制
+     */
+    private Duration window = Duration.ofMillis( 100 ) ;
+
+}
@@ -0,0 +1,206 @@
+package com.rtf.redis.client.lb;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * redis主机的自适应并发限制，使用梯度算法根据命令耗时调整执行中命令数的上限。
+ * 每个采样窗口结束时比较窗口内的平均耗时(短期)与长期平均耗时：耗时升高说明主机开始排队，按比例降低限制；
+ * 耗时稳定时限制增加约sqrt(limit)，逐步探测主机的处理能力。执行中的命令数不到限制的一半时不增加限制。
+ * 执行中的命令数达到限制时负载均衡规则跳过该主机，所有主机都达到限制时直接失败，不再等待命令超时。
+ * 记录样本只做原子累加，由窗口结束时比较并交换成功的线程调整限制。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisConcurrencyLimiter {
+
+    /**
+     * 调整限制需要的最少样本数
+     */
+    private static final int MIN_WINDOW_SAMPLES = 10 ;
+
+    /**
+     * 长期平均耗时的预热窗口数，预热期间使用算术平均值
+     */
+    private static final int WARMUP_WINDOWS = 10 ;
+
+    @Getter
+    private final String host ;
+
+    @Getter
+    private volatile AppRedisConcurrencyLimitConfig config = new AppRedisConcurrencyLimitConfig() ;
+
+    /**
+     * 当前的并发限制
+     */
+    private volatile double limit ;
+
+    /**
+     * 长期平均耗时，单位纳秒
+     */
+    private volatile double longRttNanos = 0 ;
+
+    /**
+     * 已经计入长期平均耗时的窗口数
+     */
+    private volatile int windows = 0 ;
+
+    /**
+     * 当前窗口的结束时间，单位纳秒
+     */
+    private final AtomicLong windowEnd = new AtomicLong( System.nanoTime() ) ;
+
+    private final AtomicLong windowRttNanos = new AtomicLong( 0 ) ;
+
+    private final AtomicInteger windowSamples = new AtomicInteger( 0 ) ;
+
+    /**
+     * 当前窗口内的最大执行中命令数
+     */
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger( 0 ) ;
+
+    /**
+     * 超过限制被拒绝的次数
+     */
+    private final LongAdder rejectedCount = new LongAdder() ;
+
+    public AppRedisConcurrencyLimiter(String host){
+        this.host = host ;
+        this.limit = config.getInitialLimit() ;
+    }
+
+    /**
+     * 设置限制配置，重新从初始限制开始调整
+     * @param config
+     */
+    public synchronized void setConfig(AppRedisConcurrencyLimitConfig config){
+        if( config==null || config==this.config ){
+            return;
+        }
+        this.config = config ;
+        this.limit = Math.max( config.getMinLimit() , Math.min( config.getMaxLimit() , config.getInitialLimit() ) ) ;
+        this.longRttNanos = 0 ;
+        this.windows = 0 ;
+    }
+
+    /**
+     * 执行中的命令数是否未达到限制，未开启时总是返回true
+     * @param inFlight 执行中的命令数
+     * @return
+     */
+    public boolean tryAcquire(int inFlight){
+        if( isUnderLimit( inFlight ) ){
+            return true ;
+        }
+        rejectedCount.increment() ;
+        return false ;
+    }
+
+    /**
+     * 执行中的命令数是否未达到限制，不记录拒绝次数，用于选择主机前的比较
+     * @param inFlight 执行中的命令数
+     * @return
+     */
+    public boolean isUnderLimit(int inFlight){
+        return !config.isEnabled() || inFlight < (int) limit ;
+    }
+
+    /**
+     * 记录一次命令耗时，窗口结束时调整限制
+     * @param rttNanos 命令耗时，单位纳秒
+     * @param inFlight 命令开始执行时的执行中命令数
+     */
+    public void onSample(long rttNanos , int inFlight){
+        AppRedisConcurrencyLimitConfig current = config ;
+        if( !current.isEnabled() ){
+            return;
+        }
+        windowRttNanos.addAndGet( rttNanos ) ;
+        int samples = windowSamples.incrementAndGet() ;
+        if( inFlight > windowMaxInFlight.get() ){
+            windowMaxInFlight.accumulateAndGet( inFlight , Math::max ) ;
+        }
+        long now = System.nanoTime() ;
+        long end = windowEnd.get() ;
+        if( now < end || samples < MIN_WINDOW_SAMPLES || !windowEnd.compareAndSet( end , now + current.getWindow().toNanos() ) ){
+            return;
+        }
+        // 并发记录的样本可能计入下一个窗口，不影响平均值
+        long totalRttNanos = windowRttNanos.getAndSet( 0 ) ;
+        int totalSamples = windowSamples.getAndSet( 0 ) ;
+        int maxInFlight = windowMaxInFlight.getAndSet( 0 ) ;
+        if( totalSamples > 0 ){
+            update( current , (double) totalRttNanos / totalSamples , maxInFlight ) ;
+        }
+    }
+
+    /**
+     * 根据窗口的平均耗时调整限制
+     * @param current
+     * @param shortRttNanos 窗口内的平均耗时
+     * @param maxInFlight 窗口内的最大执行中命令数
+     */
+    private void update(AppRedisConcurrencyLimitConfig current , double shortRttNanos , int maxInFlight){
+        // 长期平均耗时，预热期间为算术平均值，之后为指数加权平均值
+        int count = windows ;
+        double longRtt = longRttNanos ;
+        if( count < WARMUP_WINDOWS ){
+            longRtt = ( longRtt * count + shortRttNanos ) / ( count + 1 ) ;
+            windows = count + 1 ;
+        }else{
+            double factor = 2.0 / ( Math.max( 1 , current.getLongWindow() ) + 1 ) ;
+            longRtt = longRtt * ( 1 - factor ) + shortRttNanos * factor ;
+        }
+        // 负载下降后长期平均耗时偏高，加快衰减，避免长时间不降低限制
+        if( longRtt / shortRttNanos > 2 ){
+            longRtt = longRtt * 0.95 ;
+        }
+        longRttNanos = longRtt ;
+
+        double currentLimit = limit ;
+        // 并发远小于限制时耗时不能反映主机的处理能力，不增加限制
+        if( maxInFlight < currentLimit / 2 ){
+            return;
+        }
+        double gradient = Math.max( 0.5 , Math.min( 1.0 , current.getRttTolerance() * longRtt / shortRttNanos ) ) ;
+        double newLimit = currentLimit * gradient + Math.sqrt( currentLimit ) ;
+        newLimit = currentLimit * ( 1 - current.getSmoothing() ) + newLimit * current.getSmoothing() ;
+        newLimit = Math.max( current.getMinLimit() , Math.min( current.getMaxLimit() , newLimit ) ) ;
+        if( (int) newLimit != (int) currentLimit ){
+            log.debug( "redis主机:{} 并发限制 {} -> {}, 耗时 {}us/{}us" , host , (int) currentLimit , (int) newLimit ,
+                    (long) shortRttNanos / 1000 , (long) longRtt / 1000 ) ;
+        }
+        limit = newLimit ;
+    }
+
+    /**
+     * 获取当前的并发限制
+     * @return
+     */
+    public int getLimit(){
+        return (int) limit ;
+    }
+
+    /**
+     * 获取长期平均耗时，单位纳秒
+     * @return
+     */
+    public double getLongRttNanos(){
+        return longRttNanos ;
+    }
+
+    /**
+     * 获取超过限制被拒绝的次数
+     * @return
+     */
+    public long getRejectedCount(){
+        return rejectedCount.sum() ;
+    }
+
+}
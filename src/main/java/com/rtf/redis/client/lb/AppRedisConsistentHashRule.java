@@ -0,0 +1,200 @@
+package com.rtf.redis.client.lb;
+
+import com.rtf.redis.client.AppRedisConnectionFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * 基于一致性哈希的redis连接工厂选择规则，相同key的命令固定发送到同一个代理节点。
+ * 每个节点在哈希环上对应多个虚拟节点，虚拟节点数量与节点权重成正比。
+ * 节点熔断时顺时针选择下一个可用节点，只有熔断节点上的key会迁移。
+ * 没有key的命令使用轮询规则。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisConsistentHashRule extends AppRedisAbstractRule {
+
+    /**
+     * 每个节点默认的虚拟节点数量
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 160 ;
+
+    @Getter
+    private final int virtualNodes ;
+
+    /**
+     * 没有key的命令使用轮询规则
+     */
+    private final AppRedisRoundRobinRule roundRobinRule = new AppRedisRoundRobinRule() ;
+
+    /**
+     * 当前路由表对应的哈希环
+     */
+    private volatile Ring ring = new Ring( AppRedisRoutingTable.EMPTY , 0 ) ;
+
+    public AppRedisConsistentHashRule(){
+        this( DEFAULT_VIRTUAL_NODES ) ;
+    }
+
+    public AppRedisConsistentHashRule(int virtualNodes){
+        this.virtualNodes = Math.max( 1 , virtualNodes ) ;
+    }
+
+    @Override
+    public void setRoutingTable(Supplier<AppRedisRoutingTable> routingTable) {
+        super.setRoutingTable( routingTable ) ;
+        roundRobinRule.setRoutingTable( routingTable ) ;
+    }
+
+    @Override
+    public boolean isRouteByKey() {
+        return true ;
+    }
+
+    @Override
+    public AppRedisConnectionFactory choose(Object key , boolean useMaster) {
+        if( key==null ){
+            return roundRobinRule.choose( null , useMaster ) ;
+        }
+        Ring current = getRing() ;
+        AppRedisConnectionFactory[] nodes = current.getNodes( useMaster ) ;
+        long[] hashes = current.getHashes( useMaster ) ;
+        if( hashes.length < 1 ){
+            log.debug("无可用的redis连接池供选择,useMaster={}" , useMaster);
+            return null ;
+        }
+
+        int index = Arrays.binarySearch( hashes , hash( key ) ) ;
+        if( index < 0 ){
+            index = -index - 1 ;
+        }
+        // 顺时针查找第一个可用的节点
+        for (int count = 0; count < hashes.length; count++) {
+            AppRedisConnectionFactory connectionFactory = nodes[ ( index + count ) % hashes.length ] ;
+            if( isAvailable( connectionFactory ) ){
+                return connectionFactory ;
+            }
+        }
+
+        return null ;
+    }
+
+    /**
+     * 获取当前路由表对应的哈希环，路由表变化时重新构建
+     * @return
+     */
+    private Ring getRing(){
+        AppRedisRoutingTable routingTable = getRoutingTable() ;
+        Ring current = ring ;
+        if( current.routingTable != routingTable ){
+            current = new Ring( routingTable , virtualNodes ) ;
+            ring = current ;
+        }
+        return current ;
+    }
+
+    /**
+     * 计算key的哈希值
+     * @param key
+     * @return
+     */
+    static long hash(Object key){
+        if( key instanceof byte[] ){
+            return hash( (byte[]) key ) ;
+        }
+        return hash( String.valueOf( key ).getBytes( StandardCharsets.UTF_8 ) ) ;
+    }
+
+    /**
+     * FNV-1a哈希，再使用murmur3的fmix64混淆，保证相近的key均匀分布
+     * @param bytes
+     * @return
+     */
+    static long hash(byte[] bytes){
+        long h = 0xcbf29ce484222325L ;
+        for (byte b : bytes) {
+            h ^= b ;
+            h *= 0x100000001b3L ;
+        }
+        h ^= h >>> 33 ;
+        h *= 0xff51afd7ed558ccdL ;
+        h ^= h >>> 33 ;
+        h *= 0xc4ceb9fe1a85ec53L ;
+        h ^= h >>> 33 ;
+        return h ;
+    }
+
+    /**
+     * 哈希环，主备节点分别构建
+     */
+    private static final class Ring {
+
+        private final AppRedisRoutingTable routingTable ;
+
+        private final long[] masterHashes ;
+
+        private final AppRedisConnectionFactory[] masterNodes ;
+
+        private final long[] backupHashes ;
+
+        private final AppRedisConnectionFactory[] backupNodes ;
+
+        Ring(AppRedisRoutingTable routingTable , int virtualNodes){
+            this.routingTable = routingTable ;
+
+            AppRedisConnectionFactory[] masters = routingTable.getFactories( true ) ;
+            this.masterHashes = new long[ count( masters , virtualNodes ) ] ;
+            this.masterNodes = new AppRedisConnectionFactory[ masterHashes.length ] ;
+            build( masters , virtualNodes , masterHashes , masterNodes ) ;
+
+            AppRedisConnectionFactory[] backups = routingTable.getFactories( false ) ;
+            this.backupHashes = new long[ count( backups , virtualNodes ) ] ;
+            this.backupNodes = new AppRedisConnectionFactory[ backupHashes.length ] ;
+            build( backups , virtualNodes , backupHashes , backupNodes ) ;
+        }
+
+        long[] getHashes(boolean useMaster){
+            return useMaster ? masterHashes : backupHashes ;
+        }
+
+        AppRedisConnectionFactory[] getNodes(boolean useMaster){
+            return useMaster ? masterNodes : backupNodes ;
+        }
+
+        private static int weight(AppRedisConnectionFactory factory){
+            return Math.max( 1 , factory.getHostStats().getWeight() ) ;
+        }
+
+        private static int count(AppRedisConnectionFactory[] factories , int virtualNodes){
+            int count = 0 ;
+            for (AppRedisConnectionFactory factory : factories) {
+                count += virtualNodes * weight( factory ) ;
+            }
+            return count ;
+        }
+
+        private static void build(AppRedisConnectionFactory[] factories , int virtualNodes ,
+                                  long[] hashes , AppRedisConnectionFactory[] nodes){
+            int size = 0 ;
+            long[][] entries = new long[ hashes.length ][] ;
+            for (int i = 0; i < factories.length; i++) {
+                int replicas = virtualNodes * weight( factories[i] ) ;
+                for (int replica = 0; replica < replicas; replica++) {
+                    entries[ size++ ] = new long[]{ hash( factories[i].getHostName() + "#" + replica ) , i } ;
+                }
+            }
+            Arrays.sort( entries , ( a , b ) -> Long.compare( a[0] , b[0] ) ) ;
+            for (int i = 0; i < entries.length; i++) {
+                hashes[i] = entries[i][0] ;
+                nodes[i] = factories[ (int) entries[i][1] ] ;
+            }
+        }
+    }
+
+}
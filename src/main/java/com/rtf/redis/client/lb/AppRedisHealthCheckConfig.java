@@ -0,0 +1,48 @@
+package com.rtf.redis.client.lb;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * redis健康检查配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisHealthCheckConfig {
+
+    /**
+     * 是否开启健康检查，只对多节点的动态连接工厂生效
+     */
+    private boolean enabled = true ;
+
+    /**
+     * 检查方式，可选值：ping、set-get，默认为ping
+     */
+    private String mode = "ping" ;
+
+    /**
+     * 第一次检查的延迟时间
+     */
+    private Duration initialDelay = Duration.ofSeconds( 1 ) ;
+
+    /**
+     * 检查间隔
+     */
+    private Duration interval = Duration.ofSeconds( 2 ) ;
+
+    /**
+     * 检查超时时间，超时视为检查失败
+     */
+    private Duration timeout = Duration.ofSeconds( 1 ) ;
+
+    /**
+     * 连续检查失败多少次后熔断
+     */
+    private int failureThreshold = 3 ;
+
+}
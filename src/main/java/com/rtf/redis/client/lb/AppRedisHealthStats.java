@@ -1,13 +1,39 @@
 package com.rtf.redis.client.lb;
 
 import com.rtf.redis.client.AppRedisConnectionFactory;
+import com.rtf.redis.client.AppRedisReadWriteSplitConfig;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.joda.time.DateTime;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * redis主机健康检查。
+ * 所有主机共享一个调度线程，使用独立的lettuce连接异步发送PING或SET/GET命令，不占用应用的连接池。
+ * 连续检查失败时按基础熔断时长熔断主机；熔断超过基础熔断时长的主机检查成功时提前进入半开状态，不必等待连续熔断增加的熔断时长。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
 @Slf4j
 public class AppRedisHealthStats {
     // redis的健康检查key
@@ -15,112 +41,237 @@ public class AppRedisHealthStats {
 
     private static RedisSerializer<String> stringSerializer = new StringRedisSerializer();
 
-    private static ScheduledThreadPoolExecutor HEALTH_STATS_EXECUTOR = null ;
-
-//    static {
-//        ThreadFactory factory = (new ThreadFactoryBuilder())
-//                .setNameFormat("RedisHealthCheck-%d")
-//                .setDaemon(true)
-//                .build();
-//
-//        int coreSize = Math.max( 20 , Runtime.getRuntime().availableProcessors() ) ;
-//
-//        HEALTH_STATS_EXECUTOR = new ScheduledThreadPoolExecutor( coreSize , factory );
-//    }
+    /**
+     * 所有主机共享的检查线程，检查命令是异步执行的，一个线程即可
+     */
+    private static volatile ScheduledThreadPoolExecutor HEALTH_STATS_EXECUTOR = null ;
 
     private AppRedisConnectionFactory connectionFactory ;
 
-//    private InetUtils.HostInfo hostInfo ;
+    private AppRedisHealthCheckConfig config ;
 
-    private long initialDelay = 10 ;
+    private ScheduledFuture scheduledFuture = null ;
 
-    private long delay = 2 ;
+    /**
+     * 健康检查专用的客户端和连接
+     */
+    private RedisClient redisClient ;
 
-    private ScheduledFuture scheduledFuture = null ;
+    private RedisURI redisURI ;
+
+    private volatile StatefulRedisConnection<byte[],byte[]> connection ;
+
+    /**
+     * 正在执行的检查
+     */
+    private volatile CompletableFuture<Boolean> pending ;
+
+    /**
+     * 连续检查失败次数
+     */
+    private final AtomicInteger successiveFailureCount = new AtomicInteger(0) ;
+
+    private volatile boolean destroyed = false ;
 
     public AppRedisHealthStats( AppRedisConnectionFactory connectionFactory ){
+        this( connectionFactory , new AppRedisHealthCheckConfig() ) ;
+    }
+
+    public AppRedisHealthStats( AppRedisConnectionFactory connectionFactory , AppRedisHealthCheckConfig config ){
         this.connectionFactory = connectionFactory ;
-//        // 获取
-//        hostInfo = UtilIp.getHostInfo() ;
-//        log.info("本机网络信息，ip: {} " , hostInfo.getIpAddress()) ;
+        this.config = config==null ? new AppRedisHealthCheckConfig() : config ;
+    }
+
+    /**
+     * 获取共享的检查线程
+     * @return
+     */
+    private static ScheduledThreadPoolExecutor getExecutor(){
+        if( HEALTH_STATS_EXECUTOR==null ){
+            synchronized ( AppRedisHealthStats.class ){
+                if( HEALTH_STATS_EXECUTOR==null ){
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor( 1 , runnable -> {
+                        Thread thread = new Thread( runnable , "RedisHealthCheck" ) ;
+                        thread.setDaemon( true ) ;
+                        return thread ;
+                    } ) ;
+                    executor.setRemoveOnCancelPolicy( true ) ;
+                    HEALTH_STATS_EXECUTOR = executor ;
+                }
+            }
+        }
+        return HEALTH_STATS_EXECUTOR ;
     }
 
     public void start(){
-//        final String hostName = connectionFactory.getHostName() ;
-//
-//        final Runnable wrapperRunnable = ()->{
-//            try {
-//                log.info("{} redis健康检查开始:{}" , HEALTH_STATS_EXECUTOR.getActiveCount() , hostName) ;
-//                // 1. 获取熔断对象实例
-//                AppRedisCircuitBreaker appRedisCircuitBreaker = AppRedisCircuitBreaker.getInstance( hostName ) ;
-//                // 2. 检查是否处于熔断状态，如果处于熔断状态则不再检查；否则开启检查
-//                boolean circuitBreakerTripped = appRedisCircuitBreaker.isCircuitBreakerTripped() ;
-//                if( circuitBreakerTripped ){
-//                    log.info("{} redis执行熔断" , hostName);
-//                    return;
-//                }
-//
-//                boolean checkResult = check() ;
-//                // 如果检查失败，则增加连续失败的次数；否则清空连续失败次数
-//                if( checkResult ){
-//                    appRedisCircuitBreaker.clearSuccessiveFailureCount() ;
-//                }else{
-//                    appRedisCircuitBreaker.incrementSuccessiveFailureCount() ;
-//                }
-//
-//            } catch (Exception e) {
-//                log.error("redis监控检查失败", e) ;
-//            }
-//        } ;
-//
-//        scheduledFuture = HEALTH_STATS_EXECUTOR.scheduleWithFixedDelay( wrapperRunnable ,
-//                initialDelay , delay , TimeUnit.SECONDS ) ;
+        redisURI = connectionFactory.createRedisURI( config.getTimeout() ) ;
+        // 复用应用的客户端资源，连接断开时直接拒绝命令，避免检查命令堆积
+        redisClient = connectionFactory.createRedisClient( redisURI ) ;
+
+        scheduledFuture = getExecutor().scheduleWithFixedDelay( this::schedule ,
+                config.getInitialDelay().toMillis() , config.getInterval().toMillis() , TimeUnit.MILLISECONDS ) ;
     }
+
     /**
-     * 销毁检查任务
+     * 发起一次检查，上一次检查未结束时跳过
      */
-    public void destory(){
-        if( scheduledFuture==null ){
+    private void schedule(){
+        CompletableFuture<Boolean> current = pending ;
+        if( destroyed || ( current!=null && !current.isDone() ) ){
+            return;
+        }
+        try {
+            CompletableFuture<Boolean> result = new CompletableFuture<>() ;
+            pending = result ;
+            check().whenComplete( ( healthy , e ) -> {
+                if( e!=null ){
+                    log.debug( "redis健康检查出现异常  {} : {}" , connectionFactory.getHostName() , e.getMessage() ) ;
+                }
+                result.complete( e==null && Boolean.TRUE.equals( healthy ) ) ;
+            } ) ;
+            // 超时视为检查失败
+            getExecutor().schedule( () -> result.complete( false ) , config.getTimeout().toMillis() , TimeUnit.MILLISECONDS ) ;
+            result.thenAccept( this::onResult ) ;
+        } catch (Exception e) {
+            log.error("redis监控检查失败", e) ;
+        }
+    }
+
+    /**
+     * 根据检查结果更新断路器
+     * @param healthy
+     */
+    private void onResult(boolean healthy){
+        AppRedisCircuitBreaker appRedisCircuitBreaker = connectionFactory.getCircuitBreaker() ;
+        if( destroyed || appRedisCircuitBreaker==null ){
+            return;
+        }
+        if( healthy ){
+            successiveFailureCount.set(0) ;
+            appRedisCircuitBreaker.onHealthCheckSuccess() ;
             return;
         }
+        int failures = successiveFailureCount.incrementAndGet() ;
+        log.warn( "redis主机:{} 健康检查失败,连续失败{}次" , connectionFactory.getHostName() , failures ) ;
+        if( failures >= Math.max( 1 , config.getFailureThreshold() ) ){
+            appRedisCircuitBreaker.onHealthCheckFailure() ;
+        }
+    }
+
+    /**
+     * 检查连接工厂是否正常
+     * @return
+     */
+    private CompletionStage<Boolean> check(){
+        StatefulRedisConnection<byte[],byte[]> current = connection ;
+        if( current!=null ){
+            return execute( current.async() ) ;
+        }
+        // 连接断开后由lettuce自动重连，只有第一次或者建立连接失败时重新建立连接
+        return redisClient.connectAsync( ByteArrayCodec.INSTANCE , redisURI ).thenCompose( created -> {
+            if( destroyed ){
+                getExecutor().execute( created::close ) ;
+                return CompletableFuture.completedFuture( false ) ;
+            }
+            connection = created ;
+            return execute( created.async() ) ;
+        } ) ;
+    }
+
+    /**
+     * 执行检查命令，开启读写分离时检查成功的备节点再检查复制状态
+     * @param commands
+     * @return
+     */
+    private CompletionStage<Boolean> execute(RedisAsyncCommands<byte[],byte[]> commands){
+        CompletionStage<Boolean> result = executeCheck( commands ) ;
+        AppRedisReadWriteSplitConfig readWriteSplitConfig = connectionFactory.getReadWriteSplitConfig() ;
+        if( connectionFactory.isMaster() || readWriteSplitConfig==null || !readWriteSplitConfig.isEnabled() ){
+            return result ;
+        }
+        return result.thenCompose( healthy -> !Boolean.TRUE.equals( healthy ) ? CompletableFuture.completedFuture( healthy ) :
+                commands.info( "replication" ).handle( ( info , e ) -> {
+                    if( e!=null ){
+                        // 不支持INFO命令时保持原来的状态
+                        log.debug( "redis主机:{} 获取复制状态失败: {}" , connectionFactory.getHostName() , e.getMessage() ) ;
+                    }else{
+                        updateReadable( info , readWriteSplitConfig.getMaxStaleness() ) ;
+                    }
+                    return healthy ;
+                } ) ) ;
+    }
+
+    /**
+     * 根据INFO replication的结果更新备节点是否可以读取。
+     * 不是从节点时总是可以读取；是从节点时要求与主节点的复制连接正常、没有在全量同步，并且最近收到主节点数据的时间不超过最大延迟
+     * @param info
+     * @param maxStaleness
+     */
+    private void updateReadable(String info , Duration maxStaleness){
+        Map<String,String> replication = new HashMap<>() ;
+        for (String line : StringUtils.split( info , "\r\n" )) {
+            int index = line.indexOf( ':' ) ;
+            if( index>0 ){
+                replication.put( line.substring( 0 , index ) , line.substring( index + 1 ).trim() ) ;
+            }
+        }
+        boolean readable = true ;
+        if( "slave".equals( replication.get( "role" ) ) ){
+            long lastIo = NumberUtils.toLong( replication.get( "master_last_io_seconds_ago" ) , -1 ) ;
+            readable = "up".equals( replication.get( "master_link_status" ) )
+                    && !"1".equals( replication.get( "master_sync_in_progress" ) )
+                    && ( maxStaleness==null || maxStaleness.getSeconds()<=0 || ( lastIo>=0 && lastIo<=maxStaleness.getSeconds() ) ) ;
+        }
+        if( readable!=connectionFactory.isReadable() ){
+            log.warn( "redis备节点:{} {}读取, 复制状态: {}" , connectionFactory.getHostName() , readable ? "恢复" : "停止" , replication ) ;
+            connectionFactory.setReadable( readable ) ;
+        }
+    }
+
+    /**
+     * 执行检查命令
+     * @param commands
+     * @return
+     */
+    private CompletionStage<Boolean> executeCheck(RedisAsyncCommands<byte[],byte[]> commands){
+        if( !StringUtils.equalsIgnoreCase( config.getMode() , "set-get" ) ){
+            return commands.ping().thenApply( "PONG"::equalsIgnoreCase ) ;
+        }
+        // redis的key
+        byte[] serializeKey = stringSerializer.serialize( REDIS_CHECK_KEY+":"+getLocalAddress()+":"+connectionFactory.getHostName() ) ;
+        // redis的值
+        byte[] redisValue = stringSerializer.serialize( new DateTime().toString("yyyy-MM-dd HH:mm:ss") ) ;
+        // 有效时间30秒，验证set、get命令是否成功
+        return commands.set( serializeKey , redisValue , SetArgs.Builder.ex( 30 ) )
+                .thenCompose( setResult -> commands.get( serializeKey ) )
+                .thenApply( value -> value!=null && value.length > 0 ) ;
+    }
+
+    private static String getLocalAddress(){
+        try{
+            return InetAddress.getLocalHost().getHostAddress() ;
+        }catch( Exception e ){
+            return "unknown" ;
+        }
+    }
+
+    /**
+     * 销毁检查任务
+     */
+    public void destory(){
+        destroyed = true ;
         try{
             // 取消检查任务
-            scheduledFuture.cancel(true) ;
+            if( scheduledFuture!=null ){
+                scheduledFuture.cancel(true) ;
+            }
+            // 关闭客户端时会关闭检查连接，共享的客户端资源不会被关闭
+            if( redisClient!=null ){
+                redisClient.shutdownAsync() ;
+            }
         }catch( Exception e ){
             log.error( "redis连接工厂销毁异常 {} : {}" , connectionFactory.getHostName() , e.getMessage() ) ;
         }
     }
-//
-//    /**
-//     * 检查连接工厂是否正常
-//     * @return
-//     */
-//    public boolean check(){
-//        try{
-//            log.info("redis开始检查{}" , connectionFactory.getHostName());
-//            // 当前时间索引
-//            String currentTime = new DateTime().toString("yyyy-MM-dd HH:mm:ss") ;
-//            // redis的key
-//            String redisKey = REDIS_CHECK_KEY+":"+hostInfo.getIpAddress()+":"+connectionFactory.getHostName() ;
-//            byte[] serializeKey = stringSerializer.serialize( redisKey ) ;
-//            // redis的值
-//            byte[] redisValue = stringSerializer.serialize( currentTime ) ;
-//            // 有效时间，单位秒
-//            long expireTargetTime = 30 ;
-//            // 验证set 命令是否成功
-//            boolean setSuccess = connectionFactory.getConnection().set( serializeKey , redisValue , Expiration.seconds( expireTargetTime ) ,
-//                    RedisStringCommands.SetOption.UPSERT ) ;
-//            // 验证get命令是否成功
-//            redisValue = connectionFactory.getConnection().get( serializeKey ) ;
-//            String redisValueStr = stringSerializer.deserialize( redisValue ) ;
-//            boolean getSuccess = StringUtils.isNotBlank( redisValueStr ) ;
-//
-//            return setSuccess && getSuccess ;
-//        }catch( Exception e ){
-//            log.error( "redis健康检查出现异常  {} : {}" , connectionFactory.getHostName() , e.getMessage() ) ;
-//        }
-//        return false ;
-//    }
-
 
 }
@@ -13,4 +13,18 @@ public interface AppRedisHostList {
      */
     String getUpdatedHostList() ;
 
+    /**
+     * 添加列表变化的监听器，支持主动推送的服务列表在列表变化时通知监听器，不支持时只定时拉取
+     * @param listener
+     */
+    default void addListener(AppRedisHostListListener listener){
+    }
+
+    /**
+     * 移除列表变化的监听器
+     * @param listener
+     */
+    default void removeListener(AppRedisHostListListener listener){
+    }
+
 }
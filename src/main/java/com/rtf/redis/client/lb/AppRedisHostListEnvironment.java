@@ -0,0 +1,57 @@
+package com.rtf.redis.client.lb;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * 从spring Environment读取的redis服务列表。
+ * 收到spring cloud的EnvironmentChangeEvent或RefreshScopeRefreshedEvent时重新读取配置，列表变化时通知监听器，
+ * 按事件类名匹配，不依赖spring cloud
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisHostListEnvironment extends AppRedisAbstractHostList implements ApplicationListener<ApplicationEvent> {
+
+    public static final String DEFAULT_PROPERTY = "spring.redis.host" ;
+
+    private static final String ENVIRONMENT_CHANGE_EVENT = "org.springframework.cloud.context.environment.EnvironmentChangeEvent" ;
+
+    private static final String REFRESH_SCOPE_REFRESHED_EVENT = "org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent" ;
+
+    private final Environment environment ;
+
+    /**
+     * 服务列表的配置项
+     */
+    @Getter
+    private final String property ;
+
+    public AppRedisHostListEnvironment(Environment environment){
+        this( environment , DEFAULT_PROPERTY ) ;
+    }
+
+    public AppRedisHostListEnvironment(Environment environment , String property){
+        this.environment = environment ;
+        this.property = property ;
+        reload() ;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        String eventType = event.getClass().getName() ;
+        if( ENVIRONMENT_CHANGE_EVENT.equals( eventType ) || REFRESH_SCOPE_REFRESHED_EVENT.equals( eventType ) ){
+            reload() ;
+        }
+    }
+
+    /**
+     * 重新读取配置，列表变化时通知监听器
+     */
+    public void reload(){
+        update( environment.getProperty( property ) ) ;
+    }
+
+}
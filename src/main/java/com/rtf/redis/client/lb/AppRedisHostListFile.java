@@ -0,0 +1,136 @@
+package com.rtf.redis.client.lb;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 从文件读取的redis服务列表，使用WatchService监听文件变化并通知监听器。
+ * 文件内容与spring.redis.host的格式相同，换行视为","，"#"开头的行为注释。
+ * 监听文件所在的目录，编辑器保存时替换文件、kubernetes的ConfigMap通过符号链接更新时也能收到通知
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisHostListFile extends AppRedisAbstractHostList implements Closeable {
+
+    @Getter
+    private final Path path ;
+
+    private WatchService watchService ;
+
+    private Thread watchThread ;
+
+    private volatile boolean closed = false ;
+
+    public AppRedisHostListFile(String path){
+        this( Paths.get( path ) ) ;
+    }
+
+    public AppRedisHostListFile(Path path){
+        this.path = path.toAbsolutePath() ;
+        reload() ;
+    }
+
+    @Override
+    public synchronized void addListener(AppRedisHostListListener listener) {
+        super.addListener( listener ) ;
+        // 第一次添加监听器时开始监听文件
+        if( watchThread==null && !closed ){
+            start() ;
+        }
+    }
+
+    /**
+     * 开始监听文件所在的目录
+     */
+    private void start(){
+        try{
+            watchService = path.getFileSystem().newWatchService() ;
+            path.getParent().register( watchService , StandardWatchEventKinds.ENTRY_CREATE ,
+                    StandardWatchEventKinds.ENTRY_MODIFY , StandardWatchEventKinds.ENTRY_DELETE ) ;
+        }catch( IOException e ){
+            log.error( "监听redis服务列表文件失败 {} : {}" , path , e ) ;
+            return;
+        }
+        watchThread = new Thread( this::watch , "RedisHostListWatcher" ) ;
+        watchThread.setDaemon( true ) ;
+        watchThread.start() ;
+    }
+
+    private void watch(){
+        while ( !closed ){
+            WatchKey watchKey ;
+            try{
+                watchKey = watchService.take() ;
+            }catch( InterruptedException | ClosedWatchServiceException e ){
+                return;
+            }
+            boolean changed = false ;
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                // 事件溢出时无法确定文件名，重新读取
+                changed |= event.kind()==StandardWatchEventKinds.OVERFLOW || isWatchedFile( event.context() ) ;
+            }
+            watchKey.reset() ;
+            if( changed ){
+                reload() ;
+            }
+        }
+    }
+
+    /**
+     * 事件是否与监听的文件有关，ConfigMap更新时只有目录内的符号链接发生变化
+     * @param context
+     * @return
+     */
+    private boolean isWatchedFile(Object context){
+        return context instanceof Path && ( path.getFileName().equals( context ) || ((Path) context).startsWith( "..data" ) ) ;
+    }
+
+    /**
+     * 重新读取文件，内容变化时通知监听器
+     */
+    public void reload(){
+        try{
+            if( !Files.isReadable( path ) ){
+                log.warn( "redis服务列表文件不可读，保留原来的列表: {}" , path ) ;
+                return;
+            }
+            List<String> lines = Files.readAllLines( path , StandardCharsets.UTF_8 ).stream()
+                    .map( String::trim )
+                    .filter( line -> StringUtils.isNotEmpty( line ) && !line.startsWith( "#" ) )
+                    .collect( Collectors.toList() ) ;
+            update( StringUtils.join( lines , "," ).replace( ",;" , ";" ).replace( ";," , ";" ) ) ;
+        }catch( Exception e ){
+            log.error( "读取redis服务列表文件失败 {} : {}" , path , e ) ;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true ;
+        if( watchService!=null ){
+            try{
+                watchService.close() ;
+            }catch( IOException e ){
+                log.debug( "关闭文件监听异常: {}" , e.getMessage() ) ;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.rtf.redis.client.lb;
+
+/**
+ * redis服务列表变化的监听器
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public interface AppRedisHostListListener {
+
+    /**
+     * redis服务列表发生变化，通过 {@link AppRedisHostList#getUpdatedHostList()} 获取最新的列表
+     */
+    void onHostListChanged() ;
+
+    /**
+     * 服务列表切换了主节点，如sentinel完成故障转移，默认与列表变化的处理相同
+     */
+    default void onMasterChanged(){
+        onHostListChanged() ;
+    }
+
+}
@@ -0,0 +1,274 @@
+package com.rtf.redis.client.lb;
+
+import com.google.common.base.Splitter;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.sentinel.api.StatefulRedisSentinelConnection;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.connection.RedisNode;
+
+import java.io.Closeable;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 从redis sentinel获取的服务列表，主节点在";"之前，可用的从节点作为备节点在";"之后。
+ * 拉取列表时查询sentinel；订阅sentinel的+switch-master事件，切换主节点时立即通知监听器，
+ * 节点下线、恢复等其他事件通知监听器重新拉取。
+ * redis节点的端口需要与spring.redis.port相同，端口不同的节点不加入列表
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisHostListSentinel extends AppRedisAbstractHostList implements Closeable {
+
+    private static final String SWITCH_MASTER_CHANNEL = "+switch-master" ;
+
+    /**
+     * 订阅的sentinel事件，除+switch-master之外的事件只通知重新拉取
+     */
+    private static final String[] CHANNELS = { SWITCH_MASTER_CHANNEL , "+sdown" , "-sdown" , "+odown" , "-odown" ,
+            "+slave" , "+convert-to-slave" , "+slave-reconf-done" , "+reboot" } ;
+
+    /**
+     * 从节点不可用的标记
+     */
+    private static final String[] DOWN_FLAGS = { "s_down" , "o_down" , "disconnected" } ;
+
+    @Getter
+    private final String masterName ;
+
+    private final List<RedisURI> sentinels ;
+
+    /**
+     * redis节点的端口
+     */
+    private final int port ;
+
+    private final RedisClient redisClient ;
+
+    private final List<StatefulRedisPubSubConnection<String,String>> pubSubConnections = new ArrayList<>() ;
+
+    private boolean subscribed = false ;
+
+    private volatile boolean closed = false ;
+
+    /**
+     * @param masterName sentinel中的主节点名称
+     * @param sentinels sentinel节点
+     * @param port redis节点的端口
+     * @param timeout 查询sentinel的超时时间
+     * @param clientResources 为空时使用单独的客户端资源
+     */
+    public AppRedisHostListSentinel(String masterName , List<RedisNode> sentinels , int port ,
+                                    Duration timeout , ClientResources clientResources){
+        this.masterName = masterName ;
+        this.port = port ;
+        this.sentinels = sentinels.stream()
+                .map( node -> {
+                    RedisURI redisURI = RedisURI.create( node.getHost() , node.getPort() ) ;
+                    if( timeout!=null ){
+                        redisURI.setTimeout( timeout ) ;
+                    }
+                    return redisURI ;
+                } )
+                .collect( Collectors.toList() ) ;
+        this.redisClient = clientResources==null ? RedisClient.create() : RedisClient.create( clientResources ) ;
+        reload() ;
+    }
+
+    /**
+     * 查询sentinel获取最新的列表
+     * @return
+     */
+    @Override
+    public String getUpdatedHostList() {
+        reload() ;
+        return super.getUpdatedHostList() ;
+    }
+
+    @Override
+    public synchronized void addListener(AppRedisHostListListener listener) {
+        super.addListener( listener ) ;
+        // 第一次添加监听器时订阅sentinel事件
+        if( !subscribed && !closed ){
+            subscribe() ;
+        }
+    }
+
+    /**
+     * 订阅所有sentinel的事件，多个sentinel的相同事件得到的列表相同，只通知一次。
+     * 连接断开后由lettuce重连并重新订阅
+     */
+    private void subscribe(){
+        subscribed = true ;
+        for (RedisURI sentinel : sentinels) {
+            try{
+                StatefulRedisPubSubConnection<String,String> connection = redisClient.connectPubSub( sentinel ) ;
+                connection.addListener( new RedisPubSubAdapter<String,String>(){
+                    @Override
+                    public void message(String channel, String message) {
+                        onEvent( channel , message ) ;
+                    }
+                } ) ;
+                connection.async().subscribe( CHANNELS ) ;
+                pubSubConnections.add( connection ) ;
+            }catch( Exception e ){
+                log.warn( "订阅redis sentinel事件失败 {} : {}" , sentinel , e.getMessage() ) ;
+            }
+        }
+    }
+
+    /**
+     * 处理sentinel事件，在lettuce的IO线程中执行，不能查询sentinel
+     * @param channel
+     * @param message
+     */
+    private void onEvent(String channel , String message){
+        List<String> parts = Splitter.on( ' ' ).omitEmptyStrings().splitToList( message ) ;
+        if( SWITCH_MASTER_CHANNEL.equals( channel ) ){
+            // <master name> <oldip> <oldport> <newip> <newport>
+            if( parts.size()<5 || !masterName.equals( parts.get( 0 ) ) ){
+                return;
+            }
+            log.warn( "redis sentinel切换主节点: {}" , message ) ;
+            String master = toHost( parts.get( 3 ) , parts.get( 4 ) ) ;
+            if( master!=null ){
+                // 先切换主节点，从节点由监听器重新拉取时更新
+                update( join( master , parseSlaves( getCurrentHosts() , master ) ) , true ) ;
+            }
+            return;
+        }
+        // <instance-type> <name> <ip> <port> @ <master-name> <master-ip> <master-port>
+        if( ( parts.size()>1 && masterName.equals( parts.get( 1 ) ) )
+                || ( parts.size()>5 && masterName.equals( parts.get( 5 ) ) ) ){
+            log.debug( "redis sentinel事件 {} : {}" , channel , message ) ;
+            notifyListeners( false ) ;
+        }
+    }
+
+    /**
+     * 依次查询sentinel，使用第一个成功返回的结果
+     */
+    public synchronized void reload(){
+        if( closed ){
+            return;
+        }
+        for (RedisURI sentinel : sentinels) {
+            StatefulRedisSentinelConnection<String,String> connection = null ;
+            try{
+                connection = redisClient.connectSentinel( sentinel ) ;
+                SocketAddress masterAddress = connection.sync().getMasterAddrByName( masterName ) ;
+                if( !(masterAddress instanceof InetSocketAddress) ){
+                    log.warn( "redis sentinel:{} 没有主节点: {}" , sentinel , masterName ) ;
+                    continue;
+                }
+                String master = toHost( ((InetSocketAddress) masterAddress).getHostString() ,
+                        String.valueOf( ((InetSocketAddress) masterAddress).getPort() ) ) ;
+                if( master==null ){
+                    return;
+                }
+                List<String> slaves = new ArrayList<>() ;
+                for (Map<String, String> slave : connection.sync().slaves( masterName )) {
+                    String slaveHost = toHost( slave.get( "ip" ) , slave.get( "port" ) ) ;
+                    if( slaveHost!=null && isAvailable( slave ) && !slaveHost.equals( master ) ){
+                        slaves.add( slaveHost ) ;
+                    }
+                }
+                update( join( master , slaves ) ) ;
+                return;
+            }catch( Exception e ){
+                log.warn( "查询redis sentinel失败 {} : {}" , sentinel , e.getMessage() ) ;
+            }finally {
+                if( connection!=null ){
+                    connection.close() ;
+                }
+            }
+        }
+        log.error( "所有redis sentinel都查询失败，保留原来的列表: {}" , getCurrentHosts() ) ;
+    }
+
+    /**
+     * 从节点是否可用，下线、断开或者与主节点的复制连接断开时不可用
+     * @param slave
+     * @return
+     */
+    private boolean isAvailable(Map<String,String> slave){
+        String flags = slave.get( "flags" ) ;
+        if( flags!=null ){
+            for (String downFlag : DOWN_FLAGS) {
+                if( flags.contains( downFlag ) ){
+                    return false ;
+                }
+            }
+        }
+        return "ok".equals( slave.get( "master-link-status" ) ) ;
+    }
+
+    /**
+     * 转换为服务列表中的主机，端口与redis节点的端口不同时返回null
+     * @param ip
+     * @param port
+     * @return
+     */
+    private String toHost(String ip , String port){
+        if( StringUtils.isEmpty( ip ) ){
+            return null ;
+        }
+        if( !String.valueOf( this.port ).equals( port ) ){
+            log.warn( "redis节点:{}:{} 与spring.redis.port:{}不同，不加入服务列表" , ip , port , this.port ) ;
+            return null ;
+        }
+        return ip ;
+    }
+
+    private String getCurrentHosts(){
+        return super.getUpdatedHostList() ;
+    }
+
+    /**
+     * 解析当前列表中的从节点，排除新的主节点
+     * @param hosts
+     * @param master
+     * @return
+     */
+    private static List<String> parseSlaves(String hosts , String master){
+        if( hosts==null || hosts.indexOf( ';' )<0 ){
+            return new ArrayList<>() ;
+        }
+        return Splitter.on( ',' ).trimResults().omitEmptyStrings().splitToList( hosts.substring( hosts.indexOf( ';' )+1 ) )
+                .stream()
+                .filter( host -> !host.equals( master ) )
+                .collect( Collectors.toList() ) ;
+    }
+
+    private static String join(String master , List<String> slaves){
+        return slaves.isEmpty() ? master : master + ";" + StringUtils.join( slaves , "," ) ;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true ;
+        for (StatefulRedisPubSubConnection<String, String> connection : pubSubConnections) {
+            try{
+                connection.close() ;
+            }catch( Exception e ){
+                log.debug( "关闭redis sentinel订阅连接异常: {}" , e.getMessage() ) ;
+            }
+        }
+        pubSubConnections.clear() ;
+        redisClient.shutdown() ;
+    }
+
+}
@@ -0,0 +1,348 @@
+package com.rtf.redis.client.lb;
+
+import com.google.common.collect.Maps;
+import com.rtf.redis.client.AppRedisCommandFamily;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * redis主机的负载统计，包括执行中的命令数和命令耗时的指数加权移动平均值(EWMA)。
+ * 耗时超过当前平均值时直接取新的耗时，使GC停顿等突发的慢请求能立即反映到负载中；
+ * 平均值随时间衰减，长时间未被选中的主机会重新获得请求。
+ * 同时按命令分类记录耗时直方图，用于查看各主机的p99、p999等耗时分布，并对命令的key采样检测热点key。
+ * 开启自适应并发限制时，命令耗时同时用于调整主机的并发限制。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisHostStats {
+
+    /**
+     * 默认的衰减时间，单位毫秒
+     */
+    public static final long DEFAULT_DECAY_TIME = 10 * 1000 ;
+
+    private static Map<String,AppRedisHostStats> redisHostStats = Maps.newConcurrentMap() ;
+
+    private static final AppRedisCommandFamily[] FAMILIES = AppRedisCommandFamily.values() ;
+
+    /**
+     * redis host 配置
+     */
+    @Getter
+    private final String host ;
+
+    /**
+     * 按命令分类的耗时直方图
+     */
+    private final AppRedisLatencyHistogram[] latencies = new AppRedisLatencyHistogram[ FAMILIES.length ] ;
+
+    /**
+     * 热点key检测
+     */
+    @Getter
+    private final AppRedisHotKeyDetector hotKeyDetector ;
+
+    /**
+     * 自适应并发限制
+     */
+    @Getter
+    private final AppRedisConcurrencyLimiter concurrencyLimiter ;
+
+    /**
+     * 执行中的命令数
+     */
+    private final AtomicInteger inFlight = new AtomicInteger(0) ;
+
+    /**
+     * 已获取未关闭的连接数
+     */
+    private final AtomicInteger borrowed = new AtomicInteger(0) ;
+
+    /**
+     * 命令耗时的加权平均值，单位纳秒
+     */
+    private volatile double ewmaNanos = 0 ;
+
+    /**
+     * 上一次更新加权平均值的时间，单位纳秒
+     */
+    private volatile long lastUpdateNanos = System.nanoTime() ;
+
+    /**
+     * 衰减时间，单位纳秒
+     */
+    private volatile double decayNanos = TimeUnit.MILLISECONDS.toNanos( DEFAULT_DECAY_TIME ) ;
+
+    /**
+     * 主机的静态权重，权重越大分配的请求越多
+     */
+    @Setter
+    @Getter
+    private volatile int weight = 1 ;
+
+    /**
+     * 通过 {@link #acquire(String)} 使用该实例的连接工厂数
+     */
+    private final AtomicInteger references = new AtomicInteger(0) ;
+
+    /**
+     * 获取主机的负载统计实例
+     * @param host
+     * @return
+     */
+    public static AppRedisHostStats getInstance(String host){
+        AppRedisHostStats appRedisHostStats = redisHostStats.get( host ) ;
+        if( appRedisHostStats!=null ){
+            return appRedisHostStats ;
+        }
+        redisHostStats.putIfAbsent( host , new AppRedisHostStats( host ) ) ;
+
+        return redisHostStats.get( host ) ;
+    }
+
+    /**
+     * 移除主机的负载统计
+     * @param host
+     */
+    public static void remove(String host){
+        redisHostStats.remove( host ) ;
+    }
+
+    /**
+     * 获取主机的负载统计实例并增加引用数，使用方销毁时调用 {@link #release(String, AppRedisHostStats)}。
+     * 同一主机的多个连接工厂(例如刷新时重复创建、移除后在排空前重新加入)共享同一个实例
+     * @param host
+     * @return
+     */
+    public static AppRedisHostStats acquire(String host){
+        return redisHostStats.compute( host , ( key , current ) -> {
+            AppRedisHostStats hostStats = current!=null ? current : new AppRedisHostStats( key ) ;
+            hostStats.references.incrementAndGet() ;
+            return hostStats ;
+        } ) ;
+    }
+
+    /**
+     * 减少引用数，没有使用方并且注册的仍是该实例时移除
+     * @param host
+     * @param hostStats {@link #acquire(String)}返回的实例
+     */
+    public static void release(String host , AppRedisHostStats hostStats){
+        redisHostStats.compute( host , ( key , current ) ->
+                hostStats.references.decrementAndGet() > 0 || current!=hostStats ? current : null ) ;
+    }
+
+    /**
+     * 是否还有连接工厂使用该实例
+     * @return
+     */
+    public boolean isReferenced(){
+        return references.get() > 0 ;
+    }
+
+    /**
+     * 获取所有主机的负载统计
+     * @return
+     */
+    public static Collection<AppRedisHostStats> getInstances(){
+        return redisHostStats.values() ;
+    }
+
+    public AppRedisHostStats(){
+        this( null ) ;
+    }
+
+    public AppRedisHostStats(String host){
+        this.host = host ;
+        this.hotKeyDetector = new AppRedisHotKeyDetector( host ) ;
+        this.concurrencyLimiter = new AppRedisConcurrencyLimiter( host ) ;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new AppRedisLatencyHistogram() ;
+        }
+    }
+
+    /**
+     * 设置衰减时间
+     * @param decayTime 单位毫秒
+     */
+    public void setDecayTime(long decayTime){
+        this.decayNanos = TimeUnit.MILLISECONDS.toNanos( Math.max( 1 , decayTime ) ) ;
+    }
+
+    /**
+     * 命令开始执行
+     * @return 开始时间，单位纳秒
+     */
+    public long start(){
+        inFlight.incrementAndGet() ;
+        return System.nanoTime() ;
+    }
+
+    /**
+     * 命令开始执行，记录key的访问用于热点检测
+     * @param key
+     * @return 开始时间，单位纳秒
+     */
+    public long start(byte[] key){
+        hotKeyDetector.record( key ) ;
+        return start() ;
+    }
+
+    /**
+     * 命令开始执行，记录所有key的访问用于热点检测
+     * @param keys
+     * @return 开始时间，单位纳秒
+     */
+    public long start(byte[][] keys){
+        if( keys!=null ){
+            for (byte[] key : keys) {
+                hotKeyDetector.record( key ) ;
+            }
+        }
+        return start() ;
+    }
+
+    /**
+     * 命令执行结束，记录命令耗时
+     * @param family 命令分类
+     * @param startNanos 开始时间，单位纳秒
+     * @return 命令耗时，单位纳秒
+     */
+    public long complete(AppRedisCommandFamily family , long startNanos){
+        int currentInFlight = inFlight.getAndDecrement() ;
+        long now = System.nanoTime() ;
+        record( now - startNanos , now ) ;
+        latencies[ family.ordinal() ].record( now - startNanos ) ;
+        concurrencyLimiter.onSample( now - startNanos , currentInFlight ) ;
+        return now - startNanos ;
+    }
+
+    /**
+     * 记录一次耗时。并发更新时允许丢失个别样本
+     * @param latencyNanos
+     * @param now
+     */
+    private void record(long latencyNanos , long now){
+        double current = ewmaNanos ;
+        if( latencyNanos > current ){
+            ewmaNanos = latencyNanos ;
+        }else{
+            double w = Math.exp( -Math.max( 0 , now - lastUpdateNanos ) / decayNanos ) ;
+            ewmaNanos = current * w + latencyNanos * ( 1 - w ) ;
+        }
+        lastUpdateNanos = now ;
+    }
+
+    /**
+     * 按照距离上次更新的时间衰减后的平均耗时
+     * @param now
+     * @return
+     */
+    private double decay(long now){
+        long elapsed = Math.max( 0 , now - lastUpdateNanos ) ;
+        return ewmaNanos * Math.exp( -elapsed / decayNanos ) ;
+    }
+
+    /**
+     * 获取平均耗时，单位纳秒
+     * @return
+     */
+    public double getEwmaNanos(){
+        return decay( System.nanoTime() ) ;
+    }
+
+    /**
+     * 获取执行中的命令数
+     * @return
+     */
+    public int getInFlight(){
+        return inFlight.get() ;
+    }
+
+    /**
+     * 执行中的命令数是否未达到并发限制
+     * @return
+     */
+    public boolean tryAcquire(){
+        return concurrencyLimiter.tryAcquire( inFlight.get() ) ;
+    }
+
+    /**
+     * 执行中的命令数是否未达到并发限制，不记录拒绝次数
+     * @return
+     */
+    public boolean isUnderLimit(){
+        return concurrencyLimiter.isUnderLimit( inFlight.get() ) ;
+    }
+
+    /**
+     * 获取了一个连接
+     */
+    public void borrow(){
+        borrowed.incrementAndGet() ;
+    }
+
+    /**
+     * 关闭了一个连接
+     */
+    public void release(){
+        borrowed.decrementAndGet() ;
+    }
+
+    /**
+     * 获取已获取未关闭的连接数，移除主机时等待这些连接关闭
+     * @return
+     */
+    public int getBorrowed(){
+        return borrowed.get() ;
+    }
+
+    /**
+     * 获取命令分类的耗时直方图
+     * @param family
+     * @return
+     */
+    public AppRedisLatencyHistogram getLatencyHistogram(AppRedisCommandFamily family){
+        return latencies[ family.ordinal() ] ;
+    }
+
+    /**
+     * 获取命令分类的耗时快照
+     * @param family
+     * @return
+     */
+    public AppRedisLatencyHistogram.Snapshot getLatencySnapshot(AppRedisCommandFamily family){
+        return latencies[ family.ordinal() ].snapshot() ;
+    }
+
+    /**
+     * 获取所有已执行过命令的分类的耗时快照
+     * @return
+     */
+    public Map<AppRedisCommandFamily,AppRedisLatencyHistogram.Snapshot> getLatencySnapshots(){
+        Map<AppRedisCommandFamily,AppRedisLatencyHistogram.Snapshot> snapshots = new EnumMap<>( AppRedisCommandFamily.class ) ;
+        for (AppRedisCommandFamily family : FAMILIES) {
+            AppRedisLatencyHistogram.Snapshot snapshot = getLatencySnapshot( family ) ;
+            if( snapshot.getCount() > 0 ){
+                snapshots.put( family , snapshot ) ;
+            }
+        }
+        return snapshots ;
+    }
+
+    /**
+     * 负载值，综合考虑平均耗时、执行中的命令数和权重，值越小越优先
+     * @return
+     */
+    public double getLoad(){
+        return ( getEwmaNanos() + 1 ) * ( getInFlight() + 1 ) / Math.max( 1 , weight ) ;
+    }
+
+}
@@ -1,8 +1,10 @@
 package com.rtf.redis.client.lb;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
@@ -10,7 +12,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * redis主机更新
+ * redis主机更新。
+ * 定时拉取服务列表，服务列表主动通知变化时通过 {@link #trigger()} 在防抖时间后立即更新，防抖时间内的多次通知合并为一次更新；
+ * 切换主节点时通过 {@link #triggerNow()} 立即更新
  * @Author : liupeng
  * @Date : 2020-02-10
  * @Modified By
@@ -29,33 +33,92 @@ public class AppRedisHostUpdater {
         int coreSize = Math.max( 2 , Runtime.getRuntime().availableProcessors()/2 ) ;
 
         redisHostListRefreshExecutor = new ScheduledThreadPoolExecutor( coreSize , factory );
+        redisHostListRefreshExecutor.setRemoveOnCancelPolicy( true ) ;
     }
 
-    private static ScheduledFuture scheduledFuture = null ;
+    private ScheduledFuture scheduledFuture = null ;
 
     private final AtomicBoolean isActive = new AtomicBoolean(false);
 
-    private long initialDelay = 60 ;
+    /**
+     * 是否已经安排了通知触发的更新
+     */
+    private final AtomicBoolean triggered = new AtomicBoolean(false);
 
-    private long delay = 120 ;
+    private AppRedisHostUpdateAction appRedisHostUpdateAction ;
+
+    /**
+     * 第一次定时拉取的延迟
+     */
+    @Setter
+    private Duration initialDelay = Duration.ofSeconds( 60 ) ;
+
+    /**
+     * 定时拉取的间隔
+     */
+    @Setter
+    private Duration delay = Duration.ofSeconds( 120 ) ;
+
+    /**
+     * 收到变化通知后等待的防抖时间
+     */
+    @Setter
+    private Duration debounce = Duration.ofSeconds( 1 ) ;
 
     public synchronized void start(final AppRedisHostUpdateAction appRedisHostUpdateAction) {
         if ( isActive.compareAndSet(false, true) ) {
-            final Runnable wrapperRunnable = new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        appRedisHostUpdateAction.doUpdate() ;
-                    } catch (Exception e) {
-                        log.error("更新redis地址列表失败", e) ;
-                    }
-                }
-            } ;
-            scheduledFuture = redisHostListRefreshExecutor.scheduleWithFixedDelay( wrapperRunnable ,
-                    initialDelay , delay , TimeUnit.SECONDS ) ;
+            this.appRedisHostUpdateAction = appRedisHostUpdateAction ;
+            scheduledFuture = redisHostListRefreshExecutor.scheduleWithFixedDelay( this::doUpdate ,
+                    initialDelay.toMillis() , delay.toMillis() , TimeUnit.MILLISECONDS ) ;
         } else {
             log.debug("更新redis地址列表任务已经启动");
         }
     }
 
+    /**
+     * 服务列表发生变化，在防抖时间后更新
+     */
+    public void trigger(){
+        if( !isActive.get() || !triggered.compareAndSet( false , true ) ){
+            return;
+        }
+        redisHostListRefreshExecutor.schedule( () -> {
+            triggered.set( false ) ;
+            doUpdate() ;
+        } , debounce.toMillis() , TimeUnit.MILLISECONDS ) ;
+    }
+
+    /**
+     * 服务列表切换了主节点，不等待防抖时间立即更新，已经安排的防抖更新照常执行
+     */
+    public void triggerNow(){
+        if( !isActive.get() ){
+            return;
+        }
+        redisHostListRefreshExecutor.execute( this::doUpdate ) ;
+    }
+
+    /**
+     * 执行更新，定时更新和通知触发的更新不会同时执行
+     */
+    private synchronized void doUpdate(){
+        if( !isActive.get() ){
+            return;
+        }
+        try {
+            appRedisHostUpdateAction.doUpdate() ;
+        } catch (Exception e) {
+            log.error("更新redis地址列表失败", e) ;
+        }
+    }
+
+    /**
+     * 停止更新
+     */
+    public synchronized void stop(){
+        if( isActive.compareAndSet( true , false ) && scheduledFuture!=null ){
+            scheduledFuture.cancel( false ) ;
+        }
+    }
+
 }
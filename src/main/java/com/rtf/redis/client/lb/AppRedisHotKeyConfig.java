@@ -0,0 +1,43 @@
+package com.rtf.redis.client.lb;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * redis热点key检测配置
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Setter
+@Getter
+public class AppRedisHotKeyConfig {
+
+    /**
+     * 是否开启热点key检测，默认关闭
+     */
+    private boolean enabled = false ;
+
+    /**
+     * 采样率，每sampleRate条命令采样一条
+     */
+    private int sampleRate = 16 ;
+
+    /**
+     * 每个主机统计访问频率最高的key数量
+     */
+    private int topK = 16 ;
+
+    /**
+     * 统计窗口，每个窗口结束时所有计数减半，使很久之前的访问逐渐失去影响
+     */
+    private Duration window = Duration.ofSeconds( 10 ) ;
+
+    /**
+     * 每秒访问次数达到该值时视为热点key
+     */
+    private long threshold = 1000 ;
+
+}
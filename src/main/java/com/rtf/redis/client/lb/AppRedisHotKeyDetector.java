@@ -0,0 +1,407 @@
+package com.rtf.redis.client.lb;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * redis主机的热点key检测。
+ * 对命令的key采样，使用count-min sketch估算每个key的访问次数，访问次数最高的topK个key保存在固定大小的表中。
+ * 每个统计窗口结束时所有计数减半，估算值近似最近几个窗口内按时间衰减的访问频率。
+ * 采样和计数只做原子自增，不分配对象；只有key进入热点表时复制key。
+ * 本窗口已通知过的热点key按哈希值记录在直接映射的数组中，再次采样时不加锁只更新计数，只有其他key才需要加锁扫描热点表。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisHotKeyDetector {
+
+    /**
+     * sketch的行数，即每个key使用的哈希函数个数
+     */
+    private static final int DEPTH = 4 ;
+
+    /**
+     * sketch每行的计数器个数，必须是2的幂
+     */
+    private static final int WIDTH = 2048 ;
+
+    @Getter
+    private final String host ;
+
+    @Getter
+    private volatile AppRedisHotKeyConfig config = new AppRedisHotKeyConfig() ;
+
+    private final AtomicIntegerArray sketch = new AtomicIntegerArray( DEPTH * WIDTH ) ;
+
+    /**
+     * 热点表，只在持有锁时访问
+     */
+    private Entry[] entries = new Entry[0] ;
+
+    private int size = 0 ;
+
+    /**
+     * 本窗口已通知的热点，按key的哈希值直接映射，长度为2的幂，哈希冲突时保留最后通知的热点
+     */
+    private volatile AtomicReferenceArray<Entry> notified ;
+
+    /**
+     * 进入热点表需要超过的计数，热点表未满时为0
+     */
+    private volatile int admissionCount = 0 ;
+
+    /**
+     * 当前窗口的开始时间，单位纳秒
+     */
+    private final AtomicLong windowStart = new AtomicLong( System.nanoTime() ) ;
+
+    /**
+     * 当前窗口的序号
+     */
+    private volatile long window = 0 ;
+
+    private final CopyOnWriteArrayList<AppRedisHotKeyListener> listeners = new CopyOnWriteArrayList<>() ;
+
+    public AppRedisHotKeyDetector(String host){
+        this.host = host ;
+        resize( config.getTopK() ) ;
+    }
+
+    /**
+     * 设置检测配置，topK变化时清空热点表
+     * @param config
+     */
+    public void setConfig(AppRedisHotKeyConfig config){
+        if( config==null ){
+            return;
+        }
+        synchronized ( this ){
+            if( config.getTopK()!=entries.length ){
+                resize( config.getTopK() ) ;
+            }
+            this.config = config ;
+        }
+    }
+
+    private synchronized void resize(int topK){
+        entries = new Entry[ Math.max( 1 , topK ) ] ;
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new Entry() ;
+        }
+        size = 0 ;
+        admissionCount = 0 ;
+        int capacity = Integer.highestOneBit( Math.max( 1 , entries.length * 2 - 1 ) ) << 1 ;
+        notified = new AtomicReferenceArray<>( capacity ) ;
+    }
+
+    public void addListener(AppRedisHotKeyListener listener){
+        listeners.addIfAbsent( listener ) ;
+    }
+
+    public void removeListener(AppRedisHotKeyListener listener){
+        listeners.remove( listener ) ;
+    }
+
+    /**
+     * 记录一次key访问，按采样率采样
+     * @param key
+     */
+    public void record(byte[] key){
+        AppRedisHotKeyConfig current = config ;
+        if( !current.isEnabled() || key==null ){
+            return;
+        }
+        int sampleRate = current.getSampleRate() ;
+        if( sampleRate > 1 && ThreadLocalRandom.current().nextInt( sampleRate )!=0 ){
+            return;
+        }
+        long now = System.nanoTime() ;
+        long start = windowStart.get() ;
+        if( now - start >= current.getWindow().toNanos() && windowStart.compareAndSet( start , now ) ){
+            decay() ;
+        }
+        int hash = hash( key ) ;
+        int count = increment( hash ) ;
+        if( count > admissionCount && !updateNotified( key , hash , count ) ){
+            offer( key , hash , count , current ) ;
+        }
+    }
+
+    /**
+     * key是本窗口已通知的热点时不加锁更新计数。
+     * 计数是热点表的最小计数时仍然加锁更新，保证进入热点表的计数准确
+     * @param key
+     * @param hash
+     * @param count
+     * @return 是否已更新
+     */
+    private boolean updateNotified(byte[] key , int hash , int count){
+        AtomicReferenceArray<Entry> current = notified ;
+        Entry entry = current.get( hash & ( current.length() - 1 ) ) ;
+        if( entry==null || entry.hash!=hash ){
+            return false ;
+        }
+        // 热点表中替换key时先重置通知窗口再修改key，这里按相反的顺序读取
+        byte[] entryKey = entry.key ;
+        if( entry.notifiedWindow!=window || entry.count <= admissionCount || !Arrays.equals( entryKey , key ) ){
+            return false ;
+        }
+        // 并发更新时可能丢失一次较大的计数，下一次采样会修正
+        if( count > entry.count ){
+            entry.count = count ;
+        }
+        return true ;
+    }
+
+    /**
+     * 在sketch的每一行中自增key对应的计数器
+     * @param hash
+     * @return 各行计数的最小值，即key的估算访问次数
+     */
+    private int increment(int hash){
+        // 使用两个哈希值组合出每一行的哈希函数
+        int hash2 = rehash( hash ) ;
+        int count = Integer.MAX_VALUE ;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = i * WIDTH + ( ( hash + i * hash2 ) & ( WIDTH - 1 ) ) ;
+            count = Math.min( count , sketch.incrementAndGet( index ) ) ;
+        }
+        return count ;
+    }
+
+    /**
+     * 更新热点表，key成为热点时通知监听器
+     * @param key
+     * @param hash
+     * @param count
+     * @param current
+     */
+    private void offer(byte[] key , int hash , int count , AppRedisHotKeyConfig current){
+        byte[] hotKey = null ;
+        long frequency = 0 ;
+        synchronized ( this ){
+            Entry entry = find( key , hash ) ;
+            if( entry==null ){
+                if( size < entries.length ){
+                    entry = entries[ size++ ] ;
+                }else{
+                    entry = min() ;
+                    if( count <= entry.count ){
+                        return;
+                    }
+                }
+                entry.notifiedWindow = -1 ;
+                entry.count = 0 ;
+                entry.hash = hash ;
+                entry.key = key.clone() ;
+            }
+            int previous = entry.count ;
+            entry.count = Math.max( previous , count ) ;
+            // 只有原来的最小计数变化时才重新查找最小计数
+            if( size < entries.length ){
+                admissionCount = 0 ;
+            }else if( previous <= admissionCount ){
+                admissionCount = min().count ;
+            }
+            if( entry.notifiedWindow!=window ){
+                long entryFrequency = frequency( entry.count , current ) ;
+                if( entryFrequency >= current.getThreshold() ){
+                    entry.notifiedWindow = window ;
+                    notified.set( hash & ( notified.length() - 1 ) , entry ) ;
+                    hotKey = entry.key ;
+                    frequency = entryFrequency ;
+                }
+            }
+        }
+        if( hotKey!=null ){
+            notifyListeners( hotKey , frequency ) ;
+        }
+    }
+
+    private void notifyListeners(byte[] hotKey , long frequency){
+        log.warn( "redis主机:{} 发现热点key:{}, 估算每秒访问{}次" , host ,
+                new String( hotKey , StandardCharsets.UTF_8 ) , frequency ) ;
+        for (AppRedisHotKeyListener listener : listeners) {
+            try{
+                listener.onHotKey( host , hotKey , frequency ) ;
+            }catch( Exception e ){
+                log.error( "redis热点key监听器执行异常" , e ) ;
+            }
+        }
+    }
+
+    private Entry find(byte[] key , int hash){
+        for (int i = 0; i < size; i++) {
+            Entry entry = entries[i] ;
+            if( entry.hash==hash && Arrays.equals( entry.key , key ) ){
+                return entry ;
+            }
+        }
+        return null ;
+    }
+
+    private Entry min(){
+        Entry min = entries[0] ;
+        for (int i = 1; i < size; i++) {
+            if( entries[i].count < min.count ){
+                min = entries[i] ;
+            }
+        }
+        return min ;
+    }
+
+    /**
+     * 窗口结束，所有计数减半，移除计数为0的热点
+     */
+    private void decay(){
+        for (int i = 0; i < sketch.length(); i++) {
+            sketch.set( i , sketch.get( i ) >>> 1 ) ;
+        }
+        synchronized ( this ){
+            int retained = 0 ;
+            for (int i = 0; i < size; i++) {
+                Entry entry = entries[i] ;
+                entry.count >>>= 1 ;
+                if( entry.count > 0 ){
+                    entries[i] = entries[ retained ] ;
+                    entries[ retained++ ] = entry ;
+                }else{
+                    entry.key = null ;
+                }
+            }
+            size = retained ;
+            admissionCount = size < entries.length ? 0 : min().count ;
+            window++ ;
+        }
+    }
+
+    /**
+     * 由采样计数估算每秒访问次数。每个窗口计数减半，稳定访问时计数约为一个窗口内采样次数的2倍
+     * @param count
+     * @param current
+     * @return
+     */
+    private static long frequency(int count , AppRedisHotKeyConfig current){
+        double windowSeconds = Math.max( 1 , current.getWindow().toMillis() ) / 1000.0 ;
+        return (long) ( count * (double) Math.max( 1 , current.getSampleRate() ) / ( 2 * windowSeconds ) ) ;
+    }
+
+    /**
+     * 获取当前访问频率最高的key，按频率倒序
+     * @return
+     */
+    public synchronized List<HotKey> getTopKeys(){
+        List<HotKey> topKeys = new ArrayList<>( size ) ;
+        for (int i = 0; i < size; i++) {
+            topKeys.add( new HotKey( entries[i].key.clone() , frequency( entries[i].count , config ) ) ) ;
+        }
+        topKeys.sort( ( a , b ) -> Long.compare( b.getFrequency() , a.getFrequency() ) ) ;
+        return topKeys ;
+    }
+
+    /**
+     * 获取访问频率达到阀值的key数量
+     * @return
+     */
+    public synchronized int getHotKeyCount(){
+        int count = 0 ;
+        for (int i = 0; i < size; i++) {
+            if( frequency( entries[i].count , config ) >= config.getThreshold() ){
+                count++ ;
+            }
+        }
+        return count ;
+    }
+
+    /**
+     * 获取最高的估算访问频率
+     * @return
+     */
+    public synchronized long getMaxFrequency(){
+        int max = 0 ;
+        for (int i = 0; i < size; i++) {
+            max = Math.max( max , entries[i].count ) ;
+        }
+        return frequency( max , config ) ;
+    }
+
+    /**
+     * FNV-1a哈希，再进行一次murmur3的混淆
+     * @param key
+     * @return
+     */
+    private static int hash(byte[] key){
+        int hash = 0x811c9dc5 ;
+        for (byte b : key) {
+            hash ^= b ;
+            hash *= 0x01000193 ;
+        }
+        hash ^= hash >>> 16 ;
+        hash *= 0x85ebca6b ;
+        hash ^= hash >>> 13 ;
+        return hash ;
+    }
+
+    private static int rehash(int hash){
+        int h = hash * 0xc2b2ae35 ;
+        h ^= h >>> 16 ;
+        return h | 1 ;
+    }
+
+    /**
+     * 热点表中的key
+     */
+    private static final class Entry {
+
+        private volatile byte[] key ;
+
+        private volatile int hash ;
+
+        private volatile int count ;
+
+        /**
+         * 最后一次通知监听器的窗口
+         */
+        private volatile long notifiedWindow = -1 ;
+    }
+
+    /**
+     * 热点key
+     */
+    @Getter
+    public static final class HotKey {
+
+        private final byte[] key ;
+
+        /**
+         * 估算的每秒访问次数
+         */
+        private final long frequency ;
+
+        HotKey(byte[] key , long frequency){
+            this.key = key ;
+            this.frequency = frequency ;
+        }
+
+        public String getKeyAsString(){
+            return new String( key , StandardCharsets.UTF_8 ) ;
+        }
+
+        @Override
+        public String toString() {
+            return getKeyAsString() + "=" + frequency ;
+        }
+    }
+
+}
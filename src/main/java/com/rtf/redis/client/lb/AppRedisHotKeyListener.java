@@ -0,0 +1,19 @@
+package com.rtf.redis.client.lb;
+
+/**
+ * 热点key监听器，key成为热点时以及保持热点的每个统计窗口通知一次
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public interface AppRedisHotKeyListener {
+
+    /**
+     * 发现热点key，在执行命令的线程中调用，不能执行耗时的操作
+     * @param host redis主机
+     * @param key 热点key，不能修改
+     * @param frequency 估算的每秒访问次数
+     */
+    void onHotKey(String host , byte[] key , long frequency) ;
+
+}
@@ -0,0 +1,177 @@
+package com.rtf.redis.client.lb;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 命令耗时直方图，参考HdrHistogram的对数线性分桶。
+ * 以微秒为单位，每个2的幂次区间再等分为32个桶，相对误差约3%，最大记录约67秒，超过的耗时记入最后一个桶。
+ * 记录时只对一个桶做原子自增，不分配对象、不加锁。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisLatencyHistogram {
+
+    /**
+     * 每个2的幂次区间的子桶数量为2^SUB_BUCKET_BITS
+     */
+    private static final int SUB_BUCKET_BITS = 5 ;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS ;
+
+    /**
+     * 最大记录值的位数，2^26微秒约为67秒
+     */
+    private static final int MAX_VALUE_BITS = 26 ;
+
+    private static final long MAX_VALUE = ( 1L << MAX_VALUE_BITS ) - 1 ;
+
+    static final int BUCKET_COUNT = SUB_BUCKET_COUNT * ( MAX_VALUE_BITS - SUB_BUCKET_BITS + 1 ) ;
+
+    private final AtomicLongArray counts = new AtomicLongArray( BUCKET_COUNT ) ;
+
+    /**
+     * 记录一次耗时
+     * @param durationNanos 耗时，单位纳秒
+     */
+    public void record(long durationNanos){
+        counts.incrementAndGet( bucketIndex( durationNanos / 1000 ) ) ;
+    }
+
+    /**
+     * 获取累计的记录次数
+     * @return
+     */
+    public long getCount(){
+        long total = 0 ;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get( i ) ;
+        }
+        return total ;
+    }
+
+    /**
+     * 获取当前累计的快照
+     * @return
+     */
+    public Snapshot snapshot(){
+        long[] copy = new long[ BUCKET_COUNT ] ;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get( i ) ;
+        }
+        return new Snapshot( copy ) ;
+    }
+
+    static int bucketIndex(long micros){
+        long value = Math.min( Math.max( 0 , micros ) , MAX_VALUE ) ;
+        if( value < SUB_BUCKET_COUNT ){
+            return (int) value ;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros( value ) ;
+        int shift = exponent - SUB_BUCKET_BITS ;
+        return SUB_BUCKET_COUNT * ( shift + 1 ) + (int) ( ( value >>> shift ) - SUB_BUCKET_COUNT ) ;
+    }
+
+    /**
+     * 桶内的最大值，单位微秒
+     * @param index
+     * @return
+     */
+    static long highestValue(int index){
+        if( index < SUB_BUCKET_COUNT ){
+            return index ;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1 ;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT ;
+        return ( ( subBucket + 1 ) << shift ) - 1 ;
+    }
+
+    /**
+     * 直方图快照，计算百分位时精度为桶的宽度
+     */
+    public static final class Snapshot {
+
+        private final long[] counts ;
+
+        @Getter
+        private final long count ;
+
+        Snapshot(long[] counts){
+            this.counts = counts ;
+            long total = 0 ;
+            for (long c : counts) {
+                total += c ;
+            }
+            this.count = total ;
+        }
+
+        /**
+         * 获取百分位耗时
+         * @param percentile 百分位，例如99.9
+         * @return 耗时，单位纳秒，没有记录时返回0
+         */
+        public long getValueAtPercentile(double percentile){
+            if( count < 1 ){
+                return 0 ;
+            }
+            long target = Math.max( 1 , (long) Math.ceil( Math.min( 100 , Math.max( 0 , percentile ) ) / 100 * count ) ) ;
+            long accumulated = 0 ;
+            for (int i = 0; i < counts.length; i++) {
+                accumulated += counts[i] ;
+                if( accumulated >= target ){
+                    return highestValue( i ) * 1000 ;
+                }
+            }
+            return highestValue( counts.length - 1 ) * 1000 ;
+        }
+
+        /**
+         * 平均耗时，单位纳秒
+         * @return
+         */
+        public double getMean(){
+            if( count < 1 ){
+                return 0 ;
+            }
+            double total = 0 ;
+            for (int i = 0; i < counts.length; i++) {
+                if( counts[i] > 0 ){
+                    total += counts[i] * (double) highestValue( i ) ;
+                }
+            }
+            return total / count * 1000 ;
+        }
+
+        /**
+         * 最大耗时，单位纳秒
+         * @return
+         */
+        public long getMax(){
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if( counts[i] > 0 ){
+                    return highestValue( i ) * 1000 ;
+                }
+            }
+            return 0 ;
+        }
+
+        /**
+         * 与之前的快照相减，得到两次快照之间的分布
+         * @param previous
+         * @return
+         */
+        public Snapshot minus(Snapshot previous){
+            if( previous==null ){
+                return this ;
+            }
+            long[] delta = new long[ counts.length ] ;
+            for (int i = 0; i < counts.length; i++) {
+                delta[i] = Math.max( 0 , counts[i] - previous.counts[i] ) ;
+            }
+            return new Snapshot( delta ) ;
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.rtf.redis.client.lb;
+
+import com.rtf.redis.client.AppRedisConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 随机选择两个redis连接工厂，取负载较小的一个(power of two choices)。
+ * 负载由主机的命令耗时加权平均值、执行中的命令数和静态权重计算，见 {@link AppRedisHostStats#getLoad()}。
+ * 出现GC停顿或者所在宿主机繁忙的代理节点会迅速减少请求，无需等到连续失败触发熔断。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisPowerOfTwoChoicesRule extends AppRedisAbstractRule {
+
+    @Override
+    public AppRedisConnectionFactory choose(Object key , boolean useMaster) {
+        AppRedisConnectionFactory[] targetConnectionFactories = getRoutingTable().getFactories( useMaster ) ;
+        int size = targetConnectionFactories.length ;
+        if ( size < 1 ) {
+            log.debug("无可用的redis连接池供选择,useMaster={}, {}" , useMaster , key);
+            return null;
+        }
+        if( size == 1 ){
+            return isAvailable( targetConnectionFactories[0] ) ? targetConnectionFactories[0] : null ;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current() ;
+        for (int count = 0; count < MAX_SELECT_COUNT; count++) {
+            // 选取两个不同的连接工厂
+            int first = random.nextInt( size ) ;
+            int second = random.nextInt( size - 1 ) ;
+            if( second >= first ){
+                second++ ;
+            }
+            AppRedisConnectionFactory firstFactory = targetConnectionFactories[ first ] ;
+            AppRedisConnectionFactory secondFactory = targetConnectionFactories[ second ] ;
+
+            // 先用不消耗许可的检查比较两个候选，只在选中的主机上获取许可，
+            // 避免未选中的半开主机白白消耗试探调用次数
+            boolean firstCandidate = isCandidate( firstFactory ) ;
+            boolean secondCandidate = isCandidate( secondFactory ) ;
+            AppRedisConnectionFactory chosen = null ;
+            AppRedisConnectionFactory other = null ;
+            if( firstCandidate && secondCandidate ){
+                boolean firstLighter = firstFactory.getHostStats().getLoad() <= secondFactory.getHostStats().getLoad() ;
+                chosen = firstLighter ? firstFactory : secondFactory ;
+                other = firstLighter ? secondFactory : firstFactory ;
+            }else if( firstCandidate ){
+                chosen = firstFactory ;
+            }else if( secondCandidate ){
+                chosen = secondFactory ;
+            }
+            if( chosen!=null && isAvailable( chosen ) ){
+                return chosen ;
+            }
+            // 选中的主机在检查之后被其他线程占满许可时，再尝试另一个
+            if( other!=null && isAvailable( other ) ){
+                return other ;
+            }
+            log.debug("redis主机:{},{}处于熔断状态或达到并发限制" , firstFactory.getHostName() , secondFactory.getHostName());
+        }
+
+        return null ;
+    }
+
+}
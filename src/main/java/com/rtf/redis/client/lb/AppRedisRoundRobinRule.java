@@ -1,12 +1,9 @@
 package com.rtf.redis.client.lb;
 
 import com.rtf.redis.client.AppRedisConnectionFactory;
-import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * redis连接工厂循环规则
@@ -15,42 +12,21 @@ import java.util.stream.Collectors;
  * @Modified By
  */
 @Slf4j
-public class AppRedisRoundRobinRule {
+public class AppRedisRoundRobinRule extends AppRedisAbstractRule {
 
-    /**
-     * redis连接工厂最大选择次数
-     */
-    private static Integer MAX_SELECT_COUNT = 5 ;
-
-    private List<AppRedisConnectionFactory> connectionFactories = Lists.newArrayList() ;
+    private final AppRedisStripedCounter nextMasterCyclicCounter ;
 
-    private AtomicInteger nextMasterCyclicCounter ;
+    private final AppRedisStripedCounter nextSlaveCyclicCounter;
 
-    private AtomicInteger nextSlaveCyclicCounter;
+    public AppRedisRoundRobinRule(){
+        nextMasterCyclicCounter = new AppRedisStripedCounter() ;
 
-    public AppRedisRoundRobinRule( List<AppRedisConnectionFactory> connectionFactories ){
-        this.connectionFactories = connectionFactories ;
-
-        nextMasterCyclicCounter = new AtomicInteger(0) ;
-
-        nextSlaveCyclicCounter = new AtomicInteger(0) ;
+        nextSlaveCyclicCounter = new AppRedisStripedCounter() ;
     }
 
-    /**
-     * 选择可用的redis连接工厂
-     * @param key
-     * @return
-     */
-    public AppRedisConnectionFactory choose(Object key) {
-        // 1. 选择主节点
-        AppRedisConnectionFactory connectionFactory = choose( key , true ) ;
-
-        // 2. 选择从节点
-        if( connectionFactory == null ){
-            connectionFactory = choose( key , false ) ;
-        }
-
-        return connectionFactory ;
+    public AppRedisRoundRobinRule( Supplier<AppRedisRoutingTable> routingTable ){
+        this() ;
+        setRoutingTable( routingTable ) ;
     }
 
     /**
@@ -58,55 +34,28 @@ public class AppRedisRoundRobinRule {
      * @param key
      * @return
      */
+    @Override
     public AppRedisConnectionFactory choose(Object key , boolean useMaster) {
-        if (connectionFactories == null || connectionFactories.size()<0) {
-            log.warn("无可用的redis连接池供选择,useMaster={}, {}" , useMaster , key);
+        // 筛选指定类型的连接工厂
+        AppRedisConnectionFactory[] targetConnectionFactories = getRoutingTable().getFactories( useMaster ) ;
+        if ( targetConnectionFactories.length < 1 ) {
+            log.debug("无可用的redis连接池供选择,useMaster={}, {}" , useMaster , key);
             return null;
         }
 
-        // 筛选指定类型的连接工厂
-        List<AppRedisConnectionFactory> targetConnectionFactories = connectionFactories.stream()
-                .filter( item -> useMaster ? item.isMaster() : !item.isMaster() )
-                .collect(Collectors.toList()) ;
-
-        AppRedisConnectionFactory connectionFactory = null ;
-        int count = 0 ;
-        // 未找到连接工厂并且选取次数小于10
-        while ( connectionFactory==null && count++ < MAX_SELECT_COUNT && targetConnectionFactories.size()>0 ){
-            int nextServerIndex = incrementAndGetModulo( useMaster ? nextMasterCyclicCounter : nextSlaveCyclicCounter ,
-                    targetConnectionFactories.size() ) ;
-            try{
-                connectionFactory = targetConnectionFactories.get( nextServerIndex ) ;
-                //检查连接池是否熔断
-                AppRedisCircuitBreaker appRedisCircuitBreaker = AppRedisCircuitBreaker.getInstance( connectionFactory.getHostName() ) ;
-                if( appRedisCircuitBreaker.isCircuitBreakerTripped() ){
-                    log.debug("redis主机:{}处于熔断状态" , connectionFactory.getHostName()); ;
-                    connectionFactory = null ;
-                    continue;
-                }
-            }catch( Exception e ){
-                log.error( "选取redis连接工厂异常 : {}" , e.getMessage() ) ;
+        AppRedisStripedCounter cyclicCounter = useMaster ? nextMasterCyclicCounter : nextSlaveCyclicCounter ;
+        // 选取次数小于MAX_SELECT_COUNT
+        for (int count = 0; count < MAX_SELECT_COUNT; count++) {
+            AppRedisConnectionFactory connectionFactory = targetConnectionFactories[ cyclicCounter.next( targetConnectionFactories.length ) ] ;
+            //检查连接池是否熔断或达到并发限制
+            if( !isAvailable( connectionFactory ) ){
+                log.debug("redis主机:{}处于熔断状态或达到并发限制" , connectionFactory.getHostName()); ;
+                continue;
             }
+            return connectionFactory ;
         }
 
-        return connectionFactory ;
-    }
-
-    /**
-     * 选取下一个连接池索引号，不能超过连接池总数量的索引号
-     * @param cyclicCounter
-     * @param modulo
-     * @return
-     */
-    private int incrementAndGetModulo( AtomicInteger cyclicCounter , int modulo) {
-        for (;;) {
-            int current = cyclicCounter.get();
-            int next = (current + 1) % modulo;
-            if (cyclicCounter.compareAndSet(current, next)){
-                return next;
-            }
-        }
+        return null ;
     }
 
-
 }
@@ -0,0 +1,109 @@
+package com.rtf.redis.client.lb;
+
+import com.rtf.redis.client.AppRedisConnectionFactory;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * redis连接工厂路由表，不可变快照。
+ * 主备节点在创建时拆分为数组，主机列表刷新时整体替换，选择连接工厂时无需加锁和复制。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public final class AppRedisRoutingTable {
+
+    public static final AppRedisRoutingTable EMPTY = new AppRedisRoutingTable( new AppRedisConnectionFactory[0] ) ;
+
+    /**
+     * 所有的连接工厂
+     */
+    private final AppRedisConnectionFactory[] all ;
+
+    /**
+     * 主节点连接工厂
+     */
+    private final AppRedisConnectionFactory[] masters ;
+
+    /**
+     * 备节点连接工厂
+     */
+    private final AppRedisConnectionFactory[] backups ;
+
+    private AppRedisRoutingTable(AppRedisConnectionFactory[] all){
+        this.all = all ;
+        this.masters = Arrays.stream( all ).filter( AppRedisConnectionFactory::isMaster )
+                .toArray( AppRedisConnectionFactory[]::new ) ;
+        this.backups = Arrays.stream( all ).filter( item -> !item.isMaster() )
+                .toArray( AppRedisConnectionFactory[]::new ) ;
+    }
+
+    /**
+     * 创建路由表
+     * @param connectionFactories
+     * @return
+     */
+    public static AppRedisRoutingTable of(List<AppRedisConnectionFactory> connectionFactories){
+        if( connectionFactories==null || connectionFactories.isEmpty() ){
+            return EMPTY ;
+        }
+        return new AppRedisRoutingTable( connectionFactories.toArray( new AppRedisConnectionFactory[0] ) ) ;
+    }
+
+    /**
+     * 获取指定类型的连接工厂，返回内部数组，调用方不能修改
+     * @param useMaster
+     * @return
+     */
+    public AppRedisConnectionFactory[] getFactories(boolean useMaster){
+        return useMaster ? masters : backups ;
+    }
+
+    /**
+     * 获取所有的连接工厂
+     * @return
+     */
+    public List<AppRedisConnectionFactory> getAll(){
+        return Collections.unmodifiableList( Arrays.asList( all ) ) ;
+    }
+
+    /**
+     * 获取指定host的连接工厂
+     * @param host
+     * @return
+     */
+    public AppRedisConnectionFactory get(String host){
+        for (AppRedisConnectionFactory factory : all) {
+            if( StringUtils.equalsIgnoreCase( factory.getHostName() , host ) ){
+                return factory ;
+            }
+        }
+        return null ;
+    }
+
+    /**
+     * 在当前路由表的基础上增加和移除连接工厂，生成新的路由表
+     * @param added
+     * @param removed
+     * @return
+     */
+    public AppRedisRoutingTable update(List<AppRedisConnectionFactory> added , List<AppRedisConnectionFactory> removed){
+        List<AppRedisConnectionFactory> factories = new ArrayList<>( Arrays.asList( all ) ) ;
+        if( removed!=null ){
+            factories.removeAll( removed ) ;
+        }
+        if( added!=null ){
+            factories.addAll( added ) ;
+        }
+        return of( factories ) ;
+    }
+
+    public int size(){
+        return all.length ;
+    }
+
+}
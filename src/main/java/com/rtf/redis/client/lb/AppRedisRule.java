@@ -0,0 +1,45 @@
+package com.rtf.redis.client.lb;
+
+import com.rtf.redis.client.AppRedisConnectionFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * redis连接工厂选择规则
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public interface AppRedisRule {
+
+    /**
+     * 选择可用的redis连接工厂，优先选择主节点，主节点都不可用时选择备节点
+     * @param key
+     * @return
+     */
+    AppRedisConnectionFactory choose(Object key) ;
+
+    /**
+     * 选择指定类型的可用redis连接工厂
+     * @param key
+     * @param useMaster
+     * @return
+     */
+    AppRedisConnectionFactory choose(Object key , boolean useMaster) ;
+
+    /**
+     * 设置路由表来源，由动态连接工厂在初始化时设置
+     * @param routingTable
+     */
+    void setRoutingTable(Supplier<AppRedisRoutingTable> routingTable) ;
+
+    /**
+     * 是否按照命令的key选择连接工厂。
+     * 返回true时，动态连接工厂返回按命令路由的连接，每条命令根据key选择连接工厂
+     * @return
+     */
+    default boolean isRouteByKey(){
+        return false ;
+    }
+
+}
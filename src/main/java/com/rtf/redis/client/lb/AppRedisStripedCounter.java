@@ -0,0 +1,51 @@
+package com.rtf.redis.client.lb;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 分段的循环计数器。
+ * 按线程分散到多个计数槽，每个槽独立轮询，避免大量请求线程在同一个计数器上竞争。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisStripedCounter {
+
+    /**
+     * 计数槽的间隔，16个int占用64字节，避免不同计数槽处于同一缓存行
+     */
+    private static final int PADDING = 16 ;
+
+    private final AtomicIntegerArray cells ;
+
+    private final int mask ;
+
+    public AppRedisStripedCounter(){
+        this( Runtime.getRuntime().availableProcessors() ) ;
+    }
+
+    public AppRedisStripedCounter(int stripes){
+        int size = 1 ;
+        while ( size < stripes ){
+            size <<= 1 ;
+        }
+        this.mask = size - 1 ;
+        this.cells = new AtomicIntegerArray( size * PADDING ) ;
+        // 不同计数槽从不同的位置开始轮询
+        for (int i = 0; i < size; i++) {
+            cells.set( i * PADDING , i ) ;
+        }
+    }
+
+    /**
+     * 获取下一个索引号，不能超过modulo
+     * @param modulo
+     * @return
+     */
+    public int next(int modulo){
+        int stripe = (int) Thread.currentThread().getId() & mask ;
+        int current = cells.getAndIncrement( stripe * PADDING ) ;
+        return ( current & Integer.MAX_VALUE ) % modulo ;
+    }
+
+}
@@ -0,0 +1,329 @@
+package com.rtf.redis.client.metrics;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.rtf.redis.client.AppRedisCommandFamily;
+import com.rtf.redis.client.lb.AppRedisConcurrencyLimiter;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import com.rtf.redis.client.lb.AppRedisHotKeyDetector;
+import com.rtf.redis.client.lb.AppRedisLatencyHistogram;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 将各主机按命令分类的耗时直方图导出到micrometer。
+ * 百分位耗时按step滚动统计，即最近一个周期内的分布；命令数为累计值。
+ * 新增的主机和命令分类在下一个周期自动注册，移除的主机耗时指标值为0，计数保持移除前的值，
+ * 主机重新加入时统计对象重新创建，计数在原来的值上继续累加，保证计数不会减少。
+ * 开启热点key检测时同时导出各主机的热点key数量和最高访问频率；开启并发限制时导出各主机的并发限制和拒绝次数。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class AppRedisMeterBinder implements MeterBinder , DisposableBean {
+
+    /**
+     * 导出的百分位
+     */
+    private static final double[] PERCENTILES = { 0.5 , 0.95 , 0.99 , 0.999 } ;
+
+    private final Duration step ;
+
+    private final List<MeterRegistry> registries = new CopyOnWriteArrayList<>() ;
+
+    /**
+     * 主机和命令分类对应的滚动窗口
+     */
+    private final Map<String,Window> windows = Maps.newConcurrentMap() ;
+
+    /**
+     * 已注册热点key指标的主机
+     */
+    private final Set<String> hotKeyHosts = Sets.newConcurrentHashSet() ;
+
+    /**
+     * 已注册并发限制指标的主机
+     */
+    private final Set<String> concurrencyLimitHosts = Sets.newConcurrentHashSet() ;
+
+    /**
+     * 命令数的累计值，key与窗口相同
+     */
+    private final Map<String,MonotonicCount> commandCounts = Maps.newConcurrentMap() ;
+
+    /**
+     * 并发限制拒绝次数的累计值，key为主机
+     */
+    private final Map<String,MonotonicCount> rejectedCounts = Maps.newConcurrentMap() ;
+
+    private ScheduledExecutorService executor ;
+
+    public AppRedisMeterBinder(Duration step){
+        this.step = step ;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        registries.add( registry ) ;
+        for (String name : windows.keySet()) {
+            register( registry , name ) ;
+        }
+        for (String host : hotKeyHosts) {
+            registerHotKey( registry , host ) ;
+        }
+        for (String host : concurrencyLimitHosts) {
+            registerConcurrencyLimit( registry , host ) ;
+        }
+        refresh() ;
+        if( executor==null ){
+            executor = Executors.newSingleThreadScheduledExecutor( runnable -> {
+                Thread thread = new Thread( runnable , "RedisMetrics" ) ;
+                thread.setDaemon( true ) ;
+                return thread ;
+            } ) ;
+            executor.scheduleAtFixedRate( this::refresh , step.toMillis() , step.toMillis() , TimeUnit.MILLISECONDS ) ;
+        }
+    }
+
+    /**
+     * 滚动所有窗口，注册新出现的主机和命令分类
+     */
+    private synchronized void refresh(){
+        try{
+            Set<String> current = new HashSet<>() ;
+            for (AppRedisHostStats hostStats : AppRedisHostStats.getInstances()) {
+                String host = String.valueOf( hostStats.getHost() ) ;
+                if( hostStats.getHotKeyDetector().getConfig().isEnabled() && hotKeyHosts.add( host ) ){
+                    for (MeterRegistry registry : registries) {
+                        registerHotKey( registry , host ) ;
+                    }
+                }
+                if( hostStats.getConcurrencyLimiter().getConfig().isEnabled() && concurrencyLimitHosts.add( host ) ){
+                    for (MeterRegistry registry : registries) {
+                        registerConcurrencyLimit( registry , host ) ;
+                    }
+                }
+                for (Map.Entry<AppRedisCommandFamily,AppRedisLatencyHistogram.Snapshot> entry : hostStats.getLatencySnapshots().entrySet()) {
+                    String name = hostStats.getHost() + "#" + entry.getKey().name() ;
+                    current.add( name ) ;
+                    Window window = windows.get( name ) ;
+                    if( window==null || window.hostStats!=hostStats ){
+                        if( window!=null ){
+                            // 原来的统计对象的最终计数计入累计值
+                            getCount( name ) ;
+                        }
+                        window = new Window( hostStats , entry.getKey() ) ;
+                        windows.put( name , window ) ;
+                        for (MeterRegistry registry : registries) {
+                            register( registry , name ) ;
+                        }
+                    }
+                    window.rotate( entry.getValue() ) ;
+                    getCount( name ) ;
+                }
+            }
+            // 主机已经移除，不再持有窗口，计数保持最后的值
+            windows.keySet().retainAll( current ) ;
+        }catch( Exception e ){
+            log.error( "redis耗时统计导出异常" , e ) ;
+        }
+    }
+
+    /**
+     * 注册指标，指标通过名称查找当前的窗口，主机移除后重新加入时继续使用原来的指标
+     * @param registry
+     * @param name
+     */
+    private void register(MeterRegistry registry , String name){
+        Window window = windows.get( name ) ;
+        String host = String.valueOf( window.hostStats.getHost() ) ;
+        String command = window.family.name().toLowerCase() ;
+        for (double percentile : PERCENTILES) {
+            Gauge.builder( "redis.client.command.latency" , this , binder -> binder.getSeconds( name , percentile * 100 ) )
+                    .tags( "host" , host , "command" , command , "quantile" , String.valueOf( percentile ) )
+                    .description( "redis命令耗时的百分位" )
+                    .baseUnit( "seconds" )
+                    .register( registry ) ;
+        }
+        Gauge.builder( "redis.client.command.latency.max" , this , binder -> binder.getSeconds( name , 100 ) )
+                .tags( "host" , host , "command" , command )
+                .description( "redis命令的最大耗时" )
+                .baseUnit( "seconds" )
+                .register( registry ) ;
+        FunctionCounter.builder( "redis.client.commands" , this , binder -> binder.getCount( name ) )
+                .tags( "host" , host , "command" , command )
+                .description( "redis命令的执行次数" )
+                .register( registry ) ;
+    }
+
+    /**
+     * 注册主机的热点key指标
+     * @param registry
+     * @param host
+     */
+    private void registerHotKey(MeterRegistry registry , String host){
+        Gauge.builder( "redis.client.hot.keys" , this , binder -> binder.getHotKeyValue( host , false ) )
+                .tags( "host" , host )
+                .description( "访问频率达到阀值的热点key数量" )
+                .register( registry ) ;
+        Gauge.builder( "redis.client.hot.key.frequency" , this , binder -> binder.getHotKeyValue( host , true ) )
+                .tags( "host" , host )
+                .description( "热点key估算的最高每秒访问次数" )
+                .register( registry ) ;
+    }
+
+    /**
+     * 注册主机的并发限制指标
+     * @param registry
+     * @param host
+     */
+    private void registerConcurrencyLimit(MeterRegistry registry , String host){
+        Gauge.builder( "redis.client.concurrency.limit" , this , binder -> binder.getConcurrencyLimitValue( host , false ) )
+                .tags( "host" , host )
+                .description( "主机当前的自适应并发限制" )
+                .register( registry ) ;
+        FunctionCounter.builder( "redis.client.concurrency.rejected" , this , binder -> binder.getConcurrencyLimitValue( host , true ) )
+                .tags( "host" , host )
+                .description( "达到并发限制被跳过或拒绝的次数" )
+                .register( registry ) ;
+    }
+
+    private double getConcurrencyLimitValue(String host , boolean rejected){
+        for (AppRedisHostStats hostStats : AppRedisHostStats.getInstances()) {
+            if( host.equals( hostStats.getHost() ) ){
+                AppRedisConcurrencyLimiter limiter = hostStats.getConcurrencyLimiter() ;
+                if( !rejected ){
+                    return limiter.getLimit() ;
+                }
+                return getMonotonicCount( rejectedCounts , host ).get( limiter , limiter.getRejectedCount() ) ;
+            }
+        }
+        return rejected ? getMonotonicCount( rejectedCounts , host ).get( null , 0 ) : 0 ;
+    }
+
+    private double getHotKeyValue(String host , boolean frequency){
+        for (AppRedisHostStats hostStats : AppRedisHostStats.getInstances()) {
+            if( host.equals( hostStats.getHost() ) ){
+                AppRedisHotKeyDetector detector = hostStats.getHotKeyDetector() ;
+                return frequency ? detector.getMaxFrequency() : detector.getHotKeyCount() ;
+            }
+        }
+        return 0 ;
+    }
+
+    private double getSeconds(String name , double percentile){
+        Window window = windows.get( name ) ;
+        AppRedisLatencyHistogram.Snapshot interval = window==null ? null : window.interval ;
+        return interval==null ? 0 : interval.getValueAtPercentile( percentile ) / 1e9 ;
+    }
+
+    private double getCount(String name){
+        Window window = windows.get( name ) ;
+        MonotonicCount count = getMonotonicCount( commandCounts , name ) ;
+        return window==null ? count.get( null , 0 ) :
+                count.get( window.hostStats , window.hostStats.getLatencyHistogram( window.family ).getCount() ) ;
+    }
+
+    private static MonotonicCount getMonotonicCount(Map<String,MonotonicCount> counts , String name){
+        MonotonicCount count = counts.get( name ) ;
+        if( count==null ){
+            counts.putIfAbsent( name , new MonotonicCount() ) ;
+            count = counts.get( name ) ;
+        }
+        return count ;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if( executor!=null ){
+            executor.shutdownNow() ;
+        }
+    }
+
+    /**
+     * 一个主机中一个命令分类的滚动窗口
+     */
+    private static final class Window {
+
+        private final AppRedisHostStats hostStats ;
+
+        private final AppRedisCommandFamily family ;
+
+        /**
+         * 上一个周期结束时的累计快照
+         */
+        private volatile AppRedisLatencyHistogram.Snapshot cumulative ;
+
+        /**
+         * 上一个周期内的分布
+         */
+        private volatile AppRedisLatencyHistogram.Snapshot interval ;
+
+        Window(AppRedisHostStats hostStats , AppRedisCommandFamily family){
+            this.hostStats = hostStats ;
+            this.family = family ;
+        }
+
+        void rotate(AppRedisLatencyHistogram.Snapshot snapshot){
+            interval = snapshot.minus( cumulative ) ;
+            cumulative = snapshot ;
+        }
+    }
+
+    /**
+     * 按名称累计的计数。统计对象重新创建时从0开始计数，将原来的统计对象的最后计数计入基数，
+     * 导出的FunctionCounter不会减少
+     */
+    private static final class MonotonicCount {
+
+        /**
+         * 当前计数所属的统计对象
+         */
+        private Object source ;
+
+        /**
+         * 之前的统计对象的计数之和
+         */
+        private double base ;
+
+        /**
+         * 当前统计对象最后读取的计数
+         */
+        private double last ;
+
+        /**
+         * 获取累计值
+         * @param source 计数所属的统计对象，为空时表示主机已经移除，返回最后的累计值
+         * @param value 统计对象当前的计数
+         * @return
+         */
+        synchronized double get(Object source , double value){
+            if( source==null ){
+                return base + last ;
+            }
+            if( source!=this.source ){
+                base += last ;
+                last = 0 ;
+                this.source = source ;
+            }
+            last = Math.max( last , value ) ;
+            return base + last ;
+        }
+    }
+
+}
@@ -0,0 +1,308 @@
+package com.rtf.redis.serializer;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.util.ClassUtils;
+
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 二进制对象序列化。
+ * 字符串、数字、布尔、日期、字节数组以及ArrayList、HashSet、LinkedHashSet、HashMap、LinkedHashMap使用紧凑的二进制格式，
+ * 每个值以1字节类型开头，整数使用变长编码，反序列化后类型不变；
+ * 其他对象(包括TreeMap等其他集合)需要实现Serializable，使用jdk序列化后嵌入，保留具体类型和比较器。
+ * 兼容JdkSerializationRedisSerializer写入的值，可以直接替换jdk序列化
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisBinarySerializer extends AppRedisPooledSerializer<Object> {
+
+    /**
+     * 格式标记，写在序列化结果的第一个字节
+     */
+    private static final byte FORMAT = (byte) 0xB1 ;
+
+    /**
+     * jdk序列化的开始字节
+     */
+    private static final byte JDK_MAGIC_0 = (byte) 0xAC ;
+
+    private static final byte JDK_MAGIC_1 = (byte) 0xED ;
+
+    private static final byte NULL = 0 ;
+    private static final byte STRING = 1 ;
+    private static final byte INT = 2 ;
+    private static final byte LONG = 3 ;
+    private static final byte DOUBLE = 4 ;
+    private static final byte FLOAT = 5 ;
+    private static final byte TRUE = 6 ;
+    private static final byte FALSE = 7 ;
+    private static final byte BYTES = 8 ;
+    private static final byte LIST = 9 ;
+    private static final byte SET = 10 ;
+    private static final byte MAP = 11 ;
+    private static final byte DATE = 12 ;
+    private static final byte BIG_DECIMAL = 13 ;
+    private static final byte BIG_INTEGER = 14 ;
+    private static final byte SHORT = 15 ;
+    private static final byte BYTE = 16 ;
+    private static final byte CHAR = 17 ;
+    private static final byte JDK = 18 ;
+    private static final byte LINKED_SET = 19 ;
+    private static final byte LINKED_MAP = 20 ;
+
+    private final ClassLoader classLoader ;
+
+    public AppRedisBinarySerializer(){
+        this( null ) ;
+    }
+
+    /**
+     * @param classLoader jdk反序列化使用的类加载器，为空时使用默认的类加载器
+     */
+    public AppRedisBinarySerializer(ClassLoader classLoader){
+        this.classLoader = classLoader!=null ? classLoader : ClassUtils.getDefaultClassLoader() ;
+    }
+
+    @Override
+    protected void write(Object value , AppRedisByteBuffer buffer) throws Exception {
+        buffer.write( FORMAT ) ;
+        writeValue( value , buffer ) ;
+    }
+
+    @Override
+    protected Object read(AppRedisByteReader reader) throws Exception {
+        byte format = reader.readByte() ;
+        if( format==FORMAT ){
+            return readValue( reader ) ;
+        }
+        // JdkSerializationRedisSerializer写入的值，从头读取
+        if( format==JDK_MAGIC_0 && reader.available()>0 && reader.readByte()==JDK_MAGIC_1 ){
+            reader.reset() ;
+            return readJdk( reader ) ;
+        }
+        throw new SerializationException( "无法识别的序列化格式: " + format ) ;
+    }
+
+    private void writeValue(Object value , AppRedisByteBuffer buffer) throws Exception {
+        if( value==null ){
+            buffer.write( NULL ) ;
+        }else if( value instanceof String ){
+            String string = (String) value ;
+            buffer.write( STRING ) ;
+            buffer.writeVarInt( AppRedisByteBuffer.utf8Length( string ) ) ;
+            buffer.writeUtf8( string ) ;
+        }else if( value instanceof Integer ){
+            buffer.write( INT ) ;
+            int intValue = (Integer) value ;
+            buffer.writeVarInt( ( intValue << 1 ) ^ ( intValue >> 31 ) ) ;
+        }else if( value instanceof Long ){
+            buffer.write( LONG ) ;
+            long longValue = (Long) value ;
+            buffer.writeVarLong( ( longValue << 1 ) ^ ( longValue >> 63 ) ) ;
+        }else if( value instanceof Boolean ){
+            buffer.write( (Boolean) value ? TRUE : FALSE ) ;
+        }else if( value instanceof Double ){
+            buffer.write( DOUBLE ) ;
+            buffer.writeLong( Double.doubleToRawLongBits( (Double) value ) ) ;
+        }else if( value instanceof Float ){
+            buffer.write( FLOAT ) ;
+            buffer.writeInt( Float.floatToRawIntBits( (Float) value ) ) ;
+        }else if( value instanceof byte[] ){
+            byte[] bytes = (byte[]) value ;
+            buffer.write( BYTES ) ;
+            buffer.writeVarInt( bytes.length ) ;
+            buffer.writeBytes( bytes ) ;
+        }else if( value instanceof Short ){
+            buffer.write( SHORT ) ;
+            short shortValue = (Short) value ;
+            buffer.writeVarInt( ( shortValue << 1 ) ^ ( shortValue >> 31 ) ) ;
+        }else if( value instanceof Byte ){
+            buffer.write( BYTE ) ;
+            buffer.write( (Byte) value ) ;
+        }else if( value instanceof Character ){
+            buffer.write( CHAR ) ;
+            buffer.writeVarInt( (Character) value ) ;
+        }else if( value.getClass()==Date.class ){
+            buffer.write( DATE ) ;
+            buffer.writeLong( ((Date) value).getTime() ) ;
+        }else if( value.getClass()==BigDecimal.class ){
+            buffer.write( BIG_DECIMAL ) ;
+            String string = value.toString() ;
+            buffer.writeVarInt( string.length() ) ;
+            buffer.writeUtf8( string ) ;
+        }else if( value.getClass()==BigInteger.class ){
+            byte[] bytes = ((BigInteger) value).toByteArray() ;
+            buffer.write( BIG_INTEGER ) ;
+            buffer.writeVarInt( bytes.length ) ;
+            buffer.writeBytes( bytes ) ;
+        }else if( value.getClass()==ArrayList.class ){
+            buffer.write( LIST ) ;
+            writeCollection( (Collection<?>) value , buffer ) ;
+        }else if( value.getClass()==HashSet.class ){
+            buffer.write( SET ) ;
+            writeCollection( (Collection<?>) value , buffer ) ;
+        }else if( value.getClass()==LinkedHashSet.class ){
+            buffer.write( LINKED_SET ) ;
+            writeCollection( (Collection<?>) value , buffer ) ;
+        }else if( value.getClass()==HashMap.class ){
+            buffer.write( MAP ) ;
+            writeMap( (Map<?, ?>) value , buffer ) ;
+        }else if( value.getClass()==LinkedHashMap.class ){
+            buffer.write( LINKED_MAP ) ;
+            writeMap( (Map<?, ?>) value , buffer ) ;
+        }else{
+            writeJdk( value , buffer ) ;
+        }
+    }
+
+    private void writeCollection(Collection<?> collection , AppRedisByteBuffer buffer) throws Exception {
+        buffer.writeVarInt( collection.size() ) ;
+        for (Object element : collection) {
+            writeValue( element , buffer ) ;
+        }
+    }
+
+    private void writeMap(Map<?,?> map , AppRedisByteBuffer buffer) throws Exception {
+        buffer.writeVarInt( map.size() ) ;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeValue( entry.getKey() , buffer ) ;
+            writeValue( entry.getValue() , buffer ) ;
+        }
+    }
+
+    /**
+     * 其他对象使用jdk序列化，先预留4字节长度，写入后回填
+     * @param value
+     * @param buffer
+     * @throws Exception
+     */
+    private void writeJdk(Object value , AppRedisByteBuffer buffer) throws Exception {
+        if( !(value instanceof Serializable) ){
+            throw new SerializationException( "对象需要实现Serializable: " + value.getClass().getName() ) ;
+        }
+        buffer.write( JDK ) ;
+        int lengthOffset = buffer.size() ;
+        buffer.writeInt( 0 ) ;
+        ObjectOutputStream out = new ObjectOutputStream( buffer ) ;
+        out.writeObject( value ) ;
+        out.flush() ;
+        buffer.writeIntAt( lengthOffset , buffer.size() - lengthOffset - 4 ) ;
+    }
+
+    private Object readValue(AppRedisByteReader reader) throws Exception {
+        byte type = reader.readByte() ;
+        switch ( type ){
+            case NULL:
+                return null ;
+            case STRING:
+                return reader.readUtf8( reader.readVarInt() ) ;
+            case INT: {
+                int value = reader.readVarInt() ;
+                return ( value >>> 1 ) ^ -( value & 1 ) ;
+            }
+            case LONG: {
+                long value = reader.readVarLong() ;
+                return ( value >>> 1 ) ^ -( value & 1 ) ;
+            }
+            case TRUE:
+                return Boolean.TRUE ;
+            case FALSE:
+                return Boolean.FALSE ;
+            case DOUBLE:
+                return Double.longBitsToDouble( reader.readLong() ) ;
+            case FLOAT:
+                return Float.intBitsToFloat( reader.readInt() ) ;
+            case BYTES:
+                return reader.readBytes( reader.readVarInt() ) ;
+            case SHORT: {
+                int value = reader.readVarInt() ;
+                return (short) ( ( value >>> 1 ) ^ -( value & 1 ) ) ;
+            }
+            case BYTE:
+                return reader.readByte() ;
+            case CHAR:
+                return (char) reader.readVarInt() ;
+            case DATE:
+                return new Date( reader.readLong() ) ;
+            case BIG_DECIMAL:
+                return new BigDecimal( reader.readUtf8( reader.readVarInt() ) ) ;
+            case BIG_INTEGER:
+                return new BigInteger( reader.readBytes( reader.readVarInt() ) ) ;
+            case LIST: {
+                int size = reader.readVarInt() ;
+                List<Object> list = new ArrayList<>( Math.min( size , reader.available() ) ) ;
+                for (int i = 0; i < size; i++) {
+                    list.add( readValue( reader ) ) ;
+                }
+                return list ;
+            }
+            case SET: {
+                int size = reader.readVarInt() ;
+                return readCollection( reader , size , new HashSet<>( capacity( size , reader ) ) ) ;
+            }
+            case LINKED_SET: {
+                int size = reader.readVarInt() ;
+                return readCollection( reader , size , new LinkedHashSet<>( capacity( size , reader ) ) ) ;
+            }
+            case MAP: {
+                int size = reader.readVarInt() ;
+                return readMap( reader , size , new HashMap<>( capacity( size , reader ) ) ) ;
+            }
+            case LINKED_MAP: {
+                int size = reader.readVarInt() ;
+                return readMap( reader , size , new LinkedHashMap<>( capacity( size , reader ) ) ) ;
+            }
+            case JDK:
+                return readJdk( reader.readStream( reader.readInt() ) ) ;
+            default:
+                throw new SerializationException( "无法识别的序列化类型: " + type ) ;
+        }
+    }
+
+    /**
+     * 哈希集合的初始容量，元素数量来自序列化数据，不超过剩余的字节数
+     * @param size
+     * @param reader
+     * @return
+     */
+    private static int capacity(int size , AppRedisByteReader reader){
+        return (int) ( Math.min( size , reader.available() ) / 0.75f ) + 1 ;
+    }
+
+    private Collection<Object> readCollection(AppRedisByteReader reader , int size , Collection<Object> collection) throws Exception {
+        for (int i = 0; i < size; i++) {
+            collection.add( readValue( reader ) ) ;
+        }
+        return collection ;
+    }
+
+    private Map<Object,Object> readMap(AppRedisByteReader reader , int size , Map<Object,Object> map) throws Exception {
+        for (int i = 0; i < size; i++) {
+            map.put( readValue( reader ) , readValue( reader ) ) ;
+        }
+        return map ;
+    }
+
+    private Object readJdk(InputStream in) throws Exception {
+        try( ObjectInputStream objectInputStream = new ConfigurableObjectInputStream( in , classLoader ) ){
+            return objectInputStream.readObject() ;
+        }
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.rtf.redis.serializer;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 序列化使用的可扩容字节缓冲区。
+ * 每个线程复用一个缓冲区，序列化时先写入缓冲区，结束时只复制一次得到结果；
+ * 扩容超过最大复用长度的缓冲区使用后丢弃，避免长期占用内存。同一线程嵌套序列化时使用临时的缓冲区
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisByteBuffer extends OutputStream {
+
+    private static final int INITIAL_CAPACITY = 256 ;
+
+    /**
+     * 线程复用的缓冲区的最大字节数
+     */
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024 ;
+
+    private static final ThreadLocal<AppRedisByteBuffer> BUFFERS = ThreadLocal.withInitial( AppRedisByteBuffer::new ) ;
+
+    private byte[] buffer ;
+
+    private int position ;
+
+    private boolean inUse ;
+
+    public AppRedisByteBuffer(){
+        this( INITIAL_CAPACITY ) ;
+    }
+
+    public AppRedisByteBuffer(int capacity){
+        this.buffer = new byte[ Math.max( 16 , capacity ) ] ;
+    }
+
+    /**
+     * 获取当前线程复用的缓冲区，使用后需要调用 {@link #release()}
+     * @return
+     */
+    public static AppRedisByteBuffer acquire(){
+        AppRedisByteBuffer byteBuffer = BUFFERS.get() ;
+        if( byteBuffer.inUse ){
+            return new AppRedisByteBuffer() ;
+        }
+        byteBuffer.inUse = true ;
+        byteBuffer.position = 0 ;
+        return byteBuffer ;
+    }
+
+    /**
+     * 归还缓冲区，超过最大复用长度时丢弃
+     */
+    public void release(){
+        if( !inUse ){
+            return;
+        }
+        inUse = false ;
+        if( buffer.length > MAX_POOLED_CAPACITY ){
+            BUFFERS.remove() ;
+        }
+    }
+
+    private void ensureCapacity(int length){
+        int required = position + length ;
+        if( required < 0 ){
+            throw new IllegalStateException( "序列化结果超过最大长度" ) ;
+        }
+        if( required > buffer.length ){
+            buffer = Arrays.copyOf( buffer , Math.max( required , buffer.length << 1 ) ) ;
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity( 1 ) ;
+        buffer[ position++ ] = (byte) b ;
+    }
+
+    @Override
+    public void write(byte[] bytes , int offset , int length) {
+        ensureCapacity( length ) ;
+        System.arraycopy( bytes , offset , buffer , position , length ) ;
+        position += length ;
+    }
+
+    public void writeBytes(byte[] bytes){
+        write( bytes , 0 , bytes.length ) ;
+    }
+
+    /**
+     * 写入无符号变长整数，每字节7位
+     * @param value
+     */
+    public void writeVarInt(int value){
+        ensureCapacity( 5 ) ;
+        while ( ( value & ~0x7F ) != 0 ) {
+            buffer[ position++ ] = (byte) ( ( value & 0x7F ) | 0x80 ) ;
+            value >>>= 7 ;
+        }
+        buffer[ position++ ] = (byte) value ;
+    }
+
+    /**
+     * 写入无符号变长整数，每字节7位
+     * @param value
+     */
+    public void writeVarLong(long value){
+        ensureCapacity( 10 ) ;
+        while ( ( value & ~0x7FL ) != 0 ) {
+            buffer[ position++ ] = (byte) ( ( value & 0x7F ) | 0x80 ) ;
+            value >>>= 7 ;
+        }
+        buffer[ position++ ] = (byte) value ;
+    }
+
+    public void writeInt(int value){
+        ensureCapacity( 4 ) ;
+        position = putInt( buffer , position , value ) ;
+    }
+
+    /**
+     * 在已写入的位置覆盖一个int，用于先预留长度、写入内容后再回填
+     * @param offset
+     * @param value
+     */
+    public void writeIntAt(int offset , int value){
+        putInt( buffer , offset , value ) ;
+    }
+
+    private static int putInt(byte[] dest , int offset , int value){
+        dest[ offset ] = (byte) ( value >>> 24 ) ;
+        dest[ offset + 1 ] = (byte) ( value >>> 16 ) ;
+        dest[ offset + 2 ] = (byte) ( value >>> 8 ) ;
+        dest[ offset + 3 ] = (byte) value ;
+        return offset + 4 ;
+    }
+
+    public void writeLong(long value){
+        ensureCapacity( 8 ) ;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[ position++ ] = (byte) ( value >>> shift ) ;
+        }
+    }
+
+    /**
+     * 写入utf-8编码的字符串，不创建中间数组
+     * @param value
+     */
+    public void writeUtf8(String value){
+        int length = value.length() ;
+        ensureCapacity( length * 3 ) ;
+        position = encodeUtf8( value , buffer , position ) ;
+    }
+
+    /**
+     * 复制已写入的内容
+     * @return
+     */
+    public byte[] toByteArray(){
+        return Arrays.copyOf( buffer , position ) ;
+    }
+
+    public int size(){
+        return position ;
+    }
+
+    /**
+     * 字符串utf-8编码后的字节数
+     * @param value
+     * @return
+     */
+    public static int utf8Length(String value){
+        int length = value.length() ;
+        int bytes = length ;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt( i ) ;
+            if( c >= 0x80 ){
+                if( c < 0x800 ){
+                    bytes += 1 ;
+                }else if( !Character.isSurrogate( c ) ){
+                    bytes += 2 ;
+                }else if( Character.isHighSurrogate( c ) && i + 1 < length && Character.isLowSurrogate( value.charAt( i + 1 ) ) ){
+                    // 代理对编码为4字节
+                    bytes += 2 ;
+                    i++ ;
+                }
+                // 无效的代理字符编码为1字节的'?'
+            }
+        }
+        return bytes ;
+    }
+
+    /**
+     * 把字符串按utf-8编码写入数组，无效的代理字符写为'?'，与String.getBytes相同
+     * @param value
+     * @param dest 空间需要足够
+     * @param offset
+     * @return 写入后的位置
+     */
+    public static int encodeUtf8(String value , byte[] dest , int offset){
+        int length = value.length() ;
+        int i = 0 ;
+        // ascii字符直接写入
+        for ( ; i < length; i++) {
+            char c = value.charAt( i ) ;
+            if( c >= 0x80 ){
+                break;
+            }
+            dest[ offset++ ] = (byte) c ;
+        }
+        for ( ; i < length; i++) {
+            char c = value.charAt( i ) ;
+            if( c < 0x80 ){
+                dest[ offset++ ] = (byte) c ;
+            }else if( c < 0x800 ){
+                dest[ offset++ ] = (byte) ( 0xC0 | ( c >> 6 ) ) ;
+                dest[ offset++ ] = (byte) ( 0x80 | ( c & 0x3F ) ) ;
+            }else if( Character.isSurrogate( c ) ){
+                if( Character.isHighSurrogate( c ) && i + 1 < length && Character.isLowSurrogate( value.charAt( i + 1 ) ) ){
+                    int codePoint = Character.toCodePoint( c , value.charAt( ++i ) ) ;
+                    dest[ offset++ ] = (byte) ( 0xF0 | ( codePoint >> 18 ) ) ;
+                    dest[ offset++ ] = (byte) ( 0x80 | ( ( codePoint >> 12 ) & 0x3F ) ) ;
+                    dest[ offset++ ] = (byte) ( 0x80 | ( ( codePoint >> 6 ) & 0x3F ) ) ;
+                    dest[ offset++ ] = (byte) ( 0x80 | ( codePoint & 0x3F ) ) ;
+                }else{
+                    dest[ offset++ ] = '?' ;
+                }
+            }else{
+                dest[ offset++ ] = (byte) ( 0xE0 | ( c >> 12 ) ) ;
+                dest[ offset++ ] = (byte) ( 0x80 | ( ( c >> 6 ) & 0x3F ) ) ;
+                dest[ offset++ ] = (byte) ( 0x80 | ( c & 0x3F ) ) ;
+            }
+        }
+        return offset ;
+    }
+
+    /**
+     * 按utf-8解码，只有ascii字符时不经过解码器
+     * @param bytes
+     * @param offset
+     * @param length
+     * @return
+     */
+    public static String decodeUtf8(byte[] bytes , int offset , int length){
+        for (int i = offset; i < offset + length; i++) {
+            if( bytes[i] < 0 ){
+                return new String( bytes , offset , length , StandardCharsets.UTF_8 ) ;
+            }
+        }
+        return new String( bytes , offset , length , StandardCharsets.ISO_8859_1 ) ;
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.rtf.redis.serializer;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * 按顺序读取序列化结果，与 {@link AppRedisByteBuffer} 的写入方法对应
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisByteReader extends InputStream {
+
+    private final byte[] bytes ;
+
+    private int position ;
+
+    private int mark ;
+
+    public AppRedisByteReader(byte[] bytes){
+        this( bytes , 0 ) ;
+    }
+
+    public AppRedisByteReader(byte[] bytes , int position){
+        this.bytes = bytes ;
+        this.position = position ;
+        this.mark = position ;
+    }
+
+    private void require(int length){
+        if( length < 0 || position + length > bytes.length ){
+            throw new SerializationException( "序列化数据不完整, 位置: " + position + ", 需要: " + length ) ;
+        }
+    }
+
+    @Override
+    public int read() {
+        return position < bytes.length ? bytes[ position++ ] & 0xFF : -1 ;
+    }
+
+    @Override
+    public int read(byte[] dest , int offset , int length) {
+        if( position >= bytes.length ){
+            return -1 ;
+        }
+        int count = Math.min( length , bytes.length - position ) ;
+        System.arraycopy( bytes , position , dest , offset , count ) ;
+        position += count ;
+        return count ;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true ;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        mark = position ;
+    }
+
+    /**
+     * 回到标记的位置，未标记时回到开始位置
+     */
+    @Override
+    public synchronized void reset() {
+        position = mark ;
+    }
+
+    @Override
+    public int available() {
+        return bytes.length - position ;
+    }
+
+    public byte readByte(){
+        require( 1 ) ;
+        return bytes[ position++ ] ;
+    }
+
+    public byte[] readBytes(int length){
+        require( length ) ;
+        byte[] result = new byte[ length ] ;
+        System.arraycopy( bytes , position , result , 0 , length ) ;
+        position += length ;
+        return result ;
+    }
+
+    public int readVarInt(){
+        int value = 0 ;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte() ;
+            value |= ( b & 0x7F ) << shift ;
+            if( b >= 0 ){
+                return value ;
+            }
+        }
+        throw new SerializationException( "无效的变长整数, 位置: " + position ) ;
+    }
+
+    public long readVarLong(){
+        long value = 0 ;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = readByte() ;
+            value |= (long) ( b & 0x7F ) << shift ;
+            if( b >= 0 ){
+                return value ;
+            }
+        }
+        throw new SerializationException( "无效的变长整数, 位置: " + position ) ;
+    }
+
+    public int readInt(){
+        require( 4 ) ;
+        int value = 0 ;
+        for (int i = 0; i < 4; i++) {
+            value = ( value << 8 ) | ( bytes[ position++ ] & 0xFF ) ;
+        }
+        return value ;
+    }
+
+    public long readLong(){
+        require( 8 ) ;
+        long value = 0 ;
+        for (int i = 0; i < 8; i++) {
+            value = ( value << 8 ) | ( bytes[ position++ ] & 0xFF ) ;
+        }
+        return value ;
+    }
+
+    /**
+     * 读取指定字节数的内容，不复制数据
+     * @param length
+     * @return
+     */
+    public InputStream readStream(int length){
+        require( length ) ;
+        InputStream in = new ByteArrayInputStream( bytes , position , length ) ;
+        position += length ;
+        return in ;
+    }
+
+    /**
+     * 读取指定字节数的utf-8字符串
+     * @param length
+     * @return
+     */
+    public String readUtf8(int length){
+        require( length ) ;
+        String value = AppRedisByteBuffer.decodeUtf8( bytes , position , length ) ;
+        position += length ;
+        return value ;
+    }
+
+}
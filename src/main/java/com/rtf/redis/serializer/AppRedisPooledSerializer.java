@@ -0,0 +1,66 @@
+package com.rtf.redis.serializer;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 使用线程复用缓冲区的序列化基类，自定义的值序列化实现该类并注册为名称为appRedisValueSerializer的bean。
+ * 序列化时写入当前线程复用的 {@link AppRedisByteBuffer}，结束时只复制一次得到结果；
+ * null序列化为空数组，空数组反序列化为null
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public abstract class AppRedisPooledSerializer<T> implements RedisSerializer<T> {
+
+    private static final byte[] EMPTY_ARRAY = new byte[0] ;
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if( value==null ){
+            return EMPTY_ARRAY ;
+        }
+        AppRedisByteBuffer buffer = AppRedisByteBuffer.acquire() ;
+        try{
+            write( value , buffer ) ;
+            return buffer.toByteArray() ;
+        }catch( SerializationException e ){
+            throw e ;
+        }catch( Exception e ){
+            throw new SerializationException( "序列化失败: " + value.getClass().getName() , e ) ;
+        }finally {
+            buffer.release() ;
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if( bytes==null || bytes.length==0 ){
+            return null ;
+        }
+        try{
+            return read( new AppRedisByteReader( bytes ) ) ;
+        }catch( SerializationException e ){
+            throw e ;
+        }catch( Exception e ){
+            throw new SerializationException( "反序列化失败, 长度: " + bytes.length , e ) ;
+        }
+    }
+
+    /**
+     * 写入不为null的值
+     * @param value
+     * @param buffer
+     * @throws Exception
+     */
+    protected abstract void write(T value , AppRedisByteBuffer buffer) throws Exception ;
+
+    /**
+     * 读取不为空的序列化结果
+     * @param reader
+     * @return
+     * @throws Exception
+     */
+    protected abstract T read(AppRedisByteReader reader) throws Exception ;
+
+}
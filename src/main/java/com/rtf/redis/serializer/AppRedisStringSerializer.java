@@ -0,0 +1,67 @@
+package com.rtf.redis.serializer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * utf-8字符串序列化，可以为所有key加上统一的前缀。
+ * 前缀只编码一次，序列化时先计算编码长度，只分配一次结果数组，不创建中间数组；
+ * 反序列化时去掉前缀，不带前缀的值原样返回
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisStringSerializer implements RedisSerializer<String> {
+
+    private final byte[] prefix ;
+
+    public AppRedisStringSerializer(){
+        this( null ) ;
+    }
+
+    /**
+     * @param prefix key的前缀，为空时不加前缀
+     */
+    public AppRedisStringSerializer(String prefix){
+        if( StringUtils.isEmpty( prefix ) ){
+            this.prefix = new byte[0] ;
+        }else{
+            this.prefix = new byte[ AppRedisByteBuffer.utf8Length( prefix ) ] ;
+            AppRedisByteBuffer.encodeUtf8( prefix , this.prefix , 0 ) ;
+        }
+    }
+
+    @Override
+    public byte[] serialize(String value) throws SerializationException {
+        if( value==null ){
+            return null ;
+        }
+        byte[] bytes = new byte[ prefix.length + AppRedisByteBuffer.utf8Length( value ) ] ;
+        System.arraycopy( prefix , 0 , bytes , 0 , prefix.length ) ;
+        AppRedisByteBuffer.encodeUtf8( value , bytes , prefix.length ) ;
+        return bytes ;
+    }
+
+    @Override
+    public String deserialize(byte[] bytes) throws SerializationException {
+        if( bytes==null ){
+            return null ;
+        }
+        int offset = hasPrefix( bytes ) ? prefix.length : 0 ;
+        return AppRedisByteBuffer.decodeUtf8( bytes , offset , bytes.length - offset ) ;
+    }
+
+    private boolean hasPrefix(byte[] bytes){
+        if( prefix.length==0 || bytes.length<prefix.length ){
+            return false ;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if( bytes[i]!=prefix[i] ){
+                return false ;
+            }
+        }
+        return true ;
+    }
+
+}
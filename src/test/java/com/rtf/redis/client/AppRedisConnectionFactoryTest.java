@@ -0,0 +1,68 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.lb.AppRedisCircuitBreaker;
+import com.rtf.redis.client.lb.AppRedisHostStats;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+
+import static org.junit.Assert.*;
+
+/**
+ * 同一主机的多个连接工厂共享断路器和负载统计，销毁其中一个不影响其他连接工厂
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisConnectionFactoryTest {
+
+    private static final String HOST = "factory-test-host" ;
+
+    @Test
+    public void destroyingDuplicateKeepsSharedRegistries(){
+        AppRedisConnectionFactory live = create() ;
+        // 刷新时重复创建、随后丢弃的连接工厂
+        AppRedisConnectionFactory duplicate = create() ;
+        assertSame( live.getCircuitBreaker() , duplicate.getCircuitBreaker() ) ;
+        assertSame( live.getHostStats() , duplicate.getHostStats() ) ;
+
+        duplicate.destroy() ;
+        // 重复销毁只释放一次
+        duplicate.destroy() ;
+
+        assertTrue( AppRedisCircuitBreaker.getInstances().contains( live.getCircuitBreaker() ) ) ;
+        assertTrue( AppRedisHostStats.getInstances().contains( live.getHostStats() ) ) ;
+        assertSame( live.getCircuitBreaker() , AppRedisCircuitBreaker.getInstance( HOST ) ) ;
+        assertSame( live.getHostStats() , AppRedisHostStats.getInstance( HOST ) ) ;
+
+        live.destroy() ;
+
+        assertFalse( AppRedisCircuitBreaker.getInstances().contains( live.getCircuitBreaker() ) ) ;
+        assertFalse( AppRedisHostStats.getInstances().contains( live.getHostStats() ) ) ;
+    }
+
+    @Test
+    public void drainedFactoryDoesNotRemoveReaddedHost(){
+        AppRedisConnectionFactory draining = create() ;
+        // 主机在排空结束前重新加入
+        AppRedisConnectionFactory readded = create() ;
+
+        draining.destroy() ;
+
+        assertSame( readded.getHostStats() , AppRedisHostStats.getInstance( HOST ) ) ;
+        assertTrue( readded.getHostStats().isReferenced() ) ;
+
+        readded.destroy() ;
+
+        assertFalse( readded.getHostStats().isReferenced() ) ;
+        assertFalse( AppRedisHostStats.getInstances().contains( readded.getHostStats() ) ) ;
+    }
+
+    private static AppRedisConnectionFactory create(){
+        AppRedisConnectionFactory connectionFactory = new AppRedisConnectionFactory( "redis" ,
+                new RedisStandaloneConfiguration( HOST , 6379 ) , LettuceClientConfiguration.defaultConfiguration() ) ;
+        connectionFactory.afterPropertiesSet() ;
+        return connectionFactory ;
+    }
+
+}
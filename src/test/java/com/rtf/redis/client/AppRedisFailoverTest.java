@@ -0,0 +1,175 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.lb.AppRedisRoundRobinRule;
+import com.rtf.redis.client.lb.AppRedisRoutingTable;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 故障转移的重试条件测试：哪些命令和异常可以重试，重试次数、截止时间和预算的限制
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisFailoverTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 1 ) ;
+
+    /**
+     * 最多连续重试的次数，与AppRedisFailover中的预算上限一致
+     */
+    private static final int MAX_BURST = 10 ;
+
+    private AppRedisConnectionFactory first ;
+
+    private AppRedisConnectionFactory second ;
+
+    private AppRedisRoutingTable routingTable ;
+
+    @Before
+    public void setUp(){
+        first = create( "failover-test-a" ) ;
+        second = create( "failover-test-b" ) ;
+        routingTable = AppRedisRoutingTable.of( Arrays.asList( first , second ) ) ;
+    }
+
+    @After
+    public void tearDown(){
+        first.destroy() ;
+        second.destroy() ;
+    }
+
+    @Test
+    public void onlyIdempotentCommandsAreRetried() throws NoSuchMethodException {
+        for (String name : Arrays.asList( "get" , "mGet" , "hGetAll" , "set" , "mSet" , "del" , "expire" , "sAdd" , "zAdd" , "hSet" )) {
+            assertTrue( name , AppRedisCommandTable.isIdempotent( name ) ) ;
+        }
+        for (String name : Arrays.asList( "incr" , "incrBy" , "lPush" , "rPop" , "lTrim" , "append" , "hIncrBy" , "bLPop" , "eval" )) {
+            assertFalse( name , AppRedisCommandTable.isIdempotent( name ) ) ;
+        }
+        // 带NX或XX的set是条件写入
+        AppRedisCommandDescriptor conditionalSet = AppRedisCommandTable.get( RedisStringCommands.class.getMethod( "set" ,
+                byte[].class , byte[].class , Expiration.class , RedisStringCommands.SetOption.class ) ) ;
+        assertFalse( conditionalSet.isIdempotent() ) ;
+        AppRedisCommandDescriptor set = AppRedisCommandTable.get( RedisStringCommands.class.getMethod( "set" ,
+                byte[].class , byte[].class ) ) ;
+        assertTrue( set.isIdempotent() ) ;
+    }
+
+    @Test
+    public void onlyNetworkExceptionsAreRetried(){
+        assertTrue( AppRedisFailover.isNetworkException( new RedisConnectionFailureException( "refused" ) ) ) ;
+        assertTrue( AppRedisFailover.isNetworkException( new QueryTimeoutException( "timeout" ,
+                new RedisCommandTimeoutException() ) ) ) ;
+        assertTrue( AppRedisFailover.isNetworkException( new RedisSystemException( "closed" ,
+                new RedisException( "Connection closed prematurely" ) ) ) ) ;
+        assertTrue( AppRedisFailover.isNetworkException( new RedisSystemException( "reset" ,
+                new RedisException( new IOException( "Connection reset by peer" ) ) ) ) ) ;
+
+        // redis返回的错误，重试结果相同
+        assertFalse( AppRedisFailover.isNetworkException( new RedisSystemException( "error" ,
+                new RedisCommandExecutionException( "WRONGTYPE Operation against a key holding the wrong kind of value" ) ) ) ) ;
+        assertFalse( AppRedisFailover.isNetworkException( new RedisSystemException( "error" ,
+                new RedisCommandExecutionException( new IOException( "wrapped" ) ) ) ) ) ;
+        assertFalse( AppRedisFailover.isNetworkException( new IllegalStateException( "serializer" ) ) ) ;
+    }
+
+    @Test
+    public void retriesAreLimitedByCountAndDeadline(){
+        AppRedisFailoverConfig config = new AppRedisFailoverConfig() ;
+        config.setMaxRetries( 2 ) ;
+        AppRedisFailover failover = create( config ) ;
+        RuntimeException e = new RedisConnectionFailureException( "refused" ) ;
+
+        long deadline = failover.start() ;
+        assertTrue( failover.isRetryable( e , 0 , deadline ) ) ;
+        assertTrue( failover.isRetryable( e , 1 , deadline ) ) ;
+        assertFalse( "超过最大重试次数" , failover.isRetryable( e , 2 , deadline ) ) ;
+        assertFalse( "超过截止时间" , failover.isRetryable( e , 0 , System.nanoTime() - 1 ) ) ;
+        assertFalse( failover.isRetryable( new RedisSystemException( "error" ,
+                new RedisCommandExecutionException( "ERR" ) ) , 0 , deadline ) ) ;
+    }
+
+    @Test
+    public void retryChoosesAnotherHost(){
+        AppRedisFailover failover = create( new AppRedisFailoverConfig() ) ;
+
+        assertSame( second , failover.choose( new ArrayList<>( Collections.singletonList( first ) ) , true ) ) ;
+        assertSame( first , failover.choose( new ArrayList<>( Collections.singletonList( second ) ) , true ) ) ;
+        assertNull( "所有主机都失败过" , failover.choose( Arrays.asList( first , second ) , true ) ) ;
+        assertEquals( 2 , failover.getRetryCount() ) ;
+    }
+
+    @Test
+    public void retriesStopWhenBudgetIsExhausted(){
+        AppRedisFailoverConfig config = new AppRedisFailoverConfig() ;
+        config.setBudget( 0.1 ) ;
+        AppRedisFailover failover = create( config ) ;
+        List<AppRedisConnectionFactory> failed = Collections.singletonList( first ) ;
+
+        // 初始预算允许连续重试MAX_BURST次
+        for (int i = 0; i < MAX_BURST; i++) {
+            assertNotNull( failover.choose( failed , true ) ) ;
+        }
+        assertNull( "预算已用尽" , failover.choose( failed , true ) ) ;
+        assertEquals( 1 , failover.getBudgetExhaustedCount() ) ;
+
+        // 命令发送前换用其他主机不消耗预算
+        assertNotNull( failover.choose( failed , false ) ) ;
+
+        // 每10条幂等命令积累一次重试
+        for (int i = 0; i < 10; i++) {
+            failover.start() ;
+        }
+        assertNotNull( failover.choose( failed , true ) ) ;
+        assertNull( failover.choose( failed , true ) ) ;
+        assertEquals( 2 , failover.getBudgetExhaustedCount() ) ;
+        assertEquals( MAX_BURST + 1 , failover.getRetryCount() ) ;
+    }
+
+    @Test
+    public void budgetIsRefundedWhenNoHostIsAvailable(){
+        AppRedisFailoverConfig config = new AppRedisFailoverConfig() ;
+        config.setBudget( 0 ) ;
+        AppRedisFailover failover = create( config ) ;
+
+        for (int i = 0; i < MAX_BURST * 2; i++) {
+            assertNull( failover.choose( Arrays.asList( first , second ) , true ) ) ;
+        }
+        assertEquals( 0 , failover.getBudgetExhaustedCount() ) ;
+        assertNotNull( failover.choose( Collections.singletonList( first ) , true ) ) ;
+    }
+
+    private AppRedisFailover create(AppRedisFailoverConfig config){
+        return new AppRedisFailover( config , new AppRedisRoundRobinRule( () -> routingTable ) , TIMEOUT ) ;
+    }
+
+    private static AppRedisConnectionFactory create(String host){
+        AppRedisConnectionFactory connectionFactory = new AppRedisConnectionFactory( "redis" ,
+                new RedisStandaloneConfiguration( host , 6379 ) ,
+                LettuceClientConfiguration.builder().commandTimeout( TIMEOUT ).build() ) ;
+        connectionFactory.afterPropertiesSet() ;
+        return connectionFactory ;
+    }
+
+}
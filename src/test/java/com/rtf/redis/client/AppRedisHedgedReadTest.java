@@ -0,0 +1,141 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.lb.AppRedisRoundRobinRule;
+import com.rtf.redis.client.lb.AppRedisRoutingTable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * 对冲读的预算测试，对冲次数不超过积累的预算，预算不足时等待首选主机的结果
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisHedgedReadTest {
+
+    private static final String PRIMARY_HOST = "127.0.0.3" ;
+
+    private static final String HEDGE_HOST = "127.0.0.4" ;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 2 ) ;
+
+    /**
+     * 计算等待时间需要的样本数，与AppRedisHedgedRead中的最少样本数一致
+     */
+    private static final int WARM_UP_READS = 150 ;
+
+    /**
+     * 最多连续对冲的次数，与AppRedisHedgedRead中的预算上限一致
+     */
+    private static final int MAX_BURST = 10 ;
+
+    private static final int SLOW_READS = 20 ;
+
+    private RespServer primaryServer ;
+
+    private RespServer hedgeServer ;
+
+    private AppRedisConnectionFactory primaryFactory ;
+
+    private AppRedisConnectionFactory hedgeFactory ;
+
+    @Before
+    public void setUp() throws Exception {
+        primaryServer = RespServer.start( PRIMARY_HOST ) ;
+        hedgeServer = RespServer.start( HEDGE_HOST ) ;
+        for (int i = 0; i < SLOW_READS; i++) {
+            primaryServer.put( "slow" + i , "value" + i ) ;
+            hedgeServer.put( "slow" + i , "value" + i ) ;
+        }
+        primaryServer.put( "fast" , "value" ) ;
+        primaryServer.setSlowKey( "slow" , 150 ) ;
+        primaryFactory = primaryServer.createConnectionFactory( PRIMARY_HOST , TIMEOUT ) ;
+        hedgeFactory = hedgeServer.createConnectionFactory( HEDGE_HOST , TIMEOUT ) ;
+        // 预先建立共享连接，连接耗时不计入对冲的等待时间
+        primaryFactory.getSharedNativeConnection().sync().ping() ;
+        hedgeFactory.getSharedNativeConnection().sync().ping() ;
+    }
+
+    @After
+    public void tearDown(){
+        primaryFactory.destroy() ;
+        hedgeFactory.destroy() ;
+        primaryServer.close() ;
+        hedgeServer.close() ;
+    }
+
+    @Test
+    public void hedgesAreLimitedByBudget(){
+        double budget = 0.1 ;
+        AppRedisHedgedRead hedgedRead = create( budget ) ;
+        warmUp( hedgedRead ) ;
+        long hedges = hedgedRead.getHedgeCount() ;
+        long exhausted = hedgedRead.getBudgetExhaustedCount() ;
+        long wins = hedgedRead.getHedgeWinCount() ;
+
+        for (int i = 0; i < SLOW_READS; i++) {
+            assertEquals( "value" + i , read( hedgedRead , "slow" + i ) ) ;
+        }
+
+        long slowHedges = hedgedRead.getHedgeCount() - hedges ;
+        long slowExhausted = hedgedRead.getBudgetExhaustedCount() - exhausted ;
+        // 每次超过等待时间的读命令要么对冲，要么记录一次预算不足
+        assertEquals( SLOW_READS , slowHedges + slowExhausted ) ;
+        // 对冲次数不超过积累的预算上限加上这些读命令积累的预算
+        assertTrue( "对冲次数:" + slowHedges , slowHedges >= 1 &&
+                slowHedges <= MAX_BURST + (long) Math.ceil( SLOW_READS * budget ) ) ;
+        assertTrue( "预算不足次数:" + slowExhausted , slowExhausted >= 1 ) ;
+        // 对冲主机没有延迟，每次对冲都先返回
+        assertEquals( slowHedges , hedgedRead.getHedgeWinCount() - wins ) ;
+    }
+
+    @Test
+    public void zeroBudgetNeverHedges(){
+        AppRedisHedgedRead hedgedRead = create( 0 ) ;
+        warmUp( hedgedRead ) ;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals( "value" + i , read( hedgedRead , "slow" + i ) ) ;
+        }
+
+        assertEquals( 0 , hedgedRead.getHedgeCount() ) ;
+        assertEquals( 0 , hedgeServer.getCommandCount() ) ;
+        assertTrue( hedgedRead.getBudgetExhaustedCount() >= 3 ) ;
+    }
+
+    private AppRedisHedgedRead create(double budget){
+        AppRedisHedgedReadConfig config = new AppRedisHedgedReadConfig() ;
+        config.setEnabled( true ) ;
+        config.setPercentile( 50 ) ;
+        config.setMinDelay( Duration.ofMillis( 20 ) ) ;
+        config.setBudget( budget ) ;
+        config.setRefreshInterval( Duration.ofMillis( 1 ) ) ;
+        AppRedisRoutingTable routingTable = AppRedisRoutingTable.of( Arrays.asList( primaryFactory , hedgeFactory ) ) ;
+        return new AppRedisHedgedRead( config , new AppRedisRoundRobinRule( () -> routingTable ) , TIMEOUT ) ;
+    }
+
+    /**
+     * 在首选主机上积累耗时样本，使等待时间生效，同时积累预算
+     * @param hedgedRead
+     */
+    private void warmUp(AppRedisHedgedRead hedgedRead){
+        for (int i = 0; i < WARM_UP_READS; i++) {
+            assertEquals( "value" , read( hedgedRead , "fast" ) ) ;
+        }
+    }
+
+    private String read(AppRedisHedgedRead hedgedRead , String key){
+        byte[] keyBytes = key.getBytes( StandardCharsets.UTF_8 ) ;
+        byte[] value = hedgedRead.execute( primaryFactory , AppRedisCommandFamily.STRING , "get" , keyBytes ,
+                commands -> commands.get( keyBytes ) ) ;
+        return value==null ? null : new String( value , StandardCharsets.UTF_8 ) ;
+    }
+
+}
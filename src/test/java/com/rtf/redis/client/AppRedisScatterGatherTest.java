@@ -0,0 +1,170 @@
+package com.rtf.redis.client;
+
+import com.rtf.redis.client.lb.AppRedisRoundRobinRule;
+import com.rtf.redis.client.lb.AppRedisRoutingTable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * 并行拆分执行的测试，结果按参数顺序返回，慢主机上的分片在其他主机上重试
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisScatterGatherTest {
+
+    private static final String FAST_HOST = "127.0.0.1" ;
+
+    private static final String SLOW_HOST = "127.0.0.2" ;
+
+    private static final Duration TIMEOUT = Duration.ofMillis( 200 ) ;
+
+    private static final int KEYS = 10 ;
+
+    private RespServer fastServer ;
+
+    private RespServer slowServer ;
+
+    private AppRedisConnectionFactory fastFactory ;
+
+    private AppRedisConnectionFactory slowFactory ;
+
+    @Before
+    public void setUp() throws Exception {
+        fastServer = RespServer.start( FAST_HOST ) ;
+        slowServer = RespServer.start( SLOW_HOST ) ;
+        for (int i = 0; i < KEYS; i++) {
+            fastServer.put( "key" + i , "value" + i ) ;
+            slowServer.put( "key" + i , "value" + i ) ;
+        }
+        fastFactory = fastServer.createConnectionFactory( FAST_HOST , TIMEOUT ) ;
+        slowFactory = slowServer.createConnectionFactory( SLOW_HOST , TIMEOUT ) ;
+        // 预先建立共享连接，连接耗时不计入分片的超时时间
+        fastFactory.getSharedNativeConnection().sync().ping() ;
+        slowFactory.getSharedNativeConnection().sync().ping() ;
+    }
+
+    @After
+    public void tearDown(){
+        fastFactory.destroy() ;
+        slowFactory.destroy() ;
+        fastServer.close() ;
+        slowServer.close() ;
+    }
+
+    @Test
+    public void isScattered(){
+        AppRedisScatterGather scatterGather = create( config( 1 ) ) ;
+
+        assertFalse( scatterGather.isScattered( 3 ) ) ;
+        assertTrue( scatterGather.isScattered( 4 ) ) ;
+
+        AppRedisScatterGatherConfig config = config( 1 ) ;
+        config.setMinKeys( 100 ) ;
+        assertFalse( create( config ).isScattered( 99 ) ) ;
+        assertTrue( create( config ).isScattered( 100 ) ) ;
+    }
+
+    @Test
+    public void mGetKeepsArgumentOrder(){
+        AppRedisScatterGather scatterGather = create( config( 1 ) ) ;
+        // 不存在的key和重复的key按参数的位置返回
+        byte[][] keys = keys( "key9" , "missing" , "key0" , "key5" , "key5" , "key3" , "key8" , "key1" ) ;
+
+        List<byte[]> values = scatterGather.mGet( keys ) ;
+
+        assertEquals( Arrays.asList( "value9" , null , "value0" , "value5" , "value5" , "value3" , "value8" , "value1" ) ,
+                strings( values ) ) ;
+        assertEquals( 3 , scatterGather.getChunkCount() ) ;
+        assertEquals( 0 , scatterGather.getRetryCount() ) ;
+    }
+
+    @Test
+    public void mSetAndDelCoverAllChunks(){
+        AppRedisScatterGather scatterGather = create( config( 1 ) ) ;
+        Map<byte[],byte[]> tuple = new LinkedHashMap<>() ;
+        for (int i = 0; i < KEYS; i++) {
+            tuple.put( ( "new" + i ).getBytes( StandardCharsets.UTF_8 ) , ( "new-value" + i ).getBytes( StandardCharsets.UTF_8 ) ) ;
+        }
+
+        assertTrue( scatterGather.mSet( tuple ) ) ;
+        for (int i = 0; i < KEYS; i++) {
+            String value = fastServer.get( "new" + i ) ;
+            assertEquals( "new-value" + i , value!=null ? value : slowServer.get( "new" + i ) ) ;
+        }
+
+        // 两个主机都保存了key0到key9，每个分片在一个主机上删除
+        assertEquals( Long.valueOf( KEYS ) , scatterGather.del( keys( "key0" , "key1" , "key2" , "key3" , "key4" ,
+                "key5" , "key6" , "key7" , "key8" , "key9" , "missing" ) ) ) ;
+    }
+
+    @Test
+    public void retriesTimedOutChunkOnAnotherHost(){
+        slowServer.setDelay( "MGET" , TIMEOUT.toMillis() * 5 ) ;
+        AppRedisScatterGather scatterGather = create( config( 1 ) ) ;
+        byte[][] keys = keys( "key0" , "key1" , "key2" , "key3" , "key4" , "key5" , "key6" , "key7" , "key8" , "key9" ) ;
+
+        List<byte[]> values = scatterGather.mGet( keys ) ;
+
+        assertEquals( Arrays.asList( "value0" , "value1" , "value2" , "value3" , "value4" ,
+                "value5" , "value6" , "value7" , "value8" , "value9" ) , strings( values ) ) ;
+        // 4个分片轮流发送到两个主机，慢主机上的2个分片各重试一次
+        assertEquals( 4 , scatterGather.getChunkCount() ) ;
+        assertEquals( 2 , scatterGather.getRetryCount() ) ;
+    }
+
+    @Test
+    public void failsWhenRetriesAreExhausted(){
+        slowServer.setDelay( "MGET" , TIMEOUT.toMillis() * 5 ) ;
+        AppRedisScatterGather scatterGather = create( config( 0 ) ) ;
+
+        try{
+            scatterGather.mGet( keys( "key0" , "key1" , "key2" , "key3" , "key4" , "key5" ) ) ;
+            fail( "慢主机上的分片没有重试次数时应该超时" ) ;
+        }catch( QueryTimeoutException e ){
+            assertEquals( 0 , scatterGather.getRetryCount() ) ;
+        }
+    }
+
+    private AppRedisScatterGatherConfig config(int maxRetries){
+        AppRedisScatterGatherConfig config = new AppRedisScatterGatherConfig() ;
+        config.setEnabled( true ) ;
+        config.setMinKeys( 1 ) ;
+        config.setChunkSize( 3 ) ;
+        config.setMaxRetries( maxRetries ) ;
+        return config ;
+    }
+
+    private AppRedisScatterGather create(AppRedisScatterGatherConfig config){
+        AppRedisRoutingTable routingTable = AppRedisRoutingTable.of( Arrays.asList( fastFactory , slowFactory ) ) ;
+        return new AppRedisScatterGather( config , new AppRedisRoundRobinRule( () -> routingTable ) , TIMEOUT ) ;
+    }
+
+    private static byte[][] keys(String... keys){
+        byte[][] result = new byte[ keys.length ][] ;
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = keys[i].getBytes( StandardCharsets.UTF_8 ) ;
+        }
+        return result ;
+    }
+
+    private static List<String> strings(List<byte[]> values){
+        String[] result = new String[ values.size() ] ;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get( i )==null ? null : new String( values.get( i ) , StandardCharsets.UTF_8 ) ;
+        }
+        return Arrays.asList( result ) ;
+    }
+
+}
@@ -0,0 +1,629 @@
+package com.rtf.redis.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内的RESP协议服务端，用于在没有redis服务的机器上执行单元测试和基准测试，
+ * 基准测试模块通过根模块的test-jar使用该类。
+ * 只实现测试用到的少量命令，数据保存在内存中，所有连接共享同一份数据。
+ * 可以为命令设置延迟模拟慢主机，延迟超过客户端超时时间时相当于主机无响应。
+ * 主机统计和断路器按主机名区分，127.0.0.1、127.0.0.2等回环地址可以模拟多个代理节点。
+ * 支持RESP2转发模式的CLIENT TRACKING BCAST，一条写命令修改的所有key在一条__redis__:invalidate消息中发送。
+ * 支持MULTI、EXEC和DISCARD，事务中的命令在EXEC时依次执行。
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+@Slf4j
+public class RespServer implements Closeable {
+
+    private static final byte[] OK = "+OK\r\n".getBytes( StandardCharsets.US_ASCII ) ;
+
+    private static final byte[] PONG = "+PONG\r\n".getBytes( StandardCharsets.US_ASCII ) ;
+
+    private static final byte[] QUEUED = "+QUEUED\r\n".getBytes( StandardCharsets.US_ASCII ) ;
+
+    private static final byte[] NULL_BULK = "$-1\r\n".getBytes( StandardCharsets.US_ASCII ) ;
+
+    private static final byte[] CRLF = "\r\n".getBytes( StandardCharsets.US_ASCII ) ;
+
+    private static final byte[] MESSAGE = "message".getBytes( StandardCharsets.US_ASCII ) ;
+
+    private static final byte[] INVALIDATE_CHANNEL = "__redis__:invalidate".getBytes( StandardCharsets.US_ASCII ) ;
+
+    private final ServerSocket serverSocket ;
+
+    private final Map<ByteBuffer,byte[]> data = new ConcurrentHashMap<>() ;
+
+    /**
+     * 命令的延迟，key为大写的命令名称，单位毫秒
+     */
+    private final Map<String,Long> delays = new ConcurrentHashMap<>() ;
+
+    /**
+     * 带有该前缀的key的GET命令延迟，单位毫秒
+     */
+    private volatile byte[] slowKeyPrefix ;
+
+    private volatile long slowKeyDelayMillis ;
+
+    private final List<Socket> sockets = new CopyOnWriteArrayList<>() ;
+
+    /**
+     * 所有连接，key为CLIENT ID返回的连接id
+     */
+    private final Map<Long,Client> clients = new ConcurrentHashMap<>() ;
+
+    private final AtomicLong clientIds = new AtomicLong(0) ;
+
+    /**
+     * 是否有连接开启了跟踪，未开启时写命令不查找需要通知的连接
+     */
+    private volatile boolean tracking = false ;
+
+    private final AtomicInteger connectionCount = new AtomicInteger(0) ;
+
+    private final LongAdder commandCount = new LongAdder() ;
+
+    private volatile boolean closed = false ;
+
+    /**
+     * 启动监听所有网卡地址的服务端
+     * @param port 端口，0表示随机端口
+     * @return
+     * @throws IOException
+     */
+    public static RespServer start(int port) throws IOException {
+        return start( new InetSocketAddress( port ) ) ;
+    }
+
+    /**
+     * 在指定的地址上启动服务端，使用随机端口
+     * @param host
+     * @return
+     * @throws IOException
+     */
+    public static RespServer start(String host) throws IOException {
+        return start( new InetSocketAddress( InetAddress.getByName( host ) , 0 ) ) ;
+    }
+
+    private static RespServer start(InetSocketAddress address) throws IOException {
+        RespServer respServer = new RespServer( address ) ;
+        Thread acceptor = new Thread( respServer::accept , "RespServer-accept" ) ;
+        acceptor.setDaemon( true ) ;
+        acceptor.start() ;
+        return respServer ;
+    }
+
+    private RespServer(InetSocketAddress address) throws IOException {
+        serverSocket = new ServerSocket() ;
+        serverSocket.setReuseAddress( true ) ;
+        serverSocket.bind( address ) ;
+    }
+
+    public int getPort(){
+        return serverSocket.getLocalPort() ;
+    }
+
+    /**
+     * 预先写入数据
+     * @param key
+     * @param value
+     */
+    public void put(byte[] key , byte[] value){
+        data.put( ByteBuffer.wrap( key.clone() ) , value.clone() ) ;
+    }
+
+    public void put(String key , String value){
+        put( key.getBytes( StandardCharsets.UTF_8 ) , value.getBytes( StandardCharsets.UTF_8 ) ) ;
+    }
+
+    public String get(String key){
+        byte[] value = data.get( ByteBuffer.wrap( key.getBytes( StandardCharsets.UTF_8 ) ) ) ;
+        return value==null ? null : new String( value , StandardCharsets.UTF_8 ) ;
+    }
+
+    /**
+     * 设置命令的延迟
+     * @param command 命令名称
+     * @param delayMillis 延迟，单位毫秒
+     */
+    public void setDelay(String command , long delayMillis){
+        delays.put( command.toUpperCase() , delayMillis ) ;
+    }
+
+    /**
+     * 设置带有指定前缀的key的GET命令延迟
+     * @param prefix
+     * @param delayMillis 延迟，单位毫秒
+     */
+    public void setSlowKey(String prefix , long delayMillis){
+        this.slowKeyDelayMillis = delayMillis ;
+        this.slowKeyPrefix = prefix.getBytes( StandardCharsets.UTF_8 ) ;
+    }
+
+    /**
+     * 获取收到的数据命令数，不包括PING等连接命令
+     * @return
+     */
+    public long getCommandCount(){
+        return commandCount.sum() ;
+    }
+
+    /**
+     * 创建连接该服务端的连接工厂
+     * @param host 服务端监听的地址
+     * @param timeout 命令超时时间
+     * @return
+     */
+    public AppRedisConnectionFactory createConnectionFactory(String host , Duration timeout){
+        AppRedisConnectionFactory connectionFactory = new AppRedisConnectionFactory( "redis" ,
+                new RedisStandaloneConfiguration( host , getPort() ) ,
+                LettuceClientConfiguration.builder().commandTimeout( timeout ).build() ) ;
+        connectionFactory.afterPropertiesSet() ;
+        return connectionFactory ;
+    }
+
+    private void accept(){
+        while( !closed ){
+            try{
+                Socket socket = serverSocket.accept() ;
+                socket.setTcpNoDelay( true ) ;
+                sockets.add( socket ) ;
+                Thread worker = new Thread( () -> serve( socket ) , "RespServer-" + connectionCount.incrementAndGet() ) ;
+                worker.setDaemon( true ) ;
+                worker.start() ;
+            }catch( IOException e ){
+                if( !closed ){
+                    log.error( "RESP服务端接收连接异常" , e ) ;
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket){
+        Client client = null ;
+        try( InputStream in = new BufferedInputStream( socket.getInputStream() , 16 * 1024 ) ;
+             OutputStream out = new BufferedOutputStream( socket.getOutputStream() , 16 * 1024 ) ){
+            client = new Client( clientIds.incrementAndGet() , out ) ;
+            clients.put( client.id , client ) ;
+            while( !closed ){
+                byte[][] command = readCommand( in ) ;
+                if( command==null ){
+                    break;
+                }
+                boolean proceed ;
+                // 失效通知由其他连接的线程写入，写入和刷新需要互斥
+                synchronized ( out ){
+                    proceed = execute( client , command ) ;
+                    // 管道中的命令全部处理后再刷新
+                    if( !proceed || in.available() < 1 ){
+                        out.flush() ;
+                    }
+                }
+                // 释放本连接的锁之后再通知，避免两个连接互相等待
+                if( client.modified!=null ){
+                    publishInvalidation( client.modified ) ;
+                    client.modified = null ;
+                }
+                if( !proceed ){
+                    break;
+                }
+            }
+        }catch( IOException e ){
+            log.debug( "RESP连接关闭 : {}" , e.getMessage() ) ;
+        }catch( InterruptedException e ){
+            Thread.currentThread().interrupt() ;
+        }finally {
+            if( client!=null ){
+                clients.remove( client.id ) ;
+            }
+            sockets.remove( socket ) ;
+            try{
+                socket.close() ;
+            }catch( IOException e ){
+                log.debug( "RESP连接关闭异常 : {}" , e.getMessage() ) ;
+            }
+        }
+    }
+
+    /**
+     * 执行命令
+     * @param client
+     * @param command
+     * @return 是否继续处理该连接的命令
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    private boolean execute(Client client , byte[][] command) throws IOException, InterruptedException {
+        OutputStream out = client.out ;
+        String name = new String( command[0] , StandardCharsets.US_ASCII ).toUpperCase() ;
+        if( client.transaction!=null && !"EXEC".equals( name ) && !"DISCARD".equals( name ) ){
+            client.transaction.add( command ) ;
+            out.write( QUEUED ) ;
+            return true ;
+        }
+        switch ( name ){
+            case "MULTI":
+                client.transaction = new ArrayList<>() ;
+                out.write( OK ) ;
+                return true ;
+            case "EXEC":
+                List<byte[][]> queued = client.transaction ;
+                client.transaction = null ;
+                if( queued==null ){
+                    out.write( "-ERR EXEC without MULTI\r\n".getBytes( StandardCharsets.US_ASCII ) ) ;
+                    return true ;
+                }
+                writeArrayHeader( out , queued.size() ) ;
+                for (byte[][] queuedCommand : queued) {
+                    execute( client , queuedCommand ) ;
+                }
+                return true ;
+            case "DISCARD":
+                client.transaction = null ;
+                out.write( OK ) ;
+                return true ;
+            case "PING":
+                if( command.length > 1 ){
+                    writeBulk( out , command[1] ) ;
+                }else{
+                    out.write( PONG ) ;
+                }
+                return true ;
+            case "SELECT":
+            case "AUTH":
+                out.write( OK ) ;
+                return true ;
+            case "CLIENT":
+                client( client , command ) ;
+                return true ;
+            case "SUBSCRIBE":
+                for (int i = 1; i < command.length; i++) {
+                    writeArrayHeader( out , 3 ) ;
+                    writeBulk( out , "subscribe".getBytes( StandardCharsets.US_ASCII ) ) ;
+                    writeBulk( out , command[i] ) ;
+                    writeInteger( out , i ) ;
+                }
+                return true ;
+            case "QUIT":
+                out.write( OK ) ;
+                return false ;
+            default:
+                break;
+        }
+        commandCount.increment() ;
+        if( !delays.isEmpty() ){
+            Long delay = delays.get( name ) ;
+            if( delay!=null ){
+                Thread.sleep( delay ) ;
+            }
+        }
+        switch ( name ){
+            case "ECHO":
+                writeBulk( out , command[1] ) ;
+                return true ;
+            case "GET":
+                if( isSlowKey( command[1] ) ){
+                    Thread.sleep( slowKeyDelayMillis ) ;
+                }
+                writeBulk( out , data.get( ByteBuffer.wrap( command[1] ) ) ) ;
+                return true ;
+            case "SET":
+                data.put( ByteBuffer.wrap( command[1] ) , command[2] ) ;
+                modified( client , command[1] ) ;
+                out.write( OK ) ;
+                return true ;
+            case "DEL":
+                int deleted = 0 ;
+                for (int i = 1; i < command.length; i++) {
+                    if( data.remove( ByteBuffer.wrap( command[i] ) )!=null ){
+                        deleted++ ;
+                        modified( client , command[i] ) ;
+                    }
+                }
+                writeInteger( out , deleted ) ;
+                return true ;
+            case "FLUSHDB":
+            case "FLUSHALL":
+                data.clear() ;
+                // 清空数据的失效通知没有key
+                if( tracking ){
+                    client.modified = new ArrayList<>() ;
+                }
+                out.write( OK ) ;
+                return true ;
+            case "EXISTS":
+                writeInteger( out , data.containsKey( ByteBuffer.wrap( command[1] ) ) ? 1 : 0 ) ;
+                return true ;
+            case "MGET":
+                writeArrayHeader( out , command.length - 1 ) ;
+                for (int i = 1; i < command.length; i++) {
+                    writeBulk( out , data.get( ByteBuffer.wrap( command[i] ) ) ) ;
+                }
+                return true ;
+            case "MSET":
+                for (int i = 1; i + 1 < command.length; i += 2) {
+                    data.put( ByteBuffer.wrap( command[i] ) , command[ i + 1 ] ) ;
+                    modified( client , command[i] ) ;
+                }
+                out.write( OK ) ;
+                return true ;
+            default:
+                out.write( ( "-ERR unknown command '" + name + "'\r\n" ).getBytes( StandardCharsets.UTF_8 ) ) ;
+                return true ;
+        }
+    }
+
+    /**
+     * CLIENT ID返回连接id；CLIENT TRACKING on REDIRECT id BCAST [PREFIX prefix ...]开启转发模式的跟踪；其他子命令直接返回OK
+     * @param client
+     * @param command
+     * @throws IOException
+     */
+    private void client(Client client , byte[][] command) throws IOException {
+        String subcommand = command.length > 1 ? new String( command[1] , StandardCharsets.US_ASCII ).toUpperCase() : "" ;
+        if( "ID".equals( subcommand ) ){
+            writeInteger( client.out , client.id ) ;
+            return;
+        }
+        if( !"TRACKING".equals( subcommand ) ){
+            client.out.write( OK ) ;
+            return;
+        }
+        long redirect = 0 ;
+        List<byte[]> prefixes = new ArrayList<>() ;
+        for (int i = 3; i + 1 < command.length; i++) {
+            String option = new String( command[i] , StandardCharsets.US_ASCII ).toUpperCase() ;
+            if( "REDIRECT".equals( option ) ){
+                redirect = Long.parseLong( new String( command[ ++i ] , StandardCharsets.US_ASCII ) ) ;
+            }else if( "PREFIX".equals( option ) ){
+                prefixes.add( command[ ++i ] ) ;
+            }
+        }
+        if( command.length > 2 && "ON".equalsIgnoreCase( new String( command[2] , StandardCharsets.US_ASCII ) ) ){
+            client.prefixes = prefixes.toArray( new byte[0][] ) ;
+            client.redirect = redirect ;
+            tracking = true ;
+        }else{
+            client.redirect = 0 ;
+        }
+        client.out.write( OK ) ;
+    }
+
+    /**
+     * 记录写命令修改的key，命令执行后统一通知
+     * @param client
+     * @param key
+     */
+    private void modified(Client client , byte[] key){
+        if( !tracking ){
+            return;
+        }
+        if( client.modified==null ){
+            client.modified = new ArrayList<>() ;
+        }
+        client.modified.add( key ) ;
+    }
+
+    /**
+     * 向开启跟踪的连接指定的转发连接发送失效通知，keys为空时表示清空了数据
+     * @param keys
+     */
+    private void publishInvalidation(List<byte[]> keys){
+        for (Client client : clients.values()) {
+            Client target = client.redirect > 0 ? clients.get( client.redirect ) : null ;
+            if( target==null ){
+                continue;
+            }
+            List<byte[]> matched = new ArrayList<>() ;
+            for (byte[] key : keys) {
+                if( client.prefixes.length < 1 || startsWith( key , client.prefixes ) ){
+                    matched.add( key ) ;
+                }
+            }
+            if( !keys.isEmpty() && matched.isEmpty() ){
+                continue;
+            }
+            try{
+                synchronized ( target.out ){
+                    writeArrayHeader( target.out , 3 ) ;
+                    writeBulk( target.out , MESSAGE ) ;
+                    writeBulk( target.out , INVALIDATE_CHANNEL ) ;
+                    if( matched.isEmpty() ){
+                        writeBulk( target.out , null ) ;
+                    }else{
+                        writeArrayHeader( target.out , matched.size() ) ;
+                        for (byte[] key : matched) {
+                            writeBulk( target.out , key ) ;
+                        }
+                    }
+                    target.out.flush() ;
+                }
+            }catch( IOException e ){
+                log.debug( "RESP失效通知发送失败 : {}" , e.getMessage() ) ;
+            }
+        }
+    }
+
+    private static boolean startsWith(byte[] key , byte[][] prefixes){
+        for (byte[] prefix : prefixes) {
+            if( startsWith( key , prefix ) ){
+                return true ;
+            }
+        }
+        return false ;
+    }
+
+    private static boolean startsWith(byte[] key , byte[] prefix){
+        if( key.length<prefix.length ){
+            return false ;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if( key[i]!=prefix[i] ){
+                return false ;
+            }
+        }
+        return true ;
+    }
+
+    private boolean isSlowKey(byte[] key){
+        byte[] prefix = slowKeyPrefix ;
+        return prefix!=null && startsWith( key , prefix ) ;
+    }
+
+    /**
+     * 读取一条命令，客户端发送的命令都是bulk string数组
+     * @param in
+     * @return 连接关闭时返回null
+     * @throws IOException
+     */
+    private static byte[][] readCommand(InputStream in) throws IOException {
+        int type = in.read() ;
+        if( type < 0 ){
+            return null ;
+        }
+        if( type!='*' ){
+            throw new IOException( "不支持的RESP类型 : " + (char) type ) ;
+        }
+        int size = (int) readLong( in ) ;
+        byte[][] command = new byte[ size ][] ;
+        for (int i = 0; i < size; i++) {
+            if( in.read()!='$' ){
+                throw new IOException( "命令参数必须是bulk string" ) ;
+            }
+            byte[] arg = new byte[ (int) readLong( in ) ] ;
+            int offset = 0 ;
+            while( offset < arg.length ){
+                int read = in.read( arg , offset , arg.length - offset ) ;
+                if( read < 0 ){
+                    throw new EOFException() ;
+                }
+                offset += read ;
+            }
+            // 跳过\r\n
+            in.read() ;
+            in.read() ;
+            command[i] = arg ;
+        }
+        return command ;
+    }
+
+    private static long readLong(InputStream in) throws IOException {
+        long value = 0 ;
+        boolean negative = false ;
+        int b ;
+        while( ( b = in.read() )!='\r' ){
+            if( b < 0 ){
+                throw new EOFException() ;
+            }
+            if( b=='-' ){
+                negative = true ;
+            }else{
+                value = value * 10 + ( b - '0' ) ;
+            }
+        }
+        // 跳过\n
+        in.read() ;
+        return negative ? -value : value ;
+    }
+
+    private static void writeBulk(OutputStream out , byte[] value) throws IOException {
+        if( value==null ){
+            out.write( NULL_BULK ) ;
+            return;
+        }
+        out.write( '$' ) ;
+        out.write( Integer.toString( value.length ).getBytes( StandardCharsets.US_ASCII ) ) ;
+        out.write( CRLF ) ;
+        out.write( value ) ;
+        out.write( CRLF ) ;
+    }
+
+    private static void writeInteger(OutputStream out , long value) throws IOException {
+        out.write( ':' ) ;
+        out.write( Long.toString( value ).getBytes( StandardCharsets.US_ASCII ) ) ;
+        out.write( CRLF ) ;
+    }
+
+    private static void writeArrayHeader(OutputStream out , int size) throws IOException {
+        out.write( '*' ) ;
+        out.write( Integer.toString( size ).getBytes( StandardCharsets.US_ASCII ) ) ;
+        out.write( CRLF ) ;
+    }
+
+    /**
+     * 服务端的连接
+     */
+    private static final class Client {
+
+        private final long id ;
+
+        private final OutputStream out ;
+
+        /**
+         * 开启跟踪时接收失效通知的连接id，0表示未开启跟踪
+         */
+        private volatile long redirect = 0 ;
+
+        private volatile byte[][] prefixes = new byte[0][] ;
+
+        /**
+         * 当前命令修改的key，只由该连接的线程访问
+         */
+        private List<byte[]> modified ;
+
+        /**
+         * MULTI之后排队的命令，未开启事务时为空，只由该连接的线程访问
+         */
+        private List<byte[][]> transaction ;
+
+        Client(long id , OutputStream out){
+            this.id = id ;
+            this.out = out ;
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true ;
+        try{
+            serverSocket.close() ;
+        }catch( IOException e ){
+            log.debug( "RESP服务端关闭异常 : {}" , e.getMessage() ) ;
+        }
+        for (Socket socket : sockets) {
+            try{
+                socket.close() ;
+            }catch( IOException e ){
+                log.debug( "RESP连接关闭异常 : {}" , e.getMessage() ) ;
+            }
+        }
+    }
+
+}
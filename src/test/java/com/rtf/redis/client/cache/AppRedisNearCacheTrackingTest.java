@@ -0,0 +1,144 @@
+package com.rtf.redis.client.cache;
+
+import com.rtf.redis.client.AppRedisConnectionFactory;
+import com.rtf.redis.client.RespServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * 本地缓存失效通知测试，其他客户端修改key后本地缓存失效，一条通知包含多个key时全部失效
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisNearCacheTrackingTest {
+
+    private static final String HOST = "127.0.0.5" ;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 2 ) ;
+
+    private RespServer server ;
+
+    private AppRedisConnectionFactory cachingFactory ;
+
+    private AppRedisConnectionFactory writerFactory ;
+
+    @Before
+    public void setUp() throws Exception {
+        server = RespServer.start( HOST ) ;
+        for (int i = 1; i <= 3; i++) {
+            server.put( "user:" + i , "v" + i ) ;
+        }
+        AppRedisNearCacheConfig nearCacheConfig = new AppRedisNearCacheConfig() ;
+        nearCacheConfig.setEnabled( true ) ;
+        nearCacheConfig.setDefaultTtl( Duration.ofMinutes( 1 ) ) ;
+        cachingFactory = new AppRedisConnectionFactory( "redis" , new RedisStandaloneConfiguration( HOST , server.getPort() ) ,
+                LettuceClientConfiguration.builder().commandTimeout( TIMEOUT ).build() ) ;
+        cachingFactory.setNearCacheConfig( nearCacheConfig ) ;
+        cachingFactory.afterPropertiesSet() ;
+        // 其他客户端，没有本地缓存
+        writerFactory = server.createConnectionFactory( HOST , TIMEOUT ) ;
+
+        assertTrue( "失效通知未开启" , await( () -> cachingFactory.getNearCacheTracking().isTracking() ) ) ;
+    }
+
+    @After
+    public void tearDown(){
+        writerFactory.destroy() ;
+        cachingFactory.destroy() ;
+        server.close() ;
+    }
+
+    @Test
+    public void multiKeyWriteInvalidatesEveryKey(){
+        cacheAll() ;
+
+        Map<byte[],byte[]> values = new LinkedHashMap<>() ;
+        values.put( bytes( "user:1" ) , bytes( "n1" ) ) ;
+        values.put( bytes( "user:2" ) , bytes( "n2" ) ) ;
+        RedisConnection connection = writerFactory.getConnection() ;
+        try{
+            connection.mSet( values ) ;
+        }finally {
+            connection.close() ;
+        }
+
+        AppRedisNearCache nearCache = cachingFactory.getNearCache() ;
+        assertTrue( "MSET的key未全部失效" ,
+                await( () -> nearCache.get( bytes( "user:1" ) )==null && nearCache.get( bytes( "user:2" ) )==null ) ) ;
+        assertNotNull( "未修改的key不应失效" , nearCache.get( bytes( "user:3" ) ) ) ;
+        RedisConnection cachingConnection = cachingFactory.getConnection() ;
+        try{
+            assertEquals( "n1" , string( cachingConnection.get( bytes( "user:1" ) ) ) ) ;
+            assertEquals( "n2" , string( cachingConnection.get( bytes( "user:2" ) ) ) ) ;
+        }finally {
+            cachingConnection.close() ;
+        }
+    }
+
+    @Test
+    public void flushInvalidatesAll(){
+        cacheAll() ;
+
+        RedisConnection connection = writerFactory.getConnection() ;
+        try{
+            connection.flushDb() ;
+        }finally {
+            connection.close() ;
+        }
+
+        AppRedisNearCache nearCache = cachingFactory.getNearCache() ;
+        assertTrue( "清空数据后本地缓存未失效" , await( () -> nearCache.size()==0 ) ) ;
+    }
+
+    private void cacheAll(){
+        RedisConnection connection = cachingFactory.getConnection() ;
+        try{
+            for (int i = 1; i <= 3; i++) {
+                assertEquals( "v" + i , string( connection.get( bytes( "user:" + i ) ) ) ) ;
+            }
+        }finally {
+            connection.close() ;
+        }
+        for (int i = 1; i <= 3; i++) {
+            assertNotNull( cachingFactory.getNearCache().get( bytes( "user:" + i ) ) ) ;
+        }
+    }
+
+    private static boolean await(BooleanSupplier condition){
+        long deadline = System.currentTimeMillis() + TIMEOUT.toMillis() ;
+        while( System.currentTimeMillis() < deadline ){
+            if( condition.getAsBoolean() ){
+                return true ;
+            }
+            try{
+                Thread.sleep( 10 ) ;
+            }catch( InterruptedException e ){
+                Thread.currentThread().interrupt() ;
+                return false ;
+            }
+        }
+        return condition.getAsBoolean() ;
+    }
+
+    private static byte[] bytes(String value){
+        return value.getBytes( StandardCharsets.UTF_8 ) ;
+    }
+
+    private static String string(byte[] value){
+        return value==null ? null : new String( value , StandardCharsets.UTF_8 ) ;
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.rtf.redis.client.codec;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * 压缩编解码的往返测试，包括开启压缩前写入的旧值和管道、事务结果的解压
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisCompressionCodecTest {
+
+    private AppRedisCompressionCodec codec ;
+
+    private byte[] large ;
+
+    @Before
+    public void setUp(){
+        AppRedisCompressionConfig config = new AppRedisCompressionConfig() ;
+        config.setEnabled( true ) ;
+        codec = AppRedisCompressionCodec.create( config , null ) ;
+
+        StringBuilder builder = new StringBuilder() ;
+        Random random = new Random( 1 ) ;
+        while( builder.length() < 64 * 1024 ){
+            builder.append( "{\"id\":" ).append( random.nextInt( 100000 ) )
+                    .append( ",\"name\":\"item" ).append( random.nextInt( 1000 ) ).append( "\"}," ) ;
+        }
+        large = builder.toString().getBytes( StandardCharsets.UTF_8 ) ;
+    }
+
+    @Test
+    public void createReturnsNullWhenDisabled(){
+        assertNull( AppRedisCompressionCodec.create( new AppRedisCompressionConfig() , null ) ) ;
+        assertNull( AppRedisCompressionCodec.create( null , null ) ) ;
+    }
+
+    @Test
+    public void encodeAndDecodeLargeValue(){
+        byte[] encoded = codec.encode( large ) ;
+
+        assertTrue( AppRedisCompressionCodec.isCompressed( encoded ) ) ;
+        assertTrue( encoded.length < large.length ) ;
+        assertArrayEquals( large , codec.decode( encoded ) ) ;
+        assertEquals( 1 , codec.getCompressedCount() ) ;
+        assertEquals( 1 , codec.getDecompressedCount() ) ;
+    }
+
+    @Test
+    public void smallAndIncompressibleValuesAreNotCompressed(){
+        byte[] small = "hello".getBytes( StandardCharsets.UTF_8 ) ;
+        byte[] random = new byte[ 16 * 1024 ] ;
+        new Random( 2 ).nextBytes( random ) ;
+
+        assertSame( small , codec.encode( small ) ) ;
+        assertSame( random , codec.encode( random ) ) ;
+        assertNull( codec.encode( null ) ) ;
+        assertEquals( 0 , codec.getCompressedCount() ) ;
+    }
+
+    @Test
+    public void legacyValuesAreReturnedAsIs(){
+        // 开启压缩前写入的值，包括以0开头的二进制值
+        byte[] legacy = Arrays.copyOf( large , large.length ) ;
+        byte[] binary = { 0x00 , 0x01 , 0x02 , 0x03 , 0x04 , 0x05 , 0x06 , 0x07 , 0x08 , 0x09 } ;
+
+        assertSame( legacy , codec.decode( legacy ) ) ;
+        assertSame( binary , codec.decode( binary ) ) ;
+        assertNull( codec.decode( null ) ) ;
+        assertEquals( 0 , codec.getDecompressedCount() ) ;
+    }
+
+    @Test
+    public void corruptedValuesAreReturnedAsIs(){
+        byte[] encoded = codec.encode( large ) ;
+        // 截断的压缩数据
+        byte[] truncated = Arrays.copyOf( encoded , AppRedisCompressionCodec.HEADER_LENGTH + 8 ) ;
+        // 未注册的算法编号
+        byte[] unknownCodec = Arrays.copyOf( encoded , encoded.length ) ;
+        unknownCodec[ AppRedisCompressionCodec.HEADER_LENGTH - 5 ] = (byte) 0xEE ;
+        // 超过最大压缩率的原值长度
+        byte[] hugeLength = Arrays.copyOf( encoded , AppRedisCompressionCodec.HEADER_LENGTH + 1 ) ;
+        hugeLength[ AppRedisCompressionCodec.HEADER_LENGTH - 4 ] = 0x7F ;
+
+        assertSame( truncated , codec.decode( truncated ) ) ;
+        assertSame( unknownCodec , codec.decode( unknownCodec ) ) ;
+        assertSame( hugeLength , codec.decode( hugeLength ) ) ;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void decodeResultDecodesNestedValues(){
+        byte[] encoded = codec.encode( large ) ;
+        byte[] small = "small".getBytes( StandardCharsets.UTF_8 ) ;
+        Map<byte[],byte[]> hash = new HashMap<>() ;
+        hash.put( "field".getBytes( StandardCharsets.UTF_8 ) , encoded ) ;
+        Set<byte[]> members = new LinkedHashSet<>() ;
+        members.add( encoded ) ;
+
+        List<Object> results = (List<Object>) codec.decodeResult( Arrays.asList(
+                encoded , small , null , 1L , Arrays.asList( encoded , null ) , members , hash ) ) ;
+
+        assertEquals( 7 , results.size() ) ;
+        assertArrayEquals( large , (byte[]) results.get( 0 ) ) ;
+        assertSame( small , results.get( 1 ) ) ;
+        assertNull( results.get( 2 ) ) ;
+        assertEquals( 1L , results.get( 3 ) ) ;
+        List<Object> list = (List<Object>) results.get( 4 ) ;
+        assertArrayEquals( large , (byte[]) list.get( 0 ) ) ;
+        assertNull( list.get( 1 ) ) ;
+        Set<Object> set = (Set<Object>) results.get( 5 ) ;
+        assertArrayEquals( large , (byte[]) set.iterator().next() ) ;
+        Map<Object,Object> map = (Map<Object,Object>) results.get( 6 ) ;
+        Map.Entry<Object,Object> entry = map.entrySet().iterator().next() ;
+        // map的key不解压
+        assertSame( hash.keySet().iterator().next() , entry.getKey() ) ;
+        assertArrayEquals( large , (byte[]) entry.getValue() ) ;
+    }
+
+    @Test
+    public void decodeResultKeepsScalars(){
+        assertNull( codec.decodeResult( null ) ) ;
+        assertEquals( "OK" , codec.decodeResult( "OK" ) ) ;
+        assertEquals( Boolean.TRUE , codec.decodeResult( Boolean.TRUE ) ) ;
+    }
+
+}
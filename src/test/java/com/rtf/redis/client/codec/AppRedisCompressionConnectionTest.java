@@ -0,0 +1,172 @@
+package com.rtf.redis.client.codec;
+
+import com.rtf.redis.client.AppRedisConnectionFactory;
+import com.rtf.redis.client.RespServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * 压缩连接的管道和事务测试，只解压读取命令的结果，其他命令返回的压缩格式数据原样返回
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisCompressionConnectionTest {
+
+    private static final String HOST = "127.0.0.6" ;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 2 ) ;
+
+    private static final byte[] KEY = bytes( "compressed" ) ;
+
+    private RespServer server ;
+
+    private AppRedisConnectionFactory connectionFactory ;
+
+    private AppRedisCompressionCodec codec ;
+
+    private byte[] large ;
+
+    private byte[] encoded ;
+
+    @Before
+    public void setUp() throws Exception {
+        server = RespServer.start( HOST ) ;
+        connectionFactory = server.createConnectionFactory( HOST , TIMEOUT ) ;
+        AppRedisCompressionConfig config = new AppRedisCompressionConfig() ;
+        config.setEnabled( true ) ;
+        codec = AppRedisCompressionCodec.create( config , null ) ;
+
+        StringBuilder builder = new StringBuilder() ;
+        Random random = new Random( 1 ) ;
+        while( builder.length() < 16 * 1024 ){
+            builder.append( "{\"id\":" ).append( random.nextInt( 100000 ) ).append( "}," ) ;
+        }
+        large = bytes( builder.toString() ) ;
+        encoded = codec.encode( large ) ;
+        assertTrue( AppRedisCompressionCodec.isCompressed( encoded ) ) ;
+        server.put( KEY , encoded ) ;
+    }
+
+    @After
+    public void tearDown(){
+        connectionFactory.destroy() ;
+        server.close() ;
+    }
+
+    @Test
+    public void pipelineDecodesOnlyValueCommands(){
+        RedisConnection connection = connect() ;
+        List<Object> results ;
+        try{
+            connection.openPipeline() ;
+            connection.echo( encoded ) ;
+            connection.get( KEY ) ;
+            connection.set( bytes( "other" ) , large ) ;
+            connection.mGet( KEY , bytes( "missing" ) ) ;
+            connection.echo( encoded ) ;
+            results = connection.closePipeline() ;
+        }finally {
+            connection.close() ;
+        }
+
+        assertEquals( 5 , results.size() ) ;
+        // 非读取命令的结果不解压
+        assertArrayEquals( encoded , (byte[]) results.get( 0 ) ) ;
+        assertArrayEquals( large , (byte[]) results.get( 1 ) ) ;
+        assertEquals( Boolean.TRUE , results.get( 2 ) ) ;
+        List<?> values = (List<?>) results.get( 3 ) ;
+        assertArrayEquals( large , (byte[]) values.get( 0 ) ) ;
+        assertNull( values.get( 1 ) ) ;
+        assertArrayEquals( encoded , (byte[]) results.get( 4 ) ) ;
+        // 写入的值已压缩
+        RedisConnection rawConnection = connectionFactory.getConnection() ;
+        try{
+            assertArrayEquals( encoded , rawConnection.get( bytes( "other" ) ) ) ;
+        }finally {
+            rawConnection.close() ;
+        }
+    }
+
+    @Test
+    public void transactionDecodesOnlyValueCommands(){
+        RedisConnection connection = connect() ;
+        List<Object> results ;
+        try{
+            connection.multi() ;
+            connection.echo( encoded ) ;
+            connection.get( KEY ) ;
+            results = connection.exec() ;
+        }finally {
+            connection.close() ;
+        }
+
+        assertEquals( 2 , results.size() ) ;
+        assertArrayEquals( encoded , (byte[]) results.get( 0 ) ) ;
+        assertArrayEquals( large , (byte[]) results.get( 1 ) ) ;
+    }
+
+    @Test
+    public void discardedTransactionIsNotTracked(){
+        RedisConnection connection = connect() ;
+        List<Object> results ;
+        try{
+            connection.multi() ;
+            connection.get( KEY ) ;
+            connection.discard() ;
+
+            connection.multi() ;
+            connection.echo( encoded ) ;
+            results = connection.exec() ;
+        }finally {
+            connection.close() ;
+        }
+
+        assertEquals( 1 , results.size() ) ;
+        assertArrayEquals( encoded , (byte[]) results.get( 0 ) ) ;
+    }
+
+    @Test
+    public void transactionInPipelineIsOneResult(){
+        RedisConnection connection = connect() ;
+        List<Object> results ;
+        try{
+            connection.openPipeline() ;
+            connection.echo( encoded ) ;
+            connection.multi() ;
+            connection.echo( encoded ) ;
+            connection.get( KEY ) ;
+            connection.exec() ;
+            connection.get( KEY ) ;
+            results = connection.closePipeline() ;
+        }finally {
+            connection.close() ;
+        }
+
+        assertEquals( 3 , results.size() ) ;
+        assertArrayEquals( encoded , (byte[]) results.get( 0 ) ) ;
+        List<?> transaction = (List<?>) results.get( 1 ) ;
+        assertEquals( 2 , transaction.size() ) ;
+        assertArrayEquals( encoded , (byte[]) transaction.get( 0 ) ) ;
+        assertArrayEquals( large , (byte[]) transaction.get( 1 ) ) ;
+        assertArrayEquals( large , (byte[]) results.get( 2 ) ) ;
+    }
+
+    private RedisConnection connect(){
+        return new AppRedisCompressionConnection( connectionFactory.getConnection() , codec ) ;
+    }
+
+    private static byte[] bytes(String value){
+        return value.getBytes( StandardCharsets.UTF_8 ) ;
+    }
+
+}
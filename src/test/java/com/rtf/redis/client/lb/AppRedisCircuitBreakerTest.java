@@ -0,0 +1,222 @@
+package com.rtf.redis.client.lb;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+
+/**
+ * 断路器状态转换测试：关闭、熔断、半开、恢复，连续熔断时长的增长和重置，以及健康检查对断路器的影响
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisCircuitBreakerTest {
+
+    private static final String HOST = "circuit-breaker-test-host" ;
+
+    private static final long WAIT_MILLIS = 200 ;
+
+    private static final int PERMITTED_CALLS = 3 ;
+
+    private AppRedisCircuitBreaker circuitBreaker ;
+
+    /**
+     * 首次熔断时日志加载日期格式化等类的耗时可能接近熔断时长，预先触发一次，避免第一个测试在断言前已进入半开状态
+     */
+    @BeforeClass
+    public static void warmUp(){
+        String host = HOST + "-warm-up" ;
+        AppRedisCircuitBreaker circuitBreaker = AppRedisCircuitBreaker.acquire( host , new AppRedisCircuitBreakerConfig() ) ;
+        try{
+            circuitBreaker.onHealthCheckFailure() ;
+        }finally {
+            AppRedisCircuitBreaker.release( host , circuitBreaker ) ;
+        }
+    }
+
+    @Before
+    public void setUp(){
+        AppRedisCircuitBreakerConfig config = new AppRedisCircuitBreakerConfig() ;
+        config.setSlidingWindowSize( 10 ) ;
+        config.setMinimumNumberOfCalls( 4 ) ;
+        config.setFailureRateThreshold( 50 ) ;
+        config.setPermittedCallsInHalfOpenState( PERMITTED_CALLS ) ;
+        config.setWaitDurationInOpenState( Duration.ofMillis( WAIT_MILLIS ) ) ;
+        config.setBackoffMultiplier( 2 ) ;
+        config.setMaxWaitDurationInOpenState( Duration.ofMillis( WAIT_MILLIS * 4 ) ) ;
+        circuitBreaker = AppRedisCircuitBreaker.acquire( HOST , config ) ;
+    }
+
+    @After
+    public void tearDown(){
+        AppRedisCircuitBreaker.release( HOST , circuitBreaker ) ;
+    }
+
+    @Test
+    public void opensWhenFailureRateReachesThreshold(){
+        circuitBreaker.onSuccess( 0 ) ;
+        circuitBreaker.onSuccess( 0 ) ;
+        circuitBreaker.onError( 0 ) ;
+        // 调用次数未达到最少调用次数
+        assertEquals( AppRedisCircuitBreaker.CLOSED , circuitBreaker.currentState() ) ;
+
+        circuitBreaker.onError( 0 ) ;
+
+        assertEquals( AppRedisCircuitBreaker.OPEN , circuitBreaker.currentState() ) ;
+        assertTrue( circuitBreaker.isCircuitBreakerTripped() ) ;
+        assertFalse( circuitBreaker.tryAcquirePermission() ) ;
+        assertEquals( 1 , circuitBreaker.getConsecutiveTrips().get() ) ;
+        assertEquals( WAIT_MILLIS , openDuration() ) ;
+    }
+
+    @Test
+    public void opensWhenSlowCallRateReachesThreshold(){
+        long slowNanos = circuitBreaker.getConfig().getSlowCallDurationThreshold().toNanos() ;
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onSuccess( slowNanos ) ;
+        }
+
+        assertEquals( AppRedisCircuitBreaker.OPEN , circuitBreaker.currentState() ) ;
+    }
+
+    @Test
+    public void halfOpenPermitsLimitedCallsAndClosesOnSuccess() throws InterruptedException {
+        trip() ;
+        Thread.sleep( WAIT_MILLIS + 20 ) ;
+
+        assertEquals( AppRedisCircuitBreaker.HALF_OPEN , circuitBreaker.currentState() ) ;
+        for (int i = 0; i < PERMITTED_CALLS; i++) {
+            assertTrue( circuitBreaker.tryAcquirePermission() ) ;
+        }
+        assertFalse( "试探调用次数用尽后不再放行" , circuitBreaker.tryAcquirePermission() ) ;
+        assertTrue( circuitBreaker.isCircuitBreakerTripped() ) ;
+
+        for (int i = 0; i < PERMITTED_CALLS; i++) {
+            circuitBreaker.onSuccess( 0 ) ;
+        }
+
+        assertEquals( AppRedisCircuitBreaker.CLOSED , circuitBreaker.currentState() ) ;
+        assertEquals( 0 , circuitBreaker.getConsecutiveTrips().get() ) ;
+        assertTrue( circuitBreaker.tryAcquirePermission() ) ;
+    }
+
+    @Test
+    public void halfOpenFailureReopensWithLongerDuration() throws InterruptedException {
+        trip() ;
+        assertEquals( WAIT_MILLIS , openDuration() ) ;
+
+        reopenFromHalfOpen() ;
+        assertEquals( 2 , circuitBreaker.getConsecutiveTrips().get() ) ;
+        assertEquals( WAIT_MILLIS * 2 , openDuration() ) ;
+
+        reopenFromHalfOpen() ;
+        assertEquals( WAIT_MILLIS * 4 , openDuration() ) ;
+
+        // 不超过最大熔断时长
+        reopenFromHalfOpen() ;
+        assertEquals( 4 , circuitBreaker.getConsecutiveTrips().get() ) ;
+        assertEquals( WAIT_MILLIS * 4 , openDuration() ) ;
+    }
+
+    @Test
+    public void recoveryResetsBackoff() throws InterruptedException {
+        trip() ;
+        reopenFromHalfOpen() ;
+        assertEquals( WAIT_MILLIS * 2 , openDuration() ) ;
+
+        closeFromHalfOpen() ;
+
+        trip() ;
+        assertEquals( 1 , circuitBreaker.getConsecutiveTrips().get() ) ;
+        assertEquals( WAIT_MILLIS , openDuration() ) ;
+    }
+
+    @Test
+    public void healthCheckFailureOpensWithoutEscalating() throws InterruptedException {
+        circuitBreaker.onHealthCheckFailure() ;
+
+        assertEquals( AppRedisCircuitBreaker.OPEN , circuitBreaker.currentState() ) ;
+        assertEquals( 0 , circuitBreaker.getConsecutiveTrips().get() ) ;
+        assertEquals( WAIT_MILLIS , openDuration() ) ;
+
+        closeFromHalfOpen() ;
+
+        trip() ;
+        reopenFromHalfOpen() ;
+        assertEquals( WAIT_MILLIS * 2 , openDuration() ) ;
+        Thread.sleep( openDuration() + 20 ) ;
+        assertEquals( AppRedisCircuitBreaker.HALF_OPEN , circuitBreaker.currentState() ) ;
+
+        // 半开状态下健康检查失败再次熔断，使用基础熔断时长，不增加连续熔断次数
+        circuitBreaker.onHealthCheckFailure() ;
+
+        assertEquals( AppRedisCircuitBreaker.OPEN , circuitBreaker.currentState() ) ;
+        assertEquals( 2 , circuitBreaker.getConsecutiveTrips().get() ) ;
+        assertEquals( WAIT_MILLIS , openDuration() ) ;
+    }
+
+    @Test
+    public void healthCheckSuccessHalfOpensAfterBaseDuration() throws InterruptedException {
+        trip() ;
+        reopenFromHalfOpen() ;
+        reopenFromHalfOpen() ;
+        assertEquals( WAIT_MILLIS * 4 , openDuration() ) ;
+
+        // 未超过基础熔断时长，健康检查成功不改变状态
+        circuitBreaker.onHealthCheckSuccess() ;
+        assertEquals( AppRedisCircuitBreaker.OPEN , circuitBreaker.currentState() ) ;
+
+        Thread.sleep( WAIT_MILLIS + 20 ) ;
+        circuitBreaker.onHealthCheckSuccess() ;
+
+        assertEquals( AppRedisCircuitBreaker.HALF_OPEN , circuitBreaker.currentState() ) ;
+        assertTrue( circuitBreaker.tryAcquirePermission() ) ;
+    }
+
+    /**
+     * 关闭状态下连续失败，触发熔断
+     */
+    private void trip(){
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onError( 0 ) ;
+        }
+        assertEquals( AppRedisCircuitBreaker.OPEN , circuitBreaker.currentState() ) ;
+    }
+
+    /**
+     * 等待熔断结束，半开状态的试探调用失败率达到阀值
+     */
+    private void reopenFromHalfOpen() throws InterruptedException {
+        Thread.sleep( openDuration() + 20 ) ;
+        assertEquals( AppRedisCircuitBreaker.HALF_OPEN , circuitBreaker.currentState() ) ;
+        assertTrue( circuitBreaker.tryAcquirePermission() ) ;
+        circuitBreaker.onError( 0 ) ;
+        // 3次试探调用中1次失败未达到50%
+        assertEquals( AppRedisCircuitBreaker.HALF_OPEN , circuitBreaker.currentState() ) ;
+        assertTrue( circuitBreaker.tryAcquirePermission() ) ;
+        circuitBreaker.onError( 0 ) ;
+        assertEquals( AppRedisCircuitBreaker.OPEN , circuitBreaker.currentState() ) ;
+    }
+
+    /**
+     * 等待熔断结束，半开状态的试探调用全部成功
+     */
+    private void closeFromHalfOpen() throws InterruptedException {
+        Thread.sleep( openDuration() + 20 ) ;
+        for (int i = 0; i < PERMITTED_CALLS; i++) {
+            assertTrue( circuitBreaker.tryAcquirePermission() ) ;
+            circuitBreaker.onSuccess( 0 ) ;
+        }
+        assertEquals( AppRedisCircuitBreaker.CLOSED , circuitBreaker.currentState() ) ;
+    }
+
+    private long openDuration(){
+        return circuitBreaker.getCircuitBreakerTimeout() - circuitBreaker.getLastCircuitBreakerTrippedTimestamp() ;
+    }
+
+}
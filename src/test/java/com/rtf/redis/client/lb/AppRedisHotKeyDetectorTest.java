@@ -0,0 +1,131 @@
+package com.rtf.redis.client.lb;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * 热点key检测测试：每个窗口只通知一次，已通知的热点继续更新计数，冷key不能挤出热点
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisHotKeyDetectorTest {
+
+    private static final byte[] HOT_KEY = bytes( "hot" ) ;
+
+    private AppRedisHotKeyDetector detector ;
+
+    private final List<String> notified = new CopyOnWriteArrayList<>() ;
+
+    @Before
+    public void setUp(){
+        detector = new AppRedisHotKeyDetector( "hot-key-test-host" ) ;
+        // 不采样，10秒窗口内计数20次相当于每秒1次
+        detector.setConfig( config( Duration.ofSeconds( 10 ) , 50 ) ) ;
+        detector.addListener( ( host , key , frequency ) -> notified.add( new String( key , StandardCharsets.UTF_8 ) ) ) ;
+    }
+
+    @Test
+    public void hotKeyIsNotifiedOnceAndKeepsCounting(){
+        record( HOT_KEY , 3000 ) ;
+
+        assertEquals( 1 , notified.size() ) ;
+        assertEquals( "hot" , notified.get( 0 ) ) ;
+        // 通知之后的访问继续计数
+        AppRedisHotKeyDetector.HotKey top = detector.getTopKeys().get( 0 ) ;
+        assertEquals( "hot" , top.getKeyAsString() ) ;
+        assertEquals( 150 , top.getFrequency() ) ;
+        assertEquals( 150 , detector.getMaxFrequency() ) ;
+        assertEquals( 1 , detector.getHotKeyCount() ) ;
+    }
+
+    @Test
+    public void coldKeysDoNotDisplaceHotKey(){
+        record( HOT_KEY , 1500 ) ;
+        for (int i = 0; i < 15; i++) {
+            record( bytes( "warm:" + i ) , 100 ) ;
+        }
+        for (int i = 0; i < 1000; i++) {
+            record( bytes( "cold:" + i ) , 1 ) ;
+        }
+        record( HOT_KEY , 500 ) ;
+
+        List<String> topKeys = new ArrayList<>() ;
+        for (AppRedisHotKeyDetector.HotKey hotKey : detector.getTopKeys()) {
+            topKeys.add( hotKey.getKeyAsString() ) ;
+        }
+        assertEquals( 16 , topKeys.size() ) ;
+        assertEquals( "hot" , topKeys.get( 0 ) ) ;
+        assertEquals( 100 , detector.getMaxFrequency() ) ;
+        assertEquals( 1 , notified.size() ) ;
+    }
+
+    @Test
+    public void concurrentAccessNotifiesOnce() throws InterruptedException {
+        int threads = 4 ;
+        CountDownLatch start = new CountDownLatch( 1 ) ;
+        List<Thread> workers = new ArrayList<>() ;
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread( () -> {
+                try{
+                    start.await() ;
+                }catch( InterruptedException e ){
+                    Thread.currentThread().interrupt() ;
+                    return;
+                }
+                record( HOT_KEY , 10000 ) ;
+            } ) ;
+            worker.start() ;
+            workers.add( worker ) ;
+        }
+        start.countDown() ;
+        for (Thread worker : workers) {
+            worker.join() ;
+        }
+
+        assertEquals( 1 , notified.size() ) ;
+        assertTrue( detector.getMaxFrequency() >= 50 ) ;
+    }
+
+    @Test
+    public void hotKeyIsNotifiedAgainInNextWindow() throws InterruptedException {
+        // 100毫秒窗口内计数100次相当于每秒500次
+        detector.setConfig( config( Duration.ofMillis( 100 ) , 500 ) ) ;
+        record( HOT_KEY , 200 ) ;
+        assertEquals( 1 , notified.size() ) ;
+
+        Thread.sleep( 150 ) ;
+        record( HOT_KEY , 200 ) ;
+
+        assertEquals( 2 , notified.size() ) ;
+    }
+
+    private void record(byte[] key , int times){
+        for (int i = 0; i < times; i++) {
+            detector.record( key ) ;
+        }
+    }
+
+    private static AppRedisHotKeyConfig config(Duration window , long threshold){
+        AppRedisHotKeyConfig config = new AppRedisHotKeyConfig() ;
+        config.setEnabled( true ) ;
+        config.setSampleRate( 1 ) ;
+        config.setWindow( window ) ;
+        config.setThreshold( threshold ) ;
+        return config ;
+    }
+
+    private static byte[] bytes(String value){
+        return value.getBytes( StandardCharsets.UTF_8 ) ;
+    }
+
+}
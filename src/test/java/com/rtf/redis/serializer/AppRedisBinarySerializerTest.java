@@ -0,0 +1,194 @@
+package com.rtf.redis.serializer;
+
+import org.junit.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * 二进制序列化测试，每种类型序列化后反序列化的值和类型不变，兼容jdk序列化写入的值
+ * @Author : liupeng
+ * @Date : 2026-10-18
+ * @Modified By
+ */
+public class AppRedisBinarySerializerTest {
+
+    private final AppRedisBinarySerializer serializer = new AppRedisBinarySerializer() ;
+
+    @Test
+    public void nullIsEmpty(){
+        assertEquals( 0 , serializer.serialize( null ).length ) ;
+        assertNull( serializer.deserialize( null ) ) ;
+        assertNull( serializer.deserialize( new byte[0] ) ) ;
+    }
+
+    @Test
+    public void strings(){
+        assertRoundTrip( "" ) ;
+        assertRoundTrip( "redis" ) ;
+        assertRoundTrip( "中文字符串" ) ;
+        // 4字节的utf-8字符
+        assertRoundTrip( "emoji 😀" ) ;
+        char[] chars = new char[ 10000 ] ;
+        Arrays.fill( chars , 'a' ) ;
+        assertRoundTrip( new String( chars ) ) ;
+    }
+
+    @Test
+    public void numbers(){
+        for (int value : new int[]{ 0 , 1 , -1 , 63 , -64 , 64 , Integer.MAX_VALUE , Integer.MIN_VALUE }) {
+            assertRoundTrip( value ) ;
+        }
+        for (long value : new long[]{ 0L , -1L , 1L << 40 , Long.MAX_VALUE , Long.MIN_VALUE }) {
+            assertRoundTrip( value ) ;
+        }
+        for (short value : new short[]{ 0 , -1 , Short.MAX_VALUE , Short.MIN_VALUE }) {
+            assertRoundTrip( value ) ;
+        }
+        for (byte value : new byte[]{ 0 , -1 , Byte.MAX_VALUE , Byte.MIN_VALUE }) {
+            assertRoundTrip( value ) ;
+        }
+        for (double value : new double[]{ 0d , -0d , 3.14d , Double.NaN , Double.NEGATIVE_INFINITY , Double.MIN_VALUE }) {
+            assertRoundTrip( value ) ;
+        }
+        for (float value : new float[]{ 0f , -1.5f , Float.NaN , Float.MAX_VALUE }) {
+            assertRoundTrip( value ) ;
+        }
+        assertRoundTrip( new BigDecimal( "-12345678901234567890.000123" ) ) ;
+        assertRoundTrip( new BigDecimal( "1E+10" ) ) ;
+        assertRoundTrip( new BigInteger( "-98765432109876543210987654321" ) ) ;
+    }
+
+    @Test
+    public void booleansCharsDatesAndBytes(){
+        assertRoundTrip( Boolean.TRUE ) ;
+        assertRoundTrip( Boolean.FALSE ) ;
+        assertRoundTrip( 'a' ) ;
+        assertRoundTrip( '中' ) ;
+        assertRoundTrip( Character.MAX_VALUE ) ;
+        assertRoundTrip( new Date( 1760000000000L ) ) ;
+
+        byte[] bytes = { 0 , 1 , -1 , 127 , -128 } ;
+        assertArrayEquals( bytes , (byte[]) serializer.deserialize( serializer.serialize( bytes ) ) ) ;
+        assertArrayEquals( new byte[0] , (byte[]) serializer.deserialize( serializer.serialize( new byte[0] ) ) ) ;
+    }
+
+    @Test
+    public void collectionsKeepConcreteType(){
+        List<Object> list = new ArrayList<>( Arrays.asList( "a" , 1 , 2L , null , true , new ArrayList<>( Arrays.asList( 1 , 2 ) ) ) ) ;
+        assertRoundTrip( list ) ;
+        assertRoundTrip( new ArrayList<>() ) ;
+
+        assertRoundTrip( new HashSet<>( Arrays.asList( "a" , "b" , "c" ) ) ) ;
+
+        LinkedHashSet<String> linkedSet = new LinkedHashSet<>( Arrays.asList( "z" , "a" , "m" ) ) ;
+        assertEquals( new ArrayList<>( linkedSet ) , new ArrayList<>( (LinkedHashSet<?>) assertRoundTrip( linkedSet ) ) ) ;
+
+        Map<Object,Object> map = new HashMap<>() ;
+        map.put( "string" , "value" ) ;
+        map.put( 1 , Collections.singletonMap( "nested" , 1L ) ) ;
+        map.put( null , null ) ;
+        assertRoundTrip( map ) ;
+
+        LinkedHashMap<String,Integer> linkedMap = new LinkedHashMap<>() ;
+        linkedMap.put( "z" , 1 ) ;
+        linkedMap.put( "a" , 2 ) ;
+        linkedMap.put( "m" , 3 ) ;
+        assertEquals( new ArrayList<>( linkedMap.keySet() ) ,
+                new ArrayList<>( ((LinkedHashMap<?, ?>) assertRoundTrip( linkedMap )).keySet() ) ) ;
+    }
+
+    @Test
+    public void otherSerializableObjectsUseJdkSerialization(){
+        TreeMap<String,Integer> treeMap = new TreeMap<>( Comparator.reverseOrder() ) ;
+        treeMap.put( "a" , 1 ) ;
+        treeMap.put( "b" , 2 ) ;
+        TreeMap<?,?> result = (TreeMap<?, ?>) assertRoundTrip( treeMap ) ;
+        // 保留比较器
+        assertEquals( "b" , result.firstKey() ) ;
+
+        assertRoundTrip( new Point( 3 , 4 ) ) ;
+        // 嵌在紧凑格式中的jdk序列化对象
+        List<Object> list = new ArrayList<>( Arrays.asList( new Point( 1 , 2 ) , "tail" ) ) ;
+        assertRoundTrip( list ) ;
+    }
+
+    @Test(expected = SerializationException.class)
+    public void nonSerializableObjectIsRejected(){
+        serializer.serialize( new Object() ) ;
+    }
+
+    @Test
+    public void readsValuesWrittenByJdkSerializer(){
+        JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer() ;
+        Map<String,Object> map = new HashMap<>() ;
+        map.put( "point" , new Point( 5 , 6 ) ) ;
+        map.put( "count" , 10L ) ;
+
+        assertEquals( map , serializer.deserialize( jdkSerializer.serialize( map ) ) ) ;
+        assertEquals( "jdk" , serializer.deserialize( jdkSerializer.serialize( "jdk" ) ) ) ;
+    }
+
+    @Test(expected = SerializationException.class)
+    public void unknownFormatIsRejected(){
+        serializer.deserialize( new byte[]{ 1 , 2 , 3 } ) ;
+    }
+
+    /**
+     * 序列化后反序列化，值和类型不变
+     * @param value
+     * @return 反序列化的值
+     */
+    private Object assertRoundTrip(Object value){
+        Object result = serializer.deserialize( serializer.serialize( value ) ) ;
+        assertEquals( value , result ) ;
+        assertSame( value.getClass() , result.getClass() ) ;
+        return result ;
+    }
+
+    private static final class Point implements Serializable {
+
+        private static final long serialVersionUID = 1L ;
+
+        private final int x ;
+
+        private final int y ;
+
+        Point(int x , int y){
+            this.x = x ;
+            this.y = y ;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if( !(o instanceof Point) ){
+                return false ;
+            }
+            Point point = (Point) o ;
+            return x==point.x && y==point.y ;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * x + y ;
+        }
+    }
+
+}